@@ -1,14 +1,21 @@
 package io.dropwizard.assets;
 
+import com.codahale.metrics.Gauge;
 import io.dropwizard.Bundle;
+import io.dropwizard.servlets.assets.AssetCache;
+import io.dropwizard.servlets.assets.AssetIndex;
 import io.dropwizard.servlets.assets.AssetServlet;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
+import io.dropwizard.util.Size;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+import javax.servlet.ServletRegistration;
 import java.nio.charset.StandardCharsets;
 
+import static com.codahale.metrics.MetricRegistry.name;
 import static com.google.common.base.Preconditions.checkArgument;
 
 /**
@@ -26,6 +33,15 @@ public class AssetsBundle implements Bundle {
     private final String indexFile;
     private final String assetsName;
 
+    @Nullable
+    private Size cacheSize;
+    private boolean revalidateCachedFiles;
+
+    @Nullable
+    private Size fileStreamingThreshold;
+    private boolean servePrecompressedVariants;
+    private boolean indexAssets;
+
     /**
      * Creates a new AssetsBundle which serves up static assets from
      * {@code src/main/resources/assets/*} as {@code /assets/*}.
@@ -104,10 +120,81 @@ public class AssetsBundle implements Bundle {
         // nothing doing
     }
 
+    /**
+     * Caches loaded assets in memory, so that repeated requests for the same asset neither re-read
+     * the resource nor recompute its ETag. The least recently used assets are evicted once the
+     * total size of the cached assets exceeds {@code maximumSize}.
+     *
+     * @param maximumSize          the maximum total size of the cached assets
+     * @param revalidateFiles      whether assets loaded from {@code file:} URLs should be reloaded
+     *                             when their last modified time changes
+     * @return this bundle
+     */
+    public AssetsBundle cachingAssets(Size maximumSize, boolean revalidateFiles) {
+        this.cacheSize = maximumSize;
+        this.revalidateCachedFiles = revalidateFiles;
+        return this;
+    }
+
+    /**
+     * Streams assets found in the file system which are at least {@code threshold} in size
+     * straight from disk instead of reading them into memory, and writes them asynchronously so
+     * that slow clients don't hold on to request threads. Assets loaded from jars are unaffected.
+     *
+     * @param threshold            the minimum size of streamed files
+     * @return this bundle
+     * @see AssetServlet#setFileStreamingThreshold(Size)
+     */
+    public AssetsBundle streamingFiles(Size threshold) {
+        this.fileStreamingThreshold = threshold;
+        return this;
+    }
+
+    /**
+     * Serves precompressed {@code .br} and {@code .gz} sidecars of assets to clients which accept
+     * them, instead of compressing the assets on every request.
+     *
+     * @return this bundle
+     * @see AssetServlet#setServePrecompressedVariants(boolean)
+     */
+    public AssetsBundle servingPrecompressedVariants() {
+        this.servePrecompressedVariants = true;
+        return this;
+    }
+
+    /**
+     * Indexes all assets on startup, so that HEAD requests and conditional requests are answered
+     * from precomputed metadata without touching the assets. Only assets present on startup are
+     * served. The number of indexed asset paths is reported as the {@code indexed-assets} gauge.
+     * <p>
+     * Every asset is read on startup to compute its ETag, unless it's streamed from a file.
+     *
+     * @return this bundle
+     * @see AssetServlet#setIndexAssets(boolean)
+     */
+    public AssetsBundle indexingAssets() {
+        this.indexAssets = true;
+        return this;
+    }
+
     @Override
     public void run(Environment environment) {
         LOGGER.info("Registering AssetBundle with name: {} for path {}", assetsName, uriPath + '*');
-        environment.servlets().addServlet(assetsName, createServlet()).addMapping(uriPath + '*');
+        final AssetServlet servlet = createServlet(environment);
+        final ServletRegistration.Dynamic registration = environment.servlets().addServlet(assetsName, servlet);
+        registration.addMapping(uriPath + '*');
+        if (fileStreamingThreshold != null) {
+            registration.setAsyncSupported(true);
+        }
+        if (indexAssets) {
+            // build the index when the server starts instead of on the first request
+            registration.setLoadOnStartup(1);
+            environment.metrics().register(name(AssetServlet.class, assetsName, "indexed-assets"),
+                    (Gauge<Integer>) () -> {
+                        final AssetIndex index = servlet.getAssetIndex();
+                        return index == null ? 0 : index.size();
+                    });
+        }
     }
 
     public String getResourcePath() {
@@ -122,7 +209,40 @@ public class AssetsBundle implements Bundle {
         return indexFile;
     }
 
+    @Nullable
+    public Size getCacheSize() {
+        return cacheSize;
+    }
+
+    public boolean isRevalidateCachedFiles() {
+        return revalidateCachedFiles;
+    }
+
+    @Nullable
+    public Size getFileStreamingThreshold() {
+        return fileStreamingThreshold;
+    }
+
+    public boolean isServePrecompressedVariants() {
+        return servePrecompressedVariants;
+    }
+
+    public boolean isIndexAssets() {
+        return indexAssets;
+    }
+
     protected AssetServlet createServlet() {
         return new AssetServlet(resourcePath, uriPath, indexFile, StandardCharsets.UTF_8);
     }
+
+    protected AssetServlet createServlet(Environment environment) {
+        final AssetServlet servlet = createServlet();
+        if (cacheSize != null) {
+            servlet.setCache(new AssetCache(environment.metrics(), assetsName, cacheSize, revalidateCachedFiles));
+        }
+        servlet.setFileStreamingThreshold(fileStreamingThreshold);
+        servlet.setServePrecompressedVariants(servePrecompressedVariants);
+        servlet.setIndexAssets(indexAssets);
+        return servlet;
+    }
 }
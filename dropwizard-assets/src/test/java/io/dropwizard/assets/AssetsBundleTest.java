@@ -1,10 +1,12 @@
 package io.dropwizard.assets;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.io.Resources;
 import io.dropwizard.jetty.setup.ServletEnvironment;
 import io.dropwizard.servlets.assets.AssetServlet;
 import io.dropwizard.servlets.assets.ResourceURL;
 import io.dropwizard.setup.Environment;
+import io.dropwizard.util.Size;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
@@ -130,6 +132,68 @@ public class AssetsBundleTest {
                 .isEqualTo("/what");
     }
 
+    @Test
+    public void canCacheAssets() throws Exception {
+        when(environment.metrics()).thenReturn(new MetricRegistry());
+        runBundle(new AssetsBundle().cachingAssets(Size.megabytes(1), true));
+
+        assertThat(servlet.getCache())
+                .isNotNull();
+    }
+
+    @Test
+    public void cachesAssetsOfCustomServlets() throws Exception {
+        when(environment.metrics()).thenReturn(new MetricRegistry());
+        final AssetServlet customServlet = new AssetServlet("/assets", "/custom", null, null);
+        runBundle(new AssetsBundle() {
+            @Override
+            protected AssetServlet createServlet() {
+                return customServlet;
+            }
+        }.cachingAssets(Size.megabytes(1), false));
+
+        assertThat(servlet)
+                .isSameAs(customServlet);
+        assertThat(servlet.getCache())
+                .isNotNull();
+    }
+
+    @Test
+    public void canStreamFiles() throws Exception {
+        runBundle(new AssetsBundle().streamingFiles(Size.megabytes(1)));
+
+        assertThat(servlet.getFileStreamingThreshold())
+                .isEqualTo(Size.megabytes(1));
+    }
+
+    @Test
+    public void canServePrecompressedVariants() throws Exception {
+        runBundle(new AssetsBundle().servingPrecompressedVariants());
+
+        assertThat(servlet.isServePrecompressedVariants())
+                .isTrue();
+    }
+
+    @Test
+    public void canIndexAssets() throws Exception {
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        when(environment.metrics()).thenReturn(metricRegistry);
+        runBundle(new AssetsBundle().indexingAssets());
+
+        assertThat(servlet.isIndexAssets())
+                .isTrue();
+        assertThat(metricRegistry.getGauges())
+                .containsKey("io.dropwizard.servlets.assets.AssetServlet.assets.indexed-assets");
+    }
+
+    @Test
+    public void doesNotCacheAssetsByDefault() throws Exception {
+        runBundle(new AssetsBundle());
+
+        assertThat(servlet.getCache())
+                .isNull();
+    }
+
     private URL normalize(String path) {
         return ResourceURL.appendTrailingSlash(Resources.getResource(path));
     }
@@ -0,0 +1,228 @@
+package io.dropwizard.auth;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.common.base.Predicate;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Sets;
+
+import javax.annotation.Nullable;
+import java.security.Principal;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * An {@link Authenticator} decorator which uses a Caffeine cache to temporarily cache credentials and
+ * their corresponding principals.
+ * <p>
+ * Unlike {@link CachingAuthenticator}, entries can be refreshed in the background: with
+ * {@code refreshAfterWrite} set, a request for a principal which is due for a refresh is served the cached
+ * principal while the underlying authenticator is called on a dedicated executor, which keeps refreshes off
+ * the common fork-join pool. The executor is passed to the {@link CaffeineSpec} constructors, or set with
+ * {@link Caffeine#executor(Executor)} on the builders. If the refreshed credentials turn out to be invalid,
+ * the principal is discarded.
+ * <p>
+ * Invalid credentials are never stored in the principal cache. They can optionally be remembered in a
+ * separate negative cache, typically with a much shorter expiry, so that repeated attempts with the same bad
+ * credentials don't reach the underlying authenticator each time. Credentials which become valid are
+ * rejected until their negative cache entry expires or is invalidated.
+ *
+ * @param <C> the type of credentials the authenticator can authenticate
+ * @param <P> the type of principals the authenticator returns
+ */
+public class CaffeineCachingAuthenticator<C, P extends Principal> implements Authenticator<C, P> {
+    private final LoadingCache<C, P> cache;
+    @Nullable
+    private final Cache<C, Boolean> invalidCredentials;
+    private final Meter cacheMisses;
+    private final Meter cacheRefreshes;
+    private final Meter invalidCredentialsHits;
+    private final Timer gets;
+
+    /**
+     * Creates a new cached authenticator.
+     *
+     * @param metricRegistry the application's registry of metrics
+     * @param authenticator  the underlying authenticator
+     * @param cacheSpec      a {@link CaffeineSpec}
+     * @param executor       the executor the principals are refreshed on
+     */
+    public CaffeineCachingAuthenticator(final MetricRegistry metricRegistry,
+                                        final Authenticator<C, P> authenticator,
+                                        final CaffeineSpec cacheSpec,
+                                        final Executor executor) {
+        this(metricRegistry, authenticator, Caffeine.from(cacheSpec).executor(executor), null);
+    }
+
+    /**
+     * Creates a new cached authenticator which also caches invalid credentials.
+     *
+     * @param metricRegistry         the application's registry of metrics
+     * @param authenticator          the underlying authenticator
+     * @param cacheSpec              a {@link CaffeineSpec} for the principals
+     * @param invalidCredentialsSpec a {@link CaffeineSpec} for the invalid credentials
+     * @param executor               the executor the principals are refreshed on
+     */
+    public CaffeineCachingAuthenticator(final MetricRegistry metricRegistry,
+                                        final Authenticator<C, P> authenticator,
+                                        final CaffeineSpec cacheSpec,
+                                        final CaffeineSpec invalidCredentialsSpec,
+                                        final Executor executor) {
+        this(metricRegistry, authenticator, Caffeine.from(cacheSpec).executor(executor),
+            Caffeine.from(invalidCredentialsSpec).executor(executor));
+    }
+
+    /**
+     * Creates a new cached authenticator.
+     *
+     * @param metricRegistry the application's registry of metrics
+     * @param authenticator  the underlying authenticator
+     * @param builder        a {@link Caffeine} builder
+     */
+    public CaffeineCachingAuthenticator(final MetricRegistry metricRegistry,
+                                        final Authenticator<C, P> authenticator,
+                                        final Caffeine<Object, Object> builder) {
+        this(metricRegistry, authenticator, builder, null);
+    }
+
+    /**
+     * Creates a new cached authenticator.
+     *
+     * @param metricRegistry            the application's registry of metrics
+     * @param authenticator             the underlying authenticator
+     * @param builder                   a {@link Caffeine} builder for the principals
+     * @param invalidCredentialsBuilder a {@link Caffeine} builder for the invalid credentials, or {@code null}
+     *                                  if invalid credentials shouldn't be cached
+     */
+    public CaffeineCachingAuthenticator(final MetricRegistry metricRegistry,
+                                        final Authenticator<C, P> authenticator,
+                                        final Caffeine<Object, Object> builder,
+                                        @Nullable final Caffeine<Object, Object> invalidCredentialsBuilder) {
+        this.cacheMisses = metricRegistry.meter(name(authenticator.getClass(), "cache-misses"));
+        this.cacheRefreshes = metricRegistry.meter(name(authenticator.getClass(), "cache-refreshes"));
+        this.invalidCredentialsHits = metricRegistry.meter(name(authenticator.getClass(), "invalid-credentials-hits"));
+        this.gets = metricRegistry.timer(name(authenticator.getClass(), "gets"));
+        this.invalidCredentials = invalidCredentialsBuilder == null ? null : invalidCredentialsBuilder.build();
+        this.cache = builder.recordStats().build(new CacheLoader<C, P>() {
+            @Override
+            @Nullable
+            public P load(C key) throws AuthenticationException {
+                cacheMisses.mark();
+                return authenticateOrNull(key);
+            }
+
+            @Override
+            @Nullable
+            public P reload(C key, P oldValue) throws AuthenticationException {
+                cacheRefreshes.mark();
+                return authenticateOrNull(key);
+            }
+
+            // Returning null prevents caching of unknown credentials, and drops refreshed ones
+            @Nullable
+            private P authenticateOrNull(C key) throws AuthenticationException {
+                final Optional<P> optPrincipal = authenticator.authenticate(key);
+                if (!optPrincipal.isPresent()) {
+                    if (invalidCredentials != null) {
+                        invalidCredentials.put(key, Boolean.TRUE);
+                    }
+                    return null;
+                }
+                return optPrincipal.get();
+            }
+        });
+    }
+
+    @Override
+    public Optional<P> authenticate(C credentials) throws AuthenticationException {
+        final Timer.Context context = gets.time();
+        try {
+            if (invalidCredentials != null && invalidCredentials.getIfPresent(credentials) != null) {
+                invalidCredentialsHits.mark();
+                return Optional.empty();
+            }
+            return Optional.ofNullable(cache.get(credentials));
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            // Attempt to re-throw as-is
+            Throwables.propagateIfPossible(cause, AuthenticationException.class);
+            throw new AuthenticationException(cause);
+        } finally {
+            context.stop();
+        }
+    }
+
+    /**
+     * Discards any cached principal for the given credentials.
+     *
+     * @param credentials a set of credentials
+     */
+    public void invalidate(C credentials) {
+        cache.invalidate(credentials);
+        if (invalidCredentials != null) {
+            invalidCredentials.invalidate(credentials);
+        }
+    }
+
+    /**
+     * Discards any cached principal for the given collection of credentials.
+     *
+     * @param credentials a collection of credentials
+     */
+    public void invalidateAll(Iterable<C> credentials) {
+        cache.invalidateAll(credentials);
+        if (invalidCredentials != null) {
+            invalidCredentials.invalidateAll(credentials);
+        }
+    }
+
+    /**
+     * Discards any cached principal for the collection of credentials satisfying the given predicate.
+     *
+     * @param predicate a predicate to filter credentials
+     */
+    public void invalidateAll(Predicate<? super C> predicate) {
+        cache.invalidateAll(Sets.filter(cache.asMap().keySet(), predicate));
+        if (invalidCredentials != null) {
+            invalidCredentials.invalidateAll(Sets.filter(invalidCredentials.asMap().keySet(), predicate));
+        }
+    }
+
+    /**
+     * Discards all cached principals.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        if (invalidCredentials != null) {
+            invalidCredentials.invalidateAll();
+        }
+    }
+
+    /**
+     * Returns the number of cached principals.
+     *
+     * @return the number of cached principals
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Returns a set of statistics about the cache contents and usage.
+     *
+     * @return a set of statistics about the cache contents and usage
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
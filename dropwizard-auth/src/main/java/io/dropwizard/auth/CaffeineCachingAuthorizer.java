@@ -0,0 +1,249 @@
+package io.dropwizard.auth;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Sets;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+
+import javax.annotation.Nullable;
+import java.security.Principal;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * An {@link Authorizer} decorator which uses a Caffeine {@link Cache} to
+ * temporarily cache principals' role associations.
+ * <p>
+ * With {@code refreshAfterWrite} set, role associations which are due for a
+ * refresh keep being served from the cache while the underlying authorizer is
+ * called on a dedicated executor, passed to the {@link CaffeineSpec} constructors
+ * or set with {@link Caffeine#executor(Executor)} on the builders.
+ * <p>
+ * By default cache entries include both inclusion and exclusion of a principal
+ * within a given role. Exclusions can instead be kept in a separate cache with
+ * their own, usually shorter, expiry.
+ *
+ * @param <P> the type of principals on which the authorizer operates
+ */
+public class CaffeineCachingAuthorizer<P extends Principal> implements Authorizer<P> {
+    private final Meter cacheMisses;
+    private final Meter cacheRefreshes;
+    private final Timer getsTimer;
+
+    // A cache which maps (principal, role) tuples to boolean
+    // authorization states.
+    //
+    // A cached value of `true` indicates that the key's principal is
+    // authorized to assume the given role. False values indicate the
+    // principal is not authorized to assume the role, and are only
+    // cached here if there is no separate cache for exclusions.
+    private final LoadingCache<ImmutablePair<P, String>, Boolean> cache;
+
+    // An optional cache of (principal, role) tuples the principal is
+    // not authorized to assume.
+    @Nullable
+    private final Cache<ImmutablePair<P, String>, Boolean> exclusions;
+
+    /**
+     * Creates a new cached authorizer.
+     *
+     * @param metricRegistry the application's registry of metrics
+     * @param authorizer     the underlying authorizer
+     * @param cacheSpec      {@link CaffeineSpec}
+     * @param executor       the executor the role associations are refreshed on
+     */
+    public CaffeineCachingAuthorizer(
+        final MetricRegistry metricRegistry,
+        final Authorizer<P> authorizer,
+        final CaffeineSpec cacheSpec,
+        final Executor executor
+    ) {
+        this(metricRegistry, authorizer, Caffeine.from(cacheSpec).executor(executor), null);
+    }
+
+    /**
+     * Creates a new cached authorizer which caches exclusions separately.
+     *
+     * @param metricRegistry the application's registry of metrics
+     * @param authorizer     the underlying authorizer
+     * @param cacheSpec      {@link CaffeineSpec} for inclusions
+     * @param exclusionsSpec {@link CaffeineSpec} for exclusions
+     * @param executor       the executor the role associations are refreshed on
+     */
+    public CaffeineCachingAuthorizer(
+        final MetricRegistry metricRegistry,
+        final Authorizer<P> authorizer,
+        final CaffeineSpec cacheSpec,
+        final CaffeineSpec exclusionsSpec,
+        final Executor executor
+    ) {
+        this(metricRegistry, authorizer, Caffeine.from(cacheSpec).executor(executor),
+            Caffeine.from(exclusionsSpec).executor(executor));
+    }
+
+    /**
+     * Creates a new cached authorizer.
+     *
+     * @param metricRegistry the application's registry of metrics
+     * @param authorizer     the underlying authorizer
+     * @param builder        a {@link Caffeine} builder
+     */
+    public CaffeineCachingAuthorizer(
+        final MetricRegistry metricRegistry,
+        final Authorizer<P> authorizer,
+        final Caffeine<Object, Object> builder
+    ) {
+        this(metricRegistry, authorizer, builder, null);
+    }
+
+    /**
+     * Creates a new cached authorizer.
+     *
+     * @param metricRegistry    the application's registry of metrics
+     * @param authorizer        the underlying authorizer
+     * @param builder           a {@link Caffeine} builder
+     * @param exclusionsBuilder a {@link Caffeine} builder for exclusions, or {@code null}
+     *                          if exclusions should be cached along with inclusions
+     */
+    public CaffeineCachingAuthorizer(
+        final MetricRegistry metricRegistry,
+        final Authorizer<P> authorizer,
+        final Caffeine<Object, Object> builder,
+        @Nullable final Caffeine<Object, Object> exclusionsBuilder
+    ) {
+        this.cacheMisses = metricRegistry.meter(name(authorizer.getClass(), "cache-misses"));
+        this.cacheRefreshes = metricRegistry.meter(name(authorizer.getClass(), "cache-refreshes"));
+        this.getsTimer = metricRegistry.timer(name(authorizer.getClass(), "gets"));
+        this.exclusions = exclusionsBuilder == null ? null : exclusionsBuilder.build();
+        this.cache = builder.recordStats().build(new CacheLoader<ImmutablePair<P, String>, Boolean>() {
+            @Override
+            @Nullable
+            public Boolean load(ImmutablePair<P, String> key) {
+                cacheMisses.mark();
+                return authorizeOrNull(key);
+            }
+
+            @Override
+            @Nullable
+            public Boolean reload(ImmutablePair<P, String> key, Boolean oldValue) {
+                cacheRefreshes.mark();
+                return authorizeOrNull(key);
+            }
+
+            // Returning null keeps exclusions out of this cache when they are cached separately
+            @Nullable
+            private Boolean authorizeOrNull(ImmutablePair<P, String> key) {
+                final boolean authorized = authorizer.authorize(key.left, key.right);
+                if (!authorized && exclusions != null) {
+                    exclusions.put(key, Boolean.TRUE);
+                    return null;
+                }
+                return authorized;
+            }
+        });
+    }
+
+    @Override
+    public boolean authorize(P principal, String role) {
+        final Timer.Context context = getsTimer.time();
+
+        try {
+            final ImmutablePair<P, String> cacheKey = ImmutablePair.of(principal, role);
+            if (exclusions != null && exclusions.getIfPresent(cacheKey) != null) {
+                return false;
+            }
+            return Boolean.TRUE.equals(cache.get(cacheKey));
+        } finally {
+            context.stop();
+        }
+    }
+
+    /**
+     * Discards any cached role associations for the given principal and role.
+     *
+     * @param principal
+     * @param role
+     */
+    public void invalidate(P principal, String role) {
+        final ImmutablePair<P, String> cacheKey = ImmutablePair.of(principal, role);
+        cache.invalidate(cacheKey);
+        if (exclusions != null) {
+            exclusions.invalidate(cacheKey);
+        }
+    }
+
+    /**
+     * Discards any cached role associations for the given principal.
+     *
+     * @param principal
+     */
+    public void invalidate(P principal) {
+        invalidateMatching(cacheKey -> cacheKey.getLeft().equals(principal));
+    }
+
+    /**
+     * Discards any cached role associations for the given collection
+     * of principals.
+     *
+     * @param principals a list of principals
+     */
+    public void invalidateAll(Iterable<P> principals) {
+        invalidateMatching(cacheKey -> Iterables.contains(principals, cacheKey.getLeft()));
+    }
+
+    /**
+     * Discards any cached role associations for principals satisfying
+     * the given predicate.
+     *
+     * @param predicate a predicate to filter credentials
+     */
+    public void invalidateAll(Predicate<? super P> predicate) {
+        invalidateMatching(cacheKey -> predicate.test(cacheKey.getLeft()));
+    }
+
+    private void invalidateMatching(Predicate<ImmutablePair<P, String>> predicate) {
+        cache.invalidateAll(Sets.filter(cache.asMap().keySet(), predicate::test));
+        if (exclusions != null) {
+            exclusions.invalidateAll(Sets.filter(exclusions.asMap().keySet(), predicate::test));
+        }
+    }
+
+    /**
+     * Discards all cached role associations.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        if (exclusions != null) {
+            exclusions.invalidateAll();
+        }
+    }
+
+    /**
+     * Returns the number of principals for which there are cached
+     * role associations.
+     *
+     * @return the number of cached principals
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Returns a set of statistics about the cache contents and usage.
+     *
+     * @return a set of statistics about the cache contents and usage
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,111 @@
+package io.dropwizard.auth;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.base.Throwables;
+import io.dropwizard.util.Duration;
+
+import java.security.Principal;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * An {@link Authenticator} decorator which coalesces concurrent authentications of equal credentials,
+ * so that the underlying authenticator is called once per distinct set of credentials in flight rather
+ * than once per request.
+ * <p>
+ * The first thread to authenticate a set of credentials calls the underlying authenticator. Threads
+ * authenticating equal credentials in the meantime wait for its result, up to a maximum wait, and share
+ * its principal or its {@link AuthenticationException}. A thread which gives up waiting fails with an
+ * {@link AuthenticationException}, as the credentials couldn't be checked in time. Nothing is remembered
+ * once the call completes: combine this with a {@link CachingAuthenticator} to also cache the results.
+ * <p>
+ * Credentials are compared with {@link Object#equals(Object)}, so the credentials type must implement
+ * {@code equals} and {@code hashCode}.
+ *
+ * @param <C> the type of credentials the authenticator can authenticate
+ * @param <P> the type of principals the authenticator returns
+ */
+public class CoalescingAuthenticator<C, P extends Principal> implements Authenticator<C, P> {
+    private final Authenticator<C, P> underlying;
+    private final long maxWaitNanos;
+    private final ConcurrentMap<C, CompletableFuture<Optional<P>>> inFlight = new ConcurrentHashMap<>();
+    private final Meter calls;
+    private final Meter coalescedCalls;
+    private final Meter timeouts;
+
+    /**
+     * Creates a new coalescing authenticator.
+     *
+     * @param metricRegistry the application's registry of metrics
+     * @param authenticator  the underlying authenticator
+     * @param maxWait        the maximum time to wait for an in-flight authentication of equal credentials
+     */
+    public CoalescingAuthenticator(final MetricRegistry metricRegistry,
+                                   final Authenticator<C, P> authenticator,
+                                   final Duration maxWait) {
+        this.underlying = authenticator;
+        this.maxWaitNanos = maxWait.toNanoseconds();
+        this.calls = metricRegistry.meter(name(authenticator.getClass(), "coalescing-calls"));
+        this.coalescedCalls = metricRegistry.meter(name(authenticator.getClass(), "coalesced-calls"));
+        this.timeouts = metricRegistry.meter(name(authenticator.getClass(), "coalescing-timeouts"));
+    }
+
+    @Override
+    public Optional<P> authenticate(C credentials) throws AuthenticationException {
+        final CompletableFuture<Optional<P>> call = new CompletableFuture<>();
+        final CompletableFuture<Optional<P>> existing = inFlight.putIfAbsent(credentials, call);
+        if (existing == null) {
+            return call(credentials, call);
+        }
+        coalescedCalls.mark();
+        return await(existing);
+    }
+
+    private Optional<P> call(C credentials, CompletableFuture<Optional<P>> call) throws AuthenticationException {
+        calls.mark();
+        try {
+            final Optional<P> principal = underlying.authenticate(credentials);
+            call.complete(principal);
+            return principal;
+        } catch (AuthenticationException | RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(credentials, call);
+        }
+    }
+
+    private Optional<P> await(CompletableFuture<Optional<P>> call) throws AuthenticationException {
+        try {
+            return call.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            // Attempt to re-throw as-is
+            Throwables.propagateIfPossible(cause, AuthenticationException.class);
+            throw new AuthenticationException(cause);
+        } catch (TimeoutException e) {
+            timeouts.mark();
+            throw new AuthenticationException("Timed out waiting for a concurrent authentication", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuthenticationException("Interrupted waiting for a concurrent authentication", e);
+        }
+    }
+
+    /**
+     * Returns the number of distinct credentials currently being authenticated.
+     *
+     * @return the number of distinct credentials currently being authenticated
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+}
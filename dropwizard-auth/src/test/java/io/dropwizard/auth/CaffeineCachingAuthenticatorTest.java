@@ -0,0 +1,174 @@
+package io.dropwizard.auth;
+
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.google.common.collect.ImmutableSet;
+import org.hamcrest.CoreMatchers;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.security.Principal;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CaffeineCachingAuthenticatorTest {
+    @SuppressWarnings("unchecked")
+    private final Authenticator<String, Principal> underlying = mock(Authenticator.class);
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+    private final CaffeineCachingAuthenticator<String, Principal> cached =
+        new CaffeineCachingAuthenticator<>(new MetricRegistry(), underlying, CaffeineSpec.parse("maximumSize=10"),
+            Runnable::run);
+    private final CaffeineCachingAuthenticator<String, Principal> refreshing = new CaffeineCachingAuthenticator<>(
+        new MetricRegistry(), underlying,
+        Caffeine.newBuilder().refreshAfterWrite(1, TimeUnit.MINUTES).executor(Runnable::run).ticker(ticker),
+        Caffeine.newBuilder().expireAfterWrite(10, TimeUnit.SECONDS).executor(Runnable::run).ticker(ticker));
+    @Rule
+    public ExpectedException expected = ExpectedException.none();
+
+    @Before
+    public void setUp() throws Exception {
+        when(underlying.authenticate(anyString())).thenReturn(Optional.of(new PrincipalImpl("principal")));
+    }
+
+    @Test
+    public void cachesTheFirstReturnedPrincipal() throws Exception {
+        assertThat(cached.authenticate("credentials")).isEqualTo(Optional.<Principal>of(new PrincipalImpl("principal")));
+        assertThat(cached.authenticate("credentials")).isEqualTo(Optional.<Principal>of(new PrincipalImpl("principal")));
+
+        verify(underlying, times(1)).authenticate("credentials");
+    }
+
+    @Test
+    public void refreshesPrincipalsInTheBackground() throws Exception {
+        refreshing.authenticate("credentials");
+        when(underlying.authenticate(anyString())).thenReturn(Optional.of(new PrincipalImpl("refreshed")));
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(2));
+
+        // The stale principal is served while it is being refreshed
+        assertThat(refreshing.authenticate("credentials")).contains(new PrincipalImpl("principal"));
+        assertThat(refreshing.authenticate("credentials")).contains(new PrincipalImpl("refreshed"));
+
+        verify(underlying, times(2)).authenticate("credentials");
+    }
+
+    @Test
+    public void discardsPrincipalsWhoseCredentialsBecameInvalid() throws Exception {
+        refreshing.authenticate("credentials");
+        when(underlying.authenticate(anyString())).thenReturn(Optional.empty());
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        refreshing.authenticate("credentials");
+
+        assertThat(refreshing.size()).isEqualTo(0);
+        assertThat(refreshing.authenticate("credentials")).isEmpty();
+    }
+
+    @Test
+    public void cachesInvalidCredentialsSeparately() throws Exception {
+        when(underlying.authenticate(anyString())).thenReturn(Optional.empty());
+        assertThat(refreshing.authenticate("credentials")).isEmpty();
+        assertThat(refreshing.authenticate("credentials")).isEmpty();
+        verify(underlying, times(1)).authenticate("credentials");
+        assertThat(refreshing.size()).isEqualTo(0);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        assertThat(refreshing.authenticate("credentials")).isEmpty();
+        verify(underlying, times(2)).authenticate("credentials");
+    }
+
+    @Test
+    public void invalidatesCachedInvalidCredentials() throws Exception {
+        when(underlying.authenticate(anyString())).thenReturn(Optional.empty());
+        refreshing.authenticate("credentials");
+        refreshing.invalidate("credentials");
+        refreshing.authenticate("credentials");
+
+        verify(underlying, times(2)).authenticate("credentials");
+    }
+
+    @Test
+    public void invalidatesSingleCredentials() throws Exception {
+        cached.authenticate("credentials");
+        cached.invalidate("credentials");
+        cached.authenticate("credentials");
+
+        verify(underlying, times(2)).authenticate("credentials");
+    }
+
+    @Test
+    public void invalidatesSetsOfCredentials() throws Exception {
+        cached.authenticate("credentials");
+        cached.invalidateAll(ImmutableSet.of("credentials"));
+        cached.authenticate("credentials");
+
+        verify(underlying, times(2)).authenticate("credentials");
+    }
+
+    @Test
+    public void invalidatesCredentialsMatchingGivenPredicate() throws Exception {
+        cached.authenticate("credentials");
+        cached.invalidateAll("credentials"::equals);
+        cached.authenticate("credentials");
+
+        verify(underlying, times(2)).authenticate("credentials");
+    }
+
+    @Test
+    public void invalidatesAllCredentials() throws Exception {
+        cached.authenticate("credentials");
+        cached.invalidateAll();
+        cached.authenticate("credentials");
+
+        verify(underlying, times(2)).authenticate("credentials");
+    }
+
+    @Test
+    public void calculatesTheSizeOfTheCache() throws Exception {
+        cached.authenticate("credentials1");
+        assertThat(cached.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void calculatesCacheStats() throws Exception {
+        cached.authenticate("credentials1");
+        assertThat(cached.stats().loadCount()).isEqualTo(1);
+        assertThat(cached.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotCacheAbsentPrincipals() throws Exception {
+        when(underlying.authenticate(anyString())).thenReturn(Optional.empty());
+        assertThat(cached.authenticate("credentials")).isEqualTo(Optional.empty());
+        assertThat(cached.authenticate("credentials")).isEqualTo(Optional.empty());
+        verify(underlying, times(2)).authenticate("credentials");
+        assertThat(cached.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldPropagateAuthenticationException() throws AuthenticationException {
+        final AuthenticationException e = new AuthenticationException("Auth failed");
+        when(underlying.authenticate(anyString())).thenThrow(e);
+        expected.expect(CoreMatchers.sameInstance(e));
+        cached.authenticate("credentials");
+    }
+
+    @Test
+    public void shouldPropagateRuntimeException() throws AuthenticationException {
+        final RuntimeException e = new NullPointerException();
+        when(underlying.authenticate(anyString())).thenThrow(e);
+        expected.expect(CoreMatchers.sameInstance(e));
+        cached.authenticate("credentials");
+    }
+}
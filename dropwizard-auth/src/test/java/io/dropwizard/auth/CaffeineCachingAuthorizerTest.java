@@ -0,0 +1,181 @@
+package io.dropwizard.auth;
+
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.security.Principal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNullPointerException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CaffeineCachingAuthorizerTest {
+    @SuppressWarnings("unchecked")
+    private final Authorizer<Principal> underlying = mock(Authorizer.class);
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+    private final CaffeineCachingAuthorizer<Principal> cached = new CaffeineCachingAuthorizer<>(
+        new MetricRegistry(),
+        underlying,
+        CaffeineSpec.parse("maximumSize=10"),
+        Runnable::run
+    );
+    private final CaffeineCachingAuthorizer<Principal> refreshing = new CaffeineCachingAuthorizer<>(
+        new MetricRegistry(),
+        underlying,
+        Caffeine.newBuilder().refreshAfterWrite(1, TimeUnit.MINUTES).executor(Runnable::run).ticker(ticker),
+        Caffeine.newBuilder().expireAfterWrite(10, TimeUnit.SECONDS).executor(Runnable::run).ticker(ticker)
+    );
+
+    private final Principal principal = new PrincipalImpl("principal");
+    private final Principal principal2 = new PrincipalImpl("principal2");
+    private final String role = "popular_kids";
+
+    @Before
+    public void setUp() throws Exception {
+        when(underlying.authorize(any(), anyString())).thenReturn(true);
+    }
+
+    @Test
+    public void cachesTheFirstReturnedPrincipal() throws Exception {
+        assertThat(cached.authorize(principal, role)).isTrue();
+        assertThat(cached.authorize(principal, role)).isTrue();
+
+        verify(underlying, times(1)).authorize(principal, role);
+    }
+
+    @Test
+    public void cachesExclusionsWithTheMainCacheByDefault() throws Exception {
+        when(underlying.authorize(any(), anyString())).thenReturn(false);
+        assertThat(cached.authorize(principal, role)).isFalse();
+        assertThat(cached.authorize(principal, role)).isFalse();
+
+        verify(underlying, times(1)).authorize(principal, role);
+        assertThat(cached.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void refreshesRoleAssociationsInTheBackground() throws Exception {
+        refreshing.authorize(principal, role);
+        when(underlying.authorize(any(), anyString())).thenReturn(false);
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(2));
+
+        // The stale association is served while it is being refreshed
+        assertThat(refreshing.authorize(principal, role)).isTrue();
+        assertThat(refreshing.authorize(principal, role)).isFalse();
+
+        verify(underlying, times(2)).authorize(principal, role);
+    }
+
+    @Test
+    public void cachesExclusionsSeparately() throws Exception {
+        when(underlying.authorize(any(), anyString())).thenReturn(false);
+        assertThat(refreshing.authorize(principal, role)).isFalse();
+        assertThat(refreshing.authorize(principal, role)).isFalse();
+        verify(underlying, times(1)).authorize(principal, role);
+        assertThat(refreshing.size()).isEqualTo(0);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        assertThat(refreshing.authorize(principal, role)).isFalse();
+        verify(underlying, times(2)).authorize(principal, role);
+    }
+
+    @Test
+    public void invalidatesPrincipalAndRole() throws Exception {
+        cached.authorize(principal, role);
+        cached.invalidate(principal, role);
+        cached.authorize(principal, role);
+
+        verify(underlying, times(2)).authorize(principal, role);
+    }
+
+    @Test
+    public void invalidatesSinglePrincipal() throws Exception {
+        cached.authorize(principal, role);
+        cached.invalidate(principal);
+        cached.authorize(principal, role);
+
+        verify(underlying, times(2)).authorize(principal, role);
+    }
+
+    @Test
+    public void invalidatesSetsofPrincipals() throws Exception {
+        cached.authorize(principal, role);
+        cached.authorize(principal2, role);
+        cached.invalidateAll(ImmutableSet.of(principal, principal2));
+        cached.authorize(principal, role);
+        cached.authorize(principal2, role);
+
+        verify(underlying, times(2)).authorize(principal, role);
+        verify(underlying, times(2)).authorize(principal2, role);
+    }
+
+    @Test
+    public void invalidatesPrincipalsMatchingGivenPredicate() throws Exception {
+        cached.authorize(principal, role);
+        cached.invalidateAll(principal::equals);
+        cached.authorize(principal, role);
+
+        verify(underlying, times(2)).authorize(principal, role);
+    }
+
+    @Test
+    public void invalidatesExclusionsOfPrincipals() throws Exception {
+        when(underlying.authorize(any(), anyString())).thenReturn(false);
+        refreshing.authorize(principal, role);
+        refreshing.invalidate(principal);
+        refreshing.authorize(principal, role);
+
+        verify(underlying, times(2)).authorize(principal, role);
+    }
+
+    @Test
+    public void invalidatesAllPrincipals() throws Exception {
+        cached.authorize(principal, role);
+        cached.authorize(principal2, role);
+        cached.invalidateAll();
+        cached.authorize(principal, role);
+        cached.authorize(principal2, role);
+
+        verify(underlying, times(2)).authorize(principal, role);
+        verify(underlying, times(2)).authorize(principal2, role);
+    }
+
+    @Test
+    public void calculatesTheSizeOfTheCache() throws Exception {
+        assertThat(cached.size()).isEqualTo(0);
+        cached.authorize(principal, role);
+        assertThat(cached.size()).isEqualTo(1);
+        cached.invalidateAll();
+        assertThat(cached.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void calculatesCacheStats() throws Exception {
+        assertThat(cached.stats().loadCount()).isEqualTo(0);
+        cached.authorize(principal, role);
+        assertThat(cached.stats().loadCount()).isEqualTo(1);
+        assertThat(cached.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldPropagateRuntimeException() throws AuthenticationException {
+        final RuntimeException e = new NullPointerException();
+        when(underlying.authorize(principal, role)).thenThrow(e);
+        assertThatNullPointerException()
+            .isThrownBy(() -> cached.authorize(principal, role))
+            .isSameAs(e);
+    }
+}
@@ -0,0 +1,137 @@
+package io.dropwizard.auth;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.util.Duration;
+import org.junit.After;
+import org.junit.Test;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CoalescingAuthenticatorTest {
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @After
+    public void tearDown() throws Exception {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void coalescesConcurrentAuthenticationsOfEqualCredentials() throws Exception {
+        final CoalescingAuthenticator<String, Principal> authenticator =
+            new CoalescingAuthenticator<>(metricRegistry, blocking(), Duration.seconds(10));
+
+        final Future<Optional<Principal>> first = executor.submit(() -> authenticator.authenticate("credentials"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        final List<Future<Optional<Principal>>> others = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            others.add(executor.submit(() -> authenticator.authenticate("credentials")));
+        }
+        while (coalescedCalls() < 4) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).contains(new PrincipalImpl("credentials"));
+        for (Future<Optional<Principal>> other : others) {
+            assertThat(other.get(5, TimeUnit.SECONDS)).contains(new PrincipalImpl("credentials"));
+        }
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(authenticator.inFlight()).isZero();
+    }
+
+    @Test
+    public void doesNotRememberCompletedAuthentications() throws Exception {
+        release.countDown();
+        final CoalescingAuthenticator<String, Principal> authenticator =
+            new CoalescingAuthenticator<>(metricRegistry, blocking(), Duration.seconds(10));
+
+        authenticator.authenticate("credentials");
+        authenticator.authenticate("credentials");
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(coalescedCalls()).isZero();
+    }
+
+    @Test
+    public void failsWaitersAfterTheMaximumWait() throws Exception {
+        final CoalescingAuthenticator<String, Principal> authenticator =
+            new CoalescingAuthenticator<>(metricRegistry, blocking(), Duration.milliseconds(10));
+
+        executor.submit(() -> authenticator.authenticate("credentials"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> authenticator.authenticate("credentials"))
+            .isInstanceOf(AuthenticationException.class);
+        assertThat(metricRegistry.meter(
+            "io.dropwizard.auth.CoalescingAuthenticatorTest$BlockingAuthenticator.coalescing-timeouts").getCount())
+            .isEqualTo(1);
+    }
+
+    @Test
+    public void sharesAuthenticationExceptionsWithWaiters() throws Exception {
+        final AuthenticationException failure = new AuthenticationException("Auth failed");
+        final Authenticator<String, Principal> failing = credentials -> {
+            started.countDown();
+            await(release);
+            throw failure;
+        };
+        final CoalescingAuthenticator<String, Principal> authenticator =
+            new CoalescingAuthenticator<>(metricRegistry, failing, Duration.seconds(10));
+
+        final Future<Optional<Principal>> first = executor.submit(() -> authenticator.authenticate("credentials"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        final Future<Optional<Principal>> second = executor.submit(() -> authenticator.authenticate("credentials"));
+        Thread.sleep(50);
+        release.countDown();
+
+        assertThatThrownBy(first::get).hasCauseReference(failure);
+        assertThatThrownBy(second::get).hasCauseReference(failure);
+        assertThat(authenticator.inFlight()).isZero();
+    }
+
+    private long coalescedCalls() {
+        return metricRegistry.getMeters().entrySet().stream()
+            .filter(e -> e.getKey().endsWith(".coalesced-calls"))
+            .mapToLong(e -> e.getValue().getCount())
+            .sum();
+    }
+
+    private Authenticator<String, Principal> blocking() {
+        return new BlockingAuthenticator();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private class BlockingAuthenticator implements Authenticator<String, Principal> {
+        @Override
+        public Optional<Principal> authenticate(String credentials) {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return Optional.of(new PrincipalImpl(credentials));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package io.dropwizard.benchmarks.client;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.io.ByteStreams;
+import io.dropwizard.client.JerseyClientBuilder;
+import io.dropwizard.client.JerseyClientConfiguration;
+import io.dropwizard.jackson.Jackson;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.glassfish.jersey.client.ClientProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures round-trips through {@link io.dropwizard.client.DropwizardApacheConnector} against a local Jetty server
+ * which answers with a small entity and a handful of headers, as an internal RPC service would. Requests either
+ * have no entity, or an entity which is chunked, buffered, or streamed with a known Content-Length.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class DropwizardApacheConnectorBenchmark {
+
+    @Param({"chunked", "buffered", "fixed-length"})
+    public String requestEntity = "chunked";
+
+    private final byte[] payload = new byte[4096];
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+    private Server server;
+    private Client client;
+    private WebTarget target;
+
+    @Setup
+    public void setUp() throws Exception {
+        Arrays.fill(payload, (byte) 'x');
+
+        server = new Server();
+        final ServerConnector connector = new ServerConnector(server);
+        connector.setHost("127.0.0.1");
+        server.addConnector(connector);
+        server.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+                ByteStreams.exhaust(request.getInputStream());
+                response.setContentType(MediaType.TEXT_PLAIN);
+                response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+                response.addHeader("X-Request-Id", "0f8fad5b-d9cb-469f-a165-70867728950e");
+                response.addHeader("X-Trace", "a");
+                response.addHeader("X-Trace", "b");
+                response.getOutputStream().write("ok".getBytes(StandardCharsets.US_ASCII));
+                baseRequest.setHandled(true);
+            }
+        });
+        server.start();
+
+        final JerseyClientConfiguration configuration = new JerseyClientConfiguration();
+        configuration.setGzipEnabled(false);
+        configuration.setGzipEnabledForRequests(false);
+        configuration.setChunkedEncodingEnabled("chunked".equals(requestEntity));
+        client = new JerseyClientBuilder(new MetricRegistry())
+                .using(configuration)
+                .using(executorService, Jackson.newObjectMapper())
+                .build("benchmark");
+        target = client.target("http://127.0.0.1:" + connector.getLocalPort())
+                .property(ClientProperties.READ_TIMEOUT, 5000);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        client.close();
+        server.stop();
+        executorService.shutdown();
+    }
+
+    @Benchmark
+    public String get() {
+        return target.request().get(String.class);
+    }
+
+    @Benchmark
+    public String post() {
+        if ("fixed-length".equals(requestEntity)) {
+            return target.request()
+                    .header(HttpHeaders.CONTENT_LENGTH, payload.length)
+                    .post(Entity.entity(payload, MediaType.APPLICATION_OCTET_STREAM_TYPE), String.class);
+        }
+        return target.request()
+                .post(Entity.entity(payload, MediaType.APPLICATION_OCTET_STREAM_TYPE), String.class);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(DropwizardApacheConnectorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,183 @@
+package io.dropwizard.benchmarks.hibernate;
+
+import io.dropwizard.hibernate.UnitOfWork;
+import io.dropwizard.hibernate.UnitOfWorkApplicationListener;
+import io.dropwizard.logging.BootstrapLogging;
+import org.glassfish.jersey.server.ExtendedUriInfo;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.model.ResourceModel;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.H2Dialect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of {@link UnitOfWorkApplicationListener} on the requests to resource methods with and
+ * without a {@link UnitOfWork}, and on the requests to applications without any unit of work.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class UnitOfWorkApplicationListenerBenchmark {
+
+    static {
+        BootstrapLogging.bootstrap();
+    }
+
+    public static class ExampleResource {
+        public String plain() {
+            return "plain";
+        }
+
+        // Not transactional, so that the benchmark doesn't measure the database
+        @UnitOfWork(transactional = false)
+        public String unitOfWork() {
+            return "unitOfWork";
+        }
+    }
+
+    private SessionFactory sessionFactory;
+    private UnitOfWorkApplicationListener listener;
+    private UnitOfWorkApplicationListener listenerWithoutUnitOfWork;
+    private RequestEvent[] plainEvents;
+    private RequestEvent[] unitOfWorkEvents;
+
+    @Setup
+    public void setUp() throws Exception {
+        sessionFactory = new Configuration()
+            .setProperty(AvailableSettings.URL, "jdbc:h2:mem:unit-of-work-benchmark")
+            .setProperty(AvailableSettings.DIALECT, H2Dialect.class.getName())
+            .setProperty(AvailableSettings.CURRENT_SESSION_CONTEXT_CLASS, "managed")
+            .buildSessionFactory();
+
+        final Resource.Builder resource = Resource.builder("/");
+        final ResourceMethod plainMethod = resource.addMethod("GET")
+            .handledBy(new ExampleResource(), ExampleResource.class.getMethod("plain"))
+            .build();
+        final ResourceMethod unitOfWorkMethod = resource.addChildResource("unit-of-work").addMethod("GET")
+            .handledBy(new ExampleResource(), ExampleResource.class.getMethod("unitOfWork"))
+            .build();
+        final ResourceModel model = new ResourceModel.Builder(false).addResource(resource.build()).build();
+
+        listener = new UnitOfWorkApplicationListener("hibernate", sessionFactory);
+        listener.onEvent(initializationFinished(model));
+
+        final Resource.Builder plainResource = Resource.builder("/");
+        plainResource.addMethod("GET").handledBy(new ExampleResource(), ExampleResource.class.getMethod("plain"));
+        listenerWithoutUnitOfWork = new UnitOfWorkApplicationListener("hibernate", sessionFactory);
+        listenerWithoutUnitOfWork.onEvent(initializationFinished(
+            new ResourceModel.Builder(false).addResource(plainResource.build()).build()));
+
+        plainEvents = requestEvents(plainMethod);
+        unitOfWorkEvents = requestEvents(unitOfWorkMethod);
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Object requestWithoutUnitOfWork() {
+        return request(listener, plainEvents);
+    }
+
+    @Benchmark
+    public Object requestWithUnitOfWork() {
+        return request(listener, unitOfWorkEvents);
+    }
+
+    @Benchmark
+    public Object requestToApplicationWithoutUnitOfWork() {
+        return request(listenerWithoutUnitOfWork, plainEvents);
+    }
+
+    private static Object request(UnitOfWorkApplicationListener listener, RequestEvent[] events) {
+        final RequestEventListener requestListener = listener.onRequest(events[0]);
+        if (requestListener == null) {
+            return events;
+        }
+        for (RequestEvent event : events) {
+            requestListener.onEvent(event);
+        }
+        return requestListener;
+    }
+
+    private static RequestEvent[] requestEvents(ResourceMethod method) {
+        final ExtendedUriInfo uriInfo = stub(ExtendedUriInfo.class, "getMatchedResourceMethod", method);
+        return new RequestEvent[]{
+            requestEvent(RequestEvent.Type.START, uriInfo),
+            requestEvent(RequestEvent.Type.MATCHING_START, uriInfo),
+            requestEvent(RequestEvent.Type.REQUEST_MATCHED, uriInfo),
+            requestEvent(RequestEvent.Type.REQUEST_FILTERED, uriInfo),
+            requestEvent(RequestEvent.Type.RESOURCE_METHOD_START, uriInfo),
+            requestEvent(RequestEvent.Type.RESOURCE_METHOD_FINISHED, uriInfo),
+            requestEvent(RequestEvent.Type.RESP_FILTERS_START, uriInfo),
+            requestEvent(RequestEvent.Type.RESP_FILTERS_FINISHED, uriInfo),
+            requestEvent(RequestEvent.Type.FINISHED, uriInfo)
+        };
+    }
+
+    private static RequestEvent requestEvent(RequestEvent.Type type, ExtendedUriInfo uriInfo) {
+        return (RequestEvent) Proxy.newProxyInstance(RequestEvent.class.getClassLoader(),
+            new Class<?>[]{RequestEvent.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getType":
+                        return type;
+                    case "getUriInfo":
+                        return uriInfo;
+                    default:
+                        return null;
+                }
+            });
+    }
+
+    private static ApplicationEvent initializationFinished(ResourceModel model) {
+        return (ApplicationEvent) Proxy.newProxyInstance(ApplicationEvent.class.getClassLoader(),
+            new Class<?>[]{ApplicationEvent.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getType":
+                        return ApplicationEvent.Type.INITIALIZATION_APP_FINISHED;
+                    case "getResourceModel":
+                        return model;
+                    default:
+                        return null;
+                }
+            });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, String methodName, Object value) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+            (proxy, method, args) -> methodName.equals(method.getName()) ? value : null);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+            .include(UnitOfWorkApplicationListenerBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .warmupIterations(5)
+            .measurementIterations(5)
+            .build())
+            .run();
+    }
+}
@@ -0,0 +1,116 @@
+package io.dropwizard.benchmarks.jdbi3;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.db.DataSourceFactory;
+import io.dropwizard.db.ManagedDataSource;
+import io.dropwizard.jdbi3.NamePrependingTemplateEngine;
+import io.dropwizard.logging.BootstrapLogging;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.statement.SqlStatements;
+import org.jdbi.v3.core.statement.TemplateEngine;
+import org.jdbi.v3.sqlobject.SqlObjectPlugin;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-statement overhead of SQL object calls against an embedded H2 database, without prepended
+ * comments, and with comments prepended by a {@link NamePrependingTemplateEngine} with and without its cache of
+ * rendered statements.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class NamePrependingTemplateEngineBenchmark {
+
+    static {
+        BootstrapLogging.bootstrap();
+    }
+
+    public interface PersonDao {
+        @SqlQuery("SELECT name FROM people WHERE id = :id")
+        String findName(@Bind("id") int id);
+    }
+
+    private ManagedDataSource dataSource;
+    private PersonDao plainDao;
+    private PersonDao uncachedDao;
+    private PersonDao cachedDao;
+
+    @Setup
+    public void setUp() throws Exception {
+        final DataSourceFactory dataSourceFactory = new DataSourceFactory();
+        dataSourceFactory.setUrl("jdbc:h2:mem:jdbi3-benchmark");
+        dataSourceFactory.setUser("sa");
+        dataSourceFactory.setDriverClass("org.h2.Driver");
+        dataSourceFactory.setMinSize(1);
+        dataSourceFactory.setInitialSize(1);
+        dataSource = dataSourceFactory.build(new MetricRegistry(), "jdbi3-benchmark");
+        dataSource.start();
+
+        final Jdbi plain = jdbi();
+        plain.useHandle(handle -> handle.createScript(
+            "CREATE TABLE people (id INT PRIMARY KEY, name VARCHAR(100));" +
+            "INSERT INTO people VALUES (1, 'Coda');").execute());
+
+        final Jdbi uncached = jdbi();
+        uncached.setTemplateEngine(new NamePrependingTemplateEngine(templateEngine(uncached), 0));
+        final Jdbi cached = jdbi();
+        cached.setTemplateEngine(new NamePrependingTemplateEngine(templateEngine(cached)));
+
+        plainDao = plain.onDemand(PersonDao.class);
+        uncachedDao = uncached.onDemand(PersonDao.class);
+        cachedDao = cached.onDemand(PersonDao.class);
+    }
+
+    private Jdbi jdbi() {
+        return Jdbi.create(dataSource).installPlugin(new SqlObjectPlugin());
+    }
+
+    private static TemplateEngine templateEngine(Jdbi jdbi) {
+        return jdbi.getConfig(SqlStatements.class).getTemplateEngine();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        dataSource.stop();
+    }
+
+    @Benchmark
+    public String withoutComments() {
+        return plainDao.findName(1);
+    }
+
+    @Benchmark
+    public String withUncachedComments() {
+        return uncachedDao.findName(1);
+    }
+
+    @Benchmark
+    public String withCachedComments() {
+        return cachedDao.findName(1);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+            .include(NamePrependingTemplateEngineBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .warmupIterations(5)
+            .measurementIterations(5)
+            .build())
+            .run();
+    }
+}
@@ -0,0 +1,91 @@
+package io.dropwizard.benchmarks.jetty;
+
+import io.dropwizard.jetty.InflaterPool;
+import io.dropwizard.jetty.PooledInflaterInputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares decompressing a small gzip-encoded JSON batch with a fresh {@link GZIPInputStream} per request against
+ * decompressing it with an inflater borrowed from a shared {@link InflaterPool}. Run with the GC profiler to see the
+ * difference in allocations per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class GzipInflationBenchmark {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final InflaterPool pool = new InflaterPool(64, true);
+    private final byte[] output = new byte[BUFFER_SIZE];
+
+    private byte[] compressed = new byte[0];
+
+    @Setup
+    public void setUp() throws IOException {
+        final StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 200; i++) {
+            json.append("{\"id\":").append(i).append(",\"name\":\"event-").append(i).append("\",\"ok\":true},");
+        }
+        json.setCharAt(json.length() - 1, ']');
+
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(baos)) {
+            gzip.write(json.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        compressed = baos.toByteArray();
+    }
+
+    @Benchmark
+    public long gzipInputStream() throws IOException {
+        try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(compressed), BUFFER_SIZE)) {
+            return drain(input);
+        }
+    }
+
+    @Benchmark
+    public long pooledInflaterInputStream() throws IOException {
+        try (InputStream input = new PooledInflaterInputStream(new ByteArrayInputStream(compressed), pool,
+            BUFFER_SIZE, true)) {
+            return drain(input);
+        }
+    }
+
+    private long drain(InputStream input) throws IOException {
+        long total = 0;
+        int n;
+        while ((n = input.read(output)) != -1) {
+            total += n;
+        }
+        return total;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(GzipInflationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .build())
+                .run();
+    }
+}
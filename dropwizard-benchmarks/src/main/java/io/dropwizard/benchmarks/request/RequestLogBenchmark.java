@@ -0,0 +1,173 @@
+package io.dropwizard.benchmarks.request;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import com.google.common.collect.ImmutableList;
+import io.dropwizard.logging.AppenderFactory;
+import io.dropwizard.logging.BootstrapLogging;
+import io.dropwizard.request.logging.compact.CompactRequestLog;
+import io.dropwizard.request.logging.compact.CompactRequestLogFactory;
+import io.dropwizard.request.logging.old.LogbackClassicRequestLogFactory;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpURI;
+import org.eclipse.jetty.http.HttpVersion;
+import org.eclipse.jetty.http.MetaData;
+import org.eclipse.jetty.server.HttpChannel;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.RequestLog;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of logging a request on the thread handling it, with the classic request log, which formats the
+ * log line before handing it to the appenders, and with the compact request log, which only captures its fields.
+ * The cost of the compact request log including the formatting done by the appenders is measured separately.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class RequestLogBenchmark {
+
+    static {
+        BootstrapLogging.bootstrap();
+    }
+
+    private static class LastEventAppender extends AppenderBase<ILoggingEvent> {
+        private ILoggingEvent last;
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            last = event;
+        }
+    }
+
+    private final LastEventAppender appender = new LastEventAppender();
+    private RequestLog classicRequestLog;
+    private CompactRequestLog compactRequestLog;
+    private Request request;
+    private Response response;
+
+    @Setup
+    public void setUp() throws Exception {
+        appender.start();
+        final ImmutableList<AppenderFactory<ILoggingEvent>> appenders = ImmutableList.of(
+            (context, applicationName, layoutFactory, levelFilterFactory, asyncAppenderFactory) -> appender);
+
+        final LogbackClassicRequestLogFactory classicFactory = new LogbackClassicRequestLogFactory();
+        classicFactory.setAppenders(appenders);
+        classicRequestLog = classicFactory.build("benchmark");
+
+        final CompactRequestLogFactory compactFactory = new CompactRequestLogFactory();
+        compactFactory.setAppenders(appenders);
+        compactRequestLog = compactFactory.build("benchmark");
+        compactRequestLog.start();
+
+        final HttpChannel channel = new HttpChannel(null, new HttpConfiguration(), null, null) {
+            @Override
+            public long getBytesWritten() {
+                return 8290;
+            }
+        };
+        final HttpURI uri = new HttpURI("/api/things?id=42");
+        final long timestamp = System.currentTimeMillis();
+        request = new Request(channel, null) {
+            @Override
+            public String getRemoteAddr() {
+                return "10.0.0.1";
+            }
+
+            @Override
+            public String getHeader(String name) {
+                switch (name) {
+                    case "Referer":
+                        return "https://example.com/things";
+                    case "User-Agent":
+                        return "Mozilla/5.0 (X11; Linux x86_64; rv:84.0) Gecko/20100101 Firefox/84.0";
+                    default:
+                        return null;
+                }
+            }
+
+            @Override
+            public long getTimeStamp() {
+                return timestamp;
+            }
+
+            @Override
+            public String getMethod() {
+                return "GET";
+            }
+
+            @Override
+            public HttpURI getHttpURI() {
+                return uri;
+            }
+
+            @Override
+            public String getOriginalURI() {
+                return "/api/things?id=42";
+            }
+
+            @Override
+            public String getProtocol() {
+                return "HTTP/1.1";
+            }
+        };
+        final MetaData.Response metaData = new MetaData.Response(HttpVersion.HTTP_1_1, 200, new HttpFields());
+        response = new Response(channel, null) {
+            @Override
+            public MetaData.Response getCommittedMetaData() {
+                return metaData;
+            }
+        };
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        ((LifeCycle) classicRequestLog).stop();
+        compactRequestLog.stop();
+    }
+
+    @Benchmark
+    public ILoggingEvent classic() {
+        classicRequestLog.log(request, response);
+        return appender.last;
+    }
+
+    @Benchmark
+    public ILoggingEvent compact() {
+        compactRequestLog.log(request, response);
+        return appender.last;
+    }
+
+    @Benchmark
+    public String compactFormatted() {
+        compactRequestLog.log(request, response);
+        return appender.last.getFormattedMessage();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+            .include(RequestLogBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .warmupIterations(5)
+            .measurementIterations(5)
+            .build())
+            .run();
+    }
+}
@@ -0,0 +1,23 @@
+package io.dropwizard.client;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+
+public class ConfiguredCloseableHttpAsyncClient {
+    private final CloseableHttpAsyncClient closeableHttpAsyncClient;
+    private final RequestConfig defaultRequestConfig;
+
+    /* package */ ConfiguredCloseableHttpAsyncClient(CloseableHttpAsyncClient closeableHttpAsyncClient,
+                                                     RequestConfig defaultRequestConfig) {
+        this.closeableHttpAsyncClient = closeableHttpAsyncClient;
+        this.defaultRequestConfig = defaultRequestConfig;
+    }
+
+    public RequestConfig getDefaultRequestConfig() {
+        return defaultRequestConfig;
+    }
+
+    public CloseableHttpAsyncClient getClient() {
+        return closeableHttpAsyncClient;
+    }
+}
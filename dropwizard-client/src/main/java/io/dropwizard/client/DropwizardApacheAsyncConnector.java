@@ -0,0 +1,337 @@
+package io.dropwizard.client;
+
+import com.google.common.util.concurrent.Futures;
+import org.apache.http.ContentTooLongException;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.StatusLine;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.client.methods.HttpAsyncMethods;
+import org.apache.http.nio.entity.ContentBufferEntity;
+import org.apache.http.nio.entity.NByteArrayEntity;
+import org.apache.http.nio.protocol.AbstractAsyncResponseConsumer;
+import org.apache.http.nio.util.HeapByteBufferAllocator;
+import org.apache.http.nio.util.SimpleInputBuffer;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.VersionInfo;
+import org.glassfish.jersey.apache.connector.LocalizationMessages;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.message.internal.Statuses;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import static com.google.common.base.MoreObjects.firstNonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Dropwizard Apache Async Connector.
+ * <p>
+ * It's a non-blocking version of {@link DropwizardApacheConnector} that uses
+ * Apache's {@link org.apache.http.nio.client.HttpAsyncClient} as an HTTP transport
+ * implementation. Asynchronous Jersey invocations don't hold a thread while the
+ * request is in flight: the I/O is done by the client's I/O reactor, which completes
+ * the invocation's callback once the whole response has been received.
+ * </p>
+ * <p>
+ * Request entities are buffered before the request is sent, and responses are
+ * buffered before they're handed to Jersey, because Jersey reads and writes
+ * entities with blocking streams. Responses larger than the maximum response size
+ * fail with a {@link ContentTooLongException}.
+ * </p>
+ * <p>
+ * The callbacks of asynchronous invocations are run on the I/O reactor threads,
+ * so they shouldn't block.
+ * </p>
+ */
+public class DropwizardApacheAsyncConnector implements Connector {
+
+    private static final String APACHE_HTTP_ASYNC_CLIENT_VERSION = VersionInfo
+            .loadVersionInfo("org.apache.http.nio.client", DropwizardApacheAsyncConnector.class.getClassLoader())
+            .getRelease();
+
+    private static final int BUFFER_INITIAL_SIZE = 512;
+
+    /**
+     * The default maximum size of a buffered response entity, 10 MiB
+     */
+    public static final long DEFAULT_MAX_RESPONSE_SIZE = 10L * 1024 * 1024;
+
+    /**
+     * Actual HTTP client
+     */
+    private final CloseableHttpAsyncClient client;
+
+    /**
+     * Default HttpUriRequestConfig
+     */
+    @Nullable
+    private final RequestConfig defaultRequestConfig;
+
+    /**
+     * Maximum size of a buffered response entity, in bytes
+     */
+    private final long maxResponseSize;
+
+    public DropwizardApacheAsyncConnector(CloseableHttpAsyncClient client,
+                                          @Nullable RequestConfig defaultRequestConfig) {
+        this(client, defaultRequestConfig, DEFAULT_MAX_RESPONSE_SIZE);
+    }
+
+    public DropwizardApacheAsyncConnector(CloseableHttpAsyncClient client,
+                                          @Nullable RequestConfig defaultRequestConfig,
+                                          long maxResponseSize) {
+        this.client = client;
+        this.defaultRequestConfig = defaultRequestConfig;
+        this.maxResponseSize = maxResponseSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ClientResponse apply(ClientRequest jerseyRequest) {
+        try {
+            return execute(jerseyRequest, null).get();
+        } catch (ExecutionException e) {
+            throw new ProcessingException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<?> apply(final ClientRequest jerseyRequest, final AsyncConnectorCallback callback) {
+        try {
+            return execute(jerseyRequest, new FutureCallback<ClientResponse>() {
+                @Override
+                public void completed(ClientResponse response) {
+                    callback.response(response);
+                }
+
+                @Override
+                public void failed(Exception e) {
+                    callback.failure(new ProcessingException(e));
+                }
+
+                @Override
+                public void cancelled() {
+                    callback.failure(new ProcessingException("The request has been cancelled"));
+                }
+            });
+        } catch (ProcessingException e) {
+            // The request entity couldn't be buffered
+            callback.failure(e);
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
+    private Future<ClientResponse> execute(final ClientRequest jerseyRequest,
+                                           @Nullable final FutureCallback<ClientResponse> callback) {
+        final HttpClientContext context = HttpClientContext.create();
+        final RequestConfig requestConfig = getRequestConfig(jerseyRequest);
+        if (requestConfig != null) {
+            context.setRequestConfig(requestConfig);
+        }
+
+        return client.execute(HttpAsyncMethods.create(buildApacheRequest(jerseyRequest)),
+                new JerseyResponseConsumer(jerseyRequest, maxResponseSize), context, callback);
+    }
+
+    /**
+     * Build a new Apache's {@link org.apache.http.client.methods.HttpUriRequest}
+     * from Jersey's {@link org.glassfish.jersey.client.ClientRequest}
+     * <p>
+     * Convert a method, URI, body and headers
+     * </p>
+     *
+     * @param jerseyRequest representation of an HTTP request in Jersey
+     * @return a new {@link org.apache.http.client.methods.HttpUriRequest}
+     */
+    private HttpUriRequest buildApacheRequest(ClientRequest jerseyRequest) {
+        final RequestBuilder builder = RequestBuilder
+                .create(jerseyRequest.getMethod())
+                .setUri(jerseyRequest.getUri())
+                .setEntity(getHttpEntity(jerseyRequest));
+        for (String headerName : jerseyRequest.getHeaders().keySet()) {
+            // The Content-Length header is set by Apache HttpAsyncClient from the entity
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(headerName)) {
+                builder.addHeader(headerName, jerseyRequest.getHeaderString(headerName));
+            }
+        }
+        return builder.build();
+    }
+
+    @Nullable
+    private RequestConfig getRequestConfig(ClientRequest clientRequest) {
+        final Integer timeout = clientRequest.resolveProperty(ClientProperties.READ_TIMEOUT, Integer.class);
+        final Integer connectTimeout = clientRequest.resolveProperty(ClientProperties.CONNECT_TIMEOUT, Integer.class);
+        final Boolean followRedirects = clientRequest.resolveProperty(ClientProperties.FOLLOW_REDIRECTS, Boolean.class);
+
+        if (timeout != null || connectTimeout != null || followRedirects != null) {
+            final RequestConfig.Builder requestConfig = RequestConfig.copy(defaultRequestConfig);
+
+            if (timeout != null) {
+                requestConfig.setSocketTimeout(timeout);
+            }
+
+            if (connectTimeout != null) {
+                requestConfig.setConnectTimeout(connectTimeout);
+            }
+
+            if (followRedirects != null) {
+                requestConfig.setRedirectsEnabled(followRedirects);
+            }
+
+            return requestConfig.build();
+        }
+
+        return null;
+    }
+
+    /**
+     * Get an Apache's {@link org.apache.http.HttpEntity}
+     * from Jersey's {@link org.glassfish.jersey.client.ClientRequest}
+     * <p>
+     * The entity is buffered, so that it can be written to the connection without blocking.
+     * </p>
+     *
+     * @param jerseyRequest representation of an HTTP request in Jersey
+     * @return a buffered {@link org.apache.http.HttpEntity}
+     */
+    @Nullable
+    protected HttpEntity getHttpEntity(ClientRequest jerseyRequest) {
+        if (jerseyRequest.getEntity() == null) {
+            return null;
+        }
+
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream(BUFFER_INITIAL_SIZE);
+        jerseyRequest.setStreamProvider(contentLength -> stream);
+        try {
+            jerseyRequest.writeEntity();
+        } catch (IOException e) {
+            throw new ProcessingException(LocalizationMessages.ERROR_BUFFERING_ENTITY(), e);
+        }
+        return new NByteArrayEntity(stream.toByteArray());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getName() {
+        return "Apache-HttpAsyncClient/" + APACHE_HTTP_ASYNC_CLIENT_VERSION;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        // Should not close the client here, because it's managed by the Dropwizard environment
+    }
+
+    /**
+     * Buffers an Apache response in memory, and converts it into a Jersey response
+     * once it has been received in full. Fails the response as soon as its entity
+     * exceeds the maximum size.
+     */
+    private static class JerseyResponseConsumer extends AbstractAsyncResponseConsumer<ClientResponse> {
+        private static final int DEFAULT_BUFFER_SIZE = 4096;
+
+        private final ClientRequest jerseyRequest;
+        private final long maxResponseSize;
+
+        @Nullable
+        private volatile HttpResponse response;
+
+        @Nullable
+        private volatile SimpleInputBuffer buffer;
+
+        private long received;
+
+        private JerseyResponseConsumer(ClientRequest jerseyRequest, long maxResponseSize) {
+            this.jerseyRequest = jerseyRequest;
+            this.maxResponseSize = maxResponseSize;
+        }
+
+        @Override
+        protected void onResponseReceived(HttpResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        protected void onEntityEnclosed(HttpEntity entity, ContentType contentType) throws IOException {
+            final long contentLength = entity.getContentLength();
+            if (contentLength > maxResponseSize || contentLength > Integer.MAX_VALUE) {
+                throw new ContentTooLongException("Entity content is too long: %,d", contentLength);
+            }
+            final SimpleInputBuffer entityBuffer = new SimpleInputBuffer(
+                    contentLength < 0 ? DEFAULT_BUFFER_SIZE : (int) contentLength, HeapByteBufferAllocator.INSTANCE);
+            requireNonNull(response).setEntity(new ContentBufferEntity(entity, entityBuffer));
+            this.buffer = entityBuffer;
+        }
+
+        @Override
+        protected void onContentReceived(ContentDecoder decoder, IOControl ioControl) throws IOException {
+            final int read = requireNonNull(buffer).consumeContent(decoder);
+            if (read > 0) {
+                received += read;
+                if (received > maxResponseSize) {
+                    throw new ContentTooLongException("Entity content is larger than %,d bytes", maxResponseSize);
+                }
+            }
+        }
+
+        @Override
+        protected ClientResponse buildResult(HttpContext context) throws IOException {
+            final HttpResponse apacheResponse = requireNonNull(response);
+            final StatusLine statusLine = apacheResponse.getStatusLine();
+            final Response.StatusType status = Statuses.from(statusLine.getStatusCode(),
+                    firstNonNull(statusLine.getReasonPhrase(), ""));
+
+            final ClientResponse jerseyResponse = new ClientResponse(status, jerseyRequest);
+            final MultivaluedMap<String, String> headers = jerseyResponse.getHeaders();
+            for (Header header : apacheResponse.getAllHeaders()) {
+                headers.add(header.getName(), header.getValue());
+            }
+
+            final HttpEntity httpEntity = apacheResponse.getEntity();
+            jerseyResponse.setEntityStream(httpEntity != null ? httpEntity.getContent() :
+                    new ByteArrayInputStream(new byte[0]));
+
+            return jerseyResponse;
+        }
+
+        @Override
+        protected void releaseResources() {
+            this.response = null;
+            this.buffer = null;
+        }
+    }
+}
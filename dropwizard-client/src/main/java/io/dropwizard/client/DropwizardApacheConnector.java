@@ -1,6 +1,6 @@
 package io.dropwizard.client;
 
-import com.google.common.collect.Lists;
+import com.google.common.primitives.Longs;
 import com.google.common.util.concurrent.MoreExecutors;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
@@ -22,14 +22,20 @@ import org.glassfish.jersey.message.internal.Statuses;
 
 import javax.annotation.Nullable;
 import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Future;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
@@ -57,6 +63,11 @@ public class DropwizardApacheConnector implements Connector {
             .loadVersionInfo("org.apache.http.client", DropwizardApacheConnector.class.getClassLoader())
             .getRelease();
 
+    /**
+     * The maximum number of distinct per-request configurations to cache
+     */
+    private static final int MAX_CACHED_REQUEST_CONFIGS = 64;
+
     /**
      * Actual HTTP client
      */
@@ -72,6 +83,12 @@ public class DropwizardApacheConnector implements Connector {
      */
     private final boolean chunkedEncodingEnabled;
 
+    /**
+     * Request configs derived from the default one for the Jersey properties
+     * overriding it, keyed by the values of these properties
+     */
+    private final ConcurrentMap<List<Object>, RequestConfig> requestConfigs = new ConcurrentHashMap<>();
+
     public DropwizardApacheConnector(CloseableHttpClient client, @Nullable RequestConfig defaultRequestConfig,
                                      boolean chunkedEncodingEnabled) {
         this.client = client;
@@ -93,13 +110,9 @@ public class DropwizardApacheConnector implements Connector {
                     firstNonNull(statusLine.getReasonPhrase(), ""));
 
             final ClientResponse jerseyResponse = new ClientResponse(status, jerseyRequest);
+            final MultivaluedMap<String, String> headers = jerseyResponse.getHeaders();
             for (Header header : apacheResponse.getAllHeaders()) {
-                final List<String> headerValues = jerseyResponse.getHeaders().get(header.getName());
-                if (headerValues == null) {
-                    jerseyResponse.getHeaders().put(header.getName(), Lists.newArrayList(header.getValue()));
-                } else {
-                    headerValues.add(header.getValue());
-                }
+                headers.add(header.getName(), header.getValue());
             }
 
             final HttpEntity httpEntity = apacheResponse.getEntity();
@@ -116,7 +129,8 @@ public class DropwizardApacheConnector implements Connector {
      * Build a new Apache's {@link org.apache.http.client.methods.HttpUriRequest}
      * from Jersey's {@link org.glassfish.jersey.client.ClientRequest}
      * <p>
-     * Convert a method, URI, body, headers and override a user-agent if necessary
+     * Convert a method, URI, body, headers and override a user-agent if necessary.
+     * The Content-Length header isn't copied, as it's set by Apache HttpClient from the entity.
      * </p>
      *
      * @param jerseyRequest representation of an HTTP request in Jersey
@@ -128,7 +142,9 @@ public class DropwizardApacheConnector implements Connector {
                 .setUri(jerseyRequest.getUri())
                 .setEntity(getHttpEntity(jerseyRequest));
         for (String headerName : jerseyRequest.getHeaders().keySet()) {
-            builder.addHeader(headerName, jerseyRequest.getHeaderString(headerName));
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(headerName)) {
+                builder.addHeader(headerName, jerseyRequest.getHeaderString(headerName));
+            }
         }
 
         final Optional<RequestConfig> requestConfig = addJerseyRequestConfig(jerseyRequest);
@@ -143,24 +159,40 @@ public class DropwizardApacheConnector implements Connector {
         final Boolean followRedirects = clientRequest.resolveProperty(ClientProperties.FOLLOW_REDIRECTS, Boolean.class);
 
         if (timeout != null || connectTimeout != null || followRedirects != null) {
-            final RequestConfig.Builder requestConfig = RequestConfig.copy(defaultRequestConfig);
-
-            if (timeout != null) {
-                requestConfig.setSocketTimeout(timeout);
+            // Request configs are immutable, so the ones for the same overrides can be shared
+            final List<Object> key = Arrays.asList(timeout, connectTimeout, followRedirects);
+            final RequestConfig requestConfig = requestConfigs.get(key);
+            if (requestConfig != null) {
+                return Optional.of(requestConfig);
             }
 
-            if (connectTimeout != null) {
-                requestConfig.setConnectTimeout(connectTimeout);
+            final RequestConfig newRequestConfig = buildRequestConfig(timeout, connectTimeout, followRedirects);
+            if (requestConfigs.size() < MAX_CACHED_REQUEST_CONFIGS) {
+                requestConfigs.putIfAbsent(key, newRequestConfig);
             }
+            return Optional.of(newRequestConfig);
+        }
 
-            if (followRedirects != null) {
-                requestConfig.setRedirectsEnabled(followRedirects);
-            }
+        return Optional.empty();
+    }
+
+    private RequestConfig buildRequestConfig(@Nullable Integer timeout, @Nullable Integer connectTimeout,
+                                             @Nullable Boolean followRedirects) {
+        final RequestConfig.Builder requestConfig = RequestConfig.copy(defaultRequestConfig);
 
-            return Optional.of(requestConfig.build());
+        if (timeout != null) {
+            requestConfig.setSocketTimeout(timeout);
         }
 
-        return Optional.empty();
+        if (connectTimeout != null) {
+            requestConfig.setConnectTimeout(connectTimeout);
+        }
+
+        if (followRedirects != null) {
+            requestConfig.setRedirectsEnabled(followRedirects);
+        }
+
+        return requestConfig.build();
     }
 
     /**
@@ -170,6 +202,10 @@ public class DropwizardApacheConnector implements Connector {
      * Create a custom HTTP entity, because Jersey doesn't provide
      * a request stream or a byte buffer.
      * </p>
+     * <p>
+     * If the request has a Content-Length header and isn't encoded, the entity
+     * is streamed with that length rather than being chunked or buffered.
+     * </p>
      *
      * @param jerseyRequest representation of an HTTP request in Jersey
      * @return a correct {@link org.apache.http.HttpEntity} implementation
@@ -180,10 +216,31 @@ public class DropwizardApacheConnector implements Connector {
             return null;
         }
 
+        final long contentLength = getContentLength(jerseyRequest);
+        if (contentLength >= 0) {
+            return new FixedLengthJerseyRequestHttpEntity(jerseyRequest, contentLength);
+        }
+
         return chunkedEncodingEnabled ? new JerseyRequestHttpEntity(jerseyRequest) :
                 new BufferedJerseyRequestHttpEntity(jerseyRequest);
     }
 
+    /**
+     * Returns the length of the request entity, if it's known before it's written.
+     */
+    private static long getContentLength(ClientRequest jerseyRequest) {
+        // An encoding such as GZIP changes the length of the entity as it's written
+        if (jerseyRequest.getHeaderString(HttpHeaders.CONTENT_ENCODING) != null) {
+            return -1;
+        }
+        final String contentLength = jerseyRequest.getHeaderString(HttpHeaders.CONTENT_LENGTH);
+        if (contentLength == null) {
+            return -1;
+        }
+        final Long length = Longs.tryParse(contentLength.trim());
+        return length == null ? -1 : length;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -277,6 +334,113 @@ public class DropwizardApacheConnector implements Connector {
 
     }
 
+    /**
+     * A custom {@link org.apache.http.entity.AbstractHttpEntity} that uses
+     * a Jersey request as a content source, and whose length is known
+     * beforehand. Its contents are streamed without chunked encoding.
+     */
+    private static class FixedLengthJerseyRequestHttpEntity extends AbstractHttpEntity {
+
+        private final ClientRequest clientRequest;
+        private final long contentLength;
+
+        private FixedLengthJerseyRequestHttpEntity(ClientRequest clientRequest, long contentLength) {
+            this.clientRequest = clientRequest;
+            this.contentLength = contentLength;
+            setChunked(false);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isRepeatable() {
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getContentLength() {
+            return contentLength;
+        }
+
+        /**
+         * {@inheritDoc}
+         * <p>
+         * This method isn't supported at will throw an {@link java.lang.UnsupportedOperationException}
+         * if invoked.
+         * </p>
+         */
+        @Override
+        public InputStream getContent() throws IOException {
+            // Shouldn't be called
+            throw new UnsupportedOperationException("Reading from the entity is not supported");
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void writeTo(final OutputStream outputStream) throws IOException {
+            final ContentLengthCheckingOutputStream stream =
+                    new ContentLengthCheckingOutputStream(outputStream, contentLength);
+            clientRequest.setStreamProvider(length -> stream);
+            clientRequest.writeEntity();
+            stream.checkComplete();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isStreaming() {
+            return false;
+        }
+    }
+
+    /**
+     * Fails writes of more bytes than the declared content length, which
+     * would otherwise be silently discarded.
+     */
+    private static class ContentLengthCheckingOutputStream extends FilterOutputStream {
+
+        private final long contentLength;
+        private long written;
+
+        private ContentLengthCheckingOutputStream(OutputStream out, long contentLength) {
+            super(out);
+            this.contentLength = contentLength;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            checkLength(1);
+            out.write(b);
+            written++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            checkLength(len);
+            out.write(b, off, len);
+            written += len;
+        }
+
+        private void checkLength(int len) throws IOException {
+            if (written + len > contentLength) {
+                throw new IOException("Request entity is longer than its Content-Length of " + contentLength);
+            }
+        }
+
+        private void checkComplete() throws IOException {
+            if (written != contentLength) {
+                throw new IOException("Request entity is shorter than its Content-Length of " + contentLength);
+            }
+        }
+    }
+
     /**
      * A custom {@link org.apache.http.entity.AbstractHttpEntity} that uses
      * a Jersey request as a content source.
@@ -0,0 +1,463 @@
+package io.dropwizard.client;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.httpasyncclient.InstrumentedNClientConnManager;
+import com.codahale.metrics.httpasyncclient.InstrumentedNHttpClientBuilder;
+import com.codahale.metrics.httpclient.HttpClientMetricNameStrategies;
+import com.codahale.metrics.httpclient.HttpClientMetricNameStrategy;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.dropwizard.client.proxy.AuthConfiguration;
+import io.dropwizard.client.proxy.NonProxyListProxyRoutePlanner;
+import io.dropwizard.client.proxy.ProxyConfiguration;
+import io.dropwizard.client.ssl.TlsConfiguration;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.setup.Environment;
+import io.dropwizard.util.Duration;
+import org.apache.http.ConnectionReuseStrategy;
+import org.apache.http.Header;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.Credentials;
+import org.apache.http.auth.NTCredentials;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.CredentialsProvider;
+import org.apache.http.client.RedirectStrategy;
+import org.apache.http.client.config.CookieSpecs;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.routing.HttpRoutePlanner;
+import org.apache.http.impl.DefaultConnectionReuseStrategy;
+import org.apache.http.impl.NoConnectionReuseStrategy;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.ConnectingIOReactor;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.protocol.HttpContext;
+
+import javax.annotation.Nullable;
+import javax.net.ssl.HostnameVerifier;
+import java.util.List;
+
+/**
+ * A convenience class for building non-blocking {@link CloseableHttpAsyncClient} instances from the same
+ * {@link HttpClientConfiguration} as {@link HttpClientBuilder}.
+ * <p>
+ * The clients are backed by an NIO reactor with a fixed number of I/O dispatch threads, so outstanding
+ * requests don't each hold a thread. Like the clients built by {@link HttpClientBuilder}, they
+ * <ul>
+ * <li>Disable Nagle's algorithm</li>
+ * <li>Disable cookie management by default</li>
+ * <li>Are instrumented with request timers and connection pool gauges</li>
+ * </ul>
+ * </p>
+ * Unlike {@link HttpClientBuilder}, requests aren't retried and responses aren't decompressed by the client.
+ */
+public class HttpAsyncClientBuilder {
+    private final MetricRegistry metricRegistry;
+
+    @Nullable
+    private String environmentName;
+
+    @Nullable
+    private Environment environment;
+    private HttpClientConfiguration configuration = new HttpClientConfiguration();
+    private DnsResolver resolver = new SystemDefaultDnsResolver();
+
+    @Nullable
+    private HostnameVerifier verifier;
+
+    @Nullable
+    private Registry<SchemeIOSessionStrategy> registry;
+
+    @Nullable
+    private CredentialsProvider credentialsProvider;
+
+    private HttpClientMetricNameStrategy metricNameStrategy = HttpClientMetricNameStrategies.METHOD_ONLY;
+
+    @Nullable
+    private HttpRoutePlanner routePlanner;
+
+    @Nullable
+    private RedirectStrategy redirectStrategy;
+
+    @Nullable
+    private List<? extends Header> defaultHeaders;
+
+    private int ioThreadCount = Runtime.getRuntime().availableProcessors();
+
+    public HttpAsyncClientBuilder(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+    }
+
+    public HttpAsyncClientBuilder(Environment environment) {
+        this(environment.metrics());
+        name(environment.getName());
+        this.environment = environment;
+    }
+
+    /**
+     * Use the given environment name. This is used in the user agent.
+     *
+     * @param environmentName an environment name to use in the user agent.
+     * @return {@code this}
+     */
+    public HttpAsyncClientBuilder name(String environmentName) {
+        this.environmentName = environmentName;
+        return this;
+    }
+
+    /**
+     * Use the given {@link HttpClientConfiguration} instance.
+     *
+     * @param configuration a {@link HttpClientConfiguration} instance
+     * @return {@code this}
+     */
+    public HttpAsyncClientBuilder using(HttpClientConfiguration configuration) {
+        this.configuration = configuration;
+        return this;
+    }
+
+    /**
+     * Use the given {@link DnsResolver} instance.
+     *
+     * @param resolver a {@link DnsResolver} instance
+     * @return {@code this}
+     */
+    public HttpAsyncClientBuilder using(DnsResolver resolver) {
+        this.resolver = resolver;
+        return this;
+    }
+
+    /**
+     * Use the give (@link HostnameVerifier} instance.
+     *
+     * @param verifier a {@link HostnameVerifier} instance
+     * @return {@code this}
+     */
+    public HttpAsyncClientBuilder using(HostnameVerifier verifier) {
+        this.verifier = verifier;
+        return this;
+    }
+
+    /**
+     * Use the given {@link Registry} instance of I/O session strategies.
+     *
+     * @param registry a {@link Registry} instance of I/O session strategies
+     * @return {@code this}
+     */
+    public HttpAsyncClientBuilder using(Registry<SchemeIOSessionStrategy> registry) {
+        this.registry = registry;
+        return this;
+    }
+
+    /**
+     * Use the given {@link HttpRoutePlanner} instance.
+     *
+     * @param routePlanner a {@link HttpRoutePlanner} instance
+     * @return {@code this}
+     */
+    public HttpAsyncClientBuilder using(HttpRoutePlanner routePlanner) {
+        this.routePlanner = routePlanner;
+        return this;
+    }
+
+    /**
+     * Use the given {@link CredentialsProvider} instance.
+     *
+     * @param credentialsProvider a {@link CredentialsProvider} instance
+     * @return {@code this}
+     */
+    public HttpAsyncClientBuilder using(CredentialsProvider credentialsProvider) {
+        this.credentialsProvider = credentialsProvider;
+        return this;
+    }
+
+    /**
+     * Use the given {@link HttpClientMetricNameStrategy} instance.
+     *
+     * @param metricNameStrategy a {@link HttpClientMetricNameStrategy} instance
+     * @return {@code this}
+     */
+    public HttpAsyncClientBuilder using(HttpClientMetricNameStrategy metricNameStrategy) {
+        this.metricNameStrategy = metricNameStrategy;
+        return this;
+    }
+
+    /**
+     * Use the given {@link RedirectStrategy} instance.
+     *
+     * @param redirectStrategy a {@link RedirectStrategy} instance
+     * @return {@code this}
+     */
+    public HttpAsyncClientBuilder using(RedirectStrategy redirectStrategy) {
+        this.redirectStrategy = redirectStrategy;
+        return this;
+    }
+
+    /**
+     * Use the given default headers for each HTTP request
+     *
+     * @param defaultHeaders HTTP headers
+     * @return {@code} this
+     */
+    public HttpAsyncClientBuilder using(List<? extends Header> defaultHeaders) {
+        this.defaultHeaders = defaultHeaders;
+        return this;
+    }
+
+    /**
+     * Use the given number of I/O dispatch threads. Defaults to the number of available processors.
+     *
+     * @param ioThreadCount the number of I/O dispatch threads
+     * @return {@code this}
+     */
+    public HttpAsyncClientBuilder ioThreadCount(int ioThreadCount) {
+        this.ioThreadCount = ioThreadCount;
+        return this;
+    }
+
+    /**
+     * Builds and starts the {@link CloseableHttpAsyncClient}.
+     *
+     * @param name
+     * @return a started {@link CloseableHttpAsyncClient}
+     */
+    public CloseableHttpAsyncClient build(String name) {
+        return buildWithDefaultRequestConfiguration(name).getClient();
+    }
+
+    /**
+     * For internal use only, used in {@link io.dropwizard.client.JerseyClientBuilder}
+     * to create an instance of {@link io.dropwizard.client.DropwizardApacheAsyncConnector}
+     *
+     * @param name
+     * @return an {@link io.dropwizard.client.ConfiguredCloseableHttpAsyncClient} with a started client
+     */
+    ConfiguredCloseableHttpAsyncClient buildWithDefaultRequestConfiguration(String name) {
+        final ConfiguredCloseableHttpAsyncClient configuredClient = createClient(
+                new InstrumentedNHttpClientBuilder(metricRegistry, metricNameStrategy, name),
+                createConnectionManager(createConfiguredRegistry(), name), name);
+        final CloseableHttpAsyncClient client = configuredClient.getClient();
+        client.start();
+        // If the environment is present, we tie the client with the server lifecycle
+        if (environment != null) {
+            environment.lifecycle().manage(new Managed() {
+                @Override
+                public void start() throws Exception {
+                }
+
+                @Override
+                public void stop() throws Exception {
+                    client.close();
+                }
+            });
+        }
+        return configuredClient;
+    }
+
+    /**
+     * Configures an Apache {@link org.apache.http.impl.nio.client.HttpAsyncClientBuilder HttpAsyncClientBuilder}.
+     *
+     * Intended for use by subclasses to inject HttpAsyncClientBuilder
+     * configuration. The default implementation is an identity
+     * function.
+     */
+    protected org.apache.http.impl.nio.client.HttpAsyncClientBuilder customizeBuilder(
+        org.apache.http.impl.nio.client.HttpAsyncClientBuilder builder
+    ) {
+        return builder;
+    }
+
+    /**
+     * Map the parameters in {@link HttpClientConfiguration} to configuration on a
+     * {@link org.apache.http.impl.nio.client.HttpAsyncClientBuilder} instance
+     *
+     * @param builder
+     * @param manager
+     * @param name
+     * @return the configured {@link CloseableHttpAsyncClient}
+     */
+    protected ConfiguredCloseableHttpAsyncClient createClient(
+            final org.apache.http.impl.nio.client.HttpAsyncClientBuilder builder,
+            final InstrumentedNClientConnManager manager,
+            final String name) {
+        final String cookiePolicy = configuration.isCookiesEnabled() ? CookieSpecs.DEFAULT : CookieSpecs.IGNORE_COOKIES;
+        final Integer timeout = (int) configuration.getTimeout().toMilliseconds();
+        final Integer connectionTimeout = (int) configuration.getConnectionTimeout().toMilliseconds();
+        final Integer connectionRequestTimeout = (int) configuration.getConnectionRequestTimeout().toMilliseconds();
+        final long keepAlive = configuration.getKeepAlive().toMilliseconds();
+        final ConnectionReuseStrategy reuseStrategy = keepAlive == 0
+                ? new NoConnectionReuseStrategy()
+                : new DefaultConnectionReuseStrategy();
+
+        final RequestConfig requestConfig
+                = RequestConfig.custom().setCookieSpec(cookiePolicy)
+                .setSocketTimeout(timeout)
+                .setConnectTimeout(connectionTimeout)
+                .setConnectionRequestTimeout(connectionRequestTimeout)
+                .build();
+
+        customizeBuilder(builder)
+                .setConnectionManager(manager)
+                .setDefaultRequestConfig(requestConfig)
+                .setConnectionReuseStrategy(reuseStrategy)
+                .setUserAgent(createUserAgent(name));
+
+        if (keepAlive != 0) {
+            // either keep alive based on response header Keep-Alive,
+            // or if the server can keep a persistent connection (-1), then override based on client's configuration
+            builder.setKeepAliveStrategy(new DefaultConnectionKeepAliveStrategy() {
+                @Override
+                public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+                    final long duration = super.getKeepAliveDuration(response, context);
+                    return (duration == -1) ? keepAlive : duration;
+                }
+            });
+        }
+
+        // create a tunnel through a proxy host if it's specified in the config
+        final ProxyConfiguration proxy = configuration.getProxyConfiguration();
+        if (proxy != null) {
+            final HttpHost httpHost = new HttpHost(proxy.getHost(), proxy.getPort(), proxy.getScheme());
+            builder.setRoutePlanner(new NonProxyListProxyRoutePlanner(httpHost, proxy.getNonProxyHosts()));
+            // if the proxy host requires authentication then add the host credentials to the credentials provider
+            final AuthConfiguration auth = proxy.getAuth();
+            if (auth != null) {
+                if (credentialsProvider == null) {
+                    credentialsProvider = new BasicCredentialsProvider();
+                }
+                final AuthScope authScope = new AuthScope(httpHost, auth.getRealm(), auth.getAuthScheme());
+                credentialsProvider.setCredentials(authScope, configureCredentials(auth));
+            }
+        }
+
+        if (credentialsProvider != null) {
+            builder.setDefaultCredentialsProvider(credentialsProvider);
+        }
+
+        if (routePlanner != null) {
+            builder.setRoutePlanner(routePlanner);
+        }
+
+        if (redirectStrategy != null) {
+            builder.setRedirectStrategy(redirectStrategy);
+        }
+
+        if (defaultHeaders != null) {
+            builder.setDefaultHeaders(defaultHeaders);
+        }
+
+        return new ConfiguredCloseableHttpAsyncClient(builder.build(), requestConfig);
+    }
+
+    /**
+     * Create a user agent string using the configured user agent if defined, otherwise
+     * using a combination of the environment name and this client name
+     *
+     * @param name the name of this client
+     * @return the user agent string to be used by this client
+     */
+    protected String createUserAgent(String name) {
+        final String defaultUserAgent = environmentName == null ? name : String.format("%s (%s)", environmentName, name);
+        return configuration.getUserAgent().orElse(defaultUserAgent);
+    }
+
+    /**
+     * Create an InstrumentedNClientConnManager based on the HttpClientConfiguration,
+     * backed by a new I/O reactor. It sets the maximum connections per route and the
+     * maximum total connections that the connection manager can create
+     *
+     * @param registry
+     * @param name
+     * @return an InstrumentedNClientConnManager instance
+     */
+    protected InstrumentedNClientConnManager createConnectionManager(Registry<SchemeIOSessionStrategy> registry,
+                                                                     String name) {
+        final Duration ttl = configuration.getTimeToLive();
+        final InstrumentedNClientConnManager manager = new InstrumentedNClientConnManager(
+                createIOReactor(name),
+                null, null,
+                metricRegistry,
+                registry,
+                ttl.getQuantity(),
+                ttl.getUnit(),
+                resolver,
+                name);
+        return configureConnectionManager(manager);
+    }
+
+    private ConnectingIOReactor createIOReactor(String name) {
+        final IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                .setIoThreadCount(ioThreadCount)
+                .setTcpNoDelay(true)
+                .setSoTimeout((int) configuration.getTimeout().toMilliseconds())
+                .setConnectTimeout((int) configuration.getConnectionTimeout().toMilliseconds())
+                .build();
+        try {
+            // Daemon threads don't keep the JVM alive if the client is never closed
+            return new DefaultConnectingIOReactor(ioReactorConfig, new ThreadFactoryBuilder()
+                    .setNameFormat(name + "-io-%d")
+                    .setDaemon(true)
+                    .build());
+        } catch (IOReactorException e) {
+            throw new IllegalStateException("Unable to create an I/O reactor", e);
+        }
+    }
+
+    @VisibleForTesting
+    Registry<SchemeIOSessionStrategy> createConfiguredRegistry() {
+        if (registry != null) {
+            return registry;
+        }
+
+        TlsConfiguration tlsConfiguration = configuration.getTlsConfiguration();
+        if (tlsConfiguration == null && verifier != null) {
+            tlsConfiguration = new TlsConfiguration();
+        }
+
+        final SSLIOSessionStrategy sslIOSessionStrategy;
+        if (tlsConfiguration == null) {
+            sslIOSessionStrategy = SSLIOSessionStrategy.getDefaultStrategy();
+        } else {
+            sslIOSessionStrategy = new DropwizardSSLConnectionSocketFactory(tlsConfiguration,
+                verifier).getIOSessionStrategy();
+        }
+
+        return RegistryBuilder.<SchemeIOSessionStrategy>create()
+                .register("http", NoopIOSessionStrategy.INSTANCE)
+                .register("https", sslIOSessionStrategy)
+                .build();
+    }
+
+    @VisibleForTesting
+    protected InstrumentedNClientConnManager configureConnectionManager(
+            InstrumentedNClientConnManager connectionManager) {
+        connectionManager.setDefaultMaxPerRoute(configuration.getMaxConnectionsPerRoute());
+        connectionManager.setMaxTotal(configuration.getMaxConnections());
+        return connectionManager;
+    }
+
+    /**
+     * determine the Credentials implementation to use
+     * @param auth
+     * @return a {@code Credentials} instance, either {{@link UsernamePasswordCredentials} or {@link NTCredentials}}
+     */
+    protected Credentials configureCredentials(AuthConfiguration auth) {
+        if (null != auth.getCredentialType() && auth.getCredentialType().equalsIgnoreCase(AuthConfiguration.NT_CREDS)) {
+            return new NTCredentials(auth.getUsername(), auth.getPassword(), auth.getHostname(), auth.getDomain());
+        } else {
+            return new UsernamePasswordCredentials(auth.getUsername(), auth.getPassword());
+        }
+    }
+}
@@ -32,8 +32,10 @@ import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.core.Configuration;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
 
@@ -45,7 +47,7 @@ import static java.util.Objects.requireNonNull;
  * <p>
  * Among other things,
  * <ul>
- * <li>Backed by Apache HttpClient</li>
+ * <li>Backed by Apache HttpClient, or by Apache HttpAsyncClient if the asynchronous connector is enabled</li>
  * <li>Disables stale connection checks</li>
  * <li>Disables Nagle's algorithm</li>
  * <li>Disables cookie management by default</li>
@@ -61,9 +63,12 @@ public class JerseyClientBuilder {
     private final List<Object> singletons = new ArrayList<>();
     private final List<Class<?>> providers = new ArrayList<>();
     private final Map<String, Object> properties = new LinkedHashMap<>();
+    // The settings which only the blocking Apache HttpClient supports
+    private final Set<String> blockingClientSettings = new LinkedHashSet<>();
     private JerseyClientConfiguration configuration = new JerseyClientConfiguration();
 
     private HttpClientBuilder apacheHttpClientBuilder;
+    private HttpAsyncClientBuilder apacheHttpAsyncClientBuilder;
     private Validator validator = Validators.newValidator();
 
     @Nullable
@@ -80,11 +85,13 @@ public class JerseyClientBuilder {
 
     public JerseyClientBuilder(Environment environment) {
         this.apacheHttpClientBuilder = new HttpClientBuilder(environment);
+        this.apacheHttpAsyncClientBuilder = new HttpAsyncClientBuilder(environment);
         this.environment = environment;
     }
 
     public JerseyClientBuilder(MetricRegistry metricRegistry) {
         this.apacheHttpClientBuilder = new HttpClientBuilder(metricRegistry);
+        this.apacheHttpAsyncClientBuilder = new HttpAsyncClientBuilder(metricRegistry);
     }
 
     @VisibleForTesting
@@ -92,6 +99,11 @@ public class JerseyClientBuilder {
         this.apacheHttpClientBuilder = apacheHttpClientBuilder;
     }
 
+    @VisibleForTesting
+    public void setApacheHttpAsyncClientBuilder(HttpAsyncClientBuilder apacheHttpAsyncClientBuilder) {
+        this.apacheHttpAsyncClientBuilder = apacheHttpAsyncClientBuilder;
+    }
+
     /**
      * Adds the given object as a Jersey provider.
      *
@@ -139,6 +151,7 @@ public class JerseyClientBuilder {
     public JerseyClientBuilder using(JerseyClientConfiguration configuration) {
         this.configuration = configuration;
         apacheHttpClientBuilder.using(configuration);
+        apacheHttpAsyncClientBuilder.using(configuration);
         return this;
     }
 
@@ -219,11 +232,14 @@ public class JerseyClientBuilder {
     /**
      * Uses the {@link org.apache.http.client.HttpRequestRetryHandler} for handling request retries.
      *
+     * The asynchronous connector doesn't support it: {@link #build(String)} fails if both are used.
+     *
      * @param httpRequestRetryHandler a HttpRequestRetryHandler
      * @return {@code this}
      */
     public JerseyClientBuilder using(HttpRequestRetryHandler httpRequestRetryHandler) {
         apacheHttpClientBuilder.using(httpRequestRetryHandler);
+        blockingClientSettings.add("request retry handler");
         return this;
     }
 
@@ -235,6 +251,7 @@ public class JerseyClientBuilder {
      */
     public JerseyClientBuilder using(DnsResolver resolver) {
         apacheHttpClientBuilder.using(resolver);
+        apacheHttpAsyncClientBuilder.using(resolver);
         return this;
     }
 
@@ -251,17 +268,21 @@ public class JerseyClientBuilder {
      */
     public JerseyClientBuilder using(HostnameVerifier verifier) {
         apacheHttpClientBuilder.using(verifier);
+        apacheHttpAsyncClientBuilder.using(verifier);
         return this;
     }
 
     /**
      * Use the given {@link Registry} instance of connection socket factories.
      *
+     * The asynchronous connector doesn't support it: {@link #build(String)} fails if both are used.
+     *
      * @param registry a {@link Registry} instance of connection socket factories
      * @return {@code this}
      */
     public JerseyClientBuilder using(Registry<ConnectionSocketFactory> registry) {
         apacheHttpClientBuilder.using(registry);
+        blockingClientSettings.add("connection socket factories");
         return this;
     }
 
@@ -273,6 +294,7 @@ public class JerseyClientBuilder {
      */
     public JerseyClientBuilder using(HttpClientMetricNameStrategy metricNameStrategy) {
         apacheHttpClientBuilder.using(metricNameStrategy);
+        apacheHttpAsyncClientBuilder.using(metricNameStrategy);
         return this;
     }
 
@@ -284,6 +306,7 @@ public class JerseyClientBuilder {
      */
     public JerseyClientBuilder name(String environmentName) {
         apacheHttpClientBuilder.name(environmentName);
+        apacheHttpAsyncClientBuilder.name(environmentName);
         return this;
     }
 
@@ -295,6 +318,7 @@ public class JerseyClientBuilder {
      */
     public JerseyClientBuilder using(HttpRoutePlanner routePlanner) {
         apacheHttpClientBuilder.using(routePlanner);
+        apacheHttpAsyncClientBuilder.using(routePlanner);
         return this;
     }
 
@@ -306,17 +330,21 @@ public class JerseyClientBuilder {
      */
     public JerseyClientBuilder using(CredentialsProvider credentialsProvider) {
         apacheHttpClientBuilder.using(credentialsProvider);
+        apacheHttpAsyncClientBuilder.using(credentialsProvider);
         return this;
     }
 
     /**
      * Use the given {@link ServiceUnavailableRetryStrategy} instance.
      *
+     * The asynchronous connector doesn't support it: {@link #build(String)} fails if both are used.
+     *
      * @param serviceUnavailableRetryStrategy a {@link ServiceUnavailableRetryStrategy} instance
      * @return {@code this}
      */
     public JerseyClientBuilder using(ServiceUnavailableRetryStrategy serviceUnavailableRetryStrategy) {
         apacheHttpClientBuilder.using(serviceUnavailableRetryStrategy);
+        blockingClientSettings.add("service unavailable retry strategy");
         return this;
     }
 
@@ -416,7 +444,15 @@ public class JerseyClientBuilder {
         }
 
         config.register(new DropwizardExecutorProvider(threadPool));
-        if (connectorProvider == null) {
+        if (connectorProvider == null && configuration.isAsyncConnectorEnabled()) {
+            if (!blockingClientSettings.isEmpty()) {
+                throw new IllegalStateException("The asynchronous connector doesn't support these settings of " +
+                        "the blocking client: " + String.join(", ", blockingClientSettings));
+            }
+            final ConfiguredCloseableHttpAsyncClient apacheHttpAsyncClient =
+                    apacheHttpAsyncClientBuilder.buildWithDefaultRequestConfiguration(name);
+            connectorProvider = (client, runtimeConfig) -> createDropwizardApacheAsyncConnector(apacheHttpAsyncClient);
+        } else if (connectorProvider == null) {
             final ConfiguredCloseableHttpClient apacheHttpClient =
                     apacheHttpClientBuilder.buildWithDefaultRequestConfiguration(name);
             connectorProvider = (client, runtimeConfig) -> createDropwizardApacheConnector(apacheHttpClient);
@@ -434,4 +470,14 @@ public class JerseyClientBuilder {
         return new DropwizardApacheConnector(configuredClient.getClient(), configuredClient.getDefaultRequestConfig(),
                 configuration.isChunkedEncodingEnabled());
     }
+
+    /**
+     * Builds {@link DropwizardApacheAsyncConnector} based on the configured Apache HTTP async client
+     * as {@link ConfiguredCloseableHttpAsyncClient} and the maximum response size set by the user.
+     */
+    protected DropwizardApacheAsyncConnector createDropwizardApacheAsyncConnector(
+            ConfiguredCloseableHttpAsyncClient configuredClient) {
+        return new DropwizardApacheAsyncConnector(configuredClient.getClient(),
+                configuredClient.getDefaultRequestConfig(), configuration.getMaxAsyncResponseSize().toBytes());
+    }
 }
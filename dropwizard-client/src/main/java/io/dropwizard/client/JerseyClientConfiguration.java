@@ -2,10 +2,13 @@ package io.dropwizard.client;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Size;
+import io.dropwizard.validation.MinSize;
 import io.dropwizard.validation.ValidationMethod;
 
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
 
 /**
  * The configuration class used by {@link JerseyClientBuilder}. Extends
@@ -33,6 +36,12 @@ public class JerseyClientConfiguration extends HttpClientConfiguration {
 
     private boolean chunkedEncodingEnabled = true;
 
+    private boolean asyncConnectorEnabled = false;
+
+    @NotNull
+    @MinSize(1)
+    private Size maxAsyncResponseSize = Size.megabytes(10);
+
     @JsonProperty
     public int getMinThreads() {
         return minThreads;
@@ -83,6 +92,26 @@ public class JerseyClientConfiguration extends HttpClientConfiguration {
         this.chunkedEncodingEnabled = chunkedEncodingEnabled;
     }
 
+    @JsonProperty
+    public boolean isAsyncConnectorEnabled() {
+        return asyncConnectorEnabled;
+    }
+
+    @JsonProperty
+    public void setAsyncConnectorEnabled(boolean asyncConnectorEnabled) {
+        this.asyncConnectorEnabled = asyncConnectorEnabled;
+    }
+
+    @JsonProperty
+    public Size getMaxAsyncResponseSize() {
+        return maxAsyncResponseSize;
+    }
+
+    @JsonProperty
+    public void setMaxAsyncResponseSize(Size maxAsyncResponseSize) {
+        this.maxAsyncResponseSize = maxAsyncResponseSize;
+    }
+
     @JsonProperty
     public int getWorkQueueSize() {
         return workQueueSize;
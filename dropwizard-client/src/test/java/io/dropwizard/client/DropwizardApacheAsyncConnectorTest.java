@@ -0,0 +1,265 @@
+package io.dropwizard.client;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.health.HealthCheck;
+import com.google.common.base.Strings;
+import io.dropwizard.Application;
+import io.dropwizard.Configuration;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.jersey.validation.Validators;
+import io.dropwizard.setup.Environment;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import io.dropwizard.util.Duration;
+import io.dropwizard.util.Size;
+import org.apache.http.ContentTooLongException;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.HttpClient;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.JerseyClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.core.Response;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class DropwizardApacheAsyncConnectorTest {
+
+    private static final int SLEEP_TIME_IN_MILLIS = 1000;
+    private static final int DEFAULT_CONNECT_TIMEOUT_IN_MILLIS = 500;
+
+    @ClassRule
+    public static final DropwizardAppRule<Configuration> APP_RULE = new DropwizardAppRule<>(
+            TestApplication.class,
+            ResourceHelpers.resourceFilePath("yaml/dropwizardApacheConnectorTest.yml"));
+
+    private final URI testUri = URI.create("http://localhost:" + APP_RULE.getLocalPort());
+
+    private JerseyClient client;
+    private Environment environment;
+
+    @Before
+    public void setup() throws Exception {
+        JerseyClientConfiguration clientConfiguration = new JerseyClientConfiguration();
+        clientConfiguration.setConnectionTimeout(Duration.milliseconds(SLEEP_TIME_IN_MILLIS / 2));
+        clientConfiguration.setTimeout(Duration.milliseconds(DEFAULT_CONNECT_TIMEOUT_IN_MILLIS));
+        clientConfiguration.setAsyncConnectorEnabled(true);
+        clientConfiguration.setMaxAsyncResponseSize(Size.kilobytes(64));
+
+        environment = new Environment("test-dropwizard-apache-async-connector", Jackson.newObjectMapper(),
+                Validators.newValidator(), new MetricRegistry(),
+                getClass().getClassLoader());
+        client = (JerseyClient) new JerseyClientBuilder(environment)
+                .using(clientConfiguration)
+                .build("test");
+        for (LifeCycle lifeCycle : environment.lifecycle().getManagedObjects()) {
+            lifeCycle.start();
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        for (LifeCycle lifeCycle : environment.lifecycle().getManagedObjects()) {
+            lifeCycle.stop();
+        }
+        assertThat(client.isClosed()).isTrue();
+    }
+
+    @Test
+    public void synchronous_requests_complete_successfully() {
+        assertThat(client.target(testUri + "/hello")
+                        .request()
+                        .get(String.class)
+        ).isEqualTo("hello");
+    }
+
+    @Test
+    public void asynchronous_requests_complete_successfully() throws Exception {
+        final Future<String> response = client.target(testUri + "/hello")
+                .request()
+                .async()
+                .get(String.class);
+
+        assertThat(response.get(5, TimeUnit.SECONDS)).isEqualTo("hello");
+    }
+
+    @Test
+    public void asynchronous_requests_complete_their_callbacks() throws Exception {
+        final CompletableFuture<String> result = new CompletableFuture<>();
+        client.target(testUri + "/hello")
+                .request()
+                .async()
+                .get(new InvocationCallback<String>() {
+                    @Override
+                    public void completed(String response) {
+                        result.complete(response);
+                    }
+
+                    @Override
+                    public void failed(Throwable throwable) {
+                        result.completeExceptionally(throwable);
+                    }
+                });
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("hello");
+    }
+
+    @Test
+    public void request_entities_are_sent() throws Exception {
+        final Future<String> response = client.target(testUri + "/echo")
+                .request()
+                .async()
+                .post(Entity.text("ping"), String.class);
+
+        assertThat(response.get(5, TimeUnit.SECONDS)).isEqualTo("ping");
+    }
+
+    @Test
+    public void responses_larger_than_the_maximum_size_fail() {
+        final Future<String> response = client.target(testUri + "/large")
+                .request()
+                .async()
+                .get(String.class);
+
+        assertThat(catchThrowable(() -> response.get(5, TimeUnit.SECONDS)))
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseInstanceOf(ContentTooLongException.class);
+    }
+
+    @Test
+    public void when_no_read_timeout_override_then_client_request_times_out() {
+        final Throwable thrown = catchThrowable(() -> client.target(testUri + "/long_running")
+                .request()
+                .get());
+
+        assertThat(thrown).isInstanceOf(ProcessingException.class)
+                .hasCauseInstanceOf(SocketTimeoutException.class);
+    }
+
+    @Test
+    public void when_no_read_timeout_override_then_asynchronous_client_request_times_out() {
+        final Future<String> response = client.target(testUri + "/long_running")
+                .request()
+                .async()
+                .get(String.class);
+
+        assertThat(catchThrowable(() -> response.get(5, TimeUnit.SECONDS)))
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseInstanceOf(SocketTimeoutException.class);
+    }
+
+    @Test
+    public void when_read_timeout_override_created_then_client_requests_completes_successfully() throws Exception {
+        final Future<String> response = client.target(testUri + "/long_running")
+                .property(ClientProperties.READ_TIMEOUT, SLEEP_TIME_IN_MILLIS * 2)
+                .request()
+                .async()
+                .get(String.class);
+
+        assertThat(response.get(5, TimeUnit.SECONDS)).isEqualTo("success");
+    }
+
+    @Test
+    public void when_no_override_then_redirected_request_successfully_redirected() {
+        assertThat(client.target(testUri + "/redirect")
+                        .request()
+                        .get(String.class)
+        ).isEqualTo("redirected");
+    }
+
+    @Test
+    public void when_configuration_overridden_to_disallow_redirects_temporary_redirect_status_returned() {
+        assertThat(client.target(testUri + "/redirect")
+                        .property(ClientProperties.FOLLOW_REDIRECTS, false)
+                        .request()
+                        .get(Response.class)
+                        .getStatus()
+        ).isEqualTo(HttpStatus.SC_TEMPORARY_REDIRECT);
+    }
+
+    @Test
+    public void requests_are_instrumented() throws Exception {
+        client.target(testUri + "/hello")
+                .request()
+                .async()
+                .get(String.class)
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(environment.metrics().getTimers())
+                .containsKey(name(HttpClient.class, "test", "get-requests"));
+        assertThat(environment.metrics().getGauges())
+                .containsKey("org.apache.http.nio.conn.NHttpClientConnectionManager.test.available-connections");
+    }
+
+    @Path("/")
+    public static class TestResource {
+
+        @GET
+        @Path("/hello")
+        public String hello() {
+            return "hello";
+        }
+
+        @GET
+        @Path("/large")
+        public String large() {
+            return Strings.repeat("a", 128 * 1024);
+        }
+
+        @POST
+        @Path("/echo")
+        public String echo(String entity) {
+            return entity;
+        }
+
+        @GET
+        @Path("/long_running")
+        public String getWithSleep() throws InterruptedException {
+            TimeUnit.MILLISECONDS.sleep(SLEEP_TIME_IN_MILLIS);
+            return "success";
+        }
+
+        @GET
+        @Path("redirect")
+        public Response getWithRedirect() {
+            return Response.temporaryRedirect(URI.create("/redirected")).build();
+        }
+
+        @GET
+        @Path("redirected")
+        public String redirectedGet() {
+            return "redirected";
+        }
+    }
+
+    public static class TestApplication extends Application<Configuration> {
+        @Override
+        public void run(Configuration configuration, Environment environment) throws Exception {
+            environment.jersey().register(TestResource.class);
+            environment.healthChecks().register("dummy", new HealthCheck() {
+                @Override
+                protected Result check() throws Exception {
+                    return Result.healthy();
+                }
+            });
+        }
+    }
+}
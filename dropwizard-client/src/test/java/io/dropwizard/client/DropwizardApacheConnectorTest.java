@@ -35,9 +35,13 @@ import org.junit.rules.ExpectedException;
 import org.mockito.Mockito;
 
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.Response;
 import java.net.NoRouteToHostException;
@@ -203,9 +207,73 @@ public class DropwizardApacheConnectorTest {
 
     }
 
+    @Test
+    public void request_entities_with_a_content_length_are_streamed_with_that_length() {
+        assertThat(buildClientWithoutRequestCompression().target(testUri + "/content_length")
+                        .request()
+                        .header(HttpHeaders.CONTENT_LENGTH, 4)
+                        .post(Entity.text("ping"), String.class)
+        ).isEqualTo("4 ping");
+    }
+
+    @Test
+    public void request_entities_without_a_content_length_are_chunked() {
+        assertThat(buildClientWithoutRequestCompression().target(testUri + "/content_length")
+                        .request()
+                        .post(Entity.text("ping"), String.class)
+        ).isEqualTo("null ping");
+    }
+
+    @Test
+    public void request_entities_longer_than_their_content_length_fail() {
+        thrown.expect(ProcessingException.class);
+
+        buildClientWithoutRequestCompression().target(testUri + "/content_length")
+                .request()
+                .header(HttpHeaders.CONTENT_LENGTH, 2)
+                .post(Entity.text("ping"), String.class);
+    }
+
+    @Test
+    public void request_entities_shorter_than_their_content_length_fail() {
+        thrown.expect(ProcessingException.class);
+
+        buildClientWithoutRequestCompression().target(testUri + "/content_length")
+                .request()
+                .header(HttpHeaders.CONTENT_LENGTH, 8)
+                .post(Entity.text("ping"), String.class);
+    }
+
+    @Test
+    public void request_configs_are_reused_for_the_same_overrides() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(client.target(testUri + "/redirect")
+                            .property(ClientProperties.FOLLOW_REDIRECTS, i % 2 == 0)
+                            .request()
+                            .get(Response.class)
+                            .getStatus()
+            ).isEqualTo(i % 2 == 0 ? HttpStatus.SC_OK : HttpStatus.SC_TEMPORARY_REDIRECT);
+        }
+    }
+
+    private JerseyClient buildClientWithoutRequestCompression() {
+        final JerseyClientConfiguration clientConfiguration = new JerseyClientConfiguration();
+        clientConfiguration.setGzipEnabledForRequests(false);
+        return (JerseyClient) new JerseyClientBuilder(environment)
+                .using(clientConfiguration)
+                .build("test-uncompressed");
+    }
+
     @Path("/")
     public static class TestResource {
 
+        @POST
+        @Path("/content_length")
+        public String postWithContentLength(@HeaderParam(HttpHeaders.CONTENT_LENGTH) String contentLength,
+                                            String entity) {
+            return contentLength + " " + entity;
+        }
+
         @GET
         @Path("/long_running")
         public String getWithSleep() throws InterruptedException {
@@ -26,6 +26,7 @@ import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
+import org.apache.http.impl.client.DefaultServiceUnavailableRetryStrategy;
 import org.apache.http.impl.client.SystemDefaultCredentialsProvider;
 import org.apache.http.impl.conn.SystemDefaultDnsResolver;
 import org.apache.http.impl.conn.SystemDefaultRoutePlanner;
@@ -82,6 +83,7 @@ public class JerseyClientBuilderTest {
     private final ObjectMapper objectMapper = mock(ObjectMapper.class);
     private final Validator validator = Validators.newValidator();
     private final HttpClientBuilder apacheHttpClientBuilder = mock(HttpClientBuilder.class);
+    private final HttpAsyncClientBuilder apacheHttpAsyncClientBuilder = mock(HttpAsyncClientBuilder.class);
 
     @Before
     public void setUp() throws Exception {
@@ -89,6 +91,7 @@ public class JerseyClientBuilderTest {
         when(environment.getObjectMapper()).thenReturn(objectMapper);
         when(environment.getValidator()).thenReturn(validator);
         builder.setApacheHttpClientBuilder(apacheHttpClientBuilder);
+        builder.setApacheHttpAsyncClientBuilder(apacheHttpAsyncClientBuilder);
     }
 
     @After
@@ -343,6 +346,44 @@ public class JerseyClientBuilderTest {
         CredentialsProvider customCredentialsProvider = new SystemDefaultCredentialsProvider();
         builder.using(customCredentialsProvider);
         verify(apacheHttpClientBuilder).using(customCredentialsProvider);
+        verify(apacheHttpAsyncClientBuilder).using(customCredentialsProvider);
+    }
+
+    @Test
+    public void usesTheBlockingConnectorByDefault() {
+        builder.using(executorService, objectMapper).build("test");
+
+        verify(apacheHttpClientBuilder).buildWithDefaultRequestConfiguration("test");
+        verify(apacheHttpAsyncClientBuilder, never()).buildWithDefaultRequestConfiguration("test");
+    }
+
+    @Test
+    public void usesTheAsyncConnectorIfEnabled() {
+        final JerseyClientConfiguration configuration = new JerseyClientConfiguration();
+        configuration.setAsyncConnectorEnabled(true);
+        builder.using(configuration).using(executorService, objectMapper).build("test");
+
+        verify(apacheHttpAsyncClientBuilder).using(configuration);
+        verify(apacheHttpAsyncClientBuilder).buildWithDefaultRequestConfiguration("test");
+        verify(apacheHttpClientBuilder, never()).buildWithDefaultRequestConfiguration("test");
+    }
+
+    @Test
+    public void throwsAnExceptionIfTheAsyncConnectorIsUsedWithBlockingClientSettings() throws Exception {
+        final JerseyClientConfiguration configuration = new JerseyClientConfiguration();
+        configuration.setAsyncConnectorEnabled(true);
+        builder.using(configuration)
+                .using(executorService, objectMapper)
+                .using(new DefaultHttpRequestRetryHandler())
+                .using(new DefaultServiceUnavailableRetryStrategy());
+        try {
+            builder.build("test");
+            failBecauseExceptionWasNotThrown(IllegalStateException.class);
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage()).isEqualTo("The asynchronous connector doesn't support these settings of " +
+                    "the blocking client: request retry handler, service unavailable retry strategy");
+        }
+        verify(apacheHttpAsyncClientBuilder, never()).buildWithDefaultRequestConfiguration("test");
     }
 
     @Test
@@ -4,6 +4,7 @@ import com.google.common.io.Resources;
 import io.dropwizard.configuration.YamlConfigurationFactory;
 import io.dropwizard.jackson.Jackson;
 import io.dropwizard.jersey.validation.Validators;
+import io.dropwizard.util.Size;
 import org.junit.Test;
 
 import java.io.File;
@@ -23,5 +24,7 @@ public class JerseyClientConfigurationTest {
         assertThat(configuration.isGzipEnabled()).isFalse();
         assertThat(configuration.isGzipEnabledForRequests()).isFalse();
         assertThat(configuration.isChunkedEncodingEnabled()).isFalse();
+        assertThat(configuration.isAsyncConnectorEnabled()).isTrue();
+        assertThat(configuration.getMaxAsyncResponseSize()).isEqualTo(Size.megabytes(1));
     }
 }
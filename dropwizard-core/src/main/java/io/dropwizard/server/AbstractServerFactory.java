@@ -643,6 +643,10 @@ public abstract class AbstractServerFactory implements ServerFactory {
         return gzip.isEnabled() ? gzip.build(handler) : handler;
     }
 
+    protected Handler buildGzipHandler(Handler handler, MetricRegistry metricRegistry) {
+        return gzip.isEnabled() ? gzip.build(handler, metricRegistry) : handler;
+    }
+
     protected void printBanner(String name) {
         try {
             final String banner = WINDOWS_NEWLINE.matcher(Resources.toString(Resources.getResource("banner.txt"),
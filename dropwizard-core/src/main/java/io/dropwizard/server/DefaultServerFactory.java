@@ -173,7 +173,7 @@ public class DefaultServerFactory extends AbstractServerFactory {
                                                                   server,
                                                                   applicationHandler,
                                                                   adminHandler);
-        final Handler gzipHandler = buildGzipHandler(routingHandler);
+        final Handler gzipHandler = buildGzipHandler(routingHandler, environment.metrics());
         server.setHandler(addStatsHandler(addRequestLog(server, gzipHandler, environment.getName())));
         return server;
     }
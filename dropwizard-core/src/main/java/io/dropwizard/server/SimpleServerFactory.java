@@ -130,7 +130,7 @@ public class SimpleServerFactory extends AbstractServerFactory {
                 applicationContextPath, applicationHandler,
                 adminContextPath, adminHandler
         ));
-        final Handler gzipHandler = buildGzipHandler(routingHandler);
+        final Handler gzipHandler = buildGzipHandler(routingHandler, environment.metrics());
         server.setHandler(addStatsHandler(addRequestLog(server, gzipHandler, environment.getName())));
 
         return server;
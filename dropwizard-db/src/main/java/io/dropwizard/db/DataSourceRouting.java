@@ -0,0 +1,89 @@
+package io.dropwizard.db;
+
+import javax.annotation.Nullable;
+
+/**
+ * Routes the connections a thread borrows from a {@link RoutingDataSource} to its replicas.
+ * <p>
+ * Scopes can be nested, and only route the connections of the thread which opened them:
+ * <pre>
+ * {@code
+ *   try (DataSourceRouting.Scope scope = DataSourceRouting.readOnly()) {
+ *       ...                               // read from the replicas.
+ *   }
+ * }
+ * </pre>
+ * A scope can be closed by another thread, as asynchronous resources do when they finish their unit of work: closing
+ * it only marks it as closed, and the thread which opened it stops routing to the replicas.
+ */
+public final class DataSourceRouting {
+    private static final ThreadLocal<ReadOnlyScope> CURRENT_SCOPE = new ThreadLocal<>();
+
+    private DataSourceRouting() { /* singleton */ }
+
+    /**
+     * A scope in which the connections of the thread which opened it are routed to the replicas.
+     */
+    public interface Scope extends AutoCloseable {
+        /**
+         * Ends the scope.
+         */
+        @Override
+        void close();
+    }
+
+    /**
+     * Routes the connections borrowed by the current thread to the replicas, until the returned scope is closed.
+     *
+     * @return the read-only scope
+     */
+    public static Scope readOnly() {
+        final ReadOnlyScope scope = new ReadOnlyScope(openScope());
+        CURRENT_SCOPE.set(scope);
+        return scope;
+    }
+
+    /**
+     * Returns whether the connections borrowed by the current thread are routed to the replicas.
+     *
+     * @return {@code true} if the current thread is in a read-only scope
+     */
+    public static boolean isReadOnly() {
+        return openScope() != null;
+    }
+
+    /**
+     * Returns the innermost open scope of the current thread, and forgets the scopes closed since the last call.
+     */
+    @Nullable
+    private static ReadOnlyScope openScope() {
+        final ReadOnlyScope current = CURRENT_SCOPE.get();
+        ReadOnlyScope scope = current;
+        while (scope != null && scope.closed) {
+            scope = scope.parent;
+        }
+        if (scope != current) {
+            if (scope == null) {
+                CURRENT_SCOPE.remove();
+            } else {
+                CURRENT_SCOPE.set(scope);
+            }
+        }
+        return scope;
+    }
+
+    private static class ReadOnlyScope implements Scope {
+        @Nullable
+        private final ReadOnlyScope parent;
+        private volatile boolean closed;
+
+        private ReadOnlyScope(@Nullable ReadOnlyScope parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
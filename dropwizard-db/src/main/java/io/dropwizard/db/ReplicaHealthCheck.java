@@ -0,0 +1,22 @@
+package io.dropwizard.db;
+
+import com.codahale.metrics.health.HealthCheck;
+
+/**
+ * Reports the outcome of the last check of a replica of a {@link RoutingDataSource}.
+ */
+public class ReplicaHealthCheck extends HealthCheck {
+    private final RoutingDataSource.Replica replica;
+
+    public ReplicaHealthCheck(RoutingDataSource.Replica replica) {
+        this.replica = replica;
+    }
+
+    @Override
+    protected Result check() {
+        if (replica.isHealthy()) {
+            return Result.healthy("Replication lag: %dms", replica.getLagMillis());
+        }
+        return Result.unhealthy(replica.getError().orElse("Unable to check the replica"));
+    }
+}
@@ -0,0 +1,124 @@
+package io.dropwizard.db;
+
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+
+import javax.annotation.Nullable;
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A factory for {@link RoutingDataSource}s, which route read-only connections to the pools of replicas, and every
+ * other connection to the pool of the primary. The primary is configured like any {@link DataSourceFactory}.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code replicas}</td>
+ *         <td>(none)</td>
+ *         <td>The pools of the replicas, each configured like a {@link DataSourceFactory}.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code replicationLagQuery}</td>
+ *         <td>(none)</td>
+ *         <td>
+ *             The query returning the replication lag of a replica in seconds. If it isn't set, replicas are
+ *             checked with their validation query, and never lag.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxReplicationLag}</td>
+ *         <td>10 seconds</td>
+ *         <td>The replication lag beyond which a replica is unhealthy, and isn't read from.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code replicaCheckInterval}</td>
+ *         <td>5 seconds</td>
+ *         <td>The interval between two checks of the replicas.</td>
+ *     </tr>
+ * </table>
+ */
+public class ReplicatedDataSourceFactory extends DataSourceFactory {
+    @Valid
+    @NotNull
+    private List<DataSourceFactory> replicas = new ArrayList<>();
+
+    @Nullable
+    private String replicationLagQuery;
+
+    @NotNull
+    private Duration maxReplicationLag = Duration.seconds(10);
+
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.MILLISECONDS)
+    private Duration replicaCheckInterval = Duration.seconds(5);
+
+    @JsonProperty
+    public List<DataSourceFactory> getReplicas() {
+        return replicas;
+    }
+
+    @JsonProperty
+    public void setReplicas(List<DataSourceFactory> replicas) {
+        this.replicas = replicas;
+    }
+
+    @JsonProperty
+    @Nullable
+    public String getReplicationLagQuery() {
+        return replicationLagQuery;
+    }
+
+    @JsonProperty
+    public void setReplicationLagQuery(@Nullable String replicationLagQuery) {
+        this.replicationLagQuery = replicationLagQuery;
+    }
+
+    @JsonProperty
+    public Duration getMaxReplicationLag() {
+        return maxReplicationLag;
+    }
+
+    @JsonProperty
+    public void setMaxReplicationLag(Duration maxReplicationLag) {
+        this.maxReplicationLag = maxReplicationLag;
+    }
+
+    @JsonProperty
+    public Duration getReplicaCheckInterval() {
+        return replicaCheckInterval;
+    }
+
+    @JsonProperty
+    public void setReplicaCheckInterval(Duration replicaCheckInterval) {
+        this.replicaCheckInterval = replicaCheckInterval;
+    }
+
+    @Override
+    public RoutingDataSource build(MetricRegistry metricRegistry, String name) {
+        final ManagedDataSource primary = super.build(metricRegistry, name);
+        final List<RoutingDataSource.NamedDataSource> replicaDataSources = new ArrayList<>(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            final String replicaName = name + "-replica-" + (i + 1);
+            replicaDataSources.add(new RoutingDataSource.NamedDataSource(replicaName,
+                replicas.get(i).build(metricRegistry, replicaName)));
+        }
+        final RoutingDataSource.ReplicaCheck replicaCheck = new RoutingDataSource.ReplicaCheck(
+            getValidationQuery(),
+            replicationLagQuery,
+            maxReplicationLag,
+            getValidationQueryTimeout().orElse(Duration.seconds(1)),
+            replicaCheckInterval);
+        return new RoutingDataSource(metricRegistry, name, primary, replicaDataSources, replicaCheck);
+    }
+}
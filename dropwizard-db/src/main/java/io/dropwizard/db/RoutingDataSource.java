@@ -0,0 +1,474 @@
+package io.dropwizard.db;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.health.HealthCheck;
+import com.codahale.metrics.health.HealthCheckRegistry;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.dropwizard.util.Duration;
+import org.apache.tomcat.jdbc.pool.DataSourceProxy;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A {@link ManagedDataSource} which routes the connections borrowed in a {@link DataSourceRouting#readOnly()} scope,
+ * or from its {@link #getReadOnlyDataSource() read-only view}, to its replicas, and every other connection to its
+ * primary.
+ * <p>
+ * Read-only connections are borrowed from the healthy replica with the fewest active connections, or from the primary
+ * if no replica is healthy. Replicas are checked periodically, with the replication lag query if there is one (which
+ * must return the lag in seconds), or else with the validation query. A replica is unhealthy if it can't be checked,
+ * or if it lags behind the primary by more than the maximum replication lag.
+ */
+public class RoutingDataSource implements ManagedDataSource {
+    private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(RoutingDataSource.class);
+
+    private final String name;
+    private final ManagedDataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaCheck replicaCheck;
+    private final ManagedDataSource readOnlyDataSource = new ReadOnlyDataSource();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Meter replicaConnections;
+    private final Meter primaryFallbacks;
+
+    @Nullable
+    private ScheduledExecutorService checkExecutor;
+
+    /**
+     * Creates a new routing data source.
+     *
+     * @param metricRegistry the application's registry of metrics
+     * @param name           the name of the data source
+     * @param primary        the primary data source
+     * @param replicas       the data sources of the replicas, by name
+     * @param replicaCheck   how to check the replicas
+     */
+    public RoutingDataSource(MetricRegistry metricRegistry,
+                             String name,
+                             ManagedDataSource primary,
+                             List<NamedDataSource> replicas,
+                             ReplicaCheck replicaCheck) {
+        this.name = name;
+        this.primary = primary;
+        this.replicaCheck = replicaCheck;
+        final ImmutableList.Builder<Replica> builder = ImmutableList.builder();
+        for (NamedDataSource replica : replicas) {
+            builder.add(new Replica(replica.getName(), replica.getDataSource()));
+        }
+        this.replicas = builder.build();
+        this.replicaConnections = metricRegistry.meter(name(RoutingDataSource.class, name, "replica-connections"));
+        this.primaryFallbacks = metricRegistry.meter(name(RoutingDataSource.class, name, "primary-fallbacks"));
+        for (Replica replica : this.replicas) {
+            metricRegistry.register(name(RoutingDataSource.class, name, replica.getName(), "replication-lag"),
+                (Gauge<Long>) replica::getLagMillis);
+        }
+    }
+
+    /**
+     * Returns the primary data source.
+     *
+     * @return the primary data source
+     */
+    public ManagedDataSource getPrimary() {
+        return primary;
+    }
+
+    /**
+     * Returns the replicas, in order.
+     *
+     * @return the replicas
+     */
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Returns a health check for every replica, by replica name.
+     *
+     * @return the health checks of the replicas
+     */
+    public Map<String, HealthCheck> getReplicaHealthChecks() {
+        final ImmutableMap.Builder<String, HealthCheck> healthChecks = ImmutableMap.builder();
+        for (Replica replica : replicas) {
+            healthChecks.put(replica.getName(), new ReplicaHealthCheck(replica));
+        }
+        return healthChecks.build();
+    }
+
+    /**
+     * Registers the health checks of the replicas under the name of the health check of the primary, as
+     * {@code <healthCheckName>.replica-<n>}.
+     *
+     * @param healthChecks    the application's registry of health checks
+     * @param healthCheckName the name of the health check of the primary
+     * @throws IllegalArgumentException if a health check of a replica is already registered
+     */
+    public void registerReplicaHealthChecks(HealthCheckRegistry healthChecks, String healthCheckName) {
+        for (int i = 0; i < replicas.size(); i++) {
+            // Throws if the name is taken, rather than silently leaving a replica unchecked
+            healthChecks.register(name(healthCheckName, "replica-" + (i + 1)),
+                new ReplicaHealthCheck(replicas.get(i)));
+        }
+    }
+
+    /**
+     * Returns a view of this data source which borrows every connection from the replicas. The view isn't managed:
+     * this data source starts and stops the pools.
+     *
+     * @return a read-only view of this data source
+     */
+    public ManagedDataSource getReadOnlyDataSource() {
+        return readOnlyDataSource;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return DataSourceRouting.isReadOnly() ? getReadOnlyConnection(null, null) : primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return DataSourceRouting.isReadOnly() ? getReadOnlyConnection(username, password)
+            : primary.getConnection(username, password);
+    }
+
+    private Connection getReadOnlyConnection(@Nullable String username, @Nullable String password)
+            throws SQLException {
+        final Replica replica = leastActiveReplica();
+        if (replica != null) {
+            try {
+                final Connection connection = username == null ? replica.dataSource.getConnection()
+                    : replica.dataSource.getConnection(username, password);
+                replicaConnections.mark();
+                return connection;
+            } catch (SQLException e) {
+                LOGGER.warn("Unable to connect to replica {}, falling back to the primary", replica.getName(), e);
+                replica.update(false, replica.getLagMillis(), e.getMessage());
+            }
+        }
+        primaryFallbacks.mark();
+        return username == null ? primary.getConnection() : primary.getConnection(username, password);
+    }
+
+    @Nullable
+    private Replica leastActiveReplica() {
+        final int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        // Start from a different replica every time, so that idle replicas share the load
+        final int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        Replica leastActive = null;
+        int leastActiveConnections = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            final Replica replica = replicas.get((start + i) % size);
+            if (replica.isHealthy()) {
+                final int activeConnections = replica.getActiveConnections();
+                if (activeConnections < leastActiveConnections) {
+                    leastActive = replica;
+                    leastActiveConnections = activeConnections;
+                }
+            }
+        }
+        return leastActive;
+    }
+
+    /**
+     * Checks the health and the replication lag of every replica.
+     */
+    @VisibleForTesting
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            replicaCheck.check(replica);
+        }
+    }
+
+    @Override
+    public void start() throws Exception {
+        primary.start();
+        for (Replica replica : replicas) {
+            replica.dataSource.start();
+        }
+        if (!replicas.isEmpty()) {
+            final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat(name + "-replica-check-%d").build());
+            final long interval = replicaCheck.interval.toMilliseconds();
+            executor.scheduleWithFixedDelay(this::checkReplicas, 0, interval, TimeUnit.MILLISECONDS);
+            this.checkExecutor = executor;
+        }
+    }
+
+    @Override
+    public void stop() throws Exception {
+        if (checkExecutor != null) {
+            checkExecutor.shutdownNow();
+            checkExecutor = null;
+        }
+        try {
+            for (Replica replica : replicas) {
+                replica.dataSource.stop();
+            }
+        } finally {
+            primary.stop();
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return primary.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        primary.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        primary.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return primary.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return primary.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    /**
+     * A data source with the name of its pool.
+     */
+    public static class NamedDataSource {
+        private final String name;
+        private final ManagedDataSource dataSource;
+
+        public NamedDataSource(String name, ManagedDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public ManagedDataSource getDataSource() {
+            return dataSource;
+        }
+    }
+
+    /**
+     * A replica, and the outcome of its last check.
+     */
+    public static class Replica {
+        private final String name;
+        private final ManagedDataSource dataSource;
+        private volatile boolean healthy = true;
+        private volatile long lagMillis;
+        @Nullable
+        private volatile String error;
+
+        Replica(String name, ManagedDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public ManagedDataSource getDataSource() {
+            return dataSource;
+        }
+
+        /**
+         * Returns whether the replica passed its last check. Replicas are healthy until they're checked.
+         *
+         * @return {@code true} if the replica is healthy
+         */
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        /**
+         * Returns the replication lag measured by the last check.
+         *
+         * @return the replication lag, in milliseconds
+         */
+        public long getLagMillis() {
+            return lagMillis;
+        }
+
+        /**
+         * Returns why the replica is unhealthy.
+         *
+         * @return the reason the replica failed its last check, if it did
+         */
+        public Optional<String> getError() {
+            return Optional.ofNullable(error);
+        }
+
+        int getActiveConnections() {
+            return dataSource instanceof DataSourceProxy ? ((DataSourceProxy) dataSource).getNumActive() : 0;
+        }
+
+        void update(boolean healthy, long lagMillis, @Nullable String error) {
+            this.lagMillis = lagMillis;
+            this.error = error;
+            this.healthy = healthy;
+        }
+    }
+
+    /**
+     * How replicas are checked.
+     */
+    public static class ReplicaCheck {
+        private final String validationQuery;
+        @Nullable
+        private final String replicationLagQuery;
+        private final Duration maxReplicationLag;
+        private final Duration timeout;
+        private final Duration interval;
+
+        /**
+         * Creates a new replica check.
+         *
+         * @param validationQuery     the query checking a replica if there's no replication lag query
+         * @param replicationLagQuery the query returning the replication lag of a replica in seconds, if any
+         * @param maxReplicationLag   the maximum replication lag of a healthy replica
+         * @param timeout             the timeout of the queries
+         * @param interval            the interval between two checks
+         */
+        public ReplicaCheck(String validationQuery,
+                            @Nullable String replicationLagQuery,
+                            Duration maxReplicationLag,
+                            Duration timeout,
+                            Duration interval) {
+            this.validationQuery = validationQuery;
+            this.replicationLagQuery = replicationLagQuery;
+            this.maxReplicationLag = maxReplicationLag;
+            this.timeout = timeout;
+            this.interval = interval;
+        }
+
+        void check(Replica replica) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout((int) Math.max(1, timeout.toSeconds()));
+                if (replicationLagQuery == null) {
+                    statement.execute(validationQuery);
+                    replica.update(true, 0, null);
+                    return;
+                }
+                try (ResultSet resultSet = statement.executeQuery(replicationLagQuery)) {
+                    // No lag is reported by a replica which is up to date, or by a primary
+                    final double lagSeconds = resultSet.next() ? resultSet.getDouble(1) : 0;
+                    final long lagMillis = (long) (lagSeconds * 1000);
+                    if (lagMillis > maxReplicationLag.toMilliseconds()) {
+                        replica.update(false, lagMillis, "Replication lag of " + lagMillis + "ms exceeds "
+                            + maxReplicationLag);
+                    } else {
+                        replica.update(true, lagMillis, null);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                LOGGER.warn("Unable to check replica {}", replica.getName(), e);
+                replica.update(false, replica.getLagMillis(), e.getMessage());
+            }
+        }
+    }
+
+    private class ReadOnlyDataSource implements ManagedDataSource {
+        @Override
+        public Connection getConnection() throws SQLException {
+            return getReadOnlyConnection(null, null);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getReadOnlyConnection(username, password);
+        }
+
+        @Override
+        public void start() {
+            // The pools are managed by the routing data source
+        }
+
+        @Override
+        public void stop() {
+            // The pools are managed by the routing data source
+        }
+
+        @Override
+        public PrintWriter getLogWriter() throws SQLException {
+            return RoutingDataSource.this.getLogWriter();
+        }
+
+        @Override
+        public void setLogWriter(PrintWriter out) throws SQLException {
+            RoutingDataSource.this.setLogWriter(out);
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) throws SQLException {
+            RoutingDataSource.this.setLoginTimeout(seconds);
+        }
+
+        @Override
+        public int getLoginTimeout() throws SQLException {
+            return RoutingDataSource.this.getLoginTimeout();
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            return RoutingDataSource.this.getParentLogger();
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            return RoutingDataSource.this.unwrap(iface);
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) throws SQLException {
+            return RoutingDataSource.this.isWrapperFor(iface);
+        }
+    }
+}
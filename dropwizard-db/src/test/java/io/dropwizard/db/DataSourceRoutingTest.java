@@ -0,0 +1,37 @@
+package io.dropwizard.db;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DataSourceRoutingTest {
+
+    @Test
+    public void nestedScopesRouteUntilTheOutermostIsClosed() {
+        try (DataSourceRouting.Scope outer = DataSourceRouting.readOnly()) {
+            try (DataSourceRouting.Scope inner = DataSourceRouting.readOnly()) {
+                assertThat(DataSourceRouting.isReadOnly()).isTrue();
+            }
+            assertThat(DataSourceRouting.isReadOnly()).isTrue();
+        }
+        assertThat(DataSourceRouting.isReadOnly()).isFalse();
+    }
+
+    @Test
+    public void scopesOnlyRouteTheThreadWhichOpenedThem() throws Exception {
+        try (DataSourceRouting.Scope scope = DataSourceRouting.readOnly()) {
+            assertThat(CompletableFuture.supplyAsync(DataSourceRouting::isReadOnly).get()).isFalse();
+        }
+    }
+
+    @Test
+    public void scopesCanBeClosedByAnotherThread() throws Exception {
+        final DataSourceRouting.Scope scope = DataSourceRouting.readOnly();
+
+        CompletableFuture.runAsync(scope::close).get();
+
+        assertThat(DataSourceRouting.isReadOnly()).isFalse();
+    }
+}
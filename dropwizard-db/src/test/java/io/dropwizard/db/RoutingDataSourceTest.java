@@ -0,0 +1,165 @@
+package io.dropwizard.db;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.health.HealthCheck;
+import com.codahale.metrics.health.HealthCheckRegistry;
+import io.dropwizard.util.Duration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RoutingDataSourceTest {
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final String suffix = "-" + System.nanoTime();
+
+    private ReplicatedDataSourceFactory factory;
+
+    @Nullable
+    private RoutingDataSource dataSource;
+
+    @Before
+    public void setUp() {
+        factory = new ReplicatedDataSourceFactory();
+        configure(factory, "primary");
+        factory.setReplicas(Arrays.asList(replica("replica1"), replica("replica2")));
+        factory.setReplicaCheckInterval(Duration.hours(1));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (dataSource != null) {
+            dataSource.stop();
+        }
+    }
+
+    private DataSourceFactory replica(String database) {
+        final DataSourceFactory replica = new DataSourceFactory();
+        configure(replica, database);
+        return replica;
+    }
+
+    private void configure(DataSourceFactory factory, String database) {
+        factory.setUrl("jdbc:h2:mem:" + database + suffix + ";user=sa");
+        factory.setDriverClass("org.h2.Driver");
+        factory.setValidationQuery("SELECT 1");
+    }
+
+    private RoutingDataSource dataSource() throws Exception {
+        dataSource = factory.build(metricRegistry, "test");
+        dataSource.start();
+        dataSource.checkReplicas();
+        return dataSource;
+    }
+
+    private static String databaseOf(Connection connection) throws SQLException {
+        try {
+            final String url = connection.getMetaData().getURL();
+            return url.substring("jdbc:h2:mem:".length(), url.indexOf('-'));
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void connectsToThePrimaryByDefault() throws Exception {
+        assertThat(databaseOf(dataSource().getConnection())).isEqualTo("primary");
+    }
+
+    @Test
+    public void connectsToAReplicaInAReadOnlyScope() throws Exception {
+        final RoutingDataSource dataSource = dataSource();
+        try (DataSourceRouting.Scope ignored = DataSourceRouting.readOnly()) {
+            assertThat(databaseOf(dataSource.getConnection())).startsWith("replica");
+        }
+        assertThat(databaseOf(dataSource.getConnection())).isEqualTo("primary");
+        assertThat(metricRegistry.meter(MetricRegistry.name(RoutingDataSource.class, "test", "replica-connections"))
+            .getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void readOnlyViewConnectsToAReplica() throws Exception {
+        assertThat(databaseOf(dataSource().getReadOnlyDataSource().getConnection())).startsWith("replica");
+    }
+
+    @Test
+    public void connectsToTheLeastActiveReplica() throws Exception {
+        final RoutingDataSource dataSource = dataSource();
+        try (Connection first = dataSource.getReadOnlyDataSource().getConnection()) {
+            final String busy = first.getMetaData().getURL();
+            for (int i = 0; i < 4; i++) {
+                try (Connection next = dataSource.getReadOnlyDataSource().getConnection()) {
+                    assertThat(next.getMetaData().getURL()).isNotEqualTo(busy);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void fallsBackToThePrimaryIfTheReplicasLag() throws Exception {
+        factory.setReplicationLagQuery("SELECT 100");
+        factory.setMaxReplicationLag(Duration.seconds(10));
+        final RoutingDataSource dataSource = dataSource();
+
+        assertThat(dataSource.getReplicas()).noneMatch(RoutingDataSource.Replica::isHealthy);
+        assertThat(dataSource.getReplicas()).allMatch(replica -> replica.getLagMillis() == 100_000);
+        assertThat(databaseOf(dataSource.getReadOnlyDataSource().getConnection())).isEqualTo("primary");
+        assertThat(metricRegistry.meter(MetricRegistry.name(RoutingDataSource.class, "test", "primary-fallbacks"))
+            .getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void connectsToReplicasWithinTheMaximumLag() throws Exception {
+        factory.setReplicationLagQuery("SELECT 2");
+        factory.setMaxReplicationLag(Duration.seconds(10));
+        final RoutingDataSource dataSource = dataSource();
+
+        assertThat(dataSource.getReplicas()).allMatch(RoutingDataSource.Replica::isHealthy);
+        assertThat(databaseOf(dataSource.getReadOnlyDataSource().getConnection())).startsWith("replica");
+    }
+
+    @Test
+    public void reportsTheHealthOfTheReplicas() throws Exception {
+        factory.setReplicationLagQuery("SELECT 100");
+        final RoutingDataSource dataSource = dataSource();
+
+        assertThat(dataSource.getReplicaHealthChecks()).containsOnlyKeys("test-replica-1", "test-replica-2");
+        final HealthCheck.Result result = dataSource.getReplicaHealthChecks().get("test-replica-1").execute();
+        assertThat(result.isHealthy()).isFalse();
+        assertThat(result.getMessage()).startsWith("Replication lag of 100000ms");
+    }
+
+    @Test
+    public void registersTheHealthChecksOfTheReplicasUnderThePrimary() throws Exception {
+        final HealthCheckRegistry healthChecks = new HealthCheckRegistry();
+
+        dataSource().registerReplicaHealthChecks(healthChecks, "db");
+
+        assertThat(healthChecks.getNames()).containsExactly("db.replica-1", "db.replica-2");
+    }
+
+    @Test
+    public void failsToRegisterTheHealthChecksOfTheReplicasTwice() throws Exception {
+        final RoutingDataSource dataSource = dataSource();
+        final HealthCheckRegistry healthChecks = new HealthCheckRegistry();
+        dataSource.registerReplicaHealthChecks(healthChecks, "db");
+
+        assertThatThrownBy(() -> dataSource.registerReplicaHealthChecks(healthChecks, "db"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("db.replica-1");
+    }
+
+    @Test
+    public void connectsToThePrimaryWithoutReplicas() throws Exception {
+        factory.setReplicas(Collections.emptyList());
+        assertThat(databaseOf(dataSource().getReadOnlyDataSource().getConnection())).isEqualTo("primary");
+    }
+}
@@ -1,19 +1,36 @@
 package io.dropwizard.hibernate;
 
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import io.dropwizard.util.Generics;
 import org.hibernate.Criteria;
 import org.hibernate.Hibernate;
 import org.hibernate.HibernateException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.query.Query;
 import org.hibernate.query.internal.AbstractProducedQuery;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import javax.annotation.Nullable;
 import javax.persistence.criteria.CriteriaQuery;
 
+import static com.codahale.metrics.MetricRegistry.name;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -22,9 +39,20 @@ import static java.util.Objects.requireNonNull;
  * @param <E> the class which this DAO manages
  */
 public class AbstractDAO<E> {
+    /**
+     * The default number of rows fetched at once by the streams of query results.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+
     private final SessionFactory sessionFactory;
     private final Class<?> entityClass;
 
+    @Nullable
+    private final Histogram batchRows;
+
+    @Nullable
+    private final Timer flushes;
+
     /**
      * Creates a new DAO with a given session provider.
      *
@@ -33,6 +61,22 @@ public class AbstractDAO<E> {
     public AbstractDAO(SessionFactory sessionFactory) {
         this.sessionFactory = requireNonNull(sessionFactory);
         this.entityClass = Generics.getTypeParameter(getClass());
+        this.batchRows = null;
+        this.flushes = null;
+    }
+
+    /**
+     * Creates a new DAO with a given session provider, which measures the number of rows of its batches and the
+     * time it takes to flush them.
+     *
+     * @param sessionFactory    a session provider
+     * @param metricRegistry    the registry of the {@code batch-rows} histogram and the {@code flushes} timer
+     */
+    public AbstractDAO(SessionFactory sessionFactory, MetricRegistry metricRegistry) {
+        this.sessionFactory = requireNonNull(sessionFactory);
+        this.entityClass = Generics.getTypeParameter(getClass());
+        this.batchRows = metricRegistry.histogram(name(getClass(), "batch-rows"));
+        this.flushes = metricRegistry.timer(name(getClass(), "flushes"));
     }
 
     /**
@@ -218,4 +262,194 @@ public class AbstractDAO<E> {
         }
         return proxy;
     }
+
+    /**
+     * Either save or update the given instances in JDBC batches, flushing and clearing the session after each
+     * batch so that its memory use doesn't grow with the number of instances.
+     * <p/>
+     * Clearing the session detaches every instance associated with it, including those loaded before this call.
+     *
+     * @param entities  transient or detached instances containing new or updated state
+     * @param batchSize the number of instances flushed at once
+     * @return the number of saved or updated instances
+     * @throws HibernateException
+     * @see #persist(Object)
+     */
+    protected int persistAll(Iterable<E> entities, int batchSize) throws HibernateException {
+        checkBatchSize(batchSize);
+        final Session session = currentSession();
+        final Integer sessionBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize);
+        try {
+            int count = 0;
+            int rows = 0;
+            for (E entity : requireNonNull(entities)) {
+                session.saveOrUpdate(requireNonNull(entity));
+                count++;
+                if (++rows == batchSize) {
+                    flushAndClear(session, rows);
+                    rows = 0;
+                }
+            }
+            if (rows > 0) {
+                flushAndClear(session, rows);
+            }
+            return count;
+        } finally {
+            session.setJdbcBatchSize(sessionBatchSize);
+        }
+    }
+
+    /**
+     * Inserts the given instances in JDBC batches with a {@link StatelessSession}, which doesn't keep them in
+     * memory, and doesn't cascade to associated instances. The stateless session uses the connection of the current
+     * session, and so takes part in its transaction.
+     *
+     * @param entities  transient instances
+     * @param batchSize the number of instances inserted at once
+     * @return the number of inserted instances
+     * @throws HibernateException
+     * @see StatelessSession#insert(Object)
+     */
+    protected int insertAllStateless(Iterable<E> entities, int batchSize) throws HibernateException {
+        checkBatchSize(batchSize);
+        return currentSession().doReturningWork(connection -> {
+            final StatelessSession session = sessionFactory.openStatelessSession(connection);
+            try {
+                // One more statement than the rows of a batch, so that each batch is executed, and measured, here
+                // rather than by the insert which fills it. A stateless session doesn't execute the last batch when
+                // it's closed.
+                session.setJdbcBatchSize(batchSize + 1);
+                final JdbcCoordinator jdbcCoordinator =
+                    ((SharedSessionContractImplementor) session).getJdbcCoordinator();
+                int count = 0;
+                int rows = 0;
+                for (E entity : requireNonNull(entities)) {
+                    session.insert(requireNonNull(entity));
+                    count++;
+                    if (++rows == batchSize) {
+                        executeBatch(jdbcCoordinator, rows);
+                        rows = 0;
+                    }
+                }
+                if (rows > 0) {
+                    executeBatch(jdbcCoordinator, rows);
+                }
+                return count;
+            } finally {
+                session.close();
+            }
+        });
+    }
+
+    /**
+     * Get the results of a query as a {@link Stream}, which scrolls through them rather than loading them all in
+     * memory. Each result is evicted from the session once it has been consumed, so it can't lazily load its
+     * associations anymore.
+     * <p/>
+     * The stream must be consumed, and closed, inside the unit of work.
+     *
+     * @param query the query to run
+     * @return a stream of the matched query results, which must be closed
+     * @see Query#scroll(ScrollMode)
+     */
+    protected Stream<E> stream(Query<E> query) throws HibernateException {
+        return stream(query, DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Get the results of a query as a {@link Stream}, which scrolls through them rather than loading them all in
+     * memory. Each result is evicted from the session once it has been consumed, so it can't lazily load its
+     * associations anymore.
+     * <p/>
+     * The stream must be consumed, and closed, inside the unit of work.
+     *
+     * @param query     the query to run
+     * @param fetchSize the number of rows fetched at once by the JDBC driver
+     * @return a stream of the matched query results, which must be closed
+     * @see Query#scroll(ScrollMode)
+     */
+    protected Stream<E> stream(Query<E> query, int fetchSize) throws HibernateException {
+        final Session session = currentSession();
+        final ScrollableResults results = requireNonNull(query).setFetchSize(fetchSize).scroll(ScrollMode.FORWARD_ONLY);
+        return stream(results, session::evict, results::close);
+    }
+
+    /**
+     * Get the results of a query on a {@link StatelessSession} as a {@link Stream}, which scrolls through them
+     * rather than loading them all in memory. The stateless session uses the connection of the current session, and
+     * is closed with the stream.
+     * <p/>
+     * The stream must be consumed, and closed, inside the unit of work.
+     *
+     * @param query     creates the query to run on the stateless session
+     * @param fetchSize the number of rows fetched at once by the JDBC driver
+     * @return a stream of the matched query results, which must be closed
+     * @see StatelessSession#createQuery(String, Class)
+     */
+    protected Stream<E> streamStateless(Function<StatelessSession, Query<E>> query, int fetchSize)
+            throws HibernateException {
+        final StatelessSession session = currentSession().doReturningWork(sessionFactory::openStatelessSession);
+        try {
+            final ScrollableResults results = requireNonNull(query.apply(session))
+                .setFetchSize(fetchSize)
+                .scroll(ScrollMode.FORWARD_ONLY);
+            return stream(results, entity -> { }, () -> {
+                try {
+                    results.close();
+                } finally {
+                    session.close();
+                }
+            });
+        } catch (RuntimeException e) {
+            session.close();
+            throw e;
+        }
+    }
+
+    private Stream<E> stream(ScrollableResults results, Consumer<Object> evict, Runnable onClose) {
+        final Spliterator<E> spliterator = new Spliterators.AbstractSpliterator<E>(Long.MAX_VALUE,
+            Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean tryAdvance(Consumer<? super E> action) {
+                if (!results.next()) {
+                    return false;
+                }
+                final E entity = (E) results.get(0);
+                action.accept(entity);
+                evict.accept(entity);
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(onClose);
+    }
+
+    private void flushAndClear(Session session, int rows) {
+        final long start = System.nanoTime();
+        session.flush();
+        session.clear();
+        updateBatchMetrics(start, rows);
+    }
+
+    private void executeBatch(JdbcCoordinator jdbcCoordinator, int rows) {
+        final long start = System.nanoTime();
+        jdbcCoordinator.executeBatch();
+        updateBatchMetrics(start, rows);
+    }
+
+    private void updateBatchMetrics(long start, int rows) {
+        if (flushes != null) {
+            flushes.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (batchRows != null) {
+            batchRows.update(rows);
+        }
+    }
+
+    private static void checkBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+    }
 }
@@ -0,0 +1,26 @@
+package io.dropwizard.hibernate;
+
+/**
+ * When the session of a {@link UnitOfWork} releases its JDBC connection to the pool.
+ *
+ * @see UnitOfWork#connectionRelease()
+ */
+public enum ConnectionRelease {
+    /**
+     * The default of the session factory's bundle: {@link #AFTER_COMMIT} if the bundle releases connections after
+     * the commit, {@link #ON_CLOSE} otherwise.
+     *
+     * @see HibernateBundle#setReleaseConnectionAfterCommit(boolean)
+     */
+    BUNDLE_DEFAULT,
+
+    /**
+     * As soon as the transaction is committed, or after each statement if the unit of work isn't transactional.
+     */
+    AFTER_COMMIT,
+
+    /**
+     * When the session is closed, once the response has been written to the client.
+     */
+    ON_CLOSE
+}
@@ -22,6 +22,9 @@ public abstract class HibernateBundle<T extends Configuration> implements Config
     @Nullable
     private SessionFactory sessionFactory;
     private boolean lazyLoadingEnabled = true;
+    private boolean releaseConnectionAfterCommit = false;
+    private boolean statisticsEnabled = true;
+    private double statisticsSampleRate = 1.0;
 
     private final ImmutableList<Class<?>> entities;
     private final SessionFactoryFactory sessionFactoryFactory;
@@ -81,7 +84,7 @@ public abstract class HibernateBundle<T extends Configuration> implements Config
                 return (UnitOfWorkApplicationListener) singleton;
             }
         }
-        final UnitOfWorkApplicationListener listener = new UnitOfWorkApplicationListener();
+        final UnitOfWorkApplicationListener listener = new UnitOfWorkApplicationListener(environment.metrics());
         environment.jersey().register(listener);
         return listener;
     }
@@ -94,6 +97,55 @@ public abstract class HibernateBundle<T extends Configuration> implements Config
         this.lazyLoadingEnabled = lazyLoadingEnabled;
     }
 
+    public boolean isReleaseConnectionAfterCommit() {
+        return releaseConnectionAfterCommit;
+    }
+
+    /**
+     * Sets whether sessions release their JDBC connection to the pool as soon as their transaction completes,
+     * rather than when they're closed, which is once the response has been written to the client. This is the
+     * default of every {@link UnitOfWork} of the bundle which doesn't set its {@link UnitOfWork#connectionRelease()};
+     * it must be set before the bundle is run. The session factory's own connection handling mode is left as is.
+     *
+     * @param releaseConnectionAfterCommit whether sessions release their connection after their transaction
+     * @see UnitOfWork#connectionRelease()
+     */
+    public void setReleaseConnectionAfterCommit(boolean releaseConnectionAfterCommit) {
+        this.releaseConnectionAfterCommit = releaseConnectionAfterCommit;
+    }
+
+    public boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    /**
+     * Sets whether the session factory collects {@link org.hibernate.stat.Statistics}, and publishes them as metrics.
+     * It must be set before the bundle is run.
+     *
+     * @param statisticsEnabled whether statistics are collected
+     * @see StatisticsMetricSet
+     */
+    public void setStatisticsEnabled(boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+    }
+
+    public double getStatisticsSampleRate() {
+        return statisticsSampleRate;
+    }
+
+    /**
+     * Sets the fraction of the sessions whose statistics are collected, between {@code 0} and {@code 1}. Counts
+     * only reflect the sampled sessions. It must be set before the bundle is run.
+     *
+     * @param statisticsSampleRate the fraction of the sessions whose statistics are collected
+     */
+    public void setStatisticsSampleRate(double statisticsSampleRate) {
+        if (statisticsSampleRate < 0 || statisticsSampleRate > 1) {
+            throw new IllegalArgumentException("Statistics sample rate must be between 0 and 1: " + statisticsSampleRate);
+        }
+        this.statisticsSampleRate = statisticsSampleRate;
+    }
+
     public SessionFactory getSessionFactory() {
         return requireNonNull(sessionFactory);
     }
@@ -0,0 +1,299 @@
+package io.dropwizard.hibernate;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.ConcurrentStatisticsImpl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * The statistics of a session factory, which time the execution of every HQL query, and only collect the
+ * statistics of a fraction of the sessions.
+ * <p>
+ * Whether a session is sampled is decided when it's opened, and applies to the statistics collected by the thread
+ * which opened it until it opens another session of the same factory.
+ * <p>
+ * Query timers are named after the query, with its literals replaced by {@code ?} and its whitespace collapsed, so
+ * that queries built by concatenating values share a timer. At most {@link #MAX_QUERY_TIMERS} queries get their own
+ * timer; the executions of any other query are timed by {@code queries.other}.
+ */
+class InstrumentedStatistics extends ConcurrentStatisticsImpl {
+    static final int MAX_QUERY_TIMERS = 100;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w?:.])\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ThreadLocal<Boolean> sampled = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    private final MetricRegistry metricRegistry;
+    private final String prefix;
+    private final double sampleRate;
+    private final ConcurrentMap<String, Timer> queryTimers = new ConcurrentHashMap<>();
+
+    InstrumentedStatistics(SessionFactoryImplementor sessionFactory,
+                           MetricRegistry metricRegistry,
+                           String prefix,
+                           double sampleRate) {
+        super(sessionFactory);
+        this.metricRegistry = metricRegistry;
+        this.prefix = prefix;
+        this.sampleRate = sampleRate;
+    }
+
+    private boolean isSampled() {
+        return sampleRate >= 1.0 || sampled.get();
+    }
+
+    @Override
+    public void openSession() {
+        if (sampleRate < 1.0) {
+            sampled.set(ThreadLocalRandom.current().nextDouble() < sampleRate);
+        }
+        if (isSampled()) {
+            super.openSession();
+        }
+    }
+
+    @Override
+    public void closeSession() {
+        if (isSampled()) {
+            super.closeSession();
+        }
+    }
+
+    @Override
+    public void queryExecuted(String hql, int rows, long time) {
+        if (isSampled()) {
+            super.queryExecuted(hql, rows, time);
+            queryTimer(hql).update(time, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private Timer queryTimer(String hql) {
+        final String query = normalize(hql);
+        final Timer timer = queryTimers.get(query);
+        if (timer != null) {
+            return timer;
+        }
+        if (queryTimers.size() >= MAX_QUERY_TIMERS) {
+            return metricRegistry.timer(name(prefix, "queries", "other"));
+        }
+        return queryTimers.computeIfAbsent(query, q -> metricRegistry.timer(name(prefix, "queries", q)));
+    }
+
+    static String normalize(String hql) {
+        String query = STRING_LITERAL.matcher(hql).replaceAll("?");
+        query = NUMERIC_LITERAL.matcher(query).replaceAll("?");
+        return WHITESPACE.matcher(query).replaceAll(" ").trim();
+    }
+
+    @Override
+    public void flush() {
+        if (isSampled()) {
+            super.flush();
+        }
+    }
+
+    @Override
+    public void connect() {
+        if (isSampled()) {
+            super.connect();
+        }
+    }
+
+    @Override
+    public void prepareStatement() {
+        if (isSampled()) {
+            super.prepareStatement();
+        }
+    }
+
+    @Override
+    public void closeStatement() {
+        if (isSampled()) {
+            super.closeStatement();
+        }
+    }
+
+    @Override
+    public void endTransaction(boolean success) {
+        if (isSampled()) {
+            super.endTransaction(success);
+        }
+    }
+
+    @Override
+    public void loadEntity(String entityName) {
+        if (isSampled()) {
+            super.loadEntity(entityName);
+        }
+    }
+
+    @Override
+    public void fetchEntity(String entityName) {
+        if (isSampled()) {
+            super.fetchEntity(entityName);
+        }
+    }
+
+    @Override
+    public void updateEntity(String entityName) {
+        if (isSampled()) {
+            super.updateEntity(entityName);
+        }
+    }
+
+    @Override
+    public void insertEntity(String entityName) {
+        if (isSampled()) {
+            super.insertEntity(entityName);
+        }
+    }
+
+    @Override
+    public void deleteEntity(String entityName) {
+        if (isSampled()) {
+            super.deleteEntity(entityName);
+        }
+    }
+
+    @Override
+    public void optimisticFailure(String entityName) {
+        if (isSampled()) {
+            super.optimisticFailure(entityName);
+        }
+    }
+
+    @Override
+    public void loadCollection(String role) {
+        if (isSampled()) {
+            super.loadCollection(role);
+        }
+    }
+
+    @Override
+    public void fetchCollection(String role) {
+        if (isSampled()) {
+            super.fetchCollection(role);
+        }
+    }
+
+    @Override
+    public void updateCollection(String role) {
+        if (isSampled()) {
+            super.updateCollection(role);
+        }
+    }
+
+    @Override
+    public void recreateCollection(String role) {
+        if (isSampled()) {
+            super.recreateCollection(role);
+        }
+    }
+
+    @Override
+    public void removeCollection(String role) {
+        if (isSampled()) {
+            super.removeCollection(role);
+        }
+    }
+
+    @Override
+    public void secondLevelCachePut(String regionName) {
+        if (isSampled()) {
+            super.secondLevelCachePut(regionName);
+        }
+    }
+
+    @Override
+    public void secondLevelCacheHit(String regionName) {
+        if (isSampled()) {
+            super.secondLevelCacheHit(regionName);
+        }
+    }
+
+    @Override
+    public void secondLevelCacheMiss(String regionName) {
+        if (isSampled()) {
+            super.secondLevelCacheMiss(regionName);
+        }
+    }
+
+    @Override
+    public void naturalIdCachePut(String regionName) {
+        if (isSampled()) {
+            super.naturalIdCachePut(regionName);
+        }
+    }
+
+    @Override
+    public void naturalIdCacheHit(String regionName) {
+        if (isSampled()) {
+            super.naturalIdCacheHit(regionName);
+        }
+    }
+
+    @Override
+    public void naturalIdCacheMiss(String regionName) {
+        if (isSampled()) {
+            super.naturalIdCacheMiss(regionName);
+        }
+    }
+
+    @Override
+    public void naturalIdQueryExecuted(String rootEntityName, long time) {
+        if (isSampled()) {
+            super.naturalIdQueryExecuted(rootEntityName, time);
+        }
+    }
+
+    @Override
+    public void queryCachePut(String hql, String regionName) {
+        if (isSampled()) {
+            super.queryCachePut(hql, regionName);
+        }
+    }
+
+    @Override
+    public void queryCacheHit(String hql, String regionName) {
+        if (isSampled()) {
+            super.queryCacheHit(hql, regionName);
+        }
+    }
+
+    @Override
+    public void queryCacheMiss(String hql, String regionName) {
+        if (isSampled()) {
+            super.queryCacheMiss(hql, regionName);
+        }
+    }
+
+    @Override
+    public void updateTimestampsCacheHit() {
+        if (isSampled()) {
+            super.updateTimestampsCacheHit();
+        }
+    }
+
+    @Override
+    public void updateTimestampsCacheMiss() {
+        if (isSampled()) {
+            super.updateTimestampsCacheMiss();
+        }
+    }
+
+    @Override
+    public void updateTimestampsCachePut() {
+        if (isSampled()) {
+            super.updateTimestampsCachePut();
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package io.dropwizard.hibernate;
 
+import com.codahale.metrics.MetricRegistry;
 import io.dropwizard.db.ManagedDataSource;
 import io.dropwizard.db.PooledDataSourceFactory;
+import io.dropwizard.db.RoutingDataSource;
 import io.dropwizard.setup.Environment;
 import org.hibernate.SessionFactory;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
@@ -10,6 +12,8 @@ import org.hibernate.cfg.Configuration;
 import org.hibernate.engine.jdbc.connections.internal.DatasourceConnectionProviderImpl;
 import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
 import org.hibernate.service.ServiceRegistry;
+import org.hibernate.stat.internal.StatisticsInitiator;
+import org.hibernate.stat.spi.StatisticsFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,10 +23,20 @@ import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
+import static com.codahale.metrics.MetricRegistry.name;
+
 public class SessionFactoryFactory {
     private static final Logger LOGGER = LoggerFactory.getLogger(SessionFactoryFactory.class);
     private static final String DEFAULT_NAME = "hibernate";
 
+    /**
+     * The property of a session factory telling whether its units of work release their connection after the
+     * commit by default.
+     *
+     * @see HibernateBundle#setReleaseConnectionAfterCommit(boolean)
+     */
+    static final String RELEASE_CONNECTION_AFTER_COMMIT = "dropwizard.hibernate.release_connection_after_commit";
+
     public SessionFactory build(HibernateBundle<?> bundle,
                                 Environment environment,
                                 PooledDataSourceFactory dbConfig,
@@ -36,7 +50,12 @@ public class SessionFactoryFactory {
                                 List<Class<?>> entities,
                                 String name) {
         final ManagedDataSource dataSource = dbConfig.build(environment.metrics(), name);
-        return build(bundle, environment, dbConfig, dataSource, entities);
+        final SessionFactory factory = build(bundle, environment, dbConfig, dataSource, entities);
+        if (dataSource instanceof RoutingDataSource) {
+            // The bundle registers the health check of the primary under the same name
+            ((RoutingDataSource) dataSource).registerReplicaHealthChecks(environment.healthChecks(), name);
+        }
+        return factory;
     }
 
     public SessionFactory build(HibernateBundle<?> bundle,
@@ -47,12 +66,16 @@ public class SessionFactoryFactory {
         final ConnectionProvider provider = buildConnectionProvider(dataSource,
                                                                     dbConfig.getProperties());
         final SessionFactory factory = buildSessionFactory(bundle,
+                                                           environment.metrics(),
                                                            dbConfig,
                                                            provider,
                                                            dbConfig.getProperties(),
                                                            entities);
         final SessionFactoryManager managedFactory = new SessionFactoryManager(factory, dataSource);
         environment.lifecycle().manage(managedFactory);
+        if (bundle.isStatisticsEnabled()) {
+            environment.metrics().register(statisticsPrefix(bundle), new StatisticsMetricSet(factory.getStatistics()));
+        }
         return factory;
     }
 
@@ -65,6 +88,7 @@ public class SessionFactoryFactory {
     }
 
     private SessionFactory buildSessionFactory(HibernateBundle<?> bundle,
+                                               MetricRegistry metricRegistry,
                                                PooledDataSourceFactory dbConfig,
                                                ConnectionProvider connectionProvider,
                                                Map<String, String> properties,
@@ -73,12 +97,22 @@ public class SessionFactoryFactory {
         configuration.setProperty(AvailableSettings.CURRENT_SESSION_CONTEXT_CLASS, "managed");
         configuration.setProperty(AvailableSettings.USE_SQL_COMMENTS, Boolean.toString(dbConfig.isAutoCommentsEnabled()));
         configuration.setProperty(AvailableSettings.USE_GET_GENERATED_KEYS, "true");
-        configuration.setProperty(AvailableSettings.GENERATE_STATISTICS, "true");
+        configuration.setProperty(AvailableSettings.GENERATE_STATISTICS, Boolean.toString(bundle.isStatisticsEnabled()));
+        if (bundle.isStatisticsEnabled()) {
+            final String prefix = statisticsPrefix(bundle);
+            final double sampleRate = bundle.getStatisticsSampleRate();
+            final StatisticsFactory statisticsFactory = sessionFactory ->
+                new InstrumentedStatistics(sessionFactory, metricRegistry, prefix, sampleRate);
+            configuration.getProperties().put(StatisticsInitiator.STATS_BUILDER, statisticsFactory);
+        }
         configuration.setProperty(AvailableSettings.USE_REFLECTION_OPTIMIZER, "true");
         configuration.setProperty(AvailableSettings.ORDER_UPDATES, "true");
         configuration.setProperty(AvailableSettings.ORDER_INSERTS, "true");
         configuration.setProperty(AvailableSettings.USE_NEW_ID_GENERATOR_MAPPINGS, "true");
         configuration.setProperty("jadira.usertype.autoRegisterUserTypes", "true");
+        // Only a marker for the units of work, which set the connection handling mode of each of their sessions
+        configuration.setProperty(RELEASE_CONNECTION_AFTER_COMMIT,
+            Boolean.toString(bundle.isReleaseConnectionAfterCommit()));
         for (Map.Entry<String, String> property : properties.entrySet()) {
             configuration.setProperty(property.getKey(), property.getValue());
         }
@@ -99,6 +133,10 @@ public class SessionFactoryFactory {
     protected void configure(Configuration configuration, ServiceRegistry registry) {
     }
 
+    private static String statisticsPrefix(HibernateBundle<?> bundle) {
+        return name(SessionFactory.class, bundle.name(), "statistics");
+    }
+
     private void addAnnotatedClasses(Configuration configuration,
                                      Iterable<Class<?>> entities) {
         final SortedSet<String> entityClasses = new TreeSet<>();
@@ -0,0 +1,74 @@
+package io.dropwizard.hibernate;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import com.codahale.metrics.RatioGauge;
+import org.hibernate.stat.Statistics;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * A set of gauges for the {@link Statistics} of a session factory: session, connection and flush counts, entity and
+ * collection operations, query executions, and the second-level and query cache hit ratios.
+ */
+public class StatisticsMetricSet implements MetricSet {
+    private final Statistics statistics;
+
+    public StatisticsMetricSet(Statistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Map<String, Metric> getMetrics() {
+        final Map<String, Metric> gauges = new HashMap<>();
+        count(gauges, "sessions.opened", Statistics::getSessionOpenCount);
+        count(gauges, "sessions.closed", Statistics::getSessionCloseCount);
+        count(gauges, "connections.acquired", Statistics::getConnectCount);
+        count(gauges, "statements.prepared", Statistics::getPrepareStatementCount);
+        count(gauges, "flushes", Statistics::getFlushCount);
+        count(gauges, "transactions.completed", Statistics::getTransactionCount);
+        count(gauges, "transactions.successful", Statistics::getSuccessfulTransactionCount);
+        count(gauges, "transactions.optimistic-failures", Statistics::getOptimisticFailureCount);
+        count(gauges, "entities.loaded", Statistics::getEntityLoadCount);
+        count(gauges, "entities.fetched", Statistics::getEntityFetchCount);
+        count(gauges, "entities.inserted", Statistics::getEntityInsertCount);
+        count(gauges, "entities.updated", Statistics::getEntityUpdateCount);
+        count(gauges, "entities.deleted", Statistics::getEntityDeleteCount);
+        count(gauges, "collections.loaded", Statistics::getCollectionLoadCount);
+        count(gauges, "collections.fetched", Statistics::getCollectionFetchCount);
+        count(gauges, "queries.executed", Statistics::getQueryExecutionCount);
+        count(gauges, "queries.max-time", Statistics::getQueryExecutionMaxTime);
+        count(gauges, "second-level-cache.hits", Statistics::getSecondLevelCacheHitCount);
+        count(gauges, "second-level-cache.misses", Statistics::getSecondLevelCacheMissCount);
+        count(gauges, "second-level-cache.puts", Statistics::getSecondLevelCachePutCount);
+        ratio(gauges, "second-level-cache.hit-ratio",
+            Statistics::getSecondLevelCacheHitCount, Statistics::getSecondLevelCacheMissCount);
+        count(gauges, "query-cache.hits", Statistics::getQueryCacheHitCount);
+        count(gauges, "query-cache.misses", Statistics::getQueryCacheMissCount);
+        count(gauges, "query-cache.puts", Statistics::getQueryCachePutCount);
+        ratio(gauges, "query-cache.hit-ratio",
+            Statistics::getQueryCacheHitCount, Statistics::getQueryCacheMissCount);
+        return Collections.unmodifiableMap(gauges);
+    }
+
+    private void count(Map<String, Metric> gauges, String name, ToLongFunction<Statistics> count) {
+        gauges.put(name, (Gauge<Long>) () -> count.applyAsLong(statistics));
+    }
+
+    private void ratio(Map<String, Metric> gauges,
+                       String name,
+                       ToLongFunction<Statistics> hits,
+                       ToLongFunction<Statistics> misses) {
+        gauges.put(name, new RatioGauge() {
+            @Override
+            protected Ratio getRatio() {
+                final long hitCount = hits.applyAsLong(statistics);
+                return Ratio.of(hitCount, hitCount + misses.applyAsLong(statistics));
+            }
+        });
+    }
+}
@@ -51,6 +51,16 @@ public @interface UnitOfWork {
      */
     FlushMode flushMode() default FlushMode.AUTO;
 
+    /**
+     * When the session releases its JDBC connection to the pool. With {@link ConnectionRelease#AFTER_COMMIT}, the
+     * entity returned by the method is initialized before the transaction is committed; lazy associations loaded
+     * while serializing the response borrow a connection again.
+     *
+     * @see HibernateBundle#setReleaseConnectionAfterCommit(boolean)
+     * @see UnitOfWorkAspect#initialize(Object)
+     */
+    ConnectionRelease connectionRelease() default ConnectionRelease.BUNDLE_DEFAULT;
+
     /**
      * The name of a hibernate bundle (session factory) that specifies
      * a datasource against which a transaction will be opened.
@@ -1,6 +1,10 @@
 package io.dropwizard.hibernate;
 
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.glassfish.jersey.server.ContainerResponse;
 import org.glassfish.jersey.server.internal.process.MappableException;
+import org.glassfish.jersey.server.model.Resource;
 import org.glassfish.jersey.server.model.ResourceMethod;
 import org.glassfish.jersey.server.monitoring.ApplicationEvent;
 import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
@@ -8,13 +12,17 @@ import org.glassfish.jersey.server.monitoring.RequestEvent;
 import org.glassfish.jersey.server.monitoring.RequestEventListener;
 import org.hibernate.SessionFactory;
 
+import javax.annotation.Nullable;
 import javax.ws.rs.ext.Provider;
+import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import static com.codahale.metrics.MetricRegistry.name;
+
 
 /**
  * An application event listener that listens for Jersey application initialization to
@@ -24,16 +32,37 @@ import java.util.concurrent.ConcurrentMap;
  * that updates the relevant metric for suitably annotated methods when it gets the
  * request events indicating that the method is about to be invoked, or just got done
  * being invoked.
+ *
+ * If it has a {@link MetricRegistry}, it also measures how long each resource method with a {@link UnitOfWork}
+ * holds its session's JDBC connection, as the {@code connection-hold} timer of the method: from the start of the
+ * method until the connection is released, either after the commit or once the response has been written.
  */
 @Provider
 public class UnitOfWorkApplicationListener implements ApplicationEventListener {
 
-    private ConcurrentMap<ResourceMethod, Optional<UnitOfWork>> methodMap = new ConcurrentHashMap<>();
+    // The unit of work of each resource method, collected when the application is initialized
+    private ConcurrentMap<ResourceMethod, Optional<UnitOfWorkMethod>> methodMap = new ConcurrentHashMap<>();
     private Map<String, SessionFactory> sessionFactories = new HashMap<>();
 
+    @Nullable
+    private MetricRegistry metricRegistry;
+
+    // Whether a request may run a unit of work, i.e. whether the application has resource methods with a
+    // unit of work or sub-resource locators. Until the application is initialized, it's assumed it has.
+    private volatile boolean unitOfWorkPossible = true;
+
     public UnitOfWorkApplicationListener() {
     }
 
+    /**
+     * Construct an application event listener which measures how long resource methods hold JDBC connections.
+     *
+     * @param metricRegistry the application's registry of metrics
+     */
+    public UnitOfWorkApplicationListener(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+    }
+
     /**
      * Construct an application event listener using the given name and session factory.
      *
@@ -58,53 +87,146 @@ public class UnitOfWorkApplicationListener implements ApplicationEventListener {
         sessionFactories.put(name, sessionFactory);
     }
 
-    private static class UnitOfWorkEventListener implements RequestEventListener {
-        private ConcurrentMap<ResourceMethod, Optional<UnitOfWork>> methodMap;
-        private final UnitOfWorkAspect unitOfWorkAspect;
+    /**
+     * Creates the aspect of a request. Override this to customize the aspect, e.g. how the results of
+     * methods are initialized before their connection is released.
+     *
+     * @param sessionFactories the registered session factories, by name
+     * @return a new aspect
+     */
+    protected UnitOfWorkAspect newAspect(Map<String, SessionFactory> sessionFactories) {
+        return new UnitOfWorkAspect(sessionFactories);
+    }
 
-        UnitOfWorkEventListener(ConcurrentMap<ResourceMethod, Optional<UnitOfWork>> methodMap,
-                                Map<String, SessionFactory> sessionFactories) {
-            this.methodMap = methodMap;
-            unitOfWorkAspect = new UnitOfWorkAspect(sessionFactories);
+    /**
+     * The {@link UnitOfWork} of a resource method, along with its resolved session factory.
+     */
+    private static final class UnitOfWorkMethod {
+        private final UnitOfWork unitOfWork;
+        @Nullable
+        private final Timer connectionHold;
+        @Nullable
+        private volatile SessionFactory sessionFactory;
+
+        private UnitOfWorkMethod(UnitOfWork unitOfWork, @Nullable Timer connectionHold) {
+            this.unitOfWork = unitOfWork;
+            this.connectionHold = connectionHold;
         }
+    }
+
+    private class UnitOfWorkEventListener implements RequestEventListener {
+        @Nullable
+        private UnitOfWorkAspect unitOfWorkAspect;
+        @Nullable
+        private Timer.Context connectionHold;
 
         @Override
         public void onEvent(RequestEvent event) {
             final RequestEvent.Type eventType = event.getType();
             if (eventType == RequestEvent.Type.RESOURCE_METHOD_START) {
-                Optional<UnitOfWork> unitOfWork = methodMap.computeIfAbsent(event.getUriInfo()
-                        .getMatchedResourceMethod(), UnitOfWorkEventListener::registerUnitOfWorkAnnotations);
-                unitOfWorkAspect.beforeStart(unitOfWork.orElse(null));
-            } else if (eventType == RequestEvent.Type.RESP_FILTERS_START) {
+                final Optional<UnitOfWorkMethod> method = methodMap.computeIfAbsent(
+                        event.getUriInfo().getMatchedResourceMethod(), UnitOfWorkApplicationListener.this::createMethod);
+                if (method.isPresent()) {
+                    start(method.get());
+                }
+                return;
+            }
+
+            final UnitOfWorkAspect aspect = unitOfWorkAspect;
+            if (aspect == null) {
+                return;
+            }
+            if (eventType == RequestEvent.Type.RESP_FILTERS_START) {
                 try {
-                    unitOfWorkAspect.afterEnd();
+                    final ContainerResponse response = event.getContainerResponse();
+                    aspect.afterEnd(response == null ? null : response.getEntity());
                 } catch (Exception e) {
                     throw new MappableException(e);
                 }
+                if (aspect.isConnectionReleased()) {
+                    stopConnectionHold();
+                }
             } else if (eventType == RequestEvent.Type.ON_EXCEPTION) {
-                unitOfWorkAspect.onError();
+                aspect.onError();
+                stopConnectionHold();
             } else if (eventType == RequestEvent.Type.FINISHED) {
-                unitOfWorkAspect.onFinish();
+                aspect.onFinish();
+                stopConnectionHold();
+            }
+        }
+
+        private void start(UnitOfWorkMethod method) {
+            final UnitOfWorkAspect aspect = newAspect(sessionFactories);
+            SessionFactory sessionFactory = method.sessionFactory;
+            if (sessionFactory == null) {
+                sessionFactory = aspect.resolveSessionFactory(method.unitOfWork);
+                method.sessionFactory = sessionFactory;
+            }
+            aspect.beforeStart(method.unitOfWork, sessionFactory);
+            unitOfWorkAspect = aspect;
+            if (method.connectionHold != null) {
+                connectionHold = method.connectionHold.time();
             }
         }
 
-        private static Optional<UnitOfWork> registerUnitOfWorkAnnotations(ResourceMethod method) {
-            UnitOfWork annotation = method.getInvocable().getDefinitionMethod().getAnnotation(UnitOfWork.class);
-            if (annotation == null) {
-                annotation = method.getInvocable().getHandlingMethod().getAnnotation(UnitOfWork.class);
+        private void stopConnectionHold() {
+            if (connectionHold != null) {
+                connectionHold.stop();
+                connectionHold = null;
+            }
+        }
+    }
+
+    private Optional<UnitOfWorkMethod> createMethod(ResourceMethod method) {
+        UnitOfWork annotation = method.getInvocable().getDefinitionMethod().getAnnotation(UnitOfWork.class);
+        if (annotation == null) {
+            annotation = method.getInvocable().getHandlingMethod().getAnnotation(UnitOfWork.class);
+        }
+        if (annotation == null) {
+            return Optional.empty();
+        }
+
+        Timer connectionHold = null;
+        if (metricRegistry != null) {
+            final Method definitionMethod = method.getInvocable().getDefinitionMethod();
+            connectionHold = metricRegistry.timer(name(definitionMethod.getDeclaringClass(),
+                    definitionMethod.getName(), "connection-hold"));
+        }
+        return Optional.of(new UnitOfWorkMethod(annotation, connectionHold));
+    }
+
+    private boolean registerResource(Resource resource) {
+        boolean unitOfWorkFound = false;
+        for (ResourceMethod method : resource.getAllMethods()) {
+            if (method.getType() == ResourceMethod.JaxrsType.SUB_RESOURCE_LOCATOR) {
+                // The methods of located resources are only known once they're called
+                unitOfWorkFound = true;
+            } else if (methodMap.computeIfAbsent(method, this::createMethod).isPresent()) {
+                unitOfWorkFound = true;
             }
-            return Optional.ofNullable(annotation);
         }
+        for (Resource childResource : resource.getChildResources()) {
+            unitOfWorkFound |= registerResource(childResource);
+        }
+        return unitOfWorkFound;
     }
 
     @Override
     public void onEvent(ApplicationEvent event) {
+        if (event.getType() == ApplicationEvent.Type.INITIALIZATION_APP_FINISHED) {
+            boolean unitOfWorkFound = false;
+            for (Resource resource : event.getResourceModel().getResources()) {
+                unitOfWorkFound |= registerResource(resource);
+            }
+            unitOfWorkPossible = unitOfWorkFound;
+        }
     }
 
     @Override
+    @Nullable
     public RequestEventListener onRequest(RequestEvent event) {
-        return new UnitOfWorkEventListener(methodMap, sessionFactories);
+        // No listener at all for applications without units of work; otherwise, requests to resource methods
+        // without a unit of work don't create an aspect
+        return unitOfWorkPossible ? new UnitOfWorkEventListener() : null;
     }
-
-
 }
@@ -1,9 +1,13 @@
 package io.dropwizard.hibernate;
 
+import io.dropwizard.db.DataSourceRouting;
+import org.hibernate.Hibernate;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
 import org.hibernate.context.internal.ManagedSessionContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
 
 import javax.annotation.Nullable;
 import java.util.Map;
@@ -25,7 +29,7 @@ import static java.util.Objects.requireNonNull;
  *   try {
  *     aspect.beforeStart(unitOfWork);
  *     ...                               // perform business logic.
- *     aspect.afterEnd();
+ *     aspect.afterEnd(result);
  *   } catch (Exception e) {
  *     aspect.onError();
  *     throw e;
@@ -34,6 +38,10 @@ import static java.util.Objects.requireNonNull;
  *   }
  * }
  * </pre>
+ * <p>If the unit of work releases its connection after the commit, the result of the method is initialized
+ * by {@link #initialize(Object)} before the commit, so that it can be serialized without a connection.</p>
+ * <p>A read-only unit of work borrows its connection from the replicas of a
+ * {@link io.dropwizard.db.RoutingDataSource}, if the session factory uses one.</p>
  */
 public class UnitOfWorkAspect {
 
@@ -53,23 +61,38 @@ public class UnitOfWorkAspect {
     @Nullable
     private SessionFactory sessionFactory;
 
+    @Nullable
+    private DataSourceRouting.Scope routingScope;
+
+    private boolean releaseConnectionAfterCommit;
+
     public void beforeStart(@Nullable UnitOfWork unitOfWork) {
         if (unitOfWork == null) {
             return;
         }
-        this.unitOfWork = unitOfWork;
+        beforeStart(unitOfWork, resolveSessionFactory(unitOfWork));
+    }
 
-        sessionFactory = sessionFactories.get(unitOfWork.value());
-        if (sessionFactory == null) {
-            // If the user didn't specify the name of a session factory,
-            // and we have only one registered, we can assume that it's the right one.
-            if (unitOfWork.value().equals(HibernateBundle.DEFAULT_NAME) && sessionFactories.size() == 1) {
-                sessionFactory = sessionFactories.values().iterator().next();
-            } else {
-                throw new IllegalArgumentException("Unregistered Hibernate bundle: '" + unitOfWork.value() + "'");
-            }
+    /**
+     * Opens the session of a unit of work whose session factory has been resolved already.
+     *
+     * @param unitOfWork     the unit of work
+     * @param sessionFactory the session factory of the unit of work
+     * @see #resolveSessionFactory(UnitOfWork)
+     */
+    public void beforeStart(UnitOfWork unitOfWork, SessionFactory sessionFactory) {
+        this.unitOfWork = unitOfWork;
+        this.sessionFactory = sessionFactory;
+        this.releaseConnectionAfterCommit = releasesConnectionAfterCommit(unitOfWork, sessionFactory);
+        if (unitOfWork.readOnly()) {
+            routingScope = DataSourceRouting.readOnly();
+        }
+        try {
+            session = openSession(unitOfWork, sessionFactory);
+        } catch (Throwable th) {
+            closeRoutingScope();
+            throw th;
         }
-        session = sessionFactory.openSession();
         try {
             configureSession();
             ManagedSessionContext.bind(session);
@@ -78,16 +101,29 @@ public class UnitOfWorkAspect {
             session.close();
             session = null;
             ManagedSessionContext.unbind(sessionFactory);
+            closeRoutingScope();
             throw th;
         }
     }
 
     public void afterEnd() {
+        afterEnd(null);
+    }
+
+    /**
+     * Commits the transaction of the unit of work.
+     *
+     * @param result the result of the method, initialized before the commit if the connection is released after it
+     */
+    public void afterEnd(@Nullable Object result) {
         if (unitOfWork == null || session == null) {
             return;
         }
 
         try {
+            if (releaseConnectionAfterCommit) {
+                initialize(result);
+            }
             commitTransaction(unitOfWork, session);
         } catch (Exception e) {
             rollbackTransaction(unitOfWork, session);
@@ -117,9 +153,72 @@ public class UnitOfWorkAspect {
         } finally {
             session = null;
             ManagedSessionContext.unbind(sessionFactory);
+            closeRoutingScope();
         }
     }
 
+    private void closeRoutingScope() {
+        if (routingScope != null) {
+            routingScope.close();
+            routingScope = null;
+        }
+    }
+
+    /**
+     * Returns whether the session doesn't hold a JDBC connection anymore, i.e. whether it has been released to the
+     * pool after the commit or the session has been closed.
+     *
+     * @return {@code true} if the session doesn't hold a JDBC connection
+     */
+    public boolean isConnectionReleased() {
+        if (session == null) {
+            return true;
+        }
+        if (session instanceof SessionImplementor) {
+            return !((SessionImplementor) session).getJdbcCoordinator().getLogicalConnection().isPhysicallyConnected();
+        }
+        return false;
+    }
+
+    /**
+     * Initializes the result of a unit of work which releases its connection after the commit. By default, the result
+     * is initialized if it's a Hibernate proxy or a lazy collection, as are the elements of an {@link Iterable}
+     * result. This is shallow: the lazy associations of the result, or of its elements, are not initialized, and each
+     * of them borrows a connection again if it's loaded while the response is serialized. Override this to initialize
+     * deeper object graphs.
+     *
+     * @param result the result of the method
+     * @see Hibernate#initialize(Object)
+     */
+    protected void initialize(@Nullable Object result) {
+        Hibernate.initialize(result);
+        if (result instanceof Iterable) {
+            for (Object element : (Iterable<?>) result) {
+                Hibernate.initialize(element);
+            }
+        }
+    }
+
+    /**
+     * Returns the session factory a unit of work opens its session with.
+     *
+     * @param unitOfWork the unit of work
+     * @return the session factory of the unit of work
+     * @throws IllegalArgumentException if the unit of work names an unregistered Hibernate bundle
+     */
+    protected SessionFactory resolveSessionFactory(UnitOfWork unitOfWork) {
+        final SessionFactory factory = sessionFactories.get(unitOfWork.value());
+        if (factory != null) {
+            return factory;
+        }
+        // If the user didn't specify the name of a session factory,
+        // and we have only one registered, we can assume that it's the right one.
+        if (unitOfWork.value().equals(HibernateBundle.DEFAULT_NAME) && sessionFactories.size() == 1) {
+            return sessionFactories.values().iterator().next();
+        }
+        throw new IllegalArgumentException("Unregistered Hibernate bundle: '" + unitOfWork.value() + "'");
+    }
+
     protected void configureSession() {
         checkNotNull(unitOfWork);
         checkNotNull(session);
@@ -128,6 +227,30 @@ public class UnitOfWorkAspect {
         session.setHibernateFlushMode(unitOfWork.flushMode());
     }
 
+    private Session openSession(UnitOfWork unitOfWork, SessionFactory sessionFactory) {
+        if (!releaseConnectionAfterCommit) {
+            return sessionFactory.openSession();
+        }
+        return sessionFactory.withOptions()
+            .connectionHandlingMode(unitOfWork.transactional()
+                ? PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION
+                : PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_STATEMENT)
+            .openSession();
+    }
+
+    private static boolean releasesConnectionAfterCommit(UnitOfWork unitOfWork, SessionFactory sessionFactory) {
+        switch (unitOfWork.connectionRelease()) {
+            case AFTER_COMMIT:
+                return true;
+            case ON_CLOSE:
+                return false;
+            default:
+                final Map<String, Object> properties = sessionFactory.getProperties();
+                return properties != null && Boolean.parseBoolean(
+                    String.valueOf(properties.get(SessionFactoryFactory.RELEASE_CONNECTION_AFTER_COMMIT)));
+        }
+    }
+
     private void beginTransaction(UnitOfWork unitOfWork, Session session) {
         if (!unitOfWork.transactional()) {
             return;
@@ -79,7 +79,7 @@ public class UnitOfWorkAwareProxyFactory {
                 try {
                     unitOfWorkAspect.beforeStart(unitOfWork);
                     Object result = proceed.invoke(self, args);
-                    unitOfWorkAspect.afterEnd();
+                    unitOfWorkAspect.afterEnd(result);
                     return result;
                 } catch (InvocationTargetException e) {
                     unitOfWorkAspect.onError();
@@ -0,0 +1,144 @@
+package io.dropwizard.hibernate;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.dropwizard.db.DataSourceFactory;
+import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
+import io.dropwizard.logging.BootstrapLogging;
+import io.dropwizard.setup.Environment;
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.context.internal.ManagedSessionContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AbstractDAOBatchTest {
+    static {
+        BootstrapLogging.bootstrap();
+    }
+
+    private static class DogDAO extends AbstractDAO<Dog> {
+        DogDAO(SessionFactory sessionFactory, MetricRegistry metricRegistry) {
+            super(sessionFactory, metricRegistry);
+        }
+
+        @Override
+        public int persistAll(Iterable<Dog> entities, int batchSize) throws HibernateException {
+            return super.persistAll(entities, batchSize);
+        }
+
+        @Override
+        public int insertAllStateless(Iterable<Dog> entities, int batchSize) throws HibernateException {
+            return super.insertAllStateless(entities, batchSize);
+        }
+    }
+
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final String prefix = DogDAO.class.getName();
+
+    private SessionFactory sessionFactory;
+    private DogDAO dao;
+
+    @Before
+    public void setUp() throws Exception {
+        final HibernateBundle<?> bundle = mock(HibernateBundle.class);
+        final Environment environment = mock(Environment.class);
+        when(environment.lifecycle()).thenReturn(mock(LifecycleEnvironment.class));
+        when(environment.metrics()).thenReturn(metricRegistry);
+
+        final DataSourceFactory dataSourceFactory = new DataSourceFactory();
+        dataSourceFactory.setUrl("jdbc:h2:mem:batches-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSourceFactory.setUser("sa");
+        dataSourceFactory.setDriverClass("org.h2.Driver");
+        dataSourceFactory.setValidationQuery("SELECT 1");
+        dataSourceFactory.setProperties(ImmutableMap.of("hibernate.dialect", "org.hibernate.dialect.H2Dialect"));
+
+        sessionFactory = new SessionFactoryFactory()
+            .build(bundle, environment, dataSourceFactory, ImmutableList.of(Person.class, Dog.class));
+        try (Session session = sessionFactory.openSession()) {
+            final Transaction transaction = session.beginTransaction();
+            session.createNativeQuery("create table dogs (name varchar(64) primary key, owner varchar(100))")
+                .executeUpdate();
+            transaction.commit();
+        }
+        dao = new DogDAO(sessionFactory, metricRegistry);
+    }
+
+    @After
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    public void insertsTheLastPartialBatchStatelessly() {
+        assertThat(inTransaction(true, () -> dao.insertAllStateless(dogs(5), 2))).isEqualTo(5);
+
+        assertThat(dogNames()).containsExactly("dog-0", "dog-1", "dog-2", "dog-3", "dog-4");
+        assertThat(metricRegistry.histogram(prefix + ".batch-rows").getSnapshot().getValues())
+            .containsExactly(1, 2, 2);
+        assertThat(metricRegistry.timer(prefix + ".flushes").getCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void rollsBackStatelessInsertsWithTheCurrentTransaction() {
+        assertThat(inTransaction(false, () -> dao.insertAllStateless(dogs(5), 2))).isEqualTo(5);
+
+        assertThat(dogNames()).isEmpty();
+    }
+
+    @Test
+    public void persistsTheLastPartialBatch() {
+        assertThat(inTransaction(true, () -> dao.persistAll(dogs(5), 2))).isEqualTo(5);
+
+        assertThat(dogNames()).containsExactly("dog-0", "dog-1", "dog-2", "dog-3", "dog-4");
+        assertThat(metricRegistry.histogram(prefix + ".batch-rows").getSnapshot().getValues())
+            .containsExactly(1, 2, 2);
+    }
+
+    private <T> T inTransaction(boolean commit, Supplier<T> work) {
+        try (Session session = sessionFactory.openSession()) {
+            ManagedSessionContext.bind(session);
+            try {
+                final Transaction transaction = session.beginTransaction();
+                final T result = work.get();
+                if (commit) {
+                    transaction.commit();
+                } else {
+                    transaction.rollback();
+                }
+                return result;
+            } finally {
+                ManagedSessionContext.unbind(sessionFactory);
+            }
+        }
+    }
+
+    private List<String> dogNames() {
+        try (Session session = sessionFactory.openSession()) {
+            return session.createQuery("select d.name from Dog d order by d.name", String.class).list();
+        }
+    }
+
+    private static List<Dog> dogs(int count) {
+        final List<Dog> dogs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final Dog dog = new Dog();
+            dog.setName("dog-" + i);
+            dogs.add(dog);
+        }
+        return dogs;
+    }
+}
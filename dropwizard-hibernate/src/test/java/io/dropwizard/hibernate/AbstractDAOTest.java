@@ -1,12 +1,19 @@
 package io.dropwizard.hibernate;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.collect.ImmutableList;
 
 import org.hibernate.Criteria;
 import org.hibernate.HibernateException;
 import org.hibernate.NonUniqueResultException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.jdbc.ReturningWork;
 import org.hibernate.query.Query;
 import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.proxy.LazyInitializer;
@@ -14,17 +21,25 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.Serializable;
+import java.sql.Connection;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 @SuppressWarnings("deprecation")
 public class AbstractDAOTest {
@@ -33,6 +48,10 @@ public class AbstractDAOTest {
             super(factory);
         }
 
+        MockDAO(SessionFactory factory, MetricRegistry metricRegistry) {
+            super(factory, metricRegistry);
+        }
+
         @Override
         public Session currentSession() {
             return super.currentSession();
@@ -87,6 +106,27 @@ public class AbstractDAOTest {
         public <T> T initialize(T proxy) {
             return super.initialize(proxy);
         }
+
+        @Override
+        public int persistAll(Iterable<String> entities, int batchSize) throws HibernateException {
+            return super.persistAll(entities, batchSize);
+        }
+
+        @Override
+        public int insertAllStateless(Iterable<String> entities, int batchSize) throws HibernateException {
+            return super.insertAllStateless(entities, batchSize);
+        }
+
+        @Override
+        public Stream<String> stream(Query<String> query) throws HibernateException {
+            return super.stream(query);
+        }
+
+        @Override
+        public Stream<String> streamStateless(Function<StatelessSession, Query<String>> query, int fetchSize)
+                throws HibernateException {
+            return super.streamStateless(query, fetchSize);
+        }
     }
 
     private final SessionFactory factory = mock(SessionFactory.class);
@@ -241,4 +281,112 @@ public class AbstractDAOTest {
 
         verify(initializer).initialize();
     }
+
+    @Test
+    public void persistsEntitiesInBatches() throws Exception {
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        final MockDAO metricDao = new MockDAO(factory, metricRegistry);
+        when(session.getJdbcBatchSize()).thenReturn(null);
+
+        assertThat(metricDao.persistAll(ImmutableList.of("a", "b", "c"), 2))
+                .isEqualTo(3);
+
+        final org.mockito.InOrder inOrder = inOrder(session);
+        inOrder.verify(session).setJdbcBatchSize(2);
+        inOrder.verify(session).saveOrUpdate("a");
+        inOrder.verify(session).saveOrUpdate("b");
+        inOrder.verify(session).flush();
+        inOrder.verify(session).clear();
+        inOrder.verify(session).saveOrUpdate("c");
+        inOrder.verify(session).flush();
+        inOrder.verify(session).clear();
+        inOrder.verify(session).setJdbcBatchSize(null);
+
+        final String prefix = MockDAO.class.getName();
+        assertThat(metricRegistry.histogram(prefix + ".batch-rows").getSnapshot().getValues())
+                .containsExactly(1, 2);
+        assertThat(metricRegistry.timer(prefix + ".flushes").getCount())
+                .isEqualTo(2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyBatches() throws Exception {
+        dao.persistAll(ImmutableList.of("a"), 0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void insertsEntitiesWithAStatelessSession() throws Exception {
+        final Connection connection = mock(Connection.class);
+        final JdbcCoordinator jdbcCoordinator = mock(JdbcCoordinator.class);
+        final StatelessSession statelessSession = mock(StatelessSession.class,
+                withSettings().extraInterfaces(SharedSessionContractImplementor.class));
+        when(((SharedSessionContractImplementor) statelessSession).getJdbcCoordinator()).thenReturn(jdbcCoordinator);
+        when(session.doReturningWork(any())).thenAnswer(invocation ->
+                invocation.<ReturningWork<?>>getArgument(0).execute(connection));
+        when(factory.openStatelessSession(connection)).thenReturn(statelessSession);
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        final MockDAO metricDao = new MockDAO(factory, metricRegistry);
+
+        assertThat(metricDao.insertAllStateless(ImmutableList.of("a", "b", "c"), 2))
+                .isEqualTo(3);
+
+        final org.mockito.InOrder inOrder = inOrder(statelessSession, jdbcCoordinator);
+        inOrder.verify(statelessSession).setJdbcBatchSize(3);
+        inOrder.verify(statelessSession).insert("a");
+        inOrder.verify(statelessSession).insert("b");
+        inOrder.verify(jdbcCoordinator).executeBatch();
+        inOrder.verify(statelessSession).insert("c");
+        inOrder.verify(jdbcCoordinator).executeBatch();
+        inOrder.verify(statelessSession).close();
+
+        final String prefix = MockDAO.class.getName();
+        assertThat(metricRegistry.histogram(prefix + ".batch-rows").getSnapshot().getValues())
+                .containsExactly(1, 2);
+        assertThat(metricRegistry.timer(prefix + ".flushes").getCount())
+                .isEqualTo(2);
+    }
+
+    @Test
+    public void streamsQueryResultsAndEvictsThem() throws Exception {
+        final ScrollableResults results = mock(ScrollableResults.class);
+        when(query.setFetchSize(AbstractDAO.DEFAULT_FETCH_SIZE)).thenReturn(query);
+        when(query.scroll(ScrollMode.FORWARD_ONLY)).thenReturn(results);
+        when(results.next()).thenReturn(true, true, false);
+        when(results.get(0)).thenReturn("a", "b");
+
+        try (Stream<String> stream = dao.stream(query)) {
+            assertThat(stream.collect(Collectors.toList()))
+                    .containsExactly("a", "b");
+        }
+
+        verify(session).evict("a");
+        verify(session).evict("b");
+        verify(results).close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void streamsQueryResultsOfAStatelessSession() throws Exception {
+        final Connection connection = mock(Connection.class);
+        final StatelessSession statelessSession = mock(StatelessSession.class);
+        final ScrollableResults results = mock(ScrollableResults.class);
+        when(session.doReturningWork(any())).thenAnswer(invocation ->
+                invocation.<ReturningWork<?>>getArgument(0).execute(connection));
+        when(factory.openStatelessSession(connection)).thenReturn(statelessSession);
+        when(statelessSession.createQuery("from String", String.class)).thenReturn(query);
+        when(query.setFetchSize(10)).thenReturn(query);
+        when(query.scroll(ScrollMode.FORWARD_ONLY)).thenReturn(results);
+        when(results.next()).thenReturn(true, false);
+        when(results.get(0)).thenReturn("a");
+
+        try (Stream<String> stream = dao.streamStateless(s -> s.createQuery("from String", String.class), 10)) {
+            assertThat(stream.collect(Collectors.toList()))
+                    .containsExactly("a");
+        }
+
+        verify(session, times(0)).evict(any());
+        verify(results).close();
+        verify(statelessSession).close();
+    }
 }
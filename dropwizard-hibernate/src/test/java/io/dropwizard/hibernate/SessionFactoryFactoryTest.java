@@ -1,5 +1,6 @@
 package io.dropwizard.hibernate;
 
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.MetricRegistry;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -14,6 +15,7 @@ import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
 import org.hibernate.cfg.Configuration;
 import org.hibernate.service.ServiceRegistry;
+import org.hibernate.stat.spi.StatisticsImplementor;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
 import org.junit.After;
@@ -130,6 +132,90 @@ public class SessionFactoryFactoryTest {
         }
     }
 
+    @Test
+    public void doesNotPublishStatisticsIfTheyAreDisabled() {
+        build();
+
+        assertThat(requireNonNull(sessionFactory).getStatistics().isStatisticsEnabled()).isFalse();
+        assertThat(metricRegistry.getNames()).noneMatch(name -> name.contains(".statistics."));
+    }
+
+    @Test
+    public void publishesStatisticsAndQueryTimers() {
+        enableStatistics(1.0);
+        build();
+
+        createPeople();
+        try (Session session = requireNonNull(sessionFactory).openSession()) {
+            assertThat(session.createQuery("from Person", Person.class).list()).hasSize(1);
+        }
+
+        final String prefix = "org.hibernate.SessionFactory.hibernate.statistics";
+        assertThat(requireNonNull(sessionFactory).getStatistics().isStatisticsEnabled()).isTrue();
+        assertThat(metricRegistry.getGauges().get(prefix + ".sessions.opened").getValue()).isEqualTo(2L);
+        assertThat((Long) metricRegistry.getGauges().get(prefix + ".queries.executed").getValue()).isPositive();
+        assertThat(metricRegistry.getGauges()).containsKeys(prefix + ".second-level-cache.hit-ratio",
+            prefix + ".connections.acquired", prefix + ".flushes", prefix + ".entities.loaded");
+        assertThat(metricRegistry.timer(prefix + ".queries.from Person").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void namesQueryTimersAfterTheQueryWithoutItsLiterals() {
+        assertThat(InstrumentedStatistics.normalize("from Person p\n  where p.name = 'O''Brien' and p.age > 42"))
+            .isEqualTo("from Person p where p.name = ? and p.age > ?");
+        assertThat(InstrumentedStatistics.normalize("from Person p where p.address2 = ?1 and p.age > :age"))
+            .isEqualTo("from Person p where p.address2 = ?1 and p.age > :age");
+    }
+
+    @Test
+    public void boundsTheNumberOfQueryTimers() {
+        enableStatistics(1.0);
+        build();
+
+        final StatisticsImplementor statistics = (StatisticsImplementor) requireNonNull(sessionFactory).getStatistics();
+        for (int i = 0; i < InstrumentedStatistics.MAX_QUERY_TIMERS + 10; i++) {
+            statistics.queryExecuted("from Person where name = :name" + i, 1, 1);
+        }
+        statistics.queryExecuted("from Person where name = :name0", 1, 1);
+
+        final String prefix = "org.hibernate.SessionFactory.hibernate.statistics.queries.";
+        assertThat(metricRegistry.getTimers()).hasSize(InstrumentedStatistics.MAX_QUERY_TIMERS + 1);
+        assertThat(metricRegistry.timer(prefix + "from Person where name = :name0").getCount()).isEqualTo(2);
+        assertThat(metricRegistry.timer(prefix + "other").getCount()).isEqualTo(10);
+    }
+
+    @Test
+    public void samplesSessionStatistics() {
+        enableStatistics(0.0);
+        build();
+
+        createPeople();
+        try (Session session = requireNonNull(sessionFactory).openSession()) {
+            assertThat(session.createQuery("from Person", Person.class).list()).hasSize(1);
+        }
+
+        final Gauge<?> sessionsOpened = metricRegistry.getGauges()
+            .get("org.hibernate.SessionFactory.hibernate.statistics.sessions.opened");
+        assertThat(sessionsOpened.getValue()).isEqualTo(0L);
+        assertThat(metricRegistry.getTimers()).isEmpty();
+    }
+
+    private void enableStatistics(double sampleRate) {
+        when(bundle.isStatisticsEnabled()).thenReturn(true);
+        when(bundle.getStatisticsSampleRate()).thenReturn(sampleRate);
+        when(bundle.name()).thenReturn("hibernate");
+    }
+
+    private void createPeople() {
+        try (Session session = requireNonNull(sessionFactory).openSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.createNativeQuery("DROP TABLE people IF EXISTS").executeUpdate();
+            session.createNativeQuery("CREATE TABLE people (name varchar(100) primary key, email varchar(100), birthday timestamp(0))").executeUpdate();
+            session.createNativeQuery("INSERT INTO people VALUES ('Coda', 'coda@example.com', '1979-01-02 00:22:00')").executeUpdate();
+            transaction.commit();
+        }
+    }
+
     @Test
     public void configureRunsBeforeSessionFactoryCreation() {
         final SessionFactoryFactory customFactory = new SessionFactoryFactory() {
@@ -1,15 +1,21 @@
 package io.dropwizard.hibernate;
 
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableMap;
 import org.glassfish.jersey.server.ExtendedUriInfo;
 import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceModel;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
 import org.glassfish.jersey.server.monitoring.RequestEvent;
 import org.glassfish.jersey.server.monitoring.RequestEventListener;
 import org.hibernate.CacheMode;
 import org.hibernate.FlushMode;
 import org.hibernate.Session;
+import org.hibernate.SessionBuilder;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
 import org.hibernate.context.internal.ManagedSessionContext;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InOrder;
@@ -20,6 +26,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hibernate.resource.transaction.spi.TransactionStatus.ACTIVE;
 import static org.hibernate.resource.transaction.spi.TransactionStatus.NOT_ACTIVE;
+import static org.mockito.Mockito.RETURNS_SELF;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
@@ -241,6 +248,106 @@ public class UnitOfWorkApplicationListenerTest {
             .hasMessage("Unregistered Hibernate bundle: 'warehouse'");
     }
 
+    @Test
+    public void releasesTheConnectionAfterTheTransactionIfConfigured() throws Exception {
+        final SessionBuilder<?> sessionBuilder = mock(SessionBuilder.class, RETURNS_SELF);
+        when(sessionFactory.withOptions()).thenReturn(sessionBuilder);
+        when(sessionBuilder.openSession()).thenReturn(session);
+        prepareResourceMethod("methodWithReleaseConnectionAnnotation");
+
+        execute();
+
+        verify(sessionBuilder).connectionHandlingMode(
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+        verify(sessionFactory, never()).openSession();
+        verify(transaction).commit();
+        verify(session).close();
+    }
+
+    @Test
+    public void releasesTheConnectionAfterTheTransactionIfTheBundleDoes() throws Exception {
+        final SessionBuilder<?> sessionBuilder = mock(SessionBuilder.class, RETURNS_SELF);
+        when(sessionFactory.withOptions()).thenReturn(sessionBuilder);
+        when(sessionBuilder.openSession()).thenReturn(session);
+        when(sessionFactory.getProperties()).thenReturn(
+            ImmutableMap.of(SessionFactoryFactory.RELEASE_CONNECTION_AFTER_COMMIT, "true"));
+
+        execute();
+
+        verify(sessionBuilder).connectionHandlingMode(
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+        verify(sessionFactory, never()).openSession();
+    }
+
+    @Test
+    public void keepsTheConnectionUntilTheSessionIsClosedIfTheUnitOfWorkOptsOut() throws Exception {
+        when(sessionFactory.getProperties()).thenReturn(
+            ImmutableMap.of(SessionFactoryFactory.RELEASE_CONNECTION_AFTER_COMMIT, "true"));
+        prepareResourceMethod("methodWithKeepConnectionAnnotation");
+
+        execute();
+
+        verify(sessionFactory).openSession();
+        verify(sessionFactory, never()).withOptions();
+        verify(session).close();
+    }
+
+    @Test
+    public void measuresHowLongResourceMethodsHoldTheirConnection() throws Exception {
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        final UnitOfWorkApplicationListener meteredListener = new UnitOfWorkApplicationListener(metricRegistry);
+        meteredListener.registerSessionFactory(HibernateBundle.DEFAULT_NAME, sessionFactory);
+
+        final RequestEventListener requestListener = meteredListener.onRequest(requestStartEvent);
+        requestListener.onEvent(requestMethodStartEvent);
+        requestListener.onEvent(responseFiltersStartEvent);
+        requestListener.onEvent(responseFinishedEvent);
+
+        assertThat(metricRegistry.timer(MetricRegistry.name(MockResource.class, "methodWithDefaultAnnotation",
+            "connection-hold")).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void doesNotListenToRequestsIfNoResourceMethodHasAUnitOfWork() throws Exception {
+        final Resource.Builder resource = Resource.builder("/");
+        resource.addMethod("GET").handledBy(new MockResource(), MockResource.class.getMethod("methodWithoutUnitOfWork"));
+        initializeApplication(resource.build());
+
+        assertThat(listener.onRequest(requestStartEvent)).isNull();
+    }
+
+    @Test
+    public void listensToRequestsIfAResourceMethodHasAUnitOfWork() throws Exception {
+        final Resource.Builder resource = Resource.builder("/");
+        resource.addMethod("GET").handledBy(new MockResource(), MockResource.class.getMethod("methodWithoutUnitOfWork"));
+        resource.addChildResource("child").addMethod("GET")
+            .handledBy(new MockResource(), MockResource.class.getMethod("methodWithDefaultAnnotation"));
+        initializeApplication(resource.build());
+
+        assertThat(listener.onRequest(requestStartEvent)).isNotNull();
+
+        execute();
+
+        verify(session).close();
+    }
+
+    @Test
+    public void doesNotOpenASessionForResourceMethodsWithoutAUnitOfWork() throws Exception {
+        prepareResourceMethod("methodWithoutUnitOfWork");
+
+        execute();
+        executeWithException();
+
+        verifyZeroInteractions(sessionFactory);
+    }
+
+    private void initializeApplication(Resource resource) {
+        final ApplicationEvent event = mock(ApplicationEvent.class);
+        when(event.getType()).thenReturn(ApplicationEvent.Type.INITIALIZATION_APP_FINISHED);
+        when(event.getResourceModel()).thenReturn(new ResourceModel.Builder(false).addResource(resource).build());
+        listener.onEvent(event);
+    }
+
     private void prepareResourceMethod(String resourceMethodName) throws NoSuchMethodException {
         final Method handlingMethod = MockResource.class.getMethod(resourceMethodName);
         Method definitionMethod = handlingMethod;
@@ -316,6 +423,17 @@ public class UnitOfWorkApplicationListenerTest {
 
         }
 
+        public void methodWithoutUnitOfWork() {
+        }
+
+        @UnitOfWork(connectionRelease = ConnectionRelease.AFTER_COMMIT)
+        public void methodWithReleaseConnectionAnnotation() {
+        }
+
+        @UnitOfWork(connectionRelease = ConnectionRelease.ON_CLOSE)
+        public void methodWithKeepConnectionAnnotation() {
+        }
+
         @UnitOfWork("analytics")
         public void methodWithUnitOfWorkOnAnalyticsDatabase() {
 
@@ -1,9 +1,11 @@
 package io.dropwizard.hibernate;
 
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.health.HealthCheckRegistry;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import io.dropwizard.db.DataSourceFactory;
+import io.dropwizard.db.ReplicatedDataSourceFactory;
 import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
 import io.dropwizard.logging.BootstrapLogging;
 import io.dropwizard.setup.Environment;
@@ -15,6 +17,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.UUID;
 
@@ -118,6 +121,64 @@ public class UnitOfWorkAwareProxyFactoryTest {
         assertThat(oAuthAuthenticator.authenticate("gr6f9y0")).isTrue();
     }
 
+    @Test
+    public void testReadOnlyUnitOfWorkReadsFromAReplica() throws Exception {
+        final HibernateBundle<?> bundle = mock(HibernateBundle.class);
+        final Environment environment = mock(Environment.class);
+        final HealthCheckRegistry healthChecks = new HealthCheckRegistry();
+        when(environment.lifecycle()).thenReturn(mock(LifecycleEnvironment.class));
+        when(environment.metrics()).thenReturn(new MetricRegistry());
+        when(environment.healthChecks()).thenReturn(healthChecks);
+
+        final String suffix = "-" + UUID.randomUUID().toString();
+        final ReplicatedDataSourceFactory dataSourceFactory = new ReplicatedDataSourceFactory();
+        dataSourceFactory.setUrl("jdbc:h2:mem:primary" + suffix + ";user=sa");
+        dataSourceFactory.setDriverClass("org.h2.Driver");
+        dataSourceFactory.setValidationQuery("SELECT 1");
+        dataSourceFactory.setProperties(ImmutableMap.of("hibernate.dialect", "org.hibernate.dialect.H2Dialect"));
+        final DataSourceFactory replica = new DataSourceFactory();
+        replica.setUrl("jdbc:h2:mem:replica" + suffix + ";user=sa");
+        replica.setDriverClass("org.h2.Driver");
+        replica.setValidationQuery("SELECT 1");
+        dataSourceFactory.setReplicas(Collections.singletonList(replica));
+
+        final SessionFactory replicatedSessionFactory = new SessionFactoryFactory()
+            .build(bundle, environment, dataSourceFactory, ImmutableList.of(), "replicated");
+        try {
+            final DatabaseReader reader = new UnitOfWorkAwareProxyFactory("replicated", replicatedSessionFactory)
+                .create(DatabaseReader.class, SessionFactory.class, replicatedSessionFactory);
+
+            assertThat(reader.readOnlyUrl()).startsWith("jdbc:h2:mem:replica");
+            assertThat(reader.url()).startsWith("jdbc:h2:mem:primary");
+            assertThat(healthChecks.getNames()).containsExactly("replicated.replica-1");
+        } finally {
+            replicatedSessionFactory.close();
+        }
+    }
+
+    static class DatabaseReader {
+
+        private final SessionFactory sessionFactory;
+
+        public DatabaseReader(SessionFactory sessionFactory) {
+            this.sessionFactory = sessionFactory;
+        }
+
+        @UnitOfWork
+        public String url() {
+            return currentUrl();
+        }
+
+        @UnitOfWork(readOnly = true)
+        public String readOnlyUrl() {
+            return currentUrl();
+        }
+
+        private String currentUrl() {
+            return sessionFactory.getCurrentSession().doReturningWork(connection -> connection.getMetaData().getURL());
+        }
+    }
+
     static class SessionDao {
 
         private SessionFactory sessionFactory;
@@ -46,4 +46,10 @@ public class UnitOfWorkTest {
         assertThat(unitOfWork.flushMode())
                 .isEqualTo(FlushMode.AUTO);
     }
+
+    @Test
+    public void defaultsToTheConnectionReleaseOfTheBundle() throws Exception {
+        assertThat(unitOfWork.connectionRelease())
+                .isEqualTo(ConnectionRelease.BUNDLE_DEFAULT);
+    }
 }
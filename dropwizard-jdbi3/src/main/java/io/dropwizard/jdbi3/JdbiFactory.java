@@ -1,10 +1,13 @@
 package io.dropwizard.jdbi3;
 
+import com.codahale.metrics.RatioGauge;
 import com.codahale.metrics.jdbi3.InstrumentedTimingCollector;
 import com.codahale.metrics.jdbi3.strategies.SmartNameStrategy;
 import com.codahale.metrics.jdbi3.strategies.StatementNameStrategy;
+import com.google.common.cache.CacheStats;
 import io.dropwizard.db.ManagedDataSource;
 import io.dropwizard.db.PooledDataSourceFactory;
+import io.dropwizard.db.RoutingDataSource;
 import io.dropwizard.setup.Environment;
 import io.dropwizard.util.Duration;
 import org.jdbi.v3.core.Jdbi;
@@ -14,6 +17,8 @@ import org.jdbi.v3.guava.GuavaPlugin;
 import org.jdbi.v3.jodatime2.JodaTimePlugin;
 import org.jdbi.v3.sqlobject.SqlObjectPlugin;
 
+import static com.codahale.metrics.MetricRegistry.name;
+
 public class JdbiFactory {
     private final StatementNameStrategy nameStrategy;
 
@@ -76,13 +81,53 @@ public class JdbiFactory {
             configuration.getValidationQueryTimeout().orElseGet(() -> Duration.seconds(5)),
             jdbi,
             validationQuery));
+        if (dataSource instanceof RoutingDataSource) {
+            ((RoutingDataSource) dataSource).registerReplicaHealthChecks(environment.healthChecks(), name);
+        }
+
+        return configureInstance(environment, configuration, jdbi, name);
+    }
+
+    /**
+     * Build a fully configured {@link Jdbi} instance whose handles read from the replicas of a
+     * {@link RoutingDataSource}, or from the data source itself if it has no replicas. The data
+     * source isn't managed, and no health check is registered: build the read-write instance
+     * with {@link #build(Environment, PooledDataSourceFactory, ManagedDataSource, String)} first.
+     *
+     * @param environment
+     * @param configuration
+     * @param dataSource
+     * @param name
+     * @return A fully configured read-only {@link Jdbi} object
+     */
+    public Jdbi buildReadOnly(Environment environment,
+                              PooledDataSourceFactory configuration,
+                              ManagedDataSource dataSource,
+                              String name) {
+        final ManagedDataSource readOnlyDataSource = dataSource instanceof RoutingDataSource
+            ? ((RoutingDataSource) dataSource).getReadOnlyDataSource() : dataSource;
+        return configureInstance(environment, configuration, newInstance(readOnlyDataSource), name + "-read-only");
+    }
 
+    private Jdbi configureInstance(Environment environment,
+                                   PooledDataSourceFactory configuration,
+                                   Jdbi jdbi,
+                                   String name) {
         // Setup the timing collector
         jdbi.setTimingCollector(new InstrumentedTimingCollector(environment.metrics(), nameStrategy));
 
         if (configuration.isAutoCommentsEnabled()) {
             final TemplateEngine original = jdbi.getConfig(SqlStatements.class).getTemplateEngine();
-            jdbi.setTemplateEngine(new NamePrependingTemplateEngine(original));
+            final NamePrependingTemplateEngine templateEngine = new NamePrependingTemplateEngine(original);
+            jdbi.setTemplateEngine(templateEngine);
+            environment.metrics().register(name(NamePrependingTemplateEngine.class, name, "cache-hit-ratio"),
+                new RatioGauge() {
+                    @Override
+                    protected Ratio getRatio() {
+                        final CacheStats stats = templateEngine.getCacheStats();
+                        return Ratio.of(stats.hitCount(), stats.requestCount());
+                    }
+                });
         }
 
         configure(jdbi);
@@ -1,28 +1,69 @@
 package io.dropwizard.jdbi3;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import org.jdbi.v3.core.extension.ExtensionMethod;
 import org.jdbi.v3.core.statement.StatementContext;
 import org.jdbi.v3.core.statement.TemplateEngine;
 
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
 import java.util.Objects;
 
 /**
  * Jdbi {@link TemplateEngine} that prepends the SQLObject's type and method name in front of every
  * statement sent to the database.
+ * <p>
+ * Statements rendered without any attribute (e.g. no {@code @Define}) only depend on their template
+ * and their SQLObject method, and are cached.
  */
 public class NamePrependingTemplateEngine implements TemplateEngine {
+    /**
+     * The default maximum number of cached statements.
+     */
+    public static final long DEFAULT_CACHE_SIZE = 1000;
+
     private final TemplateEngine originalEngine;
+    private final Cache<CacheKey, String> cache;
 
     /**
      * @param originalEngine    The original {@link TemplateEngine} to use to create the actual statements
      */
     public NamePrependingTemplateEngine(TemplateEngine originalEngine) {
+        this(originalEngine, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param originalEngine    The original {@link TemplateEngine} to use to create the actual statements
+     * @param maximumCacheSize  The maximum number of cached statements, or {@code 0} not to cache them
+     */
+    public NamePrependingTemplateEngine(TemplateEngine originalEngine, long maximumCacheSize) {
         this.originalEngine = Objects.requireNonNull(originalEngine, "'originalEngine' cannot be null'");
+        this.cache = CacheBuilder.newBuilder()
+            .maximumSize(maximumCacheSize)
+            .recordStats()
+            .build();
     }
 
     @Override
     public String render(String template, StatementContext ctx) {
         final ExtensionMethod extensionMethod = ctx.getExtensionMethod();
+        if (!ctx.getAttributes().isEmpty()) {
+            return render(template, ctx, extensionMethod);
+        }
+
+        final CacheKey key = new CacheKey(template, extensionMethod);
+        final String cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        final String rendered = render(template, ctx, extensionMethod);
+        cache.put(key, rendered);
+        return rendered;
+    }
+
+    private String render(String template, StatementContext ctx, @Nullable ExtensionMethod extensionMethod) {
         final String originalResult = originalEngine.render(template, ctx);
 
         if (extensionMethod == null) {
@@ -41,4 +82,46 @@ public class NamePrependingTemplateEngine implements TemplateEngine {
 
         return query.toString();
     }
+
+    /**
+     * Returns the statistics of the cache of rendered statements.
+     *
+     * @return the statistics of the cache
+     */
+    public CacheStats getCacheStats() {
+        return cache.stats();
+    }
+
+    private static final class CacheKey {
+        private final String template;
+        @Nullable
+        private final Class<?> type;
+        @Nullable
+        private final Method method;
+        private final int hashCode;
+
+        private CacheKey(String template, @Nullable ExtensionMethod extensionMethod) {
+            this.template = template;
+            this.type = extensionMethod == null ? null : extensionMethod.getType();
+            this.method = extensionMethod == null ? null : extensionMethod.getMethod();
+            this.hashCode = Objects.hash(template, type, method);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            final CacheKey that = (CacheKey) o;
+            return template.equals(that.template) && type == that.type && Objects.equals(method, that.method);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
@@ -1,10 +1,14 @@
 package io.dropwizard.jdbi3;
 
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.RatioGauge;
 import com.codahale.metrics.health.HealthCheckRegistry;
 import com.codahale.metrics.jdbi3.InstrumentedTimingCollector;
+import io.dropwizard.db.DataSourceFactory;
 import io.dropwizard.db.ManagedDataSource;
 import io.dropwizard.db.PooledDataSourceFactory;
+import io.dropwizard.db.ReplicatedDataSourceFactory;
+import io.dropwizard.db.RoutingDataSource;
 import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
 import io.dropwizard.setup.Environment;
 import org.jdbi.v3.core.Jdbi;
@@ -13,6 +17,7 @@ import org.jdbi.v3.core.statement.TemplateEngine;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.util.Collections;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -54,6 +59,45 @@ public class JdbiFactoryTest {
         verify(healthChecks).register(eq(name), any(JdbiHealthCheck.class));
         verify(jdbi).setTimingCollector(any(InstrumentedTimingCollector.class));
         verify(jdbi).setTemplateEngine(any(NamePrependingTemplateEngine.class));
+        verify(metrics).register(eq("io.dropwizard.jdbi3.NamePrependingTemplateEngine." + name + ".cache-hit-ratio"),
+            any(RatioGauge.class));
         verify(factory).configure(jdbi);
     }
+
+    @Test
+    public void testBuildReadOnly() throws Exception {
+        final Environment environment = mock(Environment.class);
+        final MetricRegistry metrics = new MetricRegistry();
+        final HealthCheckRegistry healthChecks = new HealthCheckRegistry();
+        when(environment.metrics()).thenReturn(metrics);
+        when(environment.lifecycle()).thenReturn(mock(LifecycleEnvironment.class));
+        when(environment.healthChecks()).thenReturn(healthChecks);
+
+        final String suffix = "-" + UUID.randomUUID();
+        final ReplicatedDataSourceFactory configuration = new ReplicatedDataSourceFactory();
+        configuration.setUrl("jdbc:h2:mem:primary" + suffix + ";user=sa");
+        configuration.setDriverClass("org.h2.Driver");
+        configuration.setValidationQuery("SELECT 1");
+        final DataSourceFactory replica = new DataSourceFactory();
+        replica.setUrl("jdbc:h2:mem:replica" + suffix + ";user=sa");
+        replica.setDriverClass("org.h2.Driver");
+        replica.setValidationQuery("SELECT 1");
+        configuration.setReplicas(Collections.singletonList(replica));
+
+        final RoutingDataSource dataSource = configuration.build(metrics, "test");
+        try {
+            final JdbiFactory factory = new JdbiFactory();
+            final Jdbi jdbi = factory.build(environment, configuration, dataSource, "test");
+            final Jdbi readOnly = factory.buildReadOnly(environment, configuration, dataSource, "test");
+
+            final String url = jdbi.withHandle(handle -> handle.getConnection().getMetaData().getURL());
+            final String readOnlyUrl = readOnly.withHandle(handle -> handle.getConnection().getMetaData().getURL());
+
+            assertThat(url).startsWith("jdbc:h2:mem:primary");
+            assertThat(readOnlyUrl).startsWith("jdbc:h2:mem:replica");
+            assertThat(healthChecks.getNames()).containsExactly("test", "test.replica-1");
+        } finally {
+            dataSource.stop();
+        }
+    }
 }
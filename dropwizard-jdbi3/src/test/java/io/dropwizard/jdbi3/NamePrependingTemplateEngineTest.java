@@ -6,10 +6,13 @@ import org.jdbi.v3.core.statement.TemplateEngine;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Collections;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class NamePrependingTemplateEngineTest {
@@ -58,4 +61,42 @@ public class NamePrependingTemplateEngineTest {
             " */ " +
             ORIGINAL_RENDERED);
     }
+
+    @Test
+    public void testCachesStatementsWithoutAttributes() throws NoSuchMethodException {
+        final ExtensionMethod extensionMethod = new ExtensionMethod(MyDao.class, MyDao.class.getMethod("myDbCall"));
+
+        when(ctx.getExtensionMethod()).thenReturn(extensionMethod);
+
+        final String first = sut.render(TEMPLATE, ctx);
+        final String second = sut.render(TEMPLATE, ctx);
+
+        assertThat(second).isEqualTo(first).endsWith(ORIGINAL_RENDERED);
+        verify(original, times(1)).render(TEMPLATE, ctx);
+        assertThat(sut.getCacheStats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testDoesNotCacheStatementsWithAttributes() throws NoSuchMethodException {
+        final ExtensionMethod extensionMethod = new ExtensionMethod(MyDao.class, MyDao.class.getMethod("myDbCall"));
+
+        when(ctx.getExtensionMethod()).thenReturn(extensionMethod);
+        when(ctx.getAttributes()).thenReturn(Collections.singletonMap("table", "games"));
+
+        sut.render(TEMPLATE, ctx);
+        sut.render(TEMPLATE, ctx);
+
+        verify(original, times(2)).render(TEMPLATE, ctx);
+        assertThat(sut.getCacheStats().requestCount()).isZero();
+    }
+
+    @Test
+    public void testDoesNotCacheWithoutCacheSize() {
+        sut = new NamePrependingTemplateEngine(original, 0);
+
+        sut.render(TEMPLATE, ctx);
+        sut.render(TEMPLATE, ctx);
+
+        verify(original, times(2)).render(TEMPLATE, ctx);
+    }
 }
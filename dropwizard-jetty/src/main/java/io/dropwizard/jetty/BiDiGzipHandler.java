@@ -1,11 +1,17 @@
 package io.dropwizard.jetty;
 
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.RatioGauge;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSortedSet;
 import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.server.Request;
 import org.eclipse.jetty.server.handler.gzip.GzipHandler;
 
 import javax.annotation.Nullable;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ReadListener;
 import javax.servlet.ServletException;
 import javax.servlet.ServletInputStream;
@@ -20,17 +26,57 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Enumeration;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.Inflater;
-import java.util.zip.InflaterInputStream;
+
+import static com.codahale.metrics.MetricRegistry.name;
 
 /**
  * An extension of {@link GzipHandler} which decompresses gzip- and deflate-encoded request
  * entities.
+ * <p>
+ * Inflaters are borrowed from bounded pools shared by all request threads and are handed back
+ * as soon as a request entity has been read, or once the request has been handled, even if its
+ * entity was never read. For asynchronous requests, that's once they complete, time out or fail.
  */
 public class BiDiGzipHandler extends GzipHandler {
 
-    private static final ThreadLocal<Inflater> localInflater = new ThreadLocal<>();
+    /**
+     * The decoded content is plain and generated dynamically, therefore the "Content-Encoding" and
+     * "Content-Length" headers should be removed after the processing.
+     */
+    private static final ImmutableSortedSet<String> CONTENT_HEADERS =
+        ImmutableSortedSet.orderedBy(String::compareToIgnoreCase)
+            .add(HttpHeader.CONTENT_ENCODING.asString())
+            .add(HttpHeader.CONTENT_LENGTH.asString())
+            .build();
+
+    private static final int DEFAULT_INFLATER_POOL_SIZE = 64;
+
+    /**
+     * Inflaters in the GZIP-compatible mode, used for gzip-encoded requests and for deflate-encoded
+     * requests when {@link #inflateNoWrap} is set
+     */
+    private InflaterPool nowrapInflaters = new InflaterPool(DEFAULT_INFLATER_POOL_SIZE, true);
+
+    /**
+     * Inflaters in the ZLIB mode, used for deflate-encoded requests when {@link #inflateNoWrap} isn't set
+     */
+    private InflaterPool zlibInflaters = new InflaterPool(DEFAULT_INFLATER_POOL_SIZE, false);
+
+    /**
+     * Maximum number of bytes a request entity may inflate to, or a negative value for no limit
+     */
+    private long maxInflatedBytes = -1;
+
+    /**
+     * Maximum ratio of inflated to compressed bytes of a request entity, or a negative value for no limit
+     */
+    private double maxCompressionRatio = -1;
+
+    @Nullable
+    private Meter compressedBytes;
+
+    @Nullable
+    private Meter inflatedBytes;
 
     /**
      * Size of the buffer for decompressing requests
@@ -55,66 +101,152 @@ public class BiDiGzipHandler extends GzipHandler {
         this.inputBufferSize = inputBufferSize;
     }
 
+    @VisibleForTesting
+    InflaterPool getNowrapInflaters() {
+        return nowrapInflaters;
+    }
+
+    public int getInflaterPoolSize() {
+        return nowrapInflaters.getCapacity();
+    }
+
+    /**
+     * Sets the maximum number of idle inflaters kept for each inflation mode.
+     *
+     * @param inflaterPoolSize the maximum number of idle inflaters kept for each inflation mode
+     */
+    public void setInflaterPoolSize(int inflaterPoolSize) {
+        this.nowrapInflaters = new InflaterPool(inflaterPoolSize, true);
+        this.zlibInflaters = new InflaterPool(inflaterPoolSize, false);
+    }
+
+    public long getMaxInflatedBytes() {
+        return maxInflatedBytes;
+    }
+
+    /**
+     * Sets the maximum number of bytes a request entity may inflate to. Requests inflating beyond it
+     * fail with a {@code 413 Payload Too Large} response as soon as they do.
+     *
+     * @param maxInflatedBytes the maximum number of inflated bytes, or a negative value for no limit
+     */
+    public void setMaxInflatedBytes(long maxInflatedBytes) {
+        this.maxInflatedBytes = maxInflatedBytes;
+    }
+
+    public double getMaxCompressionRatio() {
+        return maxCompressionRatio;
+    }
+
+    /**
+     * Sets the maximum ratio of inflated to compressed bytes of a request entity. Requests inflating
+     * beyond it fail with a {@code 413 Payload Too Large} response as soon as they do. The ratio is
+     * only checked once an entity has inflated to more than 64KiB.
+     *
+     * @param maxCompressionRatio the maximum compression ratio, or a negative value for no limit
+     */
+    public void setMaxCompressionRatio(double maxCompressionRatio) {
+        this.maxCompressionRatio = maxCompressionRatio;
+    }
+
+    /**
+     * Registers meters for the compressed and inflated bytes of request entities, and a gauge for
+     * their compression ratio.
+     *
+     * @param metricRegistry the registry to register the metrics with
+     */
+    public void setMetricRegistry(MetricRegistry metricRegistry) {
+        final Meter compressed = metricRegistry.meter(name(BiDiGzipHandler.class, "compressed-bytes"));
+        final Meter inflated = metricRegistry.meter(name(BiDiGzipHandler.class, "inflated-bytes"));
+        metricRegistry.gauge(name(BiDiGzipHandler.class, "compression-ratio"), () -> new RatioGauge() {
+            @Override
+            protected Ratio getRatio() {
+                return Ratio.of(inflated.getCount(), compressed.getCount());
+            }
+        });
+        this.compressedBytes = compressed;
+        this.inflatedBytes = inflated;
+    }
+
     @Override
     public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response)
         throws IOException, ServletException {
         final String encoding = request.getHeader(HttpHeader.CONTENT_ENCODING.asString());
         if (GZIP.equalsIgnoreCase(encoding)) {
-            super.handle(target, baseRequest, wrapGzippedRequest(removeContentHeaders(request)), response);
+            handleCompressed(target, baseRequest, request, response, GZIP, nowrapInflaters);
         } else if (DEFLATE.equalsIgnoreCase(encoding)) {
-            super.handle(target, baseRequest, wrapDeflatedRequest(removeContentHeaders(request)), response);
+            handleCompressed(target, baseRequest, request, response, DEFLATE,
+                inflateNoWrap ? nowrapInflaters : zlibInflaters);
         } else {
             super.handle(target, baseRequest, request, response);
         }
     }
 
-    private Inflater buildInflater() {
-        final Inflater inflater = localInflater.get();
-        if (inflater != null) {
-            // The request could fail in the middle of decompressing, so potentially we can get
-            // a broken inflater in the thread local storage. That's why we need to clear the storage.
-            localInflater.set(null);
-
-            // Reuse the inflater from the thread local storage
-            inflater.reset();
-            return inflater;
-        } else {
-            return new Inflater(inflateNoWrap);
+    private void handleCompressed(String target, Request baseRequest, HttpServletRequest request,
+                                  HttpServletResponse response, String format, InflaterPool pool)
+        throws IOException, ServletException {
+        final PooledInflaterInputStream input = inflate(request, format, pool);
+        try {
+            final HttpServletRequest wrapped = new WrappedServletRequest(
+                new RemoveHttpHeadersWrapper(request, CONTENT_HEADERS),
+                new ZipExceptionHandlingInputStream(input, format));
+            super.handle(target, baseRequest, wrapped, response);
+        } finally {
+            // An asynchronous request may still read its entity later, so its inflater is handed
+            // back once it has been read, or at the latest once the request is done.
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new InflaterReleasingListener(input));
+            } else {
+                input.release();
+            }
         }
     }
 
-    private WrappedServletRequest wrapDeflatedRequest(HttpServletRequest request) throws IOException {
-        final Inflater inflater = buildInflater();
+    private PooledInflaterInputStream inflate(HttpServletRequest request, String format, InflaterPool pool)
+        throws IOException {
         try {
-            final InflaterInputStream input = new InflaterInputStream(request.getInputStream(), inflater, inputBufferSize) {
+            return new PooledInflaterInputStream(request.getInputStream(), pool, inputBufferSize, GZIP.equals(format),
+                maxInflatedBytes, maxCompressionRatio) {
                 @Override
-                public void close() throws IOException {
-                    super.close();
-                    localInflater.set(inflater);
+                protected void onRelease(long compressed, long inflated) {
+                    if (compressedBytes != null && inflatedBytes != null) {
+                        compressedBytes.mark(compressed);
+                        inflatedBytes.mark(inflated);
+                    }
                 }
             };
-            return new WrappedServletRequest(request, new ZipExceptionHandlingInputStream(input, DEFLATE));
         } catch (IOException e) {
-            throw ZipExceptionHandlingInputStream.handleException(DEFLATE, e);
+            throw ZipExceptionHandlingInputStream.handleException(format, e);
         }
     }
 
-    private WrappedServletRequest wrapGzippedRequest(HttpServletRequest request) throws IOException {
-        try {
-            final GZIPInputStream input = new GZIPInputStream(request.getInputStream(), inputBufferSize);
-            return new WrappedServletRequest(request, new ZipExceptionHandlingInputStream(input, GZIP));
-        } catch (IOException e) {
-            throw ZipExceptionHandlingInputStream.handleException(GZIP, e);
+    private static class InflaterReleasingListener implements AsyncListener {
+        private final PooledInflaterInputStream input;
+
+        private InflaterReleasingListener(PooledInflaterInputStream input) {
+            this.input = input;
         }
-    }
 
-    private HttpServletRequest removeContentHeaders(final HttpServletRequest request) {
-        // The decoded content is plain and generated dynamically, therefore the "Content-Encoding" and "Content-Length"
-        // headers should be removed after after the processing.
-        return new RemoveHttpHeadersWrapper(request, ImmutableSortedSet.orderedBy(String::compareToIgnoreCase)
-            .add(HttpHeader.CONTENT_ENCODING.asString())
-            .add(HttpHeader.CONTENT_LENGTH.asString())
-            .build());
+        @Override
+        public void onComplete(AsyncEvent event) {
+            input.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            input.release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            input.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Listeners are cleared when the request is dispatched asynchronously again
+            event.getAsyncContext().addListener(this);
+        }
     }
 
     private static class WrappedServletRequest extends HttpServletRequestWrapper {
@@ -1,11 +1,13 @@
 package io.dropwizard.jetty;
 
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.Iterables;
 import io.dropwizard.util.Size;
 import org.eclipse.jetty.server.Handler;
 
 import javax.annotation.Nullable;
+import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
@@ -70,6 +72,23 @@ import static java.util.Objects.requireNonNull;
  *         <td>true</td>
  *         <td>If true, then ZLIB inflation(decompression) will be performed in the GZIP-compatible mode.</td>
  *     </tr>
+ *     <tr>
+ *         <td>{@code inflaterPoolSize}</td>
+ *         <td>64</td>
+ *         <td>The maximum number of idle inflaters kept for reuse by request threads, for each inflation mode.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxInflatedBytes}</td>
+ *         <td>(none)</td>
+ *         <td>The maximum size a compressed request entity may inflate to. Requests inflating beyond it are
+ *             rejected with a 413 response as soon as they do.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxCompressionRatio}</td>
+ *         <td>(none)</td>
+ *         <td>The maximum ratio of inflated to compressed bytes of a request entity. Requests inflating beyond it
+ *             are rejected with a 413 response as soon as they do. Only checked past the first 64KiB.</td>
+ *     </tr>
  * </table>
  */
 public class GzipHandlerFactory {
@@ -99,6 +118,16 @@ public class GzipHandlerFactory {
 
     private boolean syncFlush = false;
 
+    @Min(0)
+    private int inflaterPoolSize = 64;
+
+    @Nullable
+    private Size maxInflatedBytes;
+
+    @Nullable
+    @DecimalMin("1.0")
+    private Double maxCompressionRatio;
+
     @JsonProperty
     public boolean isEnabled() {
         return enabled;
@@ -189,6 +218,44 @@ public class GzipHandlerFactory {
         this.syncFlush = syncFlush;
     }
 
+    @JsonProperty
+    public int getInflaterPoolSize() {
+        return inflaterPoolSize;
+    }
+
+    @JsonProperty
+    public void setInflaterPoolSize(int inflaterPoolSize) {
+        this.inflaterPoolSize = inflaterPoolSize;
+    }
+
+    @JsonProperty
+    @Nullable
+    public Size getMaxInflatedBytes() {
+        return maxInflatedBytes;
+    }
+
+    @JsonProperty
+    public void setMaxInflatedBytes(@Nullable Size maxInflatedBytes) {
+        this.maxInflatedBytes = maxInflatedBytes;
+    }
+
+    @JsonProperty
+    @Nullable
+    public Double getMaxCompressionRatio() {
+        return maxCompressionRatio;
+    }
+
+    @JsonProperty
+    public void setMaxCompressionRatio(@Nullable Double maxCompressionRatio) {
+        this.maxCompressionRatio = maxCompressionRatio;
+    }
+
+    public BiDiGzipHandler build(@Nullable Handler handler, MetricRegistry metricRegistry) {
+        final BiDiGzipHandler gzipHandler = build(handler);
+        gzipHandler.setMetricRegistry(metricRegistry);
+        return gzipHandler;
+    }
+
     public BiDiGzipHandler build(@Nullable Handler handler) {
         final BiDiGzipHandler gzipHandler = new BiDiGzipHandler();
         gzipHandler.setHandler(handler);
@@ -207,6 +274,13 @@ public class GzipHandlerFactory {
 
         gzipHandler.setExcludedAgentPatterns(Iterables.toArray(excludedUserAgentPatterns, String.class));
         gzipHandler.setInflateNoWrap(gzipCompatibleInflation);
+        gzipHandler.setInflaterPoolSize(inflaterPoolSize);
+        if (maxInflatedBytes != null) {
+            gzipHandler.setMaxInflatedBytes(maxInflatedBytes.toBytes());
+        }
+        if (maxCompressionRatio != null) {
+            gzipHandler.setMaxCompressionRatio(maxCompressionRatio);
+        }
 
         return gzipHandler;
     }
@@ -0,0 +1,79 @@
+package io.dropwizard.jetty;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Inflater;
+
+/**
+ * A bounded pool of {@link Inflater}s shared across threads, so that decompressing request entities doesn't allocate
+ * (and later finalize) native zlib state for every request.
+ * <p>
+ * When the pool is empty a new inflater is created. When the pool is full, returned inflaters are ended instead of
+ * being kept.
+ */
+public class InflaterPool {
+    private final Queue<Inflater> inflaters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final int capacity;
+    private final boolean nowrap;
+
+    /**
+     * Creates a new pool of inflaters.
+     *
+     * @param capacity the maximum number of idle inflaters kept in the pool
+     * @param nowrap   whether the inflaters should use the GZIP-compatible (raw deflate) mode
+     * @see Inflater#Inflater(boolean)
+     */
+    public InflaterPool(int capacity, boolean nowrap) {
+        this.capacity = capacity;
+        this.nowrap = nowrap;
+    }
+
+    /**
+     * Takes an inflater from the pool, or creates a new one if there is none available.
+     *
+     * @return a ready to use inflater
+     */
+    public Inflater acquire() {
+        final Inflater inflater = inflaters.poll();
+        if (inflater == null) {
+            return new Inflater(nowrap);
+        }
+        size.decrementAndGet();
+        return inflater;
+    }
+
+    /**
+     * Returns an inflater to the pool. The inflater is reset, so it may be returned after a failure in the middle of
+     * decompressing. It must not be used by the caller afterwards.
+     *
+     * @param inflater an inflater acquired from this pool
+     */
+    public void release(Inflater inflater) {
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            inflater.end();
+            return;
+        }
+        inflater.reset();
+        inflaters.offer(inflater);
+    }
+
+    /**
+     * Returns the number of idle inflaters in the pool.
+     *
+     * @return the number of idle inflaters in the pool
+     */
+    public int size() {
+        return size.get();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public boolean isNowrap() {
+        return nowrap;
+    }
+}
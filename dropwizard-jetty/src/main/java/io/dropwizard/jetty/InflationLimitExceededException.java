@@ -0,0 +1,14 @@
+package io.dropwizard.jetty;
+
+import java.io.IOException;
+
+/**
+ * Signals that a compressed request entity inflated beyond the configured maximum size or compression ratio.
+ */
+public class InflationLimitExceededException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    public InflationLimitExceededException(String message) {
+        super(message);
+    }
+}
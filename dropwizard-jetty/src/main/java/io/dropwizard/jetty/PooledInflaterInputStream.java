@@ -0,0 +1,301 @@
+package io.dropwizard.jetty;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.zip.CRC32;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * An {@link InflaterInputStream} which borrows its {@link java.util.zip.Inflater} from an {@link InflaterPool} and
+ * hands it back as soon as the stream is exhausted or closed.
+ * <p>
+ * In GZIP mode the GZIP member headers and trailers are parsed by the stream itself (including concatenated
+ * members), the same way {@link java.util.zip.GZIPInputStream} does. {@code GZIPInputStream} can't be reused for it,
+ * as it always allocates an inflater of its own.
+ * <p>
+ * The stream can limit the total number of inflated bytes and the ratio of inflated to compressed bytes. Both limits
+ * are checked on every read, so an entity which inflates beyond them fails with an
+ * {@link InflationLimitExceededException} as soon as it does, without ever being inflated in full.
+ */
+public class PooledInflaterInputStream extends InflaterInputStream {
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int DEFLATED = 8;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+    private static final int TRAILER_SIZE = 8;
+    private static final int MINIMUM_MEMBER_SIZE = 26;
+
+    /**
+     * The number of inflated bytes below which the compression ratio isn't checked, as small entities can have high
+     * ratios without being a threat
+     */
+    static final long COMPRESSION_RATIO_THRESHOLD = 64 * 1024;
+
+    private final InflaterPool pool;
+    private final boolean gzip;
+    private final CRC32 crc = new CRC32();
+    private final long maxInflatedBytes;
+    private final double maxCompressionRatio;
+
+    private long compressedBytes;
+    private long inflatedBytes;
+    private boolean eos;
+    private boolean released;
+
+    /**
+     * Creates a new inflating stream. In GZIP mode the header of the first member is read immediately.
+     *
+     * @param in         the compressed input
+     * @param pool       the pool to borrow the inflater from, which must be a {@code nowrap} pool in GZIP mode
+     * @param bufferSize the size of the buffer for the compressed input
+     * @param gzip       whether the input is in the GZIP format rather than the ZLIB or raw deflate format
+     * @throws IOException if the GZIP header can't be read or is invalid
+     */
+    public PooledInflaterInputStream(InputStream in, InflaterPool pool, int bufferSize, boolean gzip)
+            throws IOException {
+        this(in, pool, bufferSize, gzip, -1, -1);
+    }
+
+    /**
+     * Creates a new inflating stream with limits on the inflated entity. In GZIP mode the header of the first member
+     * is read immediately.
+     *
+     * @param in                  the compressed input
+     * @param pool                the pool to borrow the inflater from, which must be a {@code nowrap} pool in GZIP
+     *                            mode
+     * @param bufferSize          the size of the buffer for the compressed input
+     * @param gzip                whether the input is in the GZIP format rather than the ZLIB or raw deflate format
+     * @param maxInflatedBytes    the maximum number of inflated bytes, or a negative value for no limit
+     * @param maxCompressionRatio the maximum ratio of inflated to compressed bytes, or a negative value for no limit
+     * @throws IOException if the GZIP header can't be read or is invalid
+     */
+    public PooledInflaterInputStream(InputStream in, InflaterPool pool, int bufferSize, boolean gzip,
+                                     long maxInflatedBytes, double maxCompressionRatio) throws IOException {
+        super(in, pool.acquire(), bufferSize);
+        this.pool = pool;
+        this.gzip = gzip;
+        this.maxInflatedBytes = maxInflatedBytes;
+        this.maxCompressionRatio = maxCompressionRatio;
+        try {
+            checkArgument(!gzip || pool.isNowrap(), "GZIP inflation requires a nowrap inflater pool");
+            if (gzip) {
+                readHeader(in);
+            }
+        } catch (IOException | RuntimeException e) {
+            release();
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) throws IOException {
+        if (released) {
+            if (eos) {
+                return -1;
+            }
+            throw new IOException("Stream closed");
+        }
+
+        final int n = super.read(b, off, len);
+        if (n == -1) {
+            if (gzip && !readTrailer()) {
+                return read(b, off, len);
+            }
+            eos = true;
+            release();
+            return -1;
+        }
+
+        if (gzip) {
+            crc.update(b, off, n);
+        }
+        inflatedBytes += n;
+        checkLimits();
+        return n;
+    }
+
+    private void checkLimits() throws InflationLimitExceededException {
+        if (maxInflatedBytes >= 0 && inflatedBytes > maxInflatedBytes) {
+            release();
+            throw new InflationLimitExceededException("Inflated entity exceeds " + maxInflatedBytes + " bytes");
+        }
+        if (maxCompressionRatio >= 0 && inflatedBytes > COMPRESSION_RATIO_THRESHOLD) {
+            final long compressed = getCompressedBytes();
+            if (inflatedBytes > maxCompressionRatio * Math.max(1, compressed)) {
+                release();
+                throw new InflationLimitExceededException("Inflated entity exceeds a compression ratio of "
+                    + maxCompressionRatio);
+            }
+        }
+    }
+
+    @Override
+    public synchronized int available() throws IOException {
+        return released ? 0 : super.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        release();
+        super.close();
+    }
+
+    /**
+     * Returns the number of compressed bytes consumed so far.
+     *
+     * @return the number of compressed bytes consumed so far
+     */
+    public long getCompressedBytes() {
+        return released ? compressedBytes : compressedBytes + inf.getBytesRead();
+    }
+
+    /**
+     * Returns the number of inflated bytes produced so far.
+     *
+     * @return the number of inflated bytes produced so far
+     */
+    public long getInflatedBytes() {
+        return inflatedBytes;
+    }
+
+    /**
+     * Called once when the inflater is handed back to the pool, either because the whole entity has been read or
+     * because the stream was abandoned.
+     *
+     * @param compressedBytes the number of compressed bytes consumed
+     * @param inflatedBytes   the number of inflated bytes produced
+     */
+    protected void onRelease(long compressedBytes, long inflatedBytes) {
+    }
+
+    /**
+     * Hands the inflater back to the pool. Once released, the stream reports end-of-stream if it was exhausted and
+     * fails otherwise. It may be called from another thread than the reading one, e.g. once the request has been
+     * handled, in which case it waits for a read in progress to finish.
+     */
+    synchronized void release() {
+        if (released) {
+            return;
+        }
+        compressedBytes += inf.getBytesRead();
+        released = true;
+        pool.release(inf);
+        onRelease(compressedBytes, inflatedBytes);
+    }
+
+    private int readHeader(InputStream input) throws IOException {
+        crc.reset();
+        if (readUShort(input, true) != GZIP_MAGIC) {
+            throw new ZipException("Not in GZIP format");
+        }
+        if (readUByte(input, true) != DEFLATED) {
+            throw new ZipException("Unsupported compression method");
+        }
+        final int flags = readUByte(input, true);
+        // Skip MTIME, XFL, and OS fields
+        skipBytes(input, 6);
+        int n = 2 + 2 + 6;
+        if ((flags & FEXTRA) == FEXTRA) {
+            final int m = readUShort(input, true);
+            skipBytes(input, m);
+            n += m + 2;
+        }
+        if ((flags & FNAME) == FNAME) {
+            do {
+                n++;
+            } while (readUByte(input, true) != 0);
+        }
+        if ((flags & FCOMMENT) == FCOMMENT) {
+            do {
+                n++;
+            } while (readUByte(input, true) != 0);
+        }
+        if ((flags & FHCRC) == FHCRC) {
+            final int v = (int) crc.getValue() & 0xffff;
+            if (readUShort(input, false) != v) {
+                throw new ZipException("Corrupt GZIP header");
+            }
+            n += 2;
+        }
+        crc.reset();
+        return n;
+    }
+
+    /**
+     * Reads the trailer of the current GZIP member and, if another member follows, its header.
+     *
+     * @return {@code true} if the end of the entity has been reached
+     */
+    private boolean readTrailer() throws IOException {
+        InputStream input = this.in;
+        final int n = inf.getRemaining();
+        if (n > 0) {
+            input = new SequenceInputStream(new ByteArrayInputStream(buf, len - n, n), new FilterInputStream(input) {
+                @Override
+                public void close() {
+                    // the underlying stream is closed by this stream
+                }
+            });
+        }
+        if (readUInt(input) != crc.getValue() || readUInt(input) != (inf.getBytesWritten() & 0xffffffffL)) {
+            throw new ZipException("Corrupt GZIP trailer");
+        }
+
+        // If there are more bytes available or the buffer holds enough for another member, try to read its header
+        if (this.in.available() > 0 || n > MINIMUM_MEMBER_SIZE) {
+            int m = TRAILER_SIZE;
+            try {
+                m += readHeader(input);
+            } catch (IOException ignored) {
+                // trailing garbage is ignored, like GZIPInputStream does
+                return true;
+            }
+            compressedBytes += inf.getBytesRead();
+            inf.reset();
+            if (n > m) {
+                inf.setInput(buf, len - n + m, n - m);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private long readUInt(InputStream input) throws IOException {
+        final long s = readUShort(input, false);
+        return ((long) readUShort(input, false) << 16) | s;
+    }
+
+    private int readUShort(InputStream input, boolean checked) throws IOException {
+        final int b = readUByte(input, checked);
+        return (readUByte(input, checked) << 8) | b;
+    }
+
+    private int readUByte(InputStream input, boolean checked) throws IOException {
+        final int b = input.read();
+        if (b == -1) {
+            throw new EOFException();
+        }
+        if (b > 255) {
+            throw new IOException(input.getClass().getName() + ".read() returned value out of range -1..255: " + b);
+        }
+        if (checked) {
+            crc.update(b);
+        }
+        return b;
+    }
+
+    private void skipBytes(InputStream input, int n) throws IOException {
+        for (int i = 0; i < n; i++) {
+            readUByte(input, true);
+        }
+    }
+}
@@ -86,7 +86,9 @@ class ZipExceptionHandlingInputStream extends InputStream {
     }
 
     static BadMessageException handleException(String format, IOException e) throws IOException {
-        if (e instanceof ZipException) {
+        if (e instanceof InflationLimitExceededException) {
+            return new BadMessageException(413, "Request entity too large: " + e.getMessage(), e);
+        } else if (e instanceof ZipException) {
             return buildBadDataException(format, e);
         } else if (e instanceof EOFException) {
             return buildPrematureEofException(format, e);
@@ -1,5 +1,6 @@
 package io.dropwizard.jetty;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.io.ByteStreams;
 import com.google.common.io.CharStreams;
 import com.google.common.io.Resources;
@@ -12,6 +13,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import javax.servlet.AsyncContext;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
@@ -32,6 +34,7 @@ public class BiDiGzipHandlerTest {
     private static final String PLAIN_TEXT_UTF_8 = MediaType.PLAIN_TEXT_UTF_8.toString().replace(" ", "");
 
     private final BiDiGzipHandler gzipHandler = new BiDiGzipHandler();
+    private final MetricRegistry metricRegistry = new MetricRegistry();
 
     private final ServletTester servletTester = new ServletTester();
     private final HttpTester.Request request = HttpTester.newRequest();
@@ -44,8 +47,10 @@ public class BiDiGzipHandlerTest {
 
         gzipHandler.setExcludedAgentPatterns();
         gzipHandler.addIncludedMethods("POST");
+        gzipHandler.setMetricRegistry(metricRegistry);
 
         servletTester.addServlet(BannerServlet.class, "/banner");
+        servletTester.addServlet(UnreadEntityServlet.class, "/unread").setAsyncSupported(true);
         servletTester.getContext().setGzipHandler(gzipHandler);
         servletTester.start();
     }
@@ -86,6 +91,72 @@ public class BiDiGzipHandlerTest {
 
     }
 
+    @Test
+    public void testReleasesTheInflaterOfUnreadAsyncRequests() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(baos)) {
+            Resources.copy(Resources.getResource("assets/new-banner.txt"), gz);
+        }
+
+        setRequestPostGzipPlainText(baos.toByteArray());
+        request.setURI("/unread");
+
+        HttpTester.Response response = HttpTester.parseResponse(servletTester.getResponses(request.generate()));
+        assertThat(response.getStatus()).isEqualTo(204);
+        // the response may be sent before the listeners of the completed request are called
+        for (int i = 0; i < 100 && gzipHandler.getNowrapInflaters().size() == 0; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(gzipHandler.getNowrapInflaters().size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testDecompressRequestRecordsMetrics() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(baos)) {
+            Resources.copy(Resources.getResource("assets/new-banner.txt"), gz);
+        }
+
+        for (int i = 0; i < 2; i++) {
+            setRequestPostGzipPlainText(baos.toByteArray());
+            HttpTester.Response response = HttpTester.parseResponse(servletTester.getResponses(request.generate()));
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+
+        final long inflated = Resources.toByteArray(Resources.getResource("assets/new-banner.txt")).length;
+        assertThat(metricRegistry.meter("io.dropwizard.jetty.BiDiGzipHandler.inflated-bytes").getCount())
+            .isEqualTo(2 * inflated);
+        assertThat(metricRegistry.meter("io.dropwizard.jetty.BiDiGzipHandler.compressed-bytes").getCount())
+            .isPositive();
+        assertThat(metricRegistry.getGauges()).containsKey("io.dropwizard.jetty.BiDiGzipHandler.compression-ratio");
+    }
+
+    @Test
+    public void testDecompressRequestBeyondMaxInflatedBytes() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(baos)) {
+            gz.write(new byte[1024 * 1024]);
+        }
+        setRequestPostGzipPlainText(baos.toByteArray());
+        gzipHandler.setMaxInflatedBytes(64 * 1024);
+
+        HttpTester.Response response = HttpTester.parseResponse(servletTester.getResponses(request.generate()));
+        assertThat(response.getStatus()).isEqualTo(413);
+    }
+
+    @Test
+    public void testDecompressRequestBeyondMaxCompressionRatio() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(baos)) {
+            gz.write(new byte[1024 * 1024]);
+        }
+        setRequestPostGzipPlainText(baos.toByteArray());
+        gzipHandler.setMaxCompressionRatio(10);
+
+        HttpTester.Response response = HttpTester.parseResponse(servletTester.getResponses(request.generate()));
+        assertThat(response.getStatus()).isEqualTo(413);
+    }
+
     @Test
     public void testDecompressBadRequest() throws Exception {
         setRequestPostGzipPlainText("Non-gziped content".getBytes("UTF-8"));
@@ -148,6 +219,16 @@ public class BiDiGzipHandlerTest {
         request.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
     }
 
+    public static class UnreadEntityServlet extends HttpServlet {
+
+        @Override
+        protected void doPost(HttpServletRequest req, HttpServletResponse resp) {
+            final AsyncContext context = req.startAsync();
+            resp.setStatus(HttpServletResponse.SC_NO_CONTENT);
+            context.complete();
+        }
+    }
+
     public static class BannerServlet extends HttpServlet {
 
         @Override
@@ -65,6 +65,9 @@ public class GzipHandlerFactoryTest {
         assertThat(handler.getIncludedMethods()).containsOnly("GET", "POST");
         assertThat(handler.getCompressionLevel()).isEqualTo(Deflater.DEFAULT_COMPRESSION);
         assertThat(handler.isInflateNoWrap()).isTrue();
+        assertThat(handler.getInflaterPoolSize()).isEqualTo(16);
+        assertThat(handler.getMaxInflatedBytes()).isEqualTo(Size.megabytes(1).toBytes());
+        assertThat(handler.getMaxCompressionRatio()).isEqualTo(100.0);
     }
 
     @Test
@@ -80,5 +83,8 @@ public class GzipHandlerFactoryTest {
         assertThat(handler.getIncludedMethods()).containsOnly("GET");
         assertThat(handler.getCompressionLevel()).isEqualTo(Deflater.DEFAULT_COMPRESSION);
         assertThat(handler.isInflateNoWrap()).isTrue();
+        assertThat(handler.getInflaterPoolSize()).isEqualTo(64);
+        assertThat(handler.getMaxInflatedBytes()).isEqualTo(-1);
+        assertThat(handler.getMaxCompressionRatio()).isEqualTo(-1.0);
     }
 }
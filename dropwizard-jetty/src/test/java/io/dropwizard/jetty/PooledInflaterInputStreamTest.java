@@ -0,0 +1,264 @@
+package io.dropwizard.jetty;
+
+import com.google.common.io.ByteStreams;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PooledInflaterInputStreamTest {
+    private static final byte[] CONTENT = "{\"events\":[1,2,3,4,5,6,7,8,9,10]}".getBytes(StandardCharsets.UTF_8);
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    private final InflaterPool nowrapPool = new InflaterPool(2, true);
+    private final InflaterPool zlibPool = new InflaterPool(2, false);
+
+    @Test
+    public void inflatesGzipAndReleasesTheInflater() throws Exception {
+        final InputStream input = new PooledInflaterInputStream(new ByteArrayInputStream(gzip(CONTENT)), nowrapPool,
+            512, true);
+
+        assertThat(ByteStreams.toByteArray(input)).isEqualTo(CONTENT);
+        assertThat(nowrapPool.size()).isEqualTo(1);
+        assertThat(input.read()).isEqualTo(-1);
+        assertThat(input.available()).isZero();
+    }
+
+    @Test
+    public void reusesPooledInflaters() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            try (InputStream input = new PooledInflaterInputStream(new ByteArrayInputStream(gzip(CONTENT)),
+                nowrapPool, 512, true)) {
+                assertThat(ByteStreams.toByteArray(input)).isEqualTo(CONTENT);
+            }
+        }
+        assertThat(nowrapPool.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void inflatesConcatenatedGzipMembers() throws Exception {
+        final ByteArrayOutputStream members = new ByteArrayOutputStream();
+        members.write(gzip(CONTENT));
+        members.write(gzip(CONTENT));
+        final PooledInflaterInputStream input = new PooledInflaterInputStream(
+            new ByteArrayInputStream(members.toByteArray()), nowrapPool, 512, true);
+
+        final byte[] inflated = ByteStreams.toByteArray(input);
+        assertThat(inflated).hasSize(CONTENT.length * 2);
+        assertThat(input.getInflatedBytes()).isEqualTo(CONTENT.length * 2);
+        assertThat(input.getCompressedBytes()).isPositive();
+    }
+
+    @Test
+    public void inflatesGzipMembersWithOptionalHeaderFields() throws Exception {
+        for (int flags : new int[]{FEXTRA, FNAME, FCOMMENT, FHCRC, FEXTRA | FNAME | FCOMMENT | FHCRC}) {
+            final byte[] member = gzipMember(CONTENT, flags);
+            try (GZIPInputStream expected = new GZIPInputStream(new ByteArrayInputStream(member))) {
+                assertThat(ByteStreams.toByteArray(expected)).isEqualTo(CONTENT);
+            }
+
+            final InputStream input = new PooledInflaterInputStream(new ByteArrayInputStream(member), nowrapPool,
+                512, true);
+            assertThat(ByteStreams.toByteArray(input)).as("flags %d", flags).isEqualTo(CONTENT);
+        }
+        assertThat(nowrapPool.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void rejectsCorruptGzipHeaderChecksums() throws Exception {
+        final byte[] member = gzipMember(CONTENT, FNAME | FHCRC);
+        // the last character of the file name
+        member[10 + "events.json".length() - 1] ^= 1;
+
+        assertThatThrownBy(() -> new PooledInflaterInputStream(new ByteArrayInputStream(member), nowrapPool, 512,
+            true)).isInstanceOf(ZipException.class).hasMessage("Corrupt GZIP header");
+        assertThat(nowrapPool.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void inflatesConcatenatedGzipMembersAcrossBufferBoundaries() throws Exception {
+        final ByteArrayOutputStream members = new ByteArrayOutputStream();
+        members.write(gzipMember(CONTENT, FEXTRA | FNAME | FCOMMENT | FHCRC));
+        members.write(gzip(CONTENT));
+        members.write(gzipMember(CONTENT, FNAME));
+        final byte[] expected = ByteStreams.toByteArray(
+            new GZIPInputStream(new ByteArrayInputStream(members.toByteArray())));
+
+        // Buffers smaller than a member and large enough to hold several of them
+        for (int bufferSize : new int[]{7, 16, 4096}) {
+            final PooledInflaterInputStream input = new PooledInflaterInputStream(
+                new ByteArrayInputStream(members.toByteArray()), nowrapPool, bufferSize, true);
+
+            assertThat(ByteStreams.toByteArray(input)).as("buffer size %d", bufferSize).isEqualTo(expected);
+            assertThat(input.getInflatedBytes()).isEqualTo(CONTENT.length * 3);
+        }
+    }
+
+    @Test
+    public void ignoresTrailingGarbageAfterTheLastGzipMember() throws Exception {
+        final ByteArrayOutputStream entity = new ByteArrayOutputStream();
+        entity.write(gzip(CONTENT));
+        entity.write(new byte[64]);
+        final InputStream input = new PooledInflaterInputStream(new ByteArrayInputStream(entity.toByteArray()),
+            nowrapPool, 512, true);
+
+        assertThat(ByteStreams.toByteArray(input)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    public void inflatesZlib() throws Exception {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(baos)) {
+            deflate.write(CONTENT);
+        }
+        final InputStream input = new PooledInflaterInputStream(new ByteArrayInputStream(baos.toByteArray()),
+            zlibPool, 512, false);
+
+        assertThat(ByteStreams.toByteArray(input)).isEqualTo(CONTENT);
+        assertThat(zlibPool.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void rejectsInvalidGzipHeadersAndReleasesTheInflater() throws Exception {
+        assertThatThrownBy(() -> new PooledInflaterInputStream(new ByteArrayInputStream(CONTENT), nowrapPool, 512,
+            true)).isInstanceOf(ZipException.class);
+        assertThat(nowrapPool.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void rejectsTruncatedGzip() throws Exception {
+        final byte[] gzipped = gzip(CONTENT);
+        final byte[] truncated = new byte[gzipped.length - 4];
+        System.arraycopy(gzipped, 0, truncated, 0, truncated.length);
+        final InputStream input = new PooledInflaterInputStream(new ByteArrayInputStream(truncated), nowrapPool, 512,
+            true);
+
+        assertThatThrownBy(() -> ByteStreams.toByteArray(input)).isInstanceOf(EOFException.class);
+        input.close();
+        assertThat(nowrapPool.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void failsReadsAfterBeingReleasedEarly() throws Exception {
+        final PooledInflaterInputStream input = new PooledInflaterInputStream(
+            new ByteArrayInputStream(gzip(CONTENT)), nowrapPool, 512, true);
+        input.release();
+
+        assertThatThrownBy(input::read).isInstanceOf(IOException.class).hasMessage("Stream closed");
+    }
+
+    @Test
+    public void failsOnceTheMaximumInflatedSizeIsExceeded() throws Exception {
+        final PooledInflaterInputStream input = new PooledInflaterInputStream(
+            new ByteArrayInputStream(gzip(new byte[1024 * 1024])), nowrapPool, 512, true, 4096, -1);
+
+        assertThatThrownBy(() -> ByteStreams.toByteArray(input))
+            .isInstanceOf(InflationLimitExceededException.class);
+        assertThat(input.getInflatedBytes()).isLessThan(1024 * 1024);
+        assertThat(nowrapPool.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void failsOnceTheMaximumCompressionRatioIsExceeded() throws Exception {
+        final PooledInflaterInputStream input = new PooledInflaterInputStream(
+            new ByteArrayInputStream(gzip(new byte[16 * 1024 * 1024])), nowrapPool, 512, true, -1, 100);
+
+        assertThatThrownBy(() -> ByteStreams.toByteArray(input))
+            .isInstanceOf(InflationLimitExceededException.class);
+        assertThat(input.getInflatedBytes()).isLessThan(16 * 1024 * 1024);
+    }
+
+    @Test
+    public void allowsHighCompressionRatiosForSmallEntities() throws Exception {
+        final byte[] content = new byte[(int) PooledInflaterInputStream.COMPRESSION_RATIO_THRESHOLD];
+        final InputStream input = new PooledInflaterInputStream(new ByteArrayInputStream(gzip(content)), nowrapPool,
+            512, true, -1, 2);
+
+        assertThat(ByteStreams.toByteArray(input)).isEqualTo(content);
+    }
+
+    @Test
+    public void endsInflatersBeyondThePoolCapacity() throws Exception {
+        final InflaterPool pool = new InflaterPool(1, true);
+        pool.release(pool.acquire());
+        pool.release(new Inflater(true));
+
+        assertThat(pool.size()).isEqualTo(1);
+    }
+
+    /**
+     * Writes a GZIP member with the given optional header fields, which {@link GZIPOutputStream} never writes.
+     */
+    private static byte[] gzipMember(byte[] content, int flags) throws IOException {
+        final ByteArrayOutputStream member = new ByteArrayOutputStream();
+        member.write(new byte[]{0x1f, (byte) 0x8b, 8, (byte) flags, 0, 0, 0, 0, 0, (byte) 0xff});
+        if ((flags & FEXTRA) != 0) {
+            final byte[] extra = {'D', 'W', 2, 0, 1, 2};
+            writeLittleEndian(member, extra.length, 2);
+            member.write(extra);
+        }
+        if ((flags & FNAME) != 0) {
+            member.write("events.json".getBytes(StandardCharsets.ISO_8859_1));
+            member.write(0);
+        }
+        if ((flags & FCOMMENT) != 0) {
+            member.write("compressed events".getBytes(StandardCharsets.ISO_8859_1));
+            member.write(0);
+        }
+        if ((flags & FHCRC) != 0) {
+            final CRC32 headerCrc = new CRC32();
+            headerCrc.update(member.toByteArray());
+            writeLittleEndian(member, headerCrc.getValue() & 0xffff, 2);
+        }
+
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(member, deflater) {
+            @Override
+            public void close() throws IOException {
+                // keeps the member open for its trailer
+                finish();
+            }
+        }) {
+            deflate.write(content);
+        } finally {
+            deflater.end();
+        }
+
+        final CRC32 crc = new CRC32();
+        crc.update(content);
+        writeLittleEndian(member, crc.getValue(), 4);
+        writeLittleEndian(member, content.length, 4);
+        return member.toByteArray();
+    }
+
+    private static void writeLittleEndian(ByteArrayOutputStream output, long value, int bytes) {
+        for (int i = 0; i < bytes; i++) {
+            output.write((int) (value >>> (8 * i)) & 0xff);
+        }
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(baos)) {
+            gzip.write(content);
+        }
+        return baos.toByteArray();
+    }
+}
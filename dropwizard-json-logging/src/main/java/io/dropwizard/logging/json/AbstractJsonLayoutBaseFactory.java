@@ -47,6 +47,12 @@ import java.util.TimeZone;
  * <td>empty</td>
  * <td>A map of fields to add.</td>
  * </tr>
+ * <tr>
+ * <td>{@code streaming}</td>
+ * <td>{@code false}</td>
+ * <td>Whether the included fields should be written straight to a reused JSON generator, rather than
+ * collected in a map and serialized. Fields are then written in a fixed order, the additional fields last.</td>
+ * </tr>
  * </table>
  */
 public abstract class AbstractJsonLayoutBaseFactory<E extends DeferredProcessingAware>
@@ -57,6 +63,7 @@ public abstract class AbstractJsonLayoutBaseFactory<E extends DeferredProcessing
 
     private boolean prettyPrint;
     private boolean appendLineSeparator = true;
+    private boolean streaming;
 
     @NotNull
     private Map<String, String> customFieldNames = ImmutableMap.of();
@@ -115,6 +122,16 @@ public abstract class AbstractJsonLayoutBaseFactory<E extends DeferredProcessing
         this.additionalFields = additionalFields;
     }
 
+    @JsonProperty
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    @JsonProperty
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
     protected JsonFormatter createDropwizardJsonFormatter() {
         return new JsonFormatter(Jackson.newObjectMapper(), isPrettyPrint(), isAppendLineSeparator());
     }
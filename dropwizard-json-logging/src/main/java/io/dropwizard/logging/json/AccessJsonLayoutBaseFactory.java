@@ -82,6 +82,7 @@ public class AccessJsonLayoutBaseFactory extends AbstractJsonLayoutBaseFactory<I
         final AccessJsonLayout jsonLayout = new AccessJsonLayout(createDropwizardJsonFormatter(),
             createTimestampFormatter(timeZone), includes, getCustomFieldNames(), getAdditionalFields());
         jsonLayout.setContext(context);
+        jsonLayout.setStreaming(isStreaming());
         jsonLayout.setRequestHeaders(requestHeaders);
         jsonLayout.setResponseHeaders(responseHeaders);
         return jsonLayout;
@@ -85,6 +85,7 @@ public class EventJsonLayoutBaseFactory extends AbstractJsonLayoutBaseFactory<IL
             createTimestampFormatter(timeZone), createThrowableProxyConverter(), includes, getCustomFieldNames(),
             getAdditionalFields(), includesMdcKeys, flattenMdc);
         jsonLayout.setContext(context);
+        jsonLayout.setStreaming(isStreaming());
         return jsonLayout;
     }
 
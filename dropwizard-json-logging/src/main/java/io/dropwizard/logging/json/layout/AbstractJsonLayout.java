@@ -1,20 +1,27 @@
 package io.dropwizard.logging.json.layout;
 
 import ch.qos.logback.core.LayoutBase;
+import com.fasterxml.jackson.core.JsonGenerator;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
 import java.util.Map;
 
 /**
  * Provides the common functionality for building JSON representations
  * of {@link ch.qos.logback.access.spi.IAccessEvent} and {@link ch.qos.logback.classic.spi.ILoggingEvent}
  * events.
+ * <p>
+ * By default events are converted to a {@link Map} which is then serialized. A streaming layout writes the
+ * included fields of the events straight to a reused {@link JsonGenerator} instead.
  *
  * @param <E> represents the type of the event
  */
 public abstract class AbstractJsonLayout<E> extends LayoutBase<E> {
 
     private final JsonFormatter jsonFormatter;
+    private final JsonFormatter.FieldsWriter<E> fieldsWriter = this::writeFields;
+    private boolean streaming;
 
     protected AbstractJsonLayout(JsonFormatter jsonFormatter) {
         this.jsonFormatter = jsonFormatter;
@@ -23,6 +30,9 @@ public abstract class AbstractJsonLayout<E> extends LayoutBase<E> {
     @Override
     @Nullable
     public String doLayout(E event) {
+        if (streaming) {
+            return jsonFormatter.toJson(event, fieldsWriter);
+        }
         return jsonFormatter.toJson(toJsonMap(event));
     }
 
@@ -30,4 +40,22 @@ public abstract class AbstractJsonLayout<E> extends LayoutBase<E> {
      * Converts the provided logging event to a generic {@link Map}
      */
     protected abstract Map<String, Object> toJsonMap(E event);
+
+    /**
+     * Writes the fields of the provided logging event to the generator of a streaming layout.
+     * By default writes the entries of {@link #toJsonMap(Object)}.
+     */
+    protected void writeFields(JsonGenerator generator, E event) throws IOException {
+        for (Map.Entry<String, Object> field : toJsonMap(event).entrySet()) {
+            generator.writeObjectField(field.getKey(), field.getValue());
+        }
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
 }
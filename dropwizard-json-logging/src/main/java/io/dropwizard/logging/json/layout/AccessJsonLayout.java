@@ -1,6 +1,8 @@
 package io.dropwizard.logging.json.layout;
 
 import ch.qos.logback.access.spi.IAccessEvent;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSortedSet;
@@ -9,6 +11,7 @@ import com.google.common.net.HttpHeaders;
 import io.dropwizard.logging.json.AccessAttribute;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -30,6 +33,28 @@ public class AccessJsonLayout extends AbstractJsonLayout<IAccessEvent> {
     private final Map<String, Object> additionalFields;
     private final Map<String, String> customFieldNames;
 
+    private final JsonFieldWriter fieldWriter;
+    private final SerializableString portField;
+    private final SerializableString contentLengthField;
+    private final SerializableString timestampField;
+    private final SerializableString methodField;
+    private final SerializableString protocolField;
+    private final SerializableString requestContentField;
+    private final SerializableString remoteAddressField;
+    private final SerializableString remoteUserField;
+    private final SerializableString headersField;
+    private final SerializableString paramsField;
+    private final SerializableString requestTimeField;
+    private final SerializableString uriField;
+    private final SerializableString urlField;
+    private final SerializableString remoteHostField;
+    private final SerializableString responseContentField;
+    private final SerializableString responseHeadersField;
+    private final SerializableString serverNameField;
+    private final SerializableString statusField;
+    private final SerializableString userAgentField;
+    private final SerializableString versionField;
+
     public AccessJsonLayout(JsonFormatter jsonFormatter, TimestampFormatter timestampFormatter,
                             Set<AccessAttribute> includes, Map<String, String> customFieldNames,
                             Map<String, Object> additionalFields) {
@@ -38,6 +63,27 @@ public class AccessJsonLayout extends AbstractJsonLayout<IAccessEvent> {
         this.additionalFields = ImmutableMap.copyOf(additionalFields);
         this.customFieldNames = ImmutableMap.copyOf(customFieldNames);
         this.includes = Sets.immutableEnumSet(includes);
+        this.fieldWriter = new JsonFieldWriter(timestampFormatter, customFieldNames, additionalFields);
+        this.portField = fieldWriter.name("port");
+        this.contentLengthField = fieldWriter.name("contentLength");
+        this.timestampField = fieldWriter.name("timestamp");
+        this.methodField = fieldWriter.name("method");
+        this.protocolField = fieldWriter.name("protocol");
+        this.requestContentField = fieldWriter.name("requestContent");
+        this.remoteAddressField = fieldWriter.name("remoteAddress");
+        this.remoteUserField = fieldWriter.name("remoteUser");
+        this.headersField = fieldWriter.name("headers");
+        this.paramsField = fieldWriter.name("params");
+        this.requestTimeField = fieldWriter.name("requestTime");
+        this.uriField = fieldWriter.name("uri");
+        this.urlField = fieldWriter.name("url");
+        this.remoteHostField = fieldWriter.name("remoteHost");
+        this.responseContentField = fieldWriter.name("responseContent");
+        this.responseHeadersField = fieldWriter.name("responseHeaders");
+        this.serverNameField = fieldWriter.name("serverName");
+        this.statusField = fieldWriter.name("status");
+        this.userAgentField = fieldWriter.name("userAgent");
+        this.versionField = fieldWriter.name("version");
     }
 
     @Override
@@ -68,6 +114,89 @@ public class AccessJsonLayout extends AbstractJsonLayout<IAccessEvent> {
             .build();
     }
 
+    @Override
+    protected void writeFields(JsonGenerator generator, IAccessEvent event) throws IOException {
+        if (isIncluded(AccessAttribute.LOCAL_PORT)) {
+            fieldWriter.writeNumber(generator, portField, event.getLocalPort());
+        }
+        if (isIncluded(AccessAttribute.CONTENT_LENGTH)) {
+            fieldWriter.writeNumber(generator, contentLengthField, event.getContentLength());
+        }
+        if (isIncluded(AccessAttribute.TIMESTAMP)) {
+            fieldWriter.writeTimestamp(generator, timestampField, event.getTimeStamp());
+        }
+        if (isIncluded(AccessAttribute.METHOD)) {
+            fieldWriter.writeString(generator, methodField, event.getMethod());
+        }
+        if (isIncluded(AccessAttribute.PROTOCOL)) {
+            fieldWriter.writeString(generator, protocolField, event.getProtocol());
+        }
+        if (isIncluded(AccessAttribute.REQUEST_CONTENT)) {
+            fieldWriter.writeString(generator, requestContentField, event.getRequestContent());
+        }
+        if (isIncluded(AccessAttribute.REMOTE_ADDRESS)) {
+            fieldWriter.writeString(generator, remoteAddressField, event.getRemoteAddr());
+        }
+        if (isIncluded(AccessAttribute.REMOTE_USER)) {
+            fieldWriter.writeString(generator, remoteUserField, event.getRemoteUser());
+        }
+        if (!requestHeaders.isEmpty()) {
+            writeHeaders(generator, headersField, event.getRequestHeaderMap(), requestHeaders);
+        }
+        if (isIncluded(AccessAttribute.REQUEST_PARAMETERS)) {
+            fieldWriter.writeMap(generator, paramsField, event.getRequestParameterMap());
+        }
+        if (isIncluded(AccessAttribute.REQUEST_TIME)) {
+            fieldWriter.writeNumber(generator, requestTimeField, event.getElapsedTime());
+        }
+        if (isIncluded(AccessAttribute.REQUEST_URI)) {
+            fieldWriter.writeString(generator, uriField, event.getRequestURI());
+        }
+        if (isIncluded(AccessAttribute.REQUEST_URL)) {
+            fieldWriter.writeString(generator, urlField, event.getRequestURL());
+        }
+        if (isIncluded(AccessAttribute.REMOTE_HOST)) {
+            fieldWriter.writeString(generator, remoteHostField, event.getRemoteHost());
+        }
+        if (isIncluded(AccessAttribute.RESPONSE_CONTENT)) {
+            fieldWriter.writeString(generator, responseContentField, event.getResponseContent());
+        }
+        if (!responseHeaders.isEmpty()) {
+            writeHeaders(generator, responseHeadersField, event.getResponseHeaderMap(), responseHeaders);
+        }
+        if (isIncluded(AccessAttribute.SERVER_NAME)) {
+            fieldWriter.writeString(generator, serverNameField, event.getServerName());
+        }
+        if (isIncluded(AccessAttribute.STATUS_CODE)) {
+            fieldWriter.writeNumber(generator, statusField, event.getStatusCode());
+        }
+        if (isIncluded(AccessAttribute.USER_AGENT)) {
+            fieldWriter.writeString(generator, userAgentField, event.getRequestHeader(HttpHeaders.USER_AGENT));
+        }
+        fieldWriter.writeString(generator, versionField, jsonProtocolVersion);
+        fieldWriter.writeAdditionalFields(generator);
+    }
+
+    private static void writeHeaders(JsonGenerator generator, SerializableString fieldName,
+                                     Map<String, String> headers, Set<String> filteredHeaderNames)
+        throws IOException {
+        boolean started = false;
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if (!filteredHeaderNames.contains(header.getKey())) {
+                continue;
+            }
+            if (!started) {
+                generator.writeFieldName(fieldName);
+                generator.writeStartObject();
+                started = true;
+            }
+            generator.writeStringField(header.getKey(), header.getValue());
+        }
+        if (started) {
+            generator.writeEndObject();
+        }
+    }
+
     private boolean isIncluded(AccessAttribute userAgent) {
         return includes.contains(userAgent);
     }
@@ -2,12 +2,16 @@ package io.dropwizard.logging.json.layout;
 
 import ch.qos.logback.classic.pattern.ThrowableHandlingConverter;
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import io.dropwizard.logging.json.EventAttribute;
+import org.slf4j.Marker;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -30,6 +34,18 @@ public class EventJsonLayout extends AbstractJsonLayout<ILoggingEvent> {
     private ImmutableSet<String> includesMdcKeys;
     private final boolean flattenMdc;
 
+    private final JsonFieldWriter fieldWriter;
+    private final SerializableString timestampField;
+    private final SerializableString levelField;
+    private final SerializableString threadField;
+    private final SerializableString loggerField;
+    private final SerializableString markerField;
+    private final SerializableString messageField;
+    private final SerializableString contextField;
+    private final SerializableString versionField;
+    private final SerializableString exceptionField;
+    private final SerializableString mdcField;
+
     public EventJsonLayout(JsonFormatter jsonFormatter, TimestampFormatter timestampFormatter,
                            ThrowableHandlingConverter throwableProxyConverter, Set<EventAttribute> includes,
                            Map<String, String> customFieldNames, Map<String, Object> additionalFields,
@@ -42,6 +58,17 @@ public class EventJsonLayout extends AbstractJsonLayout<ILoggingEvent> {
         this.includes = ImmutableSet.copyOf(includes);
         this.includesMdcKeys = ImmutableSet.copyOf(includesMdcKeys);
         this.flattenMdc = flattenMdc;
+        this.fieldWriter = new JsonFieldWriter(timestampFormatter, customFieldNames, additionalFields);
+        this.timestampField = fieldWriter.name("timestamp");
+        this.levelField = fieldWriter.name("level");
+        this.threadField = fieldWriter.name("thread");
+        this.loggerField = fieldWriter.name("logger");
+        this.markerField = fieldWriter.name("marker");
+        this.messageField = fieldWriter.name("message");
+        this.contextField = fieldWriter.name("context");
+        this.versionField = fieldWriter.name("version");
+        this.exceptionField = fieldWriter.name("exception");
+        this.mdcField = fieldWriter.name("mdc");
     }
 
     @Override
@@ -78,6 +105,64 @@ public class EventJsonLayout extends AbstractJsonLayout<ILoggingEvent> {
         return mapBuilder.build();
     }
 
+    @Override
+    protected void writeFields(JsonGenerator generator, ILoggingEvent event) throws IOException {
+        if (isIncluded(EventAttribute.TIMESTAMP)) {
+            fieldWriter.writeTimestamp(generator, timestampField, event.getTimeStamp());
+        }
+        if (isIncluded(EventAttribute.LEVEL)) {
+            fieldWriter.writeString(generator, levelField, String.valueOf(event.getLevel()));
+        }
+        if (isIncluded(EventAttribute.THREAD_NAME)) {
+            fieldWriter.writeString(generator, threadField, event.getThreadName());
+        }
+        if (isIncluded(EventAttribute.LOGGER_NAME)) {
+            fieldWriter.writeString(generator, loggerField, event.getLoggerName());
+        }
+        if (isIncluded(EventAttribute.MARKER)) {
+            final Marker marker = event.getMarker();
+            if (marker != null) {
+                fieldWriter.writeString(generator, markerField, marker.getName());
+            }
+        }
+        if (isIncluded(EventAttribute.MESSAGE)) {
+            fieldWriter.writeString(generator, messageField, event.getFormattedMessage());
+        }
+        if (isIncluded(EventAttribute.CONTEXT_NAME)) {
+            fieldWriter.writeString(generator, contextField, event.getLoggerContextVO().getName());
+        }
+        fieldWriter.writeString(generator, versionField, jsonProtocolVersion);
+        if (isIncluded(EventAttribute.EXCEPTION) && event.getThrowableProxy() != null) {
+            fieldWriter.writeString(generator, exceptionField, throwableProxyConverter.convert(event));
+        }
+        if (isIncluded(EventAttribute.MDC)) {
+            writeMdc(generator, event.getMDCPropertyMap());
+        }
+        fieldWriter.writeAdditionalFields(generator);
+    }
+
+    private void writeMdc(JsonGenerator generator, Map<String, String> mdcPropertyMap) throws IOException {
+        boolean started = false;
+        for (Map.Entry<String, String> entry : mdcPropertyMap.entrySet()) {
+            if (!includesMdcKeys.isEmpty() && !includesMdcKeys.contains(entry.getKey())) {
+                continue;
+            }
+            if (flattenMdc) {
+                fieldWriter.writeString(generator, entry.getKey(), entry.getValue());
+                continue;
+            }
+            if (!started) {
+                generator.writeFieldName(mdcField);
+                generator.writeStartObject();
+                started = true;
+            }
+            generator.writeStringField(entry.getKey(), entry.getValue());
+        }
+        if (started) {
+            generator.writeEndObject();
+        }
+    }
+
     private Map<String, String> filterMdc(Map<String, String> mdcPropertyMap) {
         if (includesMdcKeys.isEmpty()) {
             return mdcPropertyMap;
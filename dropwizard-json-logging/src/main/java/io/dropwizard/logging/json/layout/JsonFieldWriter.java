@@ -0,0 +1,131 @@
+package io.dropwizard.logging.json.layout;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.google.common.collect.ImmutableMap;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Writes fields straight to a {@link JsonGenerator}, the streaming counterpart of {@link MapBuilder}.
+ * Field names are serialized once, when the layout is built.
+ */
+public class JsonFieldWriter {
+
+    private final TimestampFormatter timestampFormatter;
+
+    /**
+     * Custom field name replacements in the format (oldName:newName).
+     */
+    private final Map<String, String> customFieldNames;
+
+    /**
+     * Additional fields which should be included in the message, by serialized name.
+     */
+    private final Map<SerializableString, Object> additionalFields;
+
+    public JsonFieldWriter(TimestampFormatter timestampFormatter, Map<String, String> customFieldNames,
+                           Map<String, Object> additionalFields) {
+        this.timestampFormatter = timestampFormatter;
+        this.customFieldNames = checkNotNull(customFieldNames);
+        final ImmutableMap.Builder<SerializableString, Object> fields = ImmutableMap.builder();
+        checkNotNull(additionalFields).forEach((name, value) -> fields.put(new SerializedString(name), value));
+        this.additionalFields = fields.build();
+    }
+
+    /**
+     * Returns the serialized name of the field, replaced by its custom name if any.
+     */
+    public SerializableString name(String fieldName) {
+        return new SerializedString(getFieldName(fieldName));
+    }
+
+    /**
+     * Writes the string value under the provided field name, unless it's {@code null}.
+     */
+    public void writeString(JsonGenerator generator, SerializableString fieldName, @Nullable String value)
+        throws IOException {
+        if (value != null) {
+            generator.writeFieldName(fieldName);
+            generator.writeString(value);
+        }
+    }
+
+    /**
+     * Writes the string value under the provided field name, replaced by its custom name if any, unless it's
+     * {@code null}.
+     */
+    public void writeString(JsonGenerator generator, String fieldName, @Nullable String value) throws IOException {
+        if (value != null) {
+            generator.writeFieldName(getFieldName(fieldName));
+            generator.writeString(value);
+        }
+    }
+
+    /**
+     * Writes the number under the provided field name.
+     */
+    public void writeNumber(JsonGenerator generator, SerializableString fieldName, long number) throws IOException {
+        generator.writeFieldName(fieldName);
+        generator.writeNumber(number);
+    }
+
+    /**
+     * Writes the map under the provided field name, unless it's {@code null} or empty.
+     */
+    public void writeMap(JsonGenerator generator, SerializableString fieldName, @Nullable Map<String, ?> map)
+        throws IOException {
+        if (map != null && !map.isEmpty()) {
+            generator.writeFieldName(fieldName);
+            generator.writeObject(map);
+        }
+    }
+
+    /**
+     * Writes and optionally formats the timestamp under the provided field name, if it's set.
+     */
+    public void writeTimestamp(JsonGenerator generator, SerializableString fieldName, long timestamp)
+        throws IOException {
+        if (timestamp > 0) {
+            generator.writeFieldName(fieldName);
+            timestampFormatter.write(generator, timestamp);
+        }
+    }
+
+    /**
+     * Writes the additional fields, which come after the fields of the event.
+     */
+    public void writeAdditionalFields(JsonGenerator generator) throws IOException {
+        for (Map.Entry<SerializableString, Object> field : additionalFields.entrySet()) {
+            generator.writeFieldName(field.getKey());
+            writeValue(generator, field.getValue());
+        }
+    }
+
+    private static void writeValue(JsonGenerator generator, Object value) throws IOException {
+        // Scalars are written directly, other values go through the object mapper
+        if (value instanceof String) {
+            generator.writeString((String) value);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            generator.writeNumber(((Number) value).doubleValue());
+        } else if (value instanceof BigDecimal) {
+            generator.writeNumber((BigDecimal) value);
+        } else if (value instanceof Boolean) {
+            generator.writeBoolean((Boolean) value);
+        } else {
+            generator.writeObject(value);
+        }
+    }
+
+    private String getFieldName(String fieldName) {
+        return customFieldNames.getOrDefault(fieldName, fieldName);
+    }
+}
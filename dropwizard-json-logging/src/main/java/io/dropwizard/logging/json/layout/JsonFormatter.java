@@ -1,12 +1,19 @@
 package io.dropwizard.logging.json.layout;
 
 import ch.qos.logback.core.CoreConstants;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 
 import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 /**
@@ -16,13 +23,23 @@ public class JsonFormatter {
 
     private static final int DEFAULT_BUFFER_SIZE = 512;
 
+    /**
+     * Buffers grown beyond this size by a large event are not kept for the next events of the thread.
+     */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    private static final byte[] LINE_SEPARATOR = CoreConstants.LINE_SEPARATOR.getBytes(StandardCharsets.UTF_8);
+
     private final ObjectMapper objectMapper;
+    private final boolean prettyPrint;
     private final boolean doesAppendLineSeparator;
     private final int bufferSize;
+    private final ThreadLocal<Stream> streams = ThreadLocal.withInitial(this::newStream);
 
     public JsonFormatter(ObjectMapper objectMapper, boolean prettyPrint, boolean doesAppendLineSeparator,
                          int bufferSize) {
         this.objectMapper = prettyPrint ? objectMapper.enable(SerializationFeature.INDENT_OUTPUT) : objectMapper;
+        this.prettyPrint = prettyPrint;
         this.doesAppendLineSeparator = doesAppendLineSeparator;
         this.bufferSize = bufferSize;
     }
@@ -54,4 +71,100 @@ public class JsonFormatter {
         }
         return writer.toString();
     }
+
+    /**
+     * Converts the provided value as a JSON object whose fields are written by the provided writer.
+     * <p>
+     * The fields are written straight to a {@link JsonGenerator} and a byte buffer which are reused by the
+     * subsequent calls of the current thread, so no intermediate map or writer is built.
+     *
+     * @param value  the provided value
+     * @param writer the writer of the fields of the value
+     * @param <T>    the type of the value
+     * @return the JSON as a string, or {@code null} if the writer didn't write any field
+     */
+    @Nullable
+    public <T> String toJson(T value, FieldsWriter<T> writer) {
+        final Stream stream = streams.get();
+        try {
+            final JsonGenerator generator = stream.generator;
+            generator.writeStartObject();
+            writer.writeFields(generator, value);
+            final boolean empty = generator.getOutputContext().getEntryCount() == 0;
+            generator.writeEndObject();
+            generator.flush();
+            if (empty) {
+                return null;
+            }
+            if (doesAppendLineSeparator) {
+                stream.buffer.write(LINE_SEPARATOR);
+            }
+            return stream.buffer.toUtf8String();
+        } catch (IOException e) {
+            // The generator may have been left in the middle of the object
+            streams.remove();
+            throw new IllegalArgumentException("Unable to format value as a JSON", e);
+        } catch (RuntimeException e) {
+            streams.remove();
+            throw e;
+        } finally {
+            stream.buffer.reset();
+        }
+    }
+
+    private Stream newStream() {
+        final Buffer buffer = new Buffer(bufferSize);
+        try {
+            final JsonGenerator generator = objectMapper.getFactory().createGenerator(buffer, JsonEncoding.UTF8);
+            if (prettyPrint) {
+                generator.setPrettyPrinter(new DefaultPrettyPrinter((SerializableString) null));
+            } else {
+                generator.setRootValueSeparator(null);
+            }
+            return new Stream(buffer, generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the fields of a value to a JSON object.
+     *
+     * @param <T> the type of the value
+     */
+    @FunctionalInterface
+    public interface FieldsWriter<T> {
+        void writeFields(JsonGenerator generator, T value) throws IOException;
+    }
+
+    private static final class Stream {
+        private final Buffer buffer;
+        private final JsonGenerator generator;
+
+        private Stream(Buffer buffer, JsonGenerator generator) {
+            this.buffer = buffer;
+            this.generator = generator;
+        }
+    }
+
+    private static final class Buffer extends ByteArrayOutputStream {
+        private final int initialSize;
+
+        private Buffer(int initialSize) {
+            super(initialSize);
+            this.initialSize = initialSize;
+        }
+
+        private String toUtf8String() {
+            return new String(buf, 0, count, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            if (buf.length > MAX_RETAINED_BUFFER_SIZE) {
+                buf = new byte[initialSize];
+            }
+        }
+    }
 }
@@ -1,8 +1,10 @@
 package io.dropwizard.logging.json.layout;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.google.common.collect.ImmutableMap;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
@@ -12,6 +14,7 @@ import java.util.Optional;
 /**
  * A faster timestamp formatter than the default one in Logback.
  * Also produces timestamps as numbers if the timestamp formatting is disabled.
+ * The last formatted timestamp is cached, as consecutive events are often logged within the same millisecond.
  */
 public class TimestampFormatter {
 
@@ -36,6 +39,9 @@ public class TimestampFormatter {
     @Nullable
     private final DateTimeFormatter dateTimeFormatter;
 
+    @Nullable
+    private volatile FormattedTimestamp lastFormatted;
+
     public TimestampFormatter(@Nullable String timestampFormat, ZoneId zoneId) {
         if (timestampFormat != null) {
             dateTimeFormatter = Optional.ofNullable(FORMATTERS.get(timestampFormat))
@@ -47,6 +53,37 @@ public class TimestampFormatter {
     }
 
     public Object format(long timestamp) {
-        return dateTimeFormatter == null ? timestamp : dateTimeFormatter.format(Instant.ofEpochMilli(timestamp));
+        return dateTimeFormatter == null ? timestamp : formatString(dateTimeFormatter, timestamp);
+    }
+
+    /**
+     * Writes the timestamp as a formatted string, or as a number if the timestamp formatting is disabled.
+     */
+    public void write(JsonGenerator generator, long timestamp) throws IOException {
+        if (dateTimeFormatter == null) {
+            generator.writeNumber(timestamp);
+        } else {
+            generator.writeString(formatString(dateTimeFormatter, timestamp));
+        }
+    }
+
+    private String formatString(DateTimeFormatter formatter, long timestamp) {
+        final FormattedTimestamp last = lastFormatted;
+        if (last != null && last.timestamp == timestamp) {
+            return last.formatted;
+        }
+        final String formatted = formatter.format(Instant.ofEpochMilli(timestamp));
+        lastFormatted = new FormattedTimestamp(timestamp, formatted);
+        return formatted;
+    }
+
+    private static final class FormattedTimestamp {
+        private final long timestamp;
+        private final String formatted;
+
+        private FormattedTimestamp(long timestamp, String formatted) {
+            this.timestamp = timestamp;
+            this.formatted = formatted;
+        }
     }
 }
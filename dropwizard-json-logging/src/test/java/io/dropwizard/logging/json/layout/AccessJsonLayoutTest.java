@@ -18,6 +18,8 @@ import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class AccessJsonLayoutTest {
@@ -194,4 +196,46 @@ public class AccessJsonLayoutTest {
         assertThat(json.get("userAgent").asText()).isEqualTo(userAgent);
         assertThat(json.get("remoteAddress").asText()).isEqualTo(remoteAddress);
     }
+
+    @Test
+    public void testStreamsTheSameJson() throws Exception {
+        assertStreamsTheSameJson(accessJsonLayout);
+    }
+
+    @Test
+    public void testStreamsEverything() throws Exception {
+        when(event.getRequestParameterMap()).thenReturn(ImmutableMap.of("age", new String[]{"22"}));
+        accessJsonLayout.setIncludes(EnumSet.allOf(AccessAttribute.class));
+        accessJsonLayout.setRequestHeaders(ImmutableSet.of("host"));
+        accessJsonLayout.setResponseHeaders(ImmutableSet.of("Transfer-Encoding", "Content-Type"));
+        accessJsonLayout.setJsonProtocolVersion("1.2");
+
+        assertStreamsTheSameJson(accessJsonLayout);
+    }
+
+    @Test
+    public void testStreamsCustomAndAdditionalFields() throws Exception {
+        assertStreamsTheSameJson(new AccessJsonLayout(jsonFormatter, timestampFormatter, includes,
+            ImmutableMap.of("remoteUser", "remote_user", "requestTime", "request_time"),
+            ImmutableMap.of("serviceName", "user-service", "serviceVersion", "1.2.3", "canary", true)));
+    }
+
+    @Test
+    public void testStreamingSkipsExcludedFields() throws Exception {
+        accessJsonLayout.setIncludes(EnumSet.of(AccessAttribute.STATUS_CODE, AccessAttribute.REQUEST_URI));
+        accessJsonLayout.setStreaming(true);
+
+        final JsonNode json = objectMapper.readTree(accessJsonLayout.doLayout(event));
+
+        assertThat(json.fieldNames()).toIterable().containsExactly("uri", "status");
+        verify(event, never()).getRemoteHost();
+        verify(event, never()).getRequestHeaderMap();
+        verify(event, never()).getResponseHeaderMap();
+    }
+
+    private void assertStreamsTheSameJson(AccessJsonLayout layout) throws Exception {
+        final JsonNode expected = objectMapper.readTree(layout.doLayout(event));
+        layout.setStreaming(true);
+        assertThat(objectMapper.readTree(layout.doLayout(event))).isEqualTo(expected);
+    }
 }
@@ -5,6 +5,7 @@ import ch.qos.logback.classic.pattern.ThrowableProxyConverter;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.LoggerContextVO;
 import ch.qos.logback.classic.spi.ThrowableProxyVO;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -22,6 +23,8 @@ import org.slf4j.Marker;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -214,4 +217,52 @@ public class EventJsonLayoutTest {
 
         verify(throwableProxyConverter).stop();
     }
+
+    @Test
+    public void testStreamsTheSameJson() throws Exception {
+        when(event.getThrowableProxy()).thenReturn(new ThrowableProxyVO());
+        when(throwableProxyConverter.convert(event)).thenReturn("Boom!");
+        eventJsonLayout.setJsonProtocolVersion("1.2");
+
+        assertStreamsTheSameJson(eventJsonLayout);
+    }
+
+    @Test
+    public void testStreamsCustomAndAdditionalFields() throws Exception {
+        assertStreamsTheSameJson(new EventJsonLayout(jsonFormatter, timestampFormatter, throwableProxyConverter,
+            includes, ImmutableMap.of("timestamp", "@timestamp", "message", "@message"),
+            ImmutableMap.of("serviceName", "userService", "serviceBuild", 207), ImmutableSet.of(), false));
+    }
+
+    @Test
+    public void testStreamsFilteredMdc() throws Exception {
+        assertStreamsTheSameJson(new EventJsonLayout(jsonFormatter, timestampFormatter, throwableProxyConverter,
+            includes, ImmutableMap.of(), ImmutableMap.of(), ImmutableSet.of("userId", "orderId"), false));
+    }
+
+    @Test
+    public void testStreamsFlattenedMdc() throws Exception {
+        assertStreamsTheSameJson(new EventJsonLayout(jsonFormatter, timestampFormatter, throwableProxyConverter,
+            includes, ImmutableMap.of("userId", "user_id"), ImmutableMap.of(), ImmutableSet.of(), true));
+    }
+
+    @Test
+    public void testStreamingSkipsExcludedFields() throws Exception {
+        when(event.getThrowableProxy()).thenReturn(new ThrowableProxyVO());
+        eventJsonLayout.setIncludes(EnumSet.of(EventAttribute.LEVEL, EventAttribute.MESSAGE));
+        eventJsonLayout.setStreaming(true);
+
+        final JsonNode json = objectMapper.readTree(eventJsonLayout.doLayout(event));
+
+        assertThat(json.fieldNames()).toIterable().containsExactly("level", "message");
+        verify(throwableProxyConverter, never()).convert(any());
+        verify(event, never()).getMDCPropertyMap();
+        verify(event, never()).getThreadName();
+    }
+
+    private void assertStreamsTheSameJson(EventJsonLayout layout) throws Exception {
+        final JsonNode expected = objectMapper.readTree(layout.doLayout(event));
+        layout.setStreaming(true);
+        assertThat(objectMapper.readTree(layout.doLayout(event))).isEqualTo(expected);
+    }
 }
@@ -1,14 +1,17 @@
 package io.dropwizard.logging.json.layout;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import io.dropwizard.jackson.Jackson;
 import org.junit.Test;
 
+import java.io.IOException;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class JsonFormatterTest {
 
@@ -48,4 +51,52 @@ public class JsonFormatterTest {
                 "  \"hobbies\" : [ \"Reading\", \"Biking\", \"Snorkeling\" ]%n" +
                 "}"));
     }
+
+    @Test
+    public void testStreamingNoPrettyPrintWithLineSeparator() {
+        JsonFormatter formatter = new JsonFormatter(objectMapper, false, true);
+        assertThat(formatter.toJson(map, this::writeFields)).isEqualTo(
+            "{\"name\":\"Jim\",\"hobbies\":[\"Reading\",\"Biking\",\"Snorkeling\"]}" + System.lineSeparator());
+    }
+
+    @Test
+    public void testStreamingPrettyPrintNoLineSeparator() {
+        JsonFormatter formatter = new JsonFormatter(objectMapper, true, false);
+        assertThat(formatter.toJson(map, this::writeFields)).isEqualTo(String.format("{%n" +
+                "  \"name\" : \"Jim\",%n" +
+                "  \"hobbies\" : [ \"Reading\", \"Biking\", \"Snorkeling\" ]%n" +
+                "}"));
+    }
+
+    @Test
+    public void testStreamingReusesTheGenerator() {
+        JsonFormatter formatter = new JsonFormatter(objectMapper, false, false);
+        assertThat(formatter.toJson(map, this::writeFields)).isEqualTo(formatter.toJson(map, this::writeFields));
+        assertThat(formatter.toJson(ImmutableMap.of("name", "Bob"), this::writeFields))
+            .isEqualTo("{\"name\":\"Bob\"}");
+    }
+
+    @Test
+    public void testStreamingNoFields() {
+        JsonFormatter formatter = new JsonFormatter(objectMapper, false, true);
+        assertThat(formatter.toJson(ImmutableMap.of(), this::writeFields)).isNull();
+        assertThat(formatter.toJson(map, this::writeFields)).startsWith("{\"name\"");
+    }
+
+    @Test
+    public void testStreamingRecoversFromFailures() {
+        JsonFormatter formatter = new JsonFormatter(objectMapper, false, false);
+        assertThatThrownBy(() -> formatter.toJson(map, (generator, value) -> {
+            generator.writeStringField("name", "Jim");
+            throw new IllegalStateException("Boom!");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(formatter.toJson(ImmutableMap.of("name", "Bob"), this::writeFields))
+            .isEqualTo("{\"name\":\"Bob\"}");
+    }
+
+    private void writeFields(JsonGenerator generator, Map<String, Object> fields) throws IOException {
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+            generator.writeObjectField(field.getKey(), field.getValue());
+        }
+    }
 }
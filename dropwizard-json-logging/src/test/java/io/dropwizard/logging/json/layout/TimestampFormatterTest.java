@@ -30,4 +30,13 @@ public class TimestampFormatterTest {
             ZoneId.of("GMT+01:00"));
         assertThat(timestampFormatter.format(timestamp)).isEqualTo(timestamp);
     }
+
+    @Test
+    public void testReusesTheLastFormattedTimestamp() {
+        TimestampFormatter timestampFormatter = new TimestampFormatter("yyyy-MM-dd'T'HH:mm:ss.SSSZ",
+            ZoneId.of("GMT+01:00"));
+        Object formatted = timestampFormatter.format(timestamp);
+        assertThat(timestampFormatter.format(timestamp)).isSameAs(formatted);
+        assertThat(timestampFormatter.format(timestamp + 1)).isEqualTo("2017-12-22T16:30:31.001+0100");
+    }
 }
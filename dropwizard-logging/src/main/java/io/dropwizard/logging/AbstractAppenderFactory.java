@@ -18,6 +18,8 @@ import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import io.dropwizard.jackson.Jackson;
 import io.dropwizard.logging.async.AsyncAppenderFactory;
+import io.dropwizard.logging.async.RingBufferAsyncLoggingEventAppender;
+import io.dropwizard.logging.async.WaitStrategy;
 import io.dropwizard.logging.filter.FilterFactory;
 import io.dropwizard.logging.layout.DiscoverableLayoutFactory;
 import io.dropwizard.logging.layout.LayoutFactory;
@@ -82,6 +84,22 @@ import static com.google.common.base.Strings.nullToEmpty;
  *         </td>
  *     </tr>
  *     <tr>
+ *         <td>{@code ringBuffer}</td>
+ *         <td>{@code false}</td>
+ *         <td>
+ *             Whether to queue events in a lock-free ring buffer rather than a blocking queue, so that logging
+ *             threads don't contend on a lock. Discarded and dropped events are reported as metrics.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code waitStrategy}</td>
+ *         <td>{@code blocking}</td>
+ *         <td>
+ *             How the worker of the ring buffer waits for events: {@code blocking}, {@code sleeping},
+ *             {@code yielding} or {@code busy-spin}. See {@link WaitStrategy}.
+ *         </td>
+ *     </tr>
+ *     <tr>
  *         <td>{@code filterFactories}</td>
  *         <td>(none)</td>
  *         <td>
@@ -117,6 +135,11 @@ public abstract class AbstractAppenderFactory<E extends DeferredProcessingAware>
 
     private boolean neverBlock = false;
 
+    private boolean ringBuffer = false;
+
+    @NotNull
+    private WaitStrategy waitStrategy = WaitStrategy.BLOCKING;
+
     @JsonProperty
     public int getQueueSize() {
         return queueSize;
@@ -199,6 +222,26 @@ public abstract class AbstractAppenderFactory<E extends DeferredProcessingAware>
         this.neverBlock = neverBlock;
     }
 
+    @JsonProperty
+    public boolean isRingBuffer() {
+        return ringBuffer;
+    }
+
+    @JsonProperty
+    public void setRingBuffer(boolean ringBuffer) {
+        this.ringBuffer = ringBuffer;
+    }
+
+    @JsonProperty
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    @JsonProperty
+    public void setWaitStrategy(WaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+
     @Nullable
     public DiscoverableLayoutFactory getLayout() {
         return layout;
@@ -213,9 +256,12 @@ public abstract class AbstractAppenderFactory<E extends DeferredProcessingAware>
     }
 
     protected Appender<E> wrapAsync(Appender<E> appender, AsyncAppenderFactory<E> asyncAppenderFactory, Context context) {
-        final AsyncAppenderBase<E> asyncAppender = asyncAppenderFactory.build();
+        final AsyncAppenderBase<E> asyncAppender = ringBuffer
+            ? asyncAppenderFactory.build(waitStrategy) : asyncAppenderFactory.build();
         if (asyncAppender instanceof AsyncAppender) {
             ((AsyncAppender) asyncAppender).setIncludeCallerData(includeCallerData);
+        } else if (asyncAppender instanceof RingBufferAsyncLoggingEventAppender) {
+            ((RingBufferAsyncLoggingEventAppender) asyncAppender).setIncludeCallerData(includeCallerData);
         }
         asyncAppender.setQueueSize(queueSize);
         asyncAppender.setDiscardingThreshold(discardingThreshold);
@@ -10,8 +10,10 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.ConsoleAppender;
 import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
+import ch.qos.logback.core.spi.AppenderAttachable;
 import ch.qos.logback.core.util.StatusPrinter;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricSet;
 import com.codahale.metrics.logback.InstrumentedAppender;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -26,6 +28,7 @@ import com.google.common.collect.Lists;
 import io.dropwizard.jackson.Jackson;
 import io.dropwizard.logging.async.AsyncAppenderFactory;
 import io.dropwizard.logging.async.AsyncLoggingEventAppenderFactory;
+import io.dropwizard.logging.async.RingBufferAsyncAppender;
 import io.dropwizard.logging.filter.LevelFilterFactory;
 import io.dropwizard.logging.filter.ThresholdLevelFilterFactory;
 import io.dropwizard.logging.layout.DropwizardLayoutFactory;
@@ -43,8 +46,11 @@ import javax.validation.constraints.NotNull;
 import java.io.PrintStream;
 import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TimeZone;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -169,6 +175,8 @@ public class DefaultLoggingFactory implements LoggingFactory {
             for (Appender<ILoggingEvent> appender : appenders) {
                 if (appender instanceof AsyncAppender) {
                     flushAppender((AsyncAppender) appender);
+                } else if (appender instanceof RingBufferAsyncAppender) {
+                    flushAppender((RingBufferAsyncAppender<ILoggingEvent>) appender);
                 }
             }
         } catch (InterruptedException ignored) {
@@ -221,11 +229,50 @@ public class DefaultLoggingFactory implements LoggingFactory {
         }
     }
 
+    private void flushAppender(RingBufferAsyncAppender<ILoggingEvent> appender) throws InterruptedException {
+        if (!appender.flush(appender.getMaxFlushTime())) {
+            appender.addWarn(appender.getNumberOfElementsInQueue() + " events may be discarded");
+        }
+    }
+
     private void configureInstrumentation(Logger root, MetricRegistry metricRegistry) {
         final InstrumentedAppender appender = new InstrumentedAppender(metricRegistry);
         appender.setContext(loggerContext);
         appender.start();
         root.addAppender(appender);
+
+        final Set<String> prefixes = new HashSet<>();
+        final Iterator<Appender<ILoggingEvent>> appenders = root.iteratorForAppenders();
+        while (appenders.hasNext()) {
+            registerAppenderMetrics(appenders.next(), metricRegistry, prefixes);
+        }
+    }
+
+    /**
+     * Registers the metrics of the appenders which report their own, such as the batching UDP appender,
+     * including the appenders wrapped by asynchronous appenders. Appenders of the same class and name, such as several
+     * file appenders, are told apart by a numeric suffix in the order they are configured.
+     */
+    private void registerAppenderMetrics(Appender<ILoggingEvent> appender, MetricRegistry metricRegistry,
+                                         Set<String> prefixes) {
+        if (appender instanceof MetricSet) {
+            final String name = MetricRegistry.name(appender.getClass(), appender.getName());
+            String prefix = name;
+            for (int i = 2; !prefixes.add(prefix); i++) {
+                prefix = name + "-" + i;
+            }
+            final String uniquePrefix = prefix;
+            metricRegistry.removeMatching((metricName, metric) -> metricName.startsWith(uniquePrefix + "."));
+            metricRegistry.register(uniquePrefix, (MetricSet) appender);
+        }
+        if (appender instanceof AppenderAttachable) {
+            @SuppressWarnings("unchecked")
+            final Iterator<Appender<ILoggingEvent>> attached =
+                ((AppenderAttachable<ILoggingEvent>) appender).iteratorForAppenders();
+            while (attached.hasNext()) {
+                registerAppenderMetrics(attached.next(), metricRegistry, prefixes);
+            }
+        }
     }
 
     private void configureJMX() {
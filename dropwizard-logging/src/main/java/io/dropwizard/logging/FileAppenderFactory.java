@@ -16,14 +16,22 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dropwizard.logging.async.AsyncAppenderFactory;
+import io.dropwizard.logging.file.GroupCommitFileAppender;
+import io.dropwizard.logging.file.GroupCommitRollingFileAppender;
 import io.dropwizard.logging.filter.LevelFilterFactory;
 import io.dropwizard.logging.layout.LayoutFactory;
+import io.dropwizard.util.Duration;
 import io.dropwizard.util.Size;
+import io.dropwizard.util.SizeUnit;
+import io.dropwizard.validation.MaxSize;
+import io.dropwizard.validation.MinDuration;
 import io.dropwizard.validation.MinSize;
 import io.dropwizard.validation.ValidationMethod;
 
 import javax.annotation.Nullable;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Objects.requireNonNull;
 
@@ -117,7 +125,28 @@ import static java.util.Objects.requireNonNull;
  *             If set to true, log events will be immediately flushed to disk. Immediate flushing is safer, but
  *             it degrades logging throughput.
  *             See <a href="https://logback.qos.ch/manual/appenders.html#immediateFlush">the Logback documentation</a>
- *             for details.
+ *             for details. Ignored when {@code groupCommit} is enabled.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code groupCommit}</td>
+ *         <td>{@code false}</td>
+ *         <td>
+ *             Whether to write log events in batches, each written and flushed to disk at once, rather than with
+ *             a write for each event. The write latency and the number of events per batch are reported as metrics.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxBatchSize}</td>
+ *         <td>64KiB</td>
+ *         <td>The size at which a batch of log events is written when {@code groupCommit} is enabled.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code commitInterval}</td>
+ *         <td>100ms</td>
+ *         <td>
+ *             The maximum time log events wait in a batch which isn't full when {@code groupCommit} is enabled.
+ *             This bounds the events lost if the process crashes.
  *         </td>
  *     </tr>
  * </table>
@@ -146,6 +175,17 @@ public class FileAppenderFactory<E extends DeferredProcessingAware> extends Abst
 
     private boolean immediateFlush = true;
 
+    private boolean groupCommit;
+
+    @NotNull
+    @MinSize(1)
+    @MaxSize(value = 64, unit = SizeUnit.MEGABYTES)
+    private Size maxBatchSize = Size.kilobytes(64);
+
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.MILLISECONDS)
+    private Duration commitInterval = Duration.milliseconds(100);
+
     @JsonProperty
     @Nullable
     public String getCurrentLogFilename() {
@@ -218,6 +258,36 @@ public class FileAppenderFactory<E extends DeferredProcessingAware> extends Abst
         this.immediateFlush = immediateFlush;
     }
 
+    @JsonProperty
+    public boolean isGroupCommit() {
+        return groupCommit;
+    }
+
+    @JsonProperty
+    public void setGroupCommit(boolean groupCommit) {
+        this.groupCommit = groupCommit;
+    }
+
+    @JsonProperty
+    public Size getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    @JsonProperty
+    public void setMaxBatchSize(Size maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @JsonProperty
+    public Duration getCommitInterval() {
+        return commitInterval;
+    }
+
+    @JsonProperty
+    public void setCommitInterval(Duration commitInterval) {
+        this.commitInterval = commitInterval;
+    }
+
     @JsonIgnore
     @ValidationMethod(message = "must have archivedLogFilenamePattern if archive is true")
     public boolean isValidArchiveConfiguration() {
@@ -250,14 +320,17 @@ public class FileAppenderFactory<E extends DeferredProcessingAware> extends Abst
         appender.setName("file-appender");
         appender.setAppend(true);
         appender.setContext(context);
-        appender.setImmediateFlush(immediateFlush);
+        // Group commit flushes the batches of events itself
+        appender.setImmediateFlush(immediateFlush && !groupCommit);
         appender.setPrudent(false);
         return appender;
     }
 
     protected FileAppender<E> buildAppender(LoggerContext context) {
         if (archive) {
-            final RollingFileAppender<E> appender = new RollingFileAppender<>();
+            final RollingFileAppender<E> appender = groupCommit
+                ? new GroupCommitRollingFileAppender<>((int) maxBatchSize.toBytes(), commitInterval.toMilliseconds())
+                : new RollingFileAppender<>();
             appender.setContext(context);
             appender.setFile(currentLogFilename);
             appender.setBufferSize(new FileSize(bufferSize.toBytes()));
@@ -307,7 +380,9 @@ public class FileAppenderFactory<E extends DeferredProcessingAware> extends Abst
             }
         }
 
-        final FileAppender<E> appender = new FileAppender<>();
+        final FileAppender<E> appender = groupCommit
+            ? new GroupCommitFileAppender<>((int) maxBatchSize.toBytes(), commitInterval.toMilliseconds())
+            : new FileAppender<>();
         appender.setContext(context);
         appender.setFile(currentLogFilename);
         appender.setBufferSize(new FileSize(bufferSize.toBytes()));
@@ -5,10 +5,18 @@ import ch.qos.logback.core.OutputStreamAppender;
 import ch.qos.logback.core.spi.DeferredProcessingAware;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dropwizard.logging.socket.DropwizardBatchingUdpSocketAppender;
 import io.dropwizard.logging.socket.DropwizardUdpSocketAppender;
+import io.dropwizard.util.Duration;
+import io.dropwizard.util.Size;
+import io.dropwizard.validation.MaxSize;
+import io.dropwizard.validation.MinSize;
 import io.dropwizard.validation.PortRange;
 import org.hibernate.validator.constraints.NotEmpty;
 
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
 /**
  * An {@link AppenderFactory} implementation which provides an appender that writes events to an UDP socket.
  * <p/>
@@ -29,6 +37,32 @@ import org.hibernate.validator.constraints.NotEmpty;
  * <td>{@code 514}</td>
  * <td>The port on which the UDP server is listening.</td>
  * </tr>
+ * <tr>
+ * <td>{@code batched}</td>
+ * <td>{@code false}</td>
+ * <td>Whether to pack several newline-delimited events in each datagram, sent by a dedicated I/O thread,
+ * rather than sending a datagram per event from the logging thread.</td>
+ * </tr>
+ * <tr>
+ * <td>{@code maxPacketSize}</td>
+ * <td>1472 bytes</td>
+ * <td>The maximum size of a batched datagram. The default fits in an Ethernet frame.</td>
+ * </tr>
+ * <tr>
+ * <td>{@code linger}</td>
+ * <td>100 milliseconds</td>
+ * <td>How long to wait for more events before sending a batched datagram which isn't full.</td>
+ * </tr>
+ * <tr>
+ * <td>{@code dnsRefreshInterval}</td>
+ * <td>1 minute</td>
+ * <td>How often to resolve the hostname of the UDP server again when batching.</td>
+ * </tr>
+ * <tr>
+ * <td>{@code queueSize}</td>
+ * <td>{@code 1024}</td>
+ * <td>The maximum number of events waiting to be batched. Events are dropped when the queue is full.</td>
+ * </tr>
  * </table>
  */
 @JsonTypeName("udp")
@@ -40,6 +74,22 @@ public class UdpSocketAppenderFactory<E extends DeferredProcessingAware> extends
     @PortRange
     private int port = 514;
 
+    private boolean batched;
+
+    @NotNull
+    @MinSize(64)
+    @MaxSize(65507)
+    private Size maxPacketSize = Size.bytes(1472);
+
+    @NotNull
+    private Duration linger = Duration.milliseconds(100);
+
+    @NotNull
+    private Duration dnsRefreshInterval = Duration.minutes(1);
+
+    @Min(1)
+    private int queueSize = 1024;
+
     @JsonProperty
     public String getHost() {
         return host;
@@ -60,9 +110,62 @@ public class UdpSocketAppenderFactory<E extends DeferredProcessingAware> extends
         this.port = port;
     }
 
+    @JsonProperty
+    public boolean isBatched() {
+        return batched;
+    }
+
+    @JsonProperty
+    public void setBatched(boolean batched) {
+        this.batched = batched;
+    }
+
+    @JsonProperty
+    public Size getMaxPacketSize() {
+        return maxPacketSize;
+    }
+
+    @JsonProperty
+    public void setMaxPacketSize(Size maxPacketSize) {
+        this.maxPacketSize = maxPacketSize;
+    }
+
+    @JsonProperty
+    public Duration getLinger() {
+        return linger;
+    }
+
+    @JsonProperty
+    public void setLinger(Duration linger) {
+        this.linger = linger;
+    }
+
+    @JsonProperty
+    public Duration getDnsRefreshInterval() {
+        return dnsRefreshInterval;
+    }
+
+    @JsonProperty
+    public void setDnsRefreshInterval(Duration dnsRefreshInterval) {
+        this.dnsRefreshInterval = dnsRefreshInterval;
+    }
+
+    @JsonProperty
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    @JsonProperty
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
     @Override
     protected OutputStreamAppender<E> appender(LoggerContext context) {
-        final DropwizardUdpSocketAppender<E> appender = new DropwizardUdpSocketAppender<>(host, port);
+        final OutputStreamAppender<E> appender = batched
+            ? new DropwizardBatchingUdpSocketAppender<>(host, port, (int) maxPacketSize.toBytes(),
+                linger.toMilliseconds(), dnsRefreshInterval.toMilliseconds(), queueSize)
+            : new DropwizardUdpSocketAppender<>(host, port);
         appender.setContext(context);
         appender.setName("udp-socket-appender");
         return appender;
@@ -14,4 +14,13 @@ public interface AsyncAppenderFactory<E extends DeferredProcessingAware> {
      * @return a new {@link AsyncAppenderBase}
      */
     AsyncAppenderBase<E> build();
+
+    /**
+     * Creates an {@link AsyncAppenderBase} of type E which queues events in a lock-free ring buffer
+     * @param waitStrategy how the worker of the appender waits for events
+     * @return a new {@link RingBufferAsyncAppender}
+     */
+    default AsyncAppenderBase<E> build(WaitStrategy waitStrategy) {
+        return new RingBufferAsyncAppender<>(waitStrategy);
+    }
 }
@@ -17,4 +17,14 @@ public class AsyncLoggingEventAppenderFactory implements AsyncAppenderFactory<IL
     public AsyncAppenderBase<ILoggingEvent> build() {
         return new AsyncAppender();
     }
+
+    /**
+     * Creates a {@link RingBufferAsyncAppender} of type {@link ILoggingEvent}
+     * @param waitStrategy how the worker of the appender waits for events
+     * @return the {@link RingBufferAsyncAppender}
+     */
+    @Override
+    public AsyncAppenderBase<ILoggingEvent> build(WaitStrategy waitStrategy) {
+        return new RingBufferAsyncLoggingEventAppender(waitStrategy);
+    }
 }
@@ -0,0 +1,130 @@
+package io.dropwizard.logging.async;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A bounded, lock-free ring buffer with multiple producers and a single consumer.
+ * <p/>
+ * Producers claim a position with a compare-and-set on the tail, and publish their element by advancing the sequence
+ * of its slot. The consumer frees a slot by moving its sequence one lap ahead, which is what a producer waits for
+ * before claiming the slot again.
+ *
+ * @param <E> the type of the elements
+ */
+class MpscRingBuffer<E> {
+    // A slot published at position p has the sequence p + 1, which a single slot would mistake for free
+    private static final int MINIMUM_CAPACITY = 2;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+
+    // Only written by the consumer, once per drained batch
+    private volatile long head;
+
+    MpscRingBuffer(int minimumCapacity) {
+        this.capacity = capacityFor(minimumCapacity);
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Rounds the requested capacity up to a power of two, within {@code [2, 2^30]}.
+     */
+    static int capacityFor(int minimumCapacity) {
+        if (minimumCapacity <= MINIMUM_CAPACITY) {
+            return MINIMUM_CAPACITY;
+        } else if (minimumCapacity > MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Integer.highestOneBit(minimumCapacity - 1) << 1;
+    }
+
+    /**
+     * Adds an element, unless the buffer is full.
+     *
+     * @return whether the element has been added
+     */
+    boolean offer(E element) {
+        while (true) {
+            final long position = tail.get();
+            final int index = (int) position & mask;
+            final long sequence = sequences.get(index);
+            if (sequence < position) {
+                // The consumer hasn't freed the slot of the previous lap yet
+                return false;
+            }
+            if (sequence == position && tail.compareAndSet(position, position + 1)) {
+                elements.lazySet(index, element);
+                sequences.lazySet(index, position + 1);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Passes up to {@code limit} elements to the consumer, in order. Must only be called by the consumer thread.
+     *
+     * @return the number of consumed elements
+     */
+    int drain(Consumer<E> consumer, int limit) {
+        long position = head;
+        int drained = 0;
+        try {
+            while (drained < limit) {
+                final int index = (int) position & mask;
+                if (sequences.get(index) != position + 1) {
+                    break;
+                }
+                @Nullable final E element = elements.get(index);
+                elements.lazySet(index, null);
+                sequences.lazySet(index, position + capacity);
+                position++;
+                drained++;
+                if (element != null) {
+                    consumer.accept(element);
+                }
+            }
+        } finally {
+            head = position;
+        }
+        return drained;
+    }
+
+    /**
+     * Returns the number of elements added to the buffer so far, including the ones being published.
+     */
+    long produced() {
+        return tail.get();
+    }
+
+    /**
+     * Returns the number of elements consumed so far.
+     */
+    long consumed() {
+        return head;
+    }
+
+    int size() {
+        return (int) Math.max(0, Math.min(capacity, produced() - consumed()));
+    }
+
+    boolean isEmpty() {
+        return produced() == consumed();
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,315 @@
+package io.dropwizard.logging.async;
+
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AsyncAppenderBase;
+import ch.qos.logback.core.spi.DeferredProcessingAware;
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import com.google.common.collect.ImmutableMap;
+
+import javax.annotation.Nullable;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * An asynchronous appender which queues events in a lock-free ring buffer, rather than the
+ * {@link java.util.concurrent.ArrayBlockingQueue} of {@link AsyncAppenderBase}, so that logging threads don't contend
+ * on a lock. A worker thread drains the events by batches to the attached appender.
+ * <p/>
+ * Like {@link AsyncAppenderBase}, discardable events are discarded when the remaining capacity of the buffer falls
+ * below the discarding threshold, and events are dropped when the buffer is full if {@code neverBlock} is set.
+ * Otherwise, logging threads wait for the worker to free some room. Discarded and dropped events are counted.
+ * <p/>
+ * {@link #flush(long)} waits until the events queued before the call have been appended.
+ * <p/>
+ * The queue size is rounded up to a power of two, and to at least 2.
+ *
+ * @param <E> the type of log event
+ */
+public class RingBufferAsyncAppender<E extends DeferredProcessingAware> extends AsyncAppenderBase<E>
+    implements MetricSet {
+
+    private static final int BATCH_SIZE = 256;
+    private static final long PRODUCER_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long SLEEP_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+
+    private final WaitStrategy waitStrategy;
+    private final Counter dropped = new Counter();
+    private final Counter discarded = new Counter();
+    private final Object flushLock = new Object();
+    private final Consumer<E> dispatcher = this::dispatch;
+
+    @Nullable
+    private volatile MpscRingBuffer<E> buffer;
+
+    @Nullable
+    private volatile Worker ringBufferWorker;
+
+    @Nullable
+    private Appender<E> appender;
+
+    private volatile boolean running;
+    private volatile boolean workerParked;
+    private volatile int flushWaiters;
+
+    public RingBufferAsyncAppender(WaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        final Iterator<Appender<E>> appenders = iteratorForAppenders();
+        if (!appenders.hasNext()) {
+            addError("No attached appenders found.");
+            return;
+        }
+        if (getQueueSize() < 1) {
+            addError("Invalid queue size [" + getQueueSize() + "]");
+            return;
+        }
+        this.appender = appenders.next();
+        final MpscRingBuffer<E> ringBuffer = new MpscRingBuffer<>(getQueueSize());
+        if (getDiscardingThreshold() < 0) {
+            setDiscardingThreshold(ringBuffer.capacity() / 5);
+        }
+        this.buffer = ringBuffer;
+        this.running = true;
+
+        final Worker worker = new Worker(ringBuffer);
+        worker.setDaemon(true);
+        worker.setName("RingBufferAsyncAppender-Worker-" + getName());
+        this.ringBufferWorker = worker;
+        started = true;
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        started = false;
+        running = false;
+        final Worker worker = ringBufferWorker;
+        if (worker == null) {
+            return;
+        }
+        LockSupport.unpark(worker);
+        try {
+            worker.join(getMaxFlushTime());
+            if (worker.isAlive()) {
+                addWarn("Max queue flush timeout (" + getMaxFlushTime() + " ms) exceeded. Approximately "
+                    + getNumberOfElementsInQueue() + " queued events were possibly discarded.");
+                worker.interrupt();
+            } else {
+                addInfo("Queue flush finished successfully within timeout.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            addError("Failed to join worker thread. " + getNumberOfElementsInQueue() + " queued events may be discarded.",
+                e);
+        }
+    }
+
+    @Override
+    protected void append(E eventObject) {
+        final MpscRingBuffer<E> ringBuffer = buffer;
+        if (ringBuffer == null) {
+            return;
+        }
+        if (ringBuffer.capacity() - ringBuffer.size() < getDiscardingThreshold() && isDiscardable(eventObject)) {
+            discarded.inc();
+            return;
+        }
+        preprocess(eventObject);
+        if (!ringBuffer.offer(eventObject) && !offerSlowly(ringBuffer, eventObject)) {
+            dropped.inc();
+            return;
+        }
+        if (workerParked) {
+            final Worker worker = ringBufferWorker;
+            if (worker != null) {
+                LockSupport.unpark(worker);
+            }
+        }
+    }
+
+    private boolean offerSlowly(MpscRingBuffer<E> ringBuffer, E eventObject) {
+        if (isNeverBlock()) {
+            return false;
+        }
+        boolean interrupted = false;
+        try {
+            while (isStarted()) {
+                final Worker worker = ringBufferWorker;
+                if (worker != null) {
+                    LockSupport.unpark(worker);
+                }
+                LockSupport.parkNanos(this, PRODUCER_BACKOFF_NANOS);
+                // Like AsyncAppenderBase, keeps trying when interrupted, and restores the interrupt afterwards
+                interrupted |= Thread.interrupted();
+                if (ringBuffer.offer(eventObject)) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    protected void preprocess(E eventObject) {
+        eventObject.prepareForDeferredProcessing();
+    }
+
+    /**
+     * Waits until the events queued before the call have been appended by the worker.
+     *
+     * @param timeoutMillis the maximum time to wait, in milliseconds
+     * @return whether the events have been appended before the timeout
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public boolean flush(long timeoutMillis) throws InterruptedException {
+        final MpscRingBuffer<E> ringBuffer = buffer;
+        if (ringBuffer == null) {
+            return true;
+        }
+        final long target = ringBuffer.produced();
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (flushLock) {
+            flushWaiters++;
+            try {
+                while (ringBuffer.consumed() < target) {
+                    final long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    final Worker worker = ringBufferWorker;
+                    if (worker != null) {
+                        LockSupport.unpark(worker);
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(flushLock, remaining);
+                }
+                return true;
+            } finally {
+                flushWaiters--;
+            }
+        }
+    }
+
+    @Override
+    public int getNumberOfElementsInQueue() {
+        final MpscRingBuffer<E> ringBuffer = buffer;
+        return ringBuffer == null ? 0 : ringBuffer.size();
+    }
+
+    @Override
+    public int getRemainingCapacity() {
+        final MpscRingBuffer<E> ringBuffer = buffer;
+        return ringBuffer == null ? getQueueSize() : ringBuffer.capacity() - ringBuffer.size();
+    }
+
+    /**
+     * Returns the number of queued events, the remaining capacity of the buffer, and the numbers of discarded and
+     * dropped events.
+     */
+    @Override
+    public Map<String, Metric> getMetrics() {
+        return ImmutableMap.of(
+            "size", (Gauge<Integer>) this::getNumberOfElementsInQueue,
+            "remaining-capacity", (Gauge<Integer>) this::getRemainingCapacity,
+            "discarded", discarded,
+            "dropped", dropped);
+    }
+
+    private void dispatch(E eventObject) {
+        final Appender<E> target = appender;
+        if (target == null) {
+            return;
+        }
+        try {
+            target.doAppend(eventObject);
+        } catch (RuntimeException e) {
+            addError("Unable to append an event to " + target.getName(), e);
+        }
+    }
+
+    private int idle(MpscRingBuffer<E> ringBuffer, int idleTries) {
+        switch (waitStrategy) {
+            case BUSY_SPIN:
+                return idleTries;
+            case YIELDING:
+                Thread.yield();
+                return idleTries;
+            case SLEEPING:
+                if (idleTries < SPIN_TRIES) {
+                    return idleTries + 1;
+                }
+                if (idleTries < YIELD_TRIES) {
+                    Thread.yield();
+                    return idleTries + 1;
+                }
+                LockSupport.parkNanos(this, SLEEP_NANOS);
+                return idleTries;
+            case BLOCKING:
+            default:
+                workerParked = true;
+                // Checks again after publishing the flag, so that a concurrent append can't be missed
+                if (running && ringBuffer.isEmpty()) {
+                    LockSupport.parkNanos(this, PARK_NANOS);
+                }
+                workerParked = false;
+                return idleTries;
+        }
+    }
+
+    private class Worker extends Thread {
+        private final MpscRingBuffer<E> ringBuffer;
+
+        private Worker(MpscRingBuffer<E> ringBuffer) {
+            this.ringBuffer = ringBuffer;
+        }
+
+        @Override
+        public void run() {
+            int idleTries = 0;
+            try {
+                while (!isInterrupted() && (running || !ringBuffer.isEmpty())) {
+                    if (ringBuffer.drain(dispatcher, BATCH_SIZE) > 0) {
+                        idleTries = 0;
+                        if (flushWaiters > 0) {
+                            synchronized (flushLock) {
+                                flushLock.notifyAll();
+                            }
+                        }
+                    } else {
+                        idleTries = idle(ringBuffer, idleTries);
+                    }
+                }
+            } finally {
+                synchronized (flushLock) {
+                    flushLock.notifyAll();
+                }
+                detachAndStopAllAppenders();
+            }
+        }
+    }
+}
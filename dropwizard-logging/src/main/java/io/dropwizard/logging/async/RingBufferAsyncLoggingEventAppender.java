@@ -0,0 +1,39 @@
+package io.dropwizard.logging.async;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * A {@link RingBufferAsyncAppender} for {@link ILoggingEvent}, which behaves like logback's
+ * {@link ch.qos.logback.classic.AsyncAppender}: events of level TRACE, DEBUG and INFO are discardable, and caller
+ * data is only extracted if it's included.
+ */
+public class RingBufferAsyncLoggingEventAppender extends RingBufferAsyncAppender<ILoggingEvent> {
+
+    private boolean includeCallerData;
+
+    public RingBufferAsyncLoggingEventAppender(WaitStrategy waitStrategy) {
+        super(waitStrategy);
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        return event.getLevel().toInt() <= Level.INFO_INT;
+    }
+
+    @Override
+    protected void preprocess(ILoggingEvent eventObject) {
+        eventObject.prepareForDeferredProcessing();
+        if (includeCallerData) {
+            eventObject.getCallerData();
+        }
+    }
+
+    public boolean isIncludeCallerData() {
+        return includeCallerData;
+    }
+
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+}
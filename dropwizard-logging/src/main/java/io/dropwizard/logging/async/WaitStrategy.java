@@ -0,0 +1,28 @@
+package io.dropwizard.logging.async;
+
+/**
+ * How the worker of a {@link RingBufferAsyncAppender} waits for events when its ring buffer is empty.
+ */
+public enum WaitStrategy {
+
+    /**
+     * Spins on the ring buffer. The lowest latency, at the cost of a busy core.
+     */
+    BUSY_SPIN,
+
+    /**
+     * Spins on the ring buffer, yielding to other threads between checks.
+     */
+    YIELDING,
+
+    /**
+     * Spins, then yields, then sleeps for short periods between checks. Doesn't slow down the logging threads.
+     */
+    SLEEPING,
+
+    /**
+     * Parks until a logging thread wakes it up. Uses the least CPU, but logging threads have to wake up the
+     * worker when it's parked.
+     */
+    BLOCKING
+}
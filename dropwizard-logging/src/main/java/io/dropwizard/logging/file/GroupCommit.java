@@ -0,0 +1,162 @@
+package io.dropwizard.logging.file;
+
+import ch.qos.logback.core.spi.ContextAware;
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import com.codahale.metrics.Timer;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Batches the events written by a file appender, and writes and flushes each batch to the file at once.
+ * <p/>
+ * A batch is committed when the next event doesn't fit in it, or by a background thread at a fixed interval, which
+ * bounds how long an event can stay in memory. Every access to the batch is guarded by the lock of the appender, which
+ * it already holds when writing events, opening a new file on rollover, or closing the current one.
+ */
+final class GroupCommit implements MetricSet {
+    private final ContextAware appender;
+    private final ReentrantLock lock;
+    private final byte[] batch;
+    private final long intervalNanos;
+
+    private final Timer writeLatency = new Timer();
+    private final Histogram batchSize = new Histogram(new ExponentiallyDecayingReservoir());
+
+    private int length;
+    private int events;
+
+    @Nullable
+    private BatchingOutputStream current;
+
+    @Nullable
+    private ScheduledExecutorService committer;
+
+    GroupCommit(ContextAware appender, ReentrantLock lock, int maxBatchSize, long commitIntervalMillis) {
+        this.appender = appender;
+        this.lock = lock;
+        this.batch = new byte[maxBatchSize];
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(commitIntervalMillis);
+    }
+
+    /**
+     * Wraps the stream of a newly opened file, so that the events written to it are batched.
+     */
+    OutputStream wrap(OutputStream out) {
+        final BatchingOutputStream stream = new BatchingOutputStream(out);
+        current = stream;
+        return stream;
+    }
+
+    void start(String name) {
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat("group-commit-" + name + "-%d")
+            .build());
+        scheduler.scheduleWithFixedDelay(this::commitPending, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+        this.committer = scheduler;
+    }
+
+    void stop() {
+        if (committer != null) {
+            // Not interrupted, which would close the channel of a file being written
+            committer.shutdown();
+            committer = null;
+        }
+    }
+
+    @Override
+    public Map<String, Metric> getMetrics() {
+        return ImmutableMap.of(
+            "write-latency", writeLatency,
+            "batch-size", batchSize);
+    }
+
+    private void commitPending() {
+        lock.lock();
+        // Counted before the flush, which discards the batch even if it fails
+        final int pending = events;
+        try {
+            if (current != null) {
+                current.flush();
+            }
+        } catch (IOException | RuntimeException e) {
+            // Not rethrown, which would cancel the next commits
+            appender.addWarn("Unable to commit " + pending + " log events", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(OutputStream out, byte[] bytes, int off, int len, int count) throws IOException {
+        final long start = System.nanoTime();
+        out.write(bytes, off, len);
+        out.flush();
+        writeLatency.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchSize.update(count);
+    }
+
+    private class BatchingOutputStream extends OutputStream {
+        private final OutputStream out;
+
+        private BatchingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (length + len > batch.length) {
+                flush();
+            }
+            if (len >= batch.length) {
+                // Larger than a batch, written on its own
+                GroupCommit.this.write(out, b, off, len, 1);
+                return;
+            }
+            System.arraycopy(b, off, batch, length, len);
+            length += len;
+            events++;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (length == 0) {
+                return;
+            }
+            try {
+                GroupCommit.this.write(out, batch, 0, length, events);
+            } finally {
+                length = 0;
+                events = 0;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                if (current == this) {
+                    current = null;
+                }
+                out.close();
+            }
+        }
+    }
+}
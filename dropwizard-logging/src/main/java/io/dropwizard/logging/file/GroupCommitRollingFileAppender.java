@@ -0,0 +1,54 @@
+package io.dropwizard.logging.file;
+
+import ch.qos.logback.core.rolling.RollingFileAppender;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * A {@link RollingFileAppender} which writes events in batches, committed when they are full or at a fixed interval,
+ * rather than with a write for each event. The pending batch is committed to the current file before it is rolled
+ * over.
+ *
+ * @see GroupCommitFileAppender
+ */
+public class GroupCommitRollingFileAppender<E> extends RollingFileAppender<E> implements MetricSet {
+    private final GroupCommit groupCommit;
+
+    /**
+     * @param maxBatchSize         the maximum size of a batch of events, in bytes
+     * @param commitIntervalMillis the maximum time events stay in a batch before being written
+     */
+    public GroupCommitRollingFileAppender(int maxBatchSize, long commitIntervalMillis) {
+        this.groupCommit = new GroupCommit(this, lock, maxBatchSize, commitIntervalMillis);
+    }
+
+    @Override
+    public void setOutputStream(OutputStream outputStream) {
+        super.setOutputStream(groupCommit.wrap(outputStream));
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        if (isStarted()) {
+            groupCommit.start(getName());
+        }
+    }
+
+    @Override
+    public void stop() {
+        groupCommit.stop();
+        super.stop();
+    }
+
+    /**
+     * Returns the time taken to write and flush each batch, and the number of events per batch.
+     */
+    @Override
+    public Map<String, Metric> getMetrics() {
+        return groupCommit.getMetrics();
+    }
+}
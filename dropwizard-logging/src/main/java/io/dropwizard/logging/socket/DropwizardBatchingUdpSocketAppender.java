@@ -0,0 +1,263 @@
+package io.dropwizard.logging.socket;
+
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.spi.DeferredProcessingAware;
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import com.google.common.collect.ImmutableMap;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends log events to a UDP server, packing several newline-delimited events in each datagram.
+ * <p/>
+ * Events are queued by the logging threads, and sent by a dedicated I/O thread through a {@link DatagramChannel}.
+ * A datagram is sent when the next event doesn't fit in it, or when its first event has waited for the linger time.
+ * Events are dropped rather than blocking the logging threads when the queue is full.
+ * <p/>
+ * The address of the server is resolved by the I/O thread, and refreshed at a fixed interval. A failed lookup is
+ * retried on the next send.
+ */
+public class DropwizardBatchingUdpSocketAppender<E extends DeferredProcessingAware> extends OutputStreamAppender<E>
+    implements MetricSet {
+
+    // The largest payload of an IPv4 UDP datagram
+    private static final int MAX_DATAGRAM_SIZE = 65_507;
+    private static final long STOP_TIMEOUT_MILLIS = 1000;
+
+    private final String host;
+    private final int port;
+    private final int maxPacketSize;
+    private final long lingerNanos;
+    private final long dnsRefreshNanos;
+    private final BlockingQueue<byte[]> queue;
+
+    private final Meter packets = new Meter();
+    private final Histogram eventsPerPacket = new Histogram(new ExponentiallyDecayingReservoir());
+    private final Meter drops = new Meter();
+
+    @Nullable
+    private volatile Sender sender;
+
+    public DropwizardBatchingUdpSocketAppender(String host, int port, int maxPacketSize, long lingerMillis,
+                                               long dnsRefreshMillis, int queueSize) {
+        this.host = host;
+        this.port = port;
+        this.maxPacketSize = Math.min(maxPacketSize, MAX_DATAGRAM_SIZE);
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.dnsRefreshNanos = TimeUnit.MILLISECONDS.toNanos(dnsRefreshMillis);
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+    }
+
+    @Override
+    public void start() {
+        final DatagramChannel channel;
+        try {
+            channel = DatagramChannel.open();
+        } catch (IOException e) {
+            addError("Unable to open a datagram channel", e);
+            return;
+        }
+        setOutputStream(new QueueOutputStream());
+        super.start();
+        if (!isStarted()) {
+            // Missing encoder or other configuration error, already reported by the parent
+            try {
+                channel.close();
+            } catch (IOException e) {
+                addWarn("Unable to close the datagram channel", e);
+            }
+            return;
+        }
+        final Sender newSender = new Sender(channel);
+        newSender.setName("udp-socket-appender-" + host + ":" + port);
+        newSender.setDaemon(true);
+        newSender.start();
+        this.sender = newSender;
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        final Sender stopped = sender;
+        if (stopped != null) {
+            stopped.running = false;
+            try {
+                stopped.join(STOP_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (stopped.isAlive()) {
+                stopped.interrupt();
+            }
+            sender = null;
+        }
+    }
+
+    /**
+     * Returns the number of sent datagrams, the number of events per datagram, and the number of dropped events.
+     */
+    @Override
+    public Map<String, Metric> getMetrics() {
+        return ImmutableMap.of(
+            "packets", packets,
+            "events-per-packet", eventsPerPacket,
+            "drops", drops);
+    }
+
+    private class QueueOutputStream extends OutputStream {
+        @Override
+        public void write(int b) throws IOException {
+            throw new UnsupportedOperationException("Datagram doesn't work at byte level");
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len > MAX_DATAGRAM_SIZE || !queue.offer(Arrays.copyOfRange(b, off, off + len))) {
+                drops.mark();
+            }
+        }
+    }
+
+    private class Sender extends Thread {
+        private final DatagramChannel channel;
+        private final ByteBuffer packet;
+        private volatile boolean running = true;
+        private int packetEvents;
+
+        @Nullable
+        private InetSocketAddress address;
+        private long resolvedAt;
+        private boolean resolveFailed;
+
+        private Sender(DatagramChannel channel) {
+            this.channel = channel;
+            this.packet = ByteBuffer.allocateDirect(maxPacketSize);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running || !queue.isEmpty()) {
+                    final byte[] first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    add(first);
+                    // Packs the events logged within the linger time after the first one
+                    final long deadline = System.nanoTime() + lingerNanos;
+                    long remaining = lingerNanos;
+                    while (remaining > 0) {
+                        final byte[] event = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                        if (event == null) {
+                            break;
+                        }
+                        add(event);
+                        remaining = deadline - System.nanoTime();
+                    }
+                    send();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    addWarn("Unable to close the datagram channel", e);
+                }
+            }
+        }
+
+        private void add(byte[] event) {
+            final boolean delimited = event.length > 0 && event[event.length - 1] == '\n';
+            final int size = delimited ? event.length : event.length + 1;
+            if (packet.remaining() < size) {
+                send();
+            }
+            if (packet.remaining() < size) {
+                // Larger than a packet, sent on its own
+                sendAlone(event);
+                return;
+            }
+            packet.put(event);
+            if (!delimited) {
+                packet.put((byte) '\n');
+            }
+            packetEvents++;
+        }
+
+        private void sendAlone(byte[] event) {
+            final InetSocketAddress target = resolve();
+            if (target == null) {
+                drops.mark();
+                return;
+            }
+            try {
+                channel.send(ByteBuffer.wrap(event), target);
+                packets.mark();
+                eventsPerPacket.update(1);
+            } catch (IOException e) {
+                drops.mark();
+                addWarn("Unable to send a log event to " + target, e);
+            }
+        }
+
+        private void send() {
+            if (packetEvents == 0) {
+                return;
+            }
+            final InetSocketAddress target = resolve();
+            packet.flip();
+            try {
+                if (target == null) {
+                    drops.mark(packetEvents);
+                    return;
+                }
+                channel.send(packet, target);
+                packets.mark();
+                eventsPerPacket.update(packetEvents);
+            } catch (IOException e) {
+                drops.mark(packetEvents);
+                addWarn("Unable to send " + packetEvents + " log events to " + target, e);
+            } finally {
+                packet.clear();
+                packetEvents = 0;
+            }
+        }
+
+        @Nullable
+        private InetSocketAddress resolve() {
+            final long now = System.nanoTime();
+            final InetSocketAddress current = address;
+            if (current != null && now - resolvedAt < dnsRefreshNanos) {
+                return current;
+            }
+            final InetSocketAddress resolved = new InetSocketAddress(host, port);
+            if (resolved.isUnresolved()) {
+                // Keeps sending to the last known address, and retries the lookup on the next send
+                if (!resolveFailed) {
+                    addWarn("Unable to resolve " + host);
+                    resolveFailed = true;
+                }
+                return current;
+            }
+            resolveFailed = false;
+            resolvedAt = now;
+            address = resolved;
+            return resolved;
+        }
+    }
+}
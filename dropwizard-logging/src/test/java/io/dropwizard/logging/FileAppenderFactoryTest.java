@@ -15,6 +15,8 @@ import ch.qos.logback.core.util.FileSize;
 import com.google.common.collect.ImmutableList;
 import io.dropwizard.jackson.DiscoverableSubtypeResolver;
 import io.dropwizard.logging.async.AsyncLoggingEventAppenderFactory;
+import io.dropwizard.logging.file.GroupCommitFileAppender;
+import io.dropwizard.logging.file.GroupCommitRollingFileAppender;
 import io.dropwizard.logging.filter.NullLevelFilterFactory;
 import io.dropwizard.logging.layout.DropwizardLayoutFactory;
 import io.dropwizard.util.Size;
@@ -287,4 +289,38 @@ public class FileAppenderFactoryTest {
         fileAppender = asyncAppender.getAppender("file-appender");
         assertThat((Boolean) isImmediateFlushField.get(fileAppender)).isEqualTo(fileAppenderFactory.isImmediateFlush());
     }
+
+    @Test
+    public void usesGroupCommit() throws Exception {
+        FileAppenderFactory<ILoggingEvent> fileAppenderFactory = new FileAppenderFactory<>();
+        fileAppenderFactory.setCurrentLogFilename(folder.newFile("logfile.log").toString());
+        fileAppenderFactory.setArchivedLogFilenamePattern(folder.getRoot().getAbsolutePath() + "/logfile-%d.log.gz");
+        fileAppenderFactory.setGroupCommit(true);
+
+        Field isImmediateFlushField = OutputStreamAppender.class.getDeclaredField("immediateFlush");
+        isImmediateFlushField.setAccessible(true);
+
+        AsyncAppender asyncAppender = (AsyncAppender) fileAppenderFactory.build(new LoggerContext(), "test", new DropwizardLayoutFactory(), new NullLevelFilterFactory<>(), new AsyncLoggingEventAppenderFactory());
+        Appender<ILoggingEvent> fileAppender = asyncAppender.getAppender("file-appender");
+        assertThat(fileAppender).isInstanceOf(GroupCommitRollingFileAppender.class);
+        assertThat((Boolean) isImmediateFlushField.get(fileAppender)).isFalse();
+        fileAppender.stop();
+
+        fileAppenderFactory.setArchive(false);
+        asyncAppender = (AsyncAppender) fileAppenderFactory.build(new LoggerContext(), "test", new DropwizardLayoutFactory(), new NullLevelFilterFactory<>(), new AsyncLoggingEventAppenderFactory());
+        fileAppender = asyncAppender.getAppender("file-appender");
+        assertThat(fileAppender).isInstanceOf(GroupCommitFileAppender.class);
+        fileAppender.stop();
+    }
+
+    @Test
+    public void hasGroupCommitSizeValidation() throws Exception {
+        FileAppenderFactory<ILoggingEvent> fileAppenderFactory = new FileAppenderFactory<>();
+        fileAppenderFactory.setArchive(false);
+        fileAppenderFactory.setCurrentLogFilename("logfile.log");
+        fileAppenderFactory.setMaxBatchSize(Size.megabytes(128));
+
+        assertThat(ConstraintViolations.format(validator.validate(fileAppenderFactory)))
+            .containsOnly("maxBatchSize must be less than or equal to 64 MEGABYTES");
+    }
 }
@@ -80,4 +80,26 @@ public class UdpSocketAppenderFactoryTest {
         assertThat(countDownLatch.getCount()).isEqualTo(0);
         loggingFactory.reset();
     }
+
+    @Test
+    public void testRegistersTheMetricsOfBatchedAppenders() throws Exception {
+        ObjectMapper objectMapper = Jackson.newObjectMapper();
+        objectMapper.getSubtypeResolver().registerSubtypes(UdpSocketAppenderFactory.class);
+
+        DefaultLoggingFactory loggingFactory = new YamlConfigurationFactory<>(DefaultLoggingFactory.class,
+            BaseValidator.newValidator(), objectMapper, "dw-udp")
+            .build(new File(Resources.getResource("yaml/logging-udp.yml").toURI()));
+        ((UdpSocketAppenderFactory<?>) loggingFactory.getAppenders().get(0)).setBatched(true);
+        MetricRegistry metricRegistry = new MetricRegistry();
+        loggingFactory.configure(metricRegistry, "udp-test");
+
+        try {
+            assertThat(metricRegistry.getNames()).contains(
+                "io.dropwizard.logging.socket.DropwizardBatchingUdpSocketAppender.udp-socket-appender.packets",
+                "io.dropwizard.logging.socket.DropwizardBatchingUdpSocketAppender.udp-socket-appender.events-per-packet",
+                "io.dropwizard.logging.socket.DropwizardBatchingUdpSocketAppender.udp-socket-appender.drops");
+        } finally {
+            loggingFactory.reset();
+        }
+    }
 }
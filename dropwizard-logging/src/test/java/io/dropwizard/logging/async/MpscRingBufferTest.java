@@ -0,0 +1,62 @@
+package io.dropwizard.logging.async;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MpscRingBufferTest {
+
+    @Test
+    public void roundsTheCapacityUpToAPowerOfTwo() {
+        assertThat(new MpscRingBuffer<>(256).capacity()).isEqualTo(256);
+        assertThat(new MpscRingBuffer<>(257).capacity()).isEqualTo(512);
+        assertThat(MpscRingBuffer.capacityFor(Integer.MAX_VALUE)).isEqualTo(1 << 30);
+    }
+
+    @Test
+    public void offersAndDrainsElementsAtTheMinimumCapacity() {
+        final MpscRingBuffer<String> buffer = new MpscRingBuffer<>(1);
+        final List<String> drained = new ArrayList<>();
+
+        assertThat(buffer.capacity()).isEqualTo(2);
+        assertThat(buffer.offer("a")).isTrue();
+        assertThat(buffer.offer("b")).isTrue();
+        assertThat(buffer.offer("c")).isFalse();
+        assertThat(buffer.drain(drained::add, 10)).isEqualTo(2);
+        assertThat(buffer.offer("d")).isTrue();
+        assertThat(buffer.drain(drained::add, 10)).isEqualTo(1);
+
+        assertThat(drained).containsExactly("a", "b", "d");
+        assertThat(buffer.produced()).isEqualTo(3);
+        assertThat(buffer.consumed()).isEqualTo(3);
+    }
+
+    @Test
+    public void rejectsElementsWhenFull() {
+        final MpscRingBuffer<String> buffer = new MpscRingBuffer<>(2);
+
+        assertThat(buffer.offer("a")).isTrue();
+        assertThat(buffer.offer("b")).isTrue();
+        assertThat(buffer.offer("c")).isFalse();
+        assertThat(buffer.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void drainsElementsInOrderAcrossLaps() {
+        final MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        final List<Integer> drained = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+            assertThat(buffer.offer(i + 100)).isTrue();
+            assertThat(buffer.drain(drained::add, 1)).isEqualTo(1);
+            assertThat(buffer.drain(drained::add, 10)).isEqualTo(1);
+        }
+
+        assertThat(drained).hasSize(20).startsWith(0, 100, 1, 101).endsWith(9, 109);
+        assertThat(buffer.isEmpty()).isTrue();
+        assertThat(buffer.consumed()).isEqualTo(20);
+    }
+}
@@ -0,0 +1,144 @@
+package io.dropwizard.logging.async;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+import com.codahale.metrics.Counter;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RingBufferAsyncAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final ListAppender<ILoggingEvent> listAppender = new ListAppender<>();
+    private final RingBufferAsyncLoggingEventAppender appender =
+        new RingBufferAsyncLoggingEventAppender(WaitStrategy.BLOCKING);
+
+    @After
+    public void tearDown() {
+        appender.stop();
+    }
+
+    private void start(AppenderBase<ILoggingEvent> attached, int queueSize) {
+        attached.setContext(context);
+        attached.start();
+        appender.setContext(context);
+        appender.setName("async-test");
+        appender.setQueueSize(queueSize);
+        appender.addAppender(attached);
+        appender.start();
+    }
+
+    private static ILoggingEvent event(Level level, String message) {
+        final LoggingEvent event = new LoggingEvent();
+        event.setLevel(level);
+        event.setMessage(message);
+        event.setLoggerName("com.example.app");
+        return event;
+    }
+
+    private long count(String metric) {
+        return ((Counter) appender.getMetrics().get(metric)).getCount();
+    }
+
+    @Test
+    public void appendsEventsInOrder() throws Exception {
+        start(listAppender, 16);
+        for (int i = 0; i < 100; i++) {
+            appender.doAppend(event(Level.WARN, "Message " + i));
+        }
+
+        assertThat(appender.flush(5000)).isTrue();
+        assertThat(listAppender.list).extracting(ILoggingEvent::getFormattedMessage)
+            .hasSize(100)
+            .startsWith("Message 0", "Message 1")
+            .endsWith("Message 99");
+        assertThat(appender.getNumberOfElementsInQueue()).isZero();
+    }
+
+    @Test
+    public void appendsEventsOfConcurrentThreads() throws Exception {
+        start(listAppender, 64);
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final String prefix = "Thread " + t + " ";
+            final Thread thread = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    appender.doAppend(event(Level.ERROR, prefix + i));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(appender.flush(5000)).isTrue();
+        assertThat(listAppender.list).hasSize(4000);
+        // Events of a thread are appended in the order they were logged
+        final List<String> firstThread = listAppender.list.stream()
+            .map(ILoggingEvent::getFormattedMessage)
+            .filter(message -> message.startsWith("Thread 0 "))
+            .collect(Collectors.toList());
+        assertThat(firstThread).hasSize(1000).startsWith("Thread 0 0").endsWith("Thread 0 999");
+    }
+
+    @Test
+    public void countsDiscardedAndDroppedEvents() throws Exception {
+        final CountDownLatch appending = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AppenderBase<ILoggingEvent> blocked = new AppenderBase<ILoggingEvent>() {
+            @Override
+            protected void append(ILoggingEvent eventObject) {
+                appending.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        appender.setNeverBlock(true);
+        appender.setDiscardingThreshold(2);
+        start(blocked, 4);
+
+        // Taken by the worker, which blocks on it
+        appender.doAppend(event(Level.ERROR, "First"));
+        assertThat(appending.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 4; i++) {
+            appender.doAppend(event(Level.ERROR, "Error " + i));
+        }
+        appender.doAppend(event(Level.INFO, "Info"));
+        appender.doAppend(event(Level.ERROR, "Dropped"));
+        release.countDown();
+
+        assertThat(count("discarded")).isEqualTo(1);
+        assertThat(count("dropped")).isEqualTo(1);
+        assertThat(appender.flush(5000)).isTrue();
+    }
+
+    @Test
+    public void stopsAfterAppendingTheQueuedEvents() {
+        start(listAppender, 256);
+        for (int i = 0; i < 200; i++) {
+            appender.doAppend(event(Level.ERROR, "Message " + i));
+        }
+
+        appender.stop();
+
+        assertThat(listAppender.list).hasSize(200);
+        assertThat(listAppender.isStarted()).isFalse();
+    }
+}
@@ -0,0 +1,136 @@
+package io.dropwizard.logging.file;
+
+import ch.qos.logback.core.ContextBase;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.EchoEncoder;
+import ch.qos.logback.core.rolling.FixedWindowRollingPolicy;
+import ch.qos.logback.core.rolling.SizeBasedTriggeringPolicy;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricSet;
+import com.codahale.metrics.Timer;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GroupCommitFileAppenderTest {
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ContextBase context = new ContextBase();
+    private FileAppender<String> appender;
+    private File file;
+
+    @After
+    public void tearDown() {
+        if (appender != null) {
+            appender.stop();
+        }
+    }
+
+    private void start(FileAppender<String> fileAppender) throws Exception {
+        file = new File(folder.getRoot(), "application.log");
+        final EchoEncoder<String> encoder = new EchoEncoder<>();
+        encoder.setContext(context);
+        encoder.start();
+
+        appender = fileAppender;
+        appender.setContext(context);
+        appender.setName("file-appender");
+        appender.setFile(file.getAbsolutePath());
+        appender.setEncoder(encoder);
+        appender.setImmediateFlush(false);
+        appender.start();
+        assertThat(appender.isStarted()).isTrue();
+    }
+
+    private String read(File logFile) throws Exception {
+        return new String(Files.readAllBytes(logFile.toPath()), UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <M> M metric(String name) {
+        return (M) ((MetricSet) appender).getMetrics().get(name);
+    }
+
+    @Test
+    public void commitsTheBatchWhenTheNextEventDoesNotFit() throws Exception {
+        start(new GroupCommitFileAppender<>(32, 3_600_000));
+
+        appender.doAppend("First message");
+        appender.doAppend("Second message");
+        assertThat(read(file)).isEmpty();
+
+        appender.doAppend("Third message");
+        assertThat(read(file)).isEqualTo("First message" + LINE_SEPARATOR + "Second message" + LINE_SEPARATOR);
+        assertThat(this.<Histogram>metric("batch-size").getSnapshot().getValues()).containsExactly(2);
+        assertThat(this.<Timer>metric("write-latency").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void writesEventsLargerThanABatchOnTheirOwn() throws Exception {
+        start(new GroupCommitFileAppender<>(8, 3_600_000));
+
+        appender.doAppend("A message larger than a batch");
+        assertThat(read(file)).isEqualTo("A message larger than a batch" + LINE_SEPARATOR);
+        assertThat(this.<Histogram>metric("batch-size").getSnapshot().getValues()).containsExactly(1);
+    }
+
+    @Test
+    public void commitsTheBatchAfterTheCommitInterval() throws Exception {
+        start(new GroupCommitFileAppender<>(1024, 10));
+
+        appender.doAppend("First message");
+        final long deadline = System.currentTimeMillis() + 5_000;
+        while (read(file).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(read(file)).isEqualTo("First message" + LINE_SEPARATOR);
+    }
+
+    @Test
+    public void commitsTheBatchWhenStopped() throws Exception {
+        start(new GroupCommitFileAppender<>(1024, 3_600_000));
+
+        appender.doAppend("First message");
+        assertThat(read(file)).isEmpty();
+
+        appender.stop();
+        assertThat(read(file)).isEqualTo("First message" + LINE_SEPARATOR);
+    }
+
+    @Test
+    public void commitsTheBatchToTheCurrentFileBeforeRollingOver() throws Exception {
+        final GroupCommitRollingFileAppender<String> rollingAppender =
+            new GroupCommitRollingFileAppender<>(1024, 3_600_000);
+        rollingAppender.setFile(new File(folder.getRoot(), "application.log").getAbsolutePath());
+        final FixedWindowRollingPolicy rollingPolicy = new FixedWindowRollingPolicy();
+        rollingPolicy.setContext(context);
+        rollingPolicy.setFileNamePattern(folder.getRoot().getAbsolutePath() + "/application-%i.log");
+        rollingPolicy.setParent(rollingAppender);
+        rollingPolicy.start();
+        rollingAppender.setRollingPolicy(rollingPolicy);
+        final SizeBasedTriggeringPolicy<String> triggeringPolicy = new SizeBasedTriggeringPolicy<>();
+        triggeringPolicy.setContext(context);
+        triggeringPolicy.start();
+        rollingAppender.setTriggeringPolicy(triggeringPolicy);
+        start(rollingAppender);
+
+        appender.doAppend("First message");
+        rollingAppender.rollover();
+        appender.doAppend("Second message");
+        appender.stop();
+
+        assertThat(read(new File(folder.getRoot(), "application-1.log"))).isEqualTo("First message" + LINE_SEPARATOR);
+        assertThat(read(file)).isEqualTo("Second message" + LINE_SEPARATOR);
+    }
+}
@@ -0,0 +1,88 @@
+package io.dropwizard.logging.file;
+
+import ch.qos.logback.core.ContextBase;
+import ch.qos.logback.core.spi.ContextAwareBase;
+import ch.qos.logback.core.status.Status;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GroupCommitTest {
+
+    private final ContextBase context = new ContextBase();
+    private final ContextAwareBase appender = new ContextAwareBase();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final GroupCommit groupCommit = new GroupCommit(appender, lock, 1024, 10);
+
+    @After
+    public void tearDown() {
+        groupCommit.stop();
+    }
+
+    @Test
+    public void keepsCommittingAfterAFailedCommit() throws Exception {
+        appender.setContext(context);
+        final ByteArrayOutputStream file = new ByteArrayOutputStream();
+        final OutputStream out = groupCommit.wrap(new OutputStream() {
+            private boolean failed;
+
+            @Override
+            public void write(int b) {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                if (!failed) {
+                    failed = true;
+                    throw new IllegalStateException("Disk is gone");
+                }
+                file.write(b, off, len);
+            }
+        });
+
+        write(out, "First message");
+        write(out, "Second message");
+        groupCommit.start("test");
+        awaitUntil(() -> context.getStatusManager().getCount() > 0);
+        assertThat(context.getStatusManager().getCopyOfStatusList())
+            .extracting(Status::getMessage)
+            .containsExactly("Unable to commit 2 log events");
+
+        write(out, "Third message");
+        awaitUntil(() -> !committed(file).isEmpty());
+        assertThat(committed(file)).isEqualTo("Third message");
+    }
+
+    private void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void write(OutputStream out, String message) throws Exception {
+        lock.lock();
+        try {
+            out.write(message.getBytes(UTF_8));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String committed(ByteArrayOutputStream file) {
+        lock.lock();
+        try {
+            return new String(file.toByteArray(), UTF_8);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
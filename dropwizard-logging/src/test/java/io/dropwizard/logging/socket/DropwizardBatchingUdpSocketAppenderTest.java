@@ -0,0 +1,109 @@
+package io.dropwizard.logging.socket;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.encoder.EchoEncoder;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DropwizardBatchingUdpSocketAppenderTest {
+
+    private DatagramSocket datagramSocket;
+    private DropwizardBatchingUdpSocketAppender<ILoggingEvent> udpStreamAppender;
+
+    @Before
+    public void setUp() throws Exception {
+        datagramSocket = new DatagramSocket();
+        datagramSocket.setSoTimeout(5000);
+    }
+
+    @After
+    public void tearDown() {
+        udpStreamAppender.stop();
+        datagramSocket.close();
+    }
+
+    private void start(int maxPacketSize) {
+        udpStreamAppender = new DropwizardBatchingUdpSocketAppender<>("localhost", datagramSocket.getLocalPort(),
+            maxPacketSize, 200, 60_000, 16);
+        udpStreamAppender.setContext(Mockito.mock(Context.class));
+        udpStreamAppender.setEncoder(new EchoEncoder<>());
+        udpStreamAppender.start();
+    }
+
+    private long waitForCount(String meter, long expected) throws Exception {
+        final Meter metric = (Meter) udpStreamAppender.getMetrics().get(meter);
+        final long deadline = System.currentTimeMillis() + 5_000;
+        while (metric.getCount() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return metric.getCount();
+    }
+
+    private String receive() throws Exception {
+        final byte[] buffer = new byte[1024];
+        final DatagramPacket datagramPacket = new DatagramPacket(buffer, buffer.length);
+        datagramSocket.receive(datagramPacket);
+        return new String(buffer, 0, datagramPacket.getLength(), UTF_8);
+    }
+
+    private void write(String message) throws Exception {
+        udpStreamAppender.getOutputStream().write(message.getBytes(UTF_8));
+    }
+
+    @Test
+    public void testPacksMessagesInADatagram() throws Exception {
+        start(1472);
+        write("First message\n");
+        write("Second message");
+        write("Third message\n");
+
+        assertThat(receive()).isEqualTo("First message\nSecond message\nThird message\n");
+        assertThat(waitForCount("packets", 1)).isEqualTo(1);
+        assertThat(((Histogram) udpStreamAppender.getMetrics().get("events-per-packet")).getSnapshot().getMax())
+            .isEqualTo(3);
+    }
+
+    @Test
+    public void testSendsADatagramWhenFull() throws Exception {
+        start(32);
+        write("First message\n");
+        write("Second message\n");
+        write("Third message\n");
+
+        assertThat(receive()).isEqualTo("First message\nSecond message\n");
+        assertThat(receive()).isEqualTo("Third message\n");
+    }
+
+    @Test
+    public void testDropsMessagesTooLargeForADatagram() throws Exception {
+        start(1472);
+        udpStreamAppender.getOutputStream().write(new byte[70_000]);
+        write("Test message\n");
+
+        assertThat(receive()).isEqualTo("Test message\n");
+        assertThat(((Meter) udpStreamAppender.getMetrics().get("drops")).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testDoesNotStartWithoutAnEncoder() {
+        udpStreamAppender = new DropwizardBatchingUdpSocketAppender<>("localhost", datagramSocket.getLocalPort(),
+            1472, 200, 60_000, 16);
+        udpStreamAppender.setContext(Mockito.mock(Context.class));
+        udpStreamAppender.start();
+
+        final String senderName = "udp-socket-appender-localhost:" + datagramSocket.getLocalPort();
+        assertThat(udpStreamAppender.isStarted()).isFalse();
+        assertThat(Thread.getAllStackTraces().keySet()).noneMatch(thread -> thread.getName().equals(senderName));
+    }
+}
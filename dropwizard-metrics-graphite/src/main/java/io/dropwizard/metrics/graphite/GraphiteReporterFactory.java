@@ -1,5 +1,6 @@
 package io.dropwizard.metrics.graphite;
 
+import com.codahale.metrics.MetricFilter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.ScheduledReporter;
 import com.codahale.metrics.graphite.Graphite;
@@ -104,8 +105,8 @@ public class GraphiteReporterFactory extends BaseReporterFactory {
     }
 
     @Override
-    public ScheduledReporter build(MetricRegistry registry) {
-        GraphiteReporter.Builder builder = builder(registry);
+    public ScheduledReporter build(MetricRegistry registry, MetricFilter filter) {
+        GraphiteReporter.Builder builder = builder(registry, filter);
 
         if ("udp".equalsIgnoreCase(transport)) {
             return builder.build(new GraphiteUDP(host, port));
@@ -115,11 +116,11 @@ public class GraphiteReporterFactory extends BaseReporterFactory {
     }
 
     @VisibleForTesting
-    protected GraphiteReporter.Builder builder(MetricRegistry registry) {
+    protected GraphiteReporter.Builder builder(MetricRegistry registry, MetricFilter filter) {
         return GraphiteReporter.forRegistry(registry)
                 .convertDurationsTo(getDurationUnit())
                 .convertRatesTo(getRateUnit())
-                .filter(getFilter())
+                .filter(filter)
                 .prefixedWith(getPrefix())
                 .disabledMetricAttributes(getDisabledAttributes());
     }
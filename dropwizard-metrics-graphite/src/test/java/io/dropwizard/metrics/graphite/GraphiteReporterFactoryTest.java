@@ -1,5 +1,6 @@
 package io.dropwizard.metrics.graphite;
 
+import com.codahale.metrics.MetricFilter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.graphite.Graphite;
 import com.codahale.metrics.graphite.GraphiteReporter;
@@ -24,7 +25,7 @@ public class GraphiteReporterFactoryTest {
 
     private GraphiteReporterFactory graphiteReporterFactory = new GraphiteReporterFactory() {
         @Override
-        protected GraphiteReporter.Builder builder(MetricRegistry registry) {
+        protected GraphiteReporter.Builder builder(MetricRegistry registry, MetricFilter filter) {
             return builderSpy;
         }
     };
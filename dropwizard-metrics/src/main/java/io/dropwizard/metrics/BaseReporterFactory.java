@@ -2,6 +2,7 @@ package io.dropwizard.metrics;
 
 import com.codahale.metrics.MetricAttribute;
 import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.ScheduledReporter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -17,6 +18,7 @@ import java.util.EnumSet;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
 /**
  * A base {@link ReporterFactory} for configuring metric reporters.
@@ -224,23 +226,81 @@ public abstract class BaseReporterFactory implements ReporterFactory {
      *     <i>excludes</i> takes precedence over <i>includes</i>.</dd>
      * </dl>
      *
+     * <p/>
+     * The <i>includes</i> and <i>excludes</i> are compiled when the filter is created. Regular expressions are
+     * combined into a single pattern, and the decisions of regular expression and substring filters are remembered
+     * for each metric name.
+     *
      * @return the filter for selecting metrics based on the configured excludes/includes.
      * @see #getIncludes()
      * @see #getExcludes()
      */
     @JsonIgnore
     public MetricFilter getFilter() {
+        final ImmutableSet<String> includes = getIncludes();
+        final ImmutableSet<String> excludes = getExcludes();
+        if (includes.isEmpty() && excludes.isEmpty()) {
+            return MetricFilter.ALL;
+        }
+
         final StringMatchingStrategy stringMatchingStrategy = getUseRegexFilters() ?
                 REGEX_STRING_MATCHING_STRATEGY : (getUseSubstringMatching() ? SUBSTRING_MATCHING_STRATEGY : DEFAULT_STRING_MATCHING_STRATEGY);
+        final Predicate<String> excluded = stringMatchingStrategy.compile(excludes);
+        final Predicate<String> included = includes.isEmpty() ? name -> true : stringMatchingStrategy.compile(includes);
+
+        // Include the metric if its name is not excluded and its name is included
+        // Where, by default, with no includes setting, all names are included.
+        final Predicate<String> matcher = name -> !excluded.test(name) && included.test(name);
+        if (stringMatchingStrategy == DEFAULT_STRING_MATCHING_STRATEGY) {
+            // Set lookups are as cheap as remembered decisions
+            return (name, metric) -> matcher.test(name);
+        }
+        return new MemoizingMetricFilter(matcher);
+    }
 
-        return (name, metric) -> {
-            // Include the metric if its name is not excluded and its name is included
-            // Where, by default, with no includes setting, all names are included.
-            return !stringMatchingStrategy.containsMatch(getExcludes(), name) &&
-                    (getIncludes().isEmpty() || stringMatchingStrategy.containsMatch(getIncludes(), name));
-        };
+    /**
+     * Gets a {@link MetricFilter} that specifically includes and excludes the configured metrics of a registry.
+     * Unlike {@link #getFilter()}, the filter decides whether it includes metrics when they're added to the
+     * registry rather than when they're reported, and forgets its decisions when they're removed.
+     * <p/>
+     * Such a filter listens to the registry until it's closed: it implements {@link java.io.Closeable} if it does.
+     * The {@link MetricsFactory} closes the filters of the reporters it manages when they're stopped.
+     *
+     * @param registry the registry whose metrics are filtered
+     * @return the filter for selecting metrics based on the configured excludes/includes.
+     */
+    public MetricFilter getFilter(MetricRegistry registry) {
+        final MetricFilter filter = getFilter();
+        if (filter instanceof MemoizingMetricFilter) {
+            ((MemoizingMetricFilter) filter).listenTo(registry);
+        }
+        return filter;
     }
 
+    /**
+     * Configures and builds a {@link ScheduledReporter} instance for the given registry, which reports the metrics
+     * selected by {@link #getFilter(MetricRegistry)}.
+     *
+     * @param registry the metrics registry to report metrics from.
+     *
+     * @return a reporter configured for the given metrics registry.
+     */
+    @Override
+    public ScheduledReporter build(MetricRegistry registry) {
+        return build(registry, getFilter(registry));
+    }
+
+    /**
+     * Configures and builds a {@link ScheduledReporter} instance for the given registry, which reports the metrics
+     * selected by the given filter.
+     *
+     * @param registry the metrics registry to report metrics from.
+     * @param filter   the filter for selecting the metrics to report.
+     *
+     * @return a reporter configured for the given metrics registry.
+     */
+    public abstract ScheduledReporter build(MetricRegistry registry, MetricFilter filter);
+
     protected Set<MetricAttribute> getDisabledAttributes() {
         return ImmutableSet.copyOf(Sets.union(
             Sets.difference(EnumSet.allOf(MetricAttribute.class), getIncludesAttributes()),
@@ -1,6 +1,7 @@
 package io.dropwizard.metrics;
 
 import com.codahale.metrics.ConsoleReporter;
+import com.codahale.metrics.MetricFilter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.ScheduledReporter;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -82,11 +83,11 @@ public class ConsoleReporterFactory extends BaseFormattedReporterFactory {
     }
 
     @Override
-    public ScheduledReporter build(MetricRegistry registry) {
+    public ScheduledReporter build(MetricRegistry registry, MetricFilter filter) {
         return ConsoleReporter.forRegistry(registry)
                               .convertDurationsTo(getDurationUnit())
                               .convertRatesTo(getRateUnit())
-                              .filter(getFilter())
+                              .filter(filter)
                               .formattedFor(getLocale())
                               .formattedFor(getTimeZone())
                               .outputTo(getOutput().get())
@@ -1,6 +1,7 @@
 package io.dropwizard.metrics;
 
 import com.codahale.metrics.CsvReporter;
+import com.codahale.metrics.MetricFilter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.ScheduledReporter;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -56,7 +57,7 @@ public class CsvReporterFactory extends BaseFormattedReporterFactory {
     }
 
     @Override
-    public ScheduledReporter build(MetricRegistry registry) {
+    public ScheduledReporter build(MetricRegistry registry, MetricFilter filter) {
         final File file = requireNonNull(this.file, "File is not set");
         final boolean creation = file.mkdirs();
         if (!creation && !file.exists()) {
@@ -66,7 +67,7 @@ public class CsvReporterFactory extends BaseFormattedReporterFactory {
         return CsvReporter.forRegistry(registry)
                           .convertDurationsTo(getDurationUnit())
                           .convertRatesTo(getRateUnit())
-                          .filter(getFilter())
+                          .filter(filter)
                           .formatFor(getLocale())
                           .build(getFile());
     }
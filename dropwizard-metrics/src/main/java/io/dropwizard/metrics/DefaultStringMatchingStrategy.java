@@ -2,9 +2,16 @@ package io.dropwizard.metrics;
 
 import com.google.common.collect.ImmutableSet;
 
+import java.util.function.Predicate;
+
 class DefaultStringMatchingStrategy implements StringMatchingStrategy {
     @Override
     public boolean containsMatch(ImmutableSet<String> matchExpressions, String metricName) {
         return matchExpressions.contains(metricName);
     }
+
+    @Override
+    public Predicate<String> compile(ImmutableSet<String> matchExpressions) {
+        return matchExpressions::contains;
+    }
 }
@@ -0,0 +1,145 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricRegistryListener;
+import com.codahale.metrics.Timer;
+
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+/**
+ * A {@link MetricFilter} which remembers whether it matches each metric name, up to {@value #MAX_DECISIONS} names.
+ * <p>
+ * Once it listens to a registry, decisions are made when metrics are added and forgotten when they're removed, so
+ * reports only look them up. It listens until it's {@link #close() closed}, which the reporter it filters should do
+ * when it stops.
+ */
+class MemoizingMetricFilter implements MetricFilter, MetricRegistryListener, Closeable {
+    static final int MAX_DECISIONS = 100_000;
+
+    private final Predicate<String> matcher;
+    private final ConcurrentMap<String, Boolean> decisions = new ConcurrentHashMap<>();
+
+    @Nullable
+    private volatile MetricRegistry registry;
+
+    MemoizingMetricFilter(Predicate<String> matcher) {
+        this.matcher = matcher;
+    }
+
+    @Override
+    public boolean matches(String name, Metric metric) {
+        final Boolean decision = decisions.get(name);
+        if (decision != null) {
+            return decision;
+        }
+        final boolean matches = matcher.test(name);
+        // While listening, only the registry's events change the decisions, so that a report running concurrently
+        // with the removal of a metric doesn't remember it again
+        if (registry == null) {
+            remember(name, matches);
+        }
+        return matches;
+    }
+
+    /**
+     * Makes decisions as metrics are added to a registry, including those it already has, and forgets them as
+     * they're removed.
+     *
+     * @param registry the registry whose metrics are filtered
+     */
+    void listenTo(MetricRegistry registry) {
+        this.registry = registry;
+        registry.addListener(this);
+    }
+
+    /**
+     * Stops listening to the registry, and forgets every decision.
+     */
+    @Override
+    public void close() {
+        final MetricRegistry listened = registry;
+        if (listened != null) {
+            listened.removeListener(this);
+            registry = null;
+        }
+        decisions.clear();
+    }
+
+    int size() {
+        return decisions.size();
+    }
+
+    private void remember(String name, boolean matches) {
+        if (decisions.size() < MAX_DECISIONS) {
+            decisions.put(name, matches);
+        }
+    }
+
+    private void added(String name) {
+        remember(name, matcher.test(name));
+    }
+
+    private void removed(String name) {
+        decisions.remove(name);
+    }
+
+    @Override
+    public void onGaugeAdded(String name, Gauge<?> gauge) {
+        added(name);
+    }
+
+    @Override
+    public void onGaugeRemoved(String name) {
+        removed(name);
+    }
+
+    @Override
+    public void onCounterAdded(String name, Counter counter) {
+        added(name);
+    }
+
+    @Override
+    public void onCounterRemoved(String name) {
+        removed(name);
+    }
+
+    @Override
+    public void onHistogramAdded(String name, Histogram histogram) {
+        added(name);
+    }
+
+    @Override
+    public void onHistogramRemoved(String name) {
+        removed(name);
+    }
+
+    @Override
+    public void onMeterAdded(String name, Meter meter) {
+        added(name);
+    }
+
+    @Override
+    public void onMeterRemoved(String name) {
+        removed(name);
+    }
+
+    @Override
+    public void onTimerAdded(String name, Timer timer) {
+        added(name);
+    }
+
+    @Override
+    public void onTimerRemoved(String name) {
+        removed(name);
+    }
+}
@@ -1,6 +1,8 @@
 package io.dropwizard.metrics;
 
+import com.codahale.metrics.MetricFilter;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.ScheduledReporter;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
@@ -11,6 +13,8 @@ import org.slf4j.LoggerFactory;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * A factory for configuring the metrics sub-system for the environment.
@@ -35,6 +39,13 @@ import javax.validation.constraints.NotNull;
  *         <td>No reporters.</td>
  *         <td>A list of {@link ReporterFactory reporters} to report metrics.</td>
  *     </tr>
+ *     <tr>
+ *         <td>shareSnapshots</td>
+ *         <td>false</td>
+ *         <td>Whether reporters with the same frequency share the snapshots of the metrics they report,
+ *         rather than each computing them. The shared reporters are never started: they report from the
+ *         coordinator's thread. See {@link ReportingCoordinator}.</td>
+ *     </tr>
  * </table>
  */
 public class MetricsFactory {
@@ -48,6 +59,8 @@ public class MetricsFactory {
     @NotNull
     private ImmutableList<ReporterFactory> reporters = ImmutableList.of();
 
+    private boolean shareSnapshots = false;
+
     @JsonProperty
     public ImmutableList<ReporterFactory> getReporters() {
         return reporters;
@@ -68,6 +81,16 @@ public class MetricsFactory {
         this.frequency = frequency;
     }
 
+    @JsonProperty
+    public boolean isShareSnapshots() {
+        return shareSnapshots;
+    }
+
+    @JsonProperty
+    public void setShareSnapshots(boolean shareSnapshots) {
+        this.shareSnapshots = shareSnapshots;
+    }
+
     /**
      * Configures the given lifecycle with the {@link com.codahale.metrics.ScheduledReporter
      * reporters} configured for the given registry.
@@ -76,28 +99,65 @@ public class MetricsFactory {
      * frequency} for reporting metrics begins when the lifecycle {@link
      * io.dropwizard.lifecycle.Managed#start() starts}, and stops when the lifecycle
      * {@link io.dropwizard.lifecycle.Managed#stop() stops}.
+     * <p />
+     * If snapshots are {@link #isShareSnapshots() shared}, the {@link BaseReporterFactory reporters} with the same
+     * frequency report the metrics of a single {@link ReportingCoordinator}.
      *
      * @param environment the lifecycle to manage the reporters.
      * @param registry the metric registry to report metrics from.
      */
     public void configure(LifecycleEnvironment environment, MetricRegistry registry) {
+        final Map<Long, ReportingCoordinator> coordinators = new HashMap<>();
+        if (shareSnapshots) {
+            final Map<Long, Integer> sharedReporters = new HashMap<>();
+            for (ReporterFactory reporter : reporters) {
+                if (reporter instanceof BaseReporterFactory) {
+                    sharedReporters.merge(getFrequency(reporter).toNanoseconds(), 1, Integer::sum);
+                }
+            }
+            for (ReporterFactory reporter : reporters) {
+                final Duration frequency = getFrequency(reporter);
+                if (sharedReporters.getOrDefault(frequency.toNanoseconds(), 0) > 1
+                    && !coordinators.containsKey(frequency.toNanoseconds())) {
+                    final ReportingCoordinator coordinator = new ReportingCoordinator(registry, frequency);
+                    environment.manage(coordinator);
+                    coordinators.put(frequency.toNanoseconds(), coordinator);
+                }
+            }
+        }
+
         for (ReporterFactory reporter : reporters) {
             try {
-                final ScheduledReporterManager manager =
-                        new ScheduledReporterManager(reporter.build(registry),
-                                                     reporter.getFrequency().orElseGet(this::getFrequency));
-                environment.manage(manager);
+                final Duration frequency = getFrequency(reporter);
+                if (reporter instanceof BaseReporterFactory) {
+                    final BaseReporterFactory factory = (BaseReporterFactory) reporter;
+                    final MetricFilter filter = factory.getFilter(registry);
+                    final ScheduledReporter scheduledReporter = factory.build(registry, filter);
+                    final ReportingCoordinator coordinator = coordinators.get(frequency.toNanoseconds());
+                    if (coordinator != null) {
+                        coordinator.add(scheduledReporter, filter);
+                    } else {
+                        environment.manage(new ScheduledReporterManager(scheduledReporter, frequency, filter));
+                    }
+                } else {
+                    environment.manage(new ScheduledReporterManager(reporter.build(registry), frequency));
+                }
             } catch (Exception e) {
                 LOGGER.warn("Failed to create reporter, metrics may not be properly reported.", e);
             }
         }
     }
 
+    private Duration getFrequency(ReporterFactory reporter) {
+        return reporter.getFrequency().orElseGet(this::getFrequency);
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
                 .add("frequency", frequency)
                 .add("reporters", reporters)
+                .add("shareSnapshots", shareSnapshots)
                 .toString();
     }
 }
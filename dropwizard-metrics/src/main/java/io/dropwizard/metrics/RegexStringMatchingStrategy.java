@@ -6,9 +6,14 @@ import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableSet;
 
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 class RegexStringMatchingStrategy implements StringMatchingStrategy {
+    // Back-references are numbered across the whole pattern, so expressions using them can't be combined
+    private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\(?:[1-9]|k<)");
+
     private final LoadingCache<String, Pattern> patternCache;
 
     RegexStringMatchingStrategy() {
@@ -32,4 +37,31 @@ class RegexStringMatchingStrategy implements StringMatchingStrategy {
         }
         return false;
     }
+
+    /**
+     * Compiles the expressions into a single alternation, so that a metric name is matched once rather than once
+     * per expression.
+     */
+    @Override
+    public Predicate<String> compile(ImmutableSet<String> matchExpressions) {
+        if (matchExpressions.isEmpty()) {
+            return metricName -> false;
+        }
+        if (matchExpressions.stream().noneMatch(regex -> BACK_REFERENCE.matcher(regex).find())) {
+            final StringBuilder combined = new StringBuilder();
+            for (String regex : matchExpressions) {
+                if (combined.length() > 0) {
+                    combined.append('|');
+                }
+                combined.append("(?:").append(regex).append(')');
+            }
+            try {
+                final Pattern pattern = Pattern.compile(combined.toString());
+                return metricName -> pattern.matcher(metricName).matches();
+            } catch (PatternSyntaxException ignored) {
+                // e.g. duplicate named groups, fall back to matching the expressions separately
+            }
+        }
+        return StringMatchingStrategy.super.compile(matchExpressions);
+    }
 }
@@ -0,0 +1,372 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.ScheduledReporter;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.UniformReservoir;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.util.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Reports the metrics of a registry to several {@link ScheduledReporter}s with the same frequency.
+ * <p/>
+ * Rather than letting each reporter walk the registry and compute the snapshots of its histograms and timers, the
+ * coordinator walks the registry once per report, and shares the values of the gauges, and the counts, rates and
+ * snapshots of the histograms and timers, between its reporters. Values are computed when a reporter first reads
+ * them, so metrics filtered out of every report cost nothing.
+ * <p/>
+ * The coordinator measures how long each report takes with a {@code duration} timer, and the number of metrics in
+ * the registry with a {@code registry-size} gauge.
+ */
+public class ReportingCoordinator implements Managed {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReportingCoordinator.class);
+
+    // The shared histograms and timers never record values
+    private static final Reservoir NO_RESERVOIR = new UniformReservoir(1);
+
+    private final MetricRegistry registry;
+    private final Duration period;
+    private final List<FilteredReporter> reporters = new ArrayList<>();
+    private final Timer duration;
+
+    private Map<String, SharedGauge> gauges = new HashMap<>();
+    private Map<String, SharedHistogram> histograms = new HashMap<>();
+    private Map<String, SharedTimer> timers = new HashMap<>();
+    private long tick;
+    private volatile int registrySize;
+
+    @Nullable
+    private ScheduledExecutorService executor;
+
+    /**
+     * Creates a coordinator reporting the metrics of a registry.
+     *
+     * @param registry the registry to report
+     * @param period   the frequency to report metrics at
+     */
+    public ReportingCoordinator(MetricRegistry registry, Duration period) {
+        this.registry = registry;
+        this.period = period;
+        final String prefix = name(ReportingCoordinator.class, period.toMilliseconds() + "ms");
+        this.duration = registry.timer(name(prefix, "duration"));
+        // Replaces the gauge of a previous coordinator with the same frequency, such as when metrics are configured
+        // again, rather than failing
+        final String registrySizeName = name(prefix, "registry-size");
+        registry.remove(registrySizeName);
+        registry.register(registrySizeName, (Gauge<Integer>) () -> registrySize);
+    }
+
+    /**
+     * Adds a reporter to the coordinator. The reporter must not be started. The filter is closed when the coordinator
+     * stops, if it's {@link Closeable}.
+     *
+     * @param reporter the reporter
+     * @param filter   the filter the reporter was built with
+     */
+    public synchronized void add(ScheduledReporter reporter, MetricFilter filter) {
+        reporters.add(new FilteredReporter(reporter, filter));
+    }
+
+    /**
+     * Returns the frequency the metrics are reported at.
+     *
+     * @return the frequency of the reports
+     */
+    public Duration getPeriod() {
+        return period;
+    }
+
+    @Override
+    public void start() throws Exception {
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat("metrics-reporting-coordinator-" + period.toMilliseconds() + "ms-%d")
+            .build());
+        final long periodNanos = period.toNanoseconds();
+        scheduler.scheduleAtFixedRate(this::reportSafely, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+        this.executor = scheduler;
+    }
+
+    @Override
+    public void stop() throws Exception {
+        if (executor != null) {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+            executor = null;
+        }
+        // Each reporter reports the last interval on its own when stopped, even though it was never started
+        for (FilteredReporter filteredReporter : reporters) {
+            try {
+                filteredReporter.reporter.stop();
+            } finally {
+                if (filteredReporter.filter instanceof Closeable) {
+                    ((Closeable) filteredReporter.filter).close();
+                }
+            }
+        }
+    }
+
+    private void reportSafely() {
+        try {
+            report();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Unable to report metrics", e);
+        }
+    }
+
+    /**
+     * Reports the metrics of the registry to every reporter.
+     */
+    @VisibleForTesting
+    @SuppressWarnings("rawtypes")
+    synchronized void report() {
+        try (Timer.Context ignored = duration.time()) {
+            tick++;
+            gauges = share(registry.getGauges(), gauges, SharedGauge::new);
+            histograms = share(registry.getHistograms(), histograms, SharedHistogram::new);
+            timers = share(registry.getTimers(), timers, SharedTimer::new);
+            final SortedMap<String, Counter> counters = registry.getCounters();
+            final SortedMap<String, Meter> meters = registry.getMeters();
+            registrySize = gauges.size() + counters.size() + histograms.size() + meters.size() + timers.size();
+
+            final SortedMap<String, Gauge> sortedGauges = new TreeMap<>(gauges);
+            final SortedMap<String, Histogram> sortedHistograms = new TreeMap<>(histograms);
+            final SortedMap<String, Timer> sortedTimers = new TreeMap<>(timers);
+            for (FilteredReporter filteredReporter : reporters) {
+                final MetricFilter filter = filteredReporter.filter;
+                try {
+                    filteredReporter.reporter.report(
+                        filter(sortedGauges, filter),
+                        filter(counters, filter),
+                        filter(sortedHistograms, filter),
+                        filter(meters, filter),
+                        filter(sortedTimers, filter));
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Unable to report metrics with {}", filteredReporter.reporter, e);
+                }
+            }
+        }
+    }
+
+    private static <M extends Metric, S extends M> Map<String, S> share(Map<String, M> metrics,
+                                                                        Map<String, S> shared,
+                                                                        Function<M, S> wrap) {
+        final Map<String, S> result = new HashMap<>(metrics.size() * 4 / 3 + 1);
+        for (Map.Entry<String, M> entry : metrics.entrySet()) {
+            final S previous = shared.get(entry.getKey());
+            // Keeps the shared metric of the previous report unless the metric has been replaced since
+            result.put(entry.getKey(), previous != null && ((Shared) previous).delegate() == entry.getValue()
+                ? previous : wrap.apply(entry.getValue()));
+        }
+        return result;
+    }
+
+    private static <M extends Metric> SortedMap<String, M> filter(SortedMap<String, M> metrics, MetricFilter filter) {
+        if (filter == MetricFilter.ALL) {
+            return metrics;
+        }
+        final SortedMap<String, M> filtered = new TreeMap<>();
+        for (Map.Entry<String, M> entry : metrics.entrySet()) {
+            if (filter.matches(entry.getKey(), entry.getValue())) {
+                filtered.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return filtered;
+    }
+
+    private static class FilteredReporter {
+        private final ScheduledReporter reporter;
+        private final MetricFilter filter;
+
+        private FilteredReporter(ScheduledReporter reporter, MetricFilter filter) {
+            this.reporter = reporter;
+            this.filter = filter;
+        }
+    }
+
+    private interface Shared {
+        Metric delegate();
+    }
+
+    @SuppressWarnings("rawtypes")
+    private class SharedGauge implements Gauge, Shared {
+        private final Gauge gauge;
+        private long valueTick = -1;
+        @Nullable
+        private Object value;
+
+        private SharedGauge(Gauge gauge) {
+            this.gauge = gauge;
+        }
+
+        @Override
+        @Nullable
+        public Object getValue() {
+            if (valueTick != tick) {
+                value = gauge.getValue();
+                valueTick = tick;
+            }
+            return value;
+        }
+
+        @Override
+        public Metric delegate() {
+            return gauge;
+        }
+    }
+
+    private class SharedHistogram extends Histogram implements Shared {
+        private final Histogram histogram;
+        private long valueTick = -1;
+        private long count;
+        @Nullable
+        private Snapshot snapshot;
+
+        private SharedHistogram(Histogram histogram) {
+            super(NO_RESERVOIR);
+            this.histogram = histogram;
+        }
+
+        private Snapshot freeze() {
+            Snapshot frozen = snapshot;
+            if (valueTick != tick || frozen == null) {
+                count = histogram.getCount();
+                frozen = histogram.getSnapshot();
+                snapshot = frozen;
+                valueTick = tick;
+            }
+            return frozen;
+        }
+
+        @Override
+        public void update(int value) {
+            histogram.update(value);
+        }
+
+        @Override
+        public void update(long value) {
+            histogram.update(value);
+        }
+
+        @Override
+        public long getCount() {
+            freeze();
+            return count;
+        }
+
+        @Override
+        public Snapshot getSnapshot() {
+            return freeze();
+        }
+
+        @Override
+        public Metric delegate() {
+            return histogram;
+        }
+    }
+
+    private class SharedTimer extends Timer implements Shared {
+        private final Timer timer;
+        private long valueTick = -1;
+        private long count;
+        private double meanRate;
+        private double oneMinuteRate;
+        private double fiveMinuteRate;
+        private double fifteenMinuteRate;
+        @Nullable
+        private Snapshot snapshot;
+
+        private SharedTimer(Timer timer) {
+            super(NO_RESERVOIR, Clock.defaultClock());
+            this.timer = timer;
+        }
+
+        private Snapshot freeze() {
+            Snapshot frozen = snapshot;
+            if (valueTick != tick || frozen == null) {
+                count = timer.getCount();
+                meanRate = timer.getMeanRate();
+                oneMinuteRate = timer.getOneMinuteRate();
+                fiveMinuteRate = timer.getFiveMinuteRate();
+                fifteenMinuteRate = timer.getFifteenMinuteRate();
+                frozen = timer.getSnapshot();
+                snapshot = frozen;
+                valueTick = tick;
+            }
+            return frozen;
+        }
+
+        @Override
+        public void update(long duration, TimeUnit unit) {
+            timer.update(duration, unit);
+        }
+
+        @Override
+        public long getCount() {
+            freeze();
+            return count;
+        }
+
+        @Override
+        public double getMeanRate() {
+            freeze();
+            return meanRate;
+        }
+
+        @Override
+        public double getOneMinuteRate() {
+            freeze();
+            return oneMinuteRate;
+        }
+
+        @Override
+        public double getFiveMinuteRate() {
+            freeze();
+            return fiveMinuteRate;
+        }
+
+        @Override
+        public double getFifteenMinuteRate() {
+            freeze();
+            return fifteenMinuteRate;
+        }
+
+        @Override
+        public Snapshot getSnapshot() {
+            return freeze();
+        }
+
+        @Override
+        public Metric delegate() {
+            return timer;
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package io.dropwizard.metrics;
 
+import com.codahale.metrics.MetricFilter;
 import com.codahale.metrics.ScheduledReporter;
 import io.dropwizard.lifecycle.Managed;
 import io.dropwizard.util.Duration;
 
+import javax.annotation.Nullable;
+import java.io.Closeable;
+
 /**
  * Manages a {@link ScheduledReporter} lifecycle.
  */
@@ -11,6 +15,9 @@ public class ScheduledReporterManager implements Managed {
     private final ScheduledReporter reporter;
     private final Duration period;
 
+    @Nullable
+    private final MetricFilter filter;
+
     /**
      * Manages the given {@code reporter} by reporting with the given {@code period}.
      *
@@ -18,8 +25,21 @@ public class ScheduledReporterManager implements Managed {
      * @param period the frequency to report metrics at.
      */
     public ScheduledReporterManager(ScheduledReporter reporter, Duration period) {
+        this(reporter, period, null);
+    }
+
+    /**
+     * Manages the given {@code reporter} by reporting with the given {@code period}, and closes the filter it was
+     * built with when it's stopped, if the filter is {@link Closeable}.
+     *
+     * @param reporter the reporter to manage.
+     * @param period the frequency to report metrics at.
+     * @param filter the filter the reporter was built with.
+     */
+    public ScheduledReporterManager(ScheduledReporter reporter, Duration period, @Nullable MetricFilter filter) {
         this.reporter = reporter;
         this.period = period;
+        this.filter = filter;
     }
 
     /**
@@ -39,6 +59,12 @@ public class ScheduledReporterManager implements Managed {
      */
     @Override
     public void stop() throws Exception {
-        reporter.stop();
+        try {
+            reporter.stop();
+        } finally {
+            if (filter instanceof Closeable) {
+                ((Closeable) filter).close();
+            }
+        }
     }
 }
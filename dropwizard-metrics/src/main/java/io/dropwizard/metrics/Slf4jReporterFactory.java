@@ -1,5 +1,6 @@
 package io.dropwizard.metrics;
 
+import com.codahale.metrics.MetricFilter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.ScheduledReporter;
 import com.codahale.metrics.Slf4jReporter;
@@ -71,11 +72,11 @@ public class Slf4jReporterFactory extends BaseReporterFactory {
     }
 
     @Override
-    public ScheduledReporter build(MetricRegistry registry) {
+    public ScheduledReporter build(MetricRegistry registry, MetricFilter filter) {
         final Slf4jReporter.Builder builder = Slf4jReporter.forRegistry(registry)
                                                            .convertDurationsTo(getDurationUnit())
                                                            .convertRatesTo(getRateUnit())
-                                                           .filter(getFilter())
+                                                           .filter(filter)
                                                            .outputTo(getLogger());
         if (markerName != null) {
             builder.markWith(MarkerFactory.getMarker(markerName));
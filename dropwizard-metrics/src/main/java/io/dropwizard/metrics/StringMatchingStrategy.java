@@ -2,6 +2,16 @@ package io.dropwizard.metrics;
 
 import com.google.common.collect.ImmutableSet;
 
+import java.util.function.Predicate;
+
 interface StringMatchingStrategy {
     boolean containsMatch(ImmutableSet<String> matchExpressions, String metricName);
+
+    /**
+     * Compiles match expressions into a predicate on metric names, which is equivalent to
+     * {@link #containsMatch(ImmutableSet, String)} but doesn't evaluate every expression separately.
+     */
+    default Predicate<String> compile(ImmutableSet<String> matchExpressions) {
+        return metricName -> containsMatch(matchExpressions, metricName);
+    }
 }
@@ -1,6 +1,7 @@
 package io.dropwizard.metrics;
 
 import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricFilter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.ScheduledReporter;
 import com.google.common.collect.ImmutableList;
@@ -76,7 +77,7 @@ public class BaseReporterFactoryTest {
 
     private final BaseReporterFactory factory = new BaseReporterFactory() {
         @Override
-        public ScheduledReporter build(MetricRegistry registry) {
+        public ScheduledReporter build(MetricRegistry registry, MetricFilter filter) {
             throw new UnsupportedOperationException("not implemented");
         }
     };
@@ -139,4 +140,18 @@ public class BaseReporterFactoryTest {
             .overridingErrorMessage(msg + ": expected 'matches(%s)=%s' for substring matcher", name, expectedSubstringResult)
             .isEqualTo(expectedSubstringResult);
     }
+
+    @Test
+    public void testRegexMatchingOfARegistry() {
+        factory.setIncludes(includes);
+        factory.setExcludes(excludes);
+
+        factory.setUseRegexFilters(true);
+        factory.setUseSubstringMatching(false);
+        final MetricRegistry registry = new MetricRegistry();
+        registry.counter(name);
+        assertThat(factory.getFilter(registry).matches(name, metric))
+                .overridingErrorMessage(msg + ": expected 'matches(%s)=%s' for regex matcher of a registry", name, expectedRegexResult)
+                .isEqualTo(expectedRegexResult);
+    }
 }
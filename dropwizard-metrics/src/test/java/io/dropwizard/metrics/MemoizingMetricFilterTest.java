@@ -0,0 +1,130 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class MemoizingMetricFilterTest {
+    private final Metric metric = mock(Metric.class);
+    private final AtomicInteger evaluations = new AtomicInteger();
+    private final MemoizingMetricFilter filter = new MemoizingMetricFilter(name -> {
+        evaluations.incrementAndGet();
+        return name.startsWith("inc");
+    });
+
+    @Test
+    public void remembersDecisions() {
+        assertThat(filter.matches("inc.a", metric)).isTrue();
+        assertThat(filter.matches("inc.a", metric)).isTrue();
+        assertThat(filter.matches("exc.a", metric)).isFalse();
+        assertThat(filter.matches("exc.a", metric)).isFalse();
+
+        assertThat(evaluations).hasValue(2);
+    }
+
+    @Test
+    public void decidesWhenMetricsAreAddedToTheRegistry() {
+        final MetricRegistry registry = new MetricRegistry();
+        registry.counter("inc.existing");
+        filter.listenTo(registry);
+        registry.timer("exc.added");
+
+        assertThat(evaluations).hasValue(2);
+        assertThat(filter.matches("inc.existing", metric)).isTrue();
+        assertThat(filter.matches("exc.added", metric)).isFalse();
+        assertThat(evaluations).hasValue(2);
+    }
+
+    @Test
+    public void forgetsDecisionsWhenMetricsAreRemovedFromTheRegistry() {
+        final MetricRegistry registry = new MetricRegistry();
+        filter.listenTo(registry);
+        registry.meter("inc.removed");
+        assertThat(filter.size()).isEqualTo(1);
+
+        registry.remove("inc.removed");
+
+        assertThat(filter.size()).isZero();
+    }
+
+    @Test
+    public void boundsTheDecisionsAboutUnregisteredMetrics() {
+        for (int i = 0; i < MemoizingMetricFilter.MAX_DECISIONS + 10; i++) {
+            filter.matches("inc." + i, metric);
+        }
+
+        assertThat(filter.size()).isEqualTo(MemoizingMetricFilter.MAX_DECISIONS);
+    }
+
+    @Test
+    public void boundsTheDecisionsAboutRegisteredMetrics() {
+        final MetricRegistry registry = new MetricRegistry();
+        filter.listenTo(registry);
+        for (int i = 0; i < MemoizingMetricFilter.MAX_DECISIONS + 10; i++) {
+            registry.counter("inc." + i);
+        }
+
+        assertThat(filter.size()).isEqualTo(MemoizingMetricFilter.MAX_DECISIONS);
+    }
+
+    @Test
+    public void doesNotRememberReportedMetricsWhileListening() {
+        filter.listenTo(new MetricRegistry());
+
+        assertThat(filter.matches("inc.removed", metric)).isTrue();
+
+        assertThat(filter.size()).isZero();
+    }
+
+    @Test
+    public void stopsListeningWhenClosed() {
+        final MetricRegistry registry = new MetricRegistry();
+        filter.listenTo(registry);
+        registry.counter("inc.before");
+
+        filter.close();
+        registry.counter("inc.after");
+
+        assertThat(filter.size()).isZero();
+        assertThat(evaluations).hasValue(1);
+    }
+
+    @Test
+    public void combinesRegularExpressions() {
+        final Predicate<String> matcher = new RegexStringMatchingStrategy()
+            .compile(ImmutableSet.of("inc\\..+", "exact|other"));
+
+        assertThat(matcher.test("inc.a")).isTrue();
+        assertThat(matcher.test("exact")).isTrue();
+        assertThat(matcher.test("other")).isTrue();
+        assertThat(matcher.test("inc")).isFalse();
+        assertThat(matcher.test("exactly")).isFalse();
+    }
+
+    @Test
+    public void compilesRegularExpressionsWithBackReferences() {
+        final Predicate<String> matcher = new RegexStringMatchingStrategy()
+            .compile(ImmutableSet.of("inc\\..+", "exact", "(a)b\\1"));
+
+        assertThat(matcher.test("inc.a")).isTrue();
+        assertThat(matcher.test("exact")).isTrue();
+        assertThat(matcher.test("aba")).isTrue();
+        assertThat(matcher.test("inc")).isFalse();
+        assertThat(matcher.test("exactly")).isFalse();
+    }
+
+    @Test
+    public void unfilteredFactoriesIncludeEverything() {
+        final BaseReporterFactory factory = new ConsoleReporterFactory();
+
+        assertThat(factory.getFilter()).isSameAs(MetricFilter.ALL);
+    }
+}
@@ -1,6 +1,7 @@
 package io.dropwizard.metrics;
 
 import com.codahale.metrics.MetricAttribute;
+import com.codahale.metrics.MetricFilter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.ScheduledReporter;
 import com.google.common.collect.ImmutableList;
@@ -34,7 +35,7 @@ public class MetricAttributesTest {
 
     private final BaseReporterFactory factory = new BaseReporterFactory() {
         @Override
-        public ScheduledReporter build(MetricRegistry registry) {
+        public ScheduledReporter build(MetricRegistry registry, MetricFilter filter) {
             throw new UnsupportedOperationException("not implemented");
         }
     };
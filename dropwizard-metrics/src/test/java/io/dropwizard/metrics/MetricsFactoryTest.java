@@ -1,10 +1,14 @@
 package io.dropwizard.metrics;
 
 import com.codahale.metrics.MetricAttribute;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.ScheduledReporter;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
 import com.google.common.io.Resources;
 import io.dropwizard.configuration.YamlConfigurationFactory;
 import io.dropwizard.jackson.Jackson;
+import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
 import io.dropwizard.logging.BootstrapLogging;
 import io.dropwizard.util.Duration;
 import io.dropwizard.validation.BaseValidator;
@@ -13,8 +17,15 @@ import org.junit.Test;
 
 import java.io.File;
 import java.util.EnumSet;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class MetricsFactoryTest {
     static {
@@ -66,4 +77,61 @@ public class MetricsFactoryTest {
         assertThat(csvReporterFactory.getIncludesAttributes()).isEqualTo(EnumSet.allOf(MetricAttribute.class));
         assertThat(csvReporterFactory.getExcludesAttributes()).isEmpty();
     }
+
+    @Test
+    public void sharesSnapshotsBetweenReportersWithTheSameFrequency() {
+        final Slf4jReporterFactory other = new Slf4jReporterFactory();
+        other.setFrequency(Optional.of(Duration.minutes(5)));
+        final MetricsFactory metricsFactory = new MetricsFactory();
+        metricsFactory.setShareSnapshots(true);
+        metricsFactory.setReporters(ImmutableList.of(new Slf4jReporterFactory(), new ConsoleReporterFactory(), other));
+        final LifecycleEnvironment lifecycle = mock(LifecycleEnvironment.class);
+
+        metricsFactory.configure(lifecycle, new MetricRegistry());
+
+        verify(lifecycle, times(1)).manage(any(ReportingCoordinator.class));
+        verify(lifecycle, times(1)).manage(any(ScheduledReporterManager.class));
+    }
+
+    @Test
+    public void doesNotShareSnapshotsByDefault() {
+        final MetricsFactory metricsFactory = new MetricsFactory();
+        metricsFactory.setReporters(ImmutableList.of(new Slf4jReporterFactory(), new ConsoleReporterFactory()));
+        final LifecycleEnvironment lifecycle = mock(LifecycleEnvironment.class);
+
+        metricsFactory.configure(lifecycle, new MetricRegistry());
+
+        verify(lifecycle, never()).manage(any(ReportingCoordinator.class));
+        verify(lifecycle, times(2)).manage(any(ScheduledReporterManager.class));
+    }
+
+    @Test
+    public void doesNotShareSnapshotsWithOtherReporters() {
+        final ReporterFactory custom = mock(ReporterFactory.class);
+        when(custom.getFrequency()).thenReturn(Optional.empty());
+        when(custom.build(any(MetricRegistry.class))).thenReturn(mock(ScheduledReporter.class));
+        final MetricsFactory metricsFactory = new MetricsFactory();
+        metricsFactory.setShareSnapshots(true);
+        metricsFactory.setReporters(ImmutableList.of(new Slf4jReporterFactory(), custom, new ConsoleReporterFactory()));
+        final LifecycleEnvironment lifecycle = mock(LifecycleEnvironment.class);
+
+        metricsFactory.configure(lifecycle, new MetricRegistry());
+
+        verify(lifecycle, times(1)).manage(any(ReportingCoordinator.class));
+        verify(lifecycle, times(1)).manage(any(ScheduledReporterManager.class));
+    }
+
+    @Test
+    public void sharesSnapshotsWhenConfiguredAgain() {
+        final MetricsFactory metricsFactory = new MetricsFactory();
+        metricsFactory.setShareSnapshots(true);
+        metricsFactory.setReporters(ImmutableList.of(new Slf4jReporterFactory(), new ConsoleReporterFactory()));
+        final LifecycleEnvironment lifecycle = mock(LifecycleEnvironment.class);
+        final MetricRegistry registry = new MetricRegistry();
+
+        metricsFactory.configure(lifecycle, registry);
+        metricsFactory.configure(lifecycle, registry);
+
+        verify(lifecycle, times(2)).manage(any(ReportingCoordinator.class));
+    }
 }
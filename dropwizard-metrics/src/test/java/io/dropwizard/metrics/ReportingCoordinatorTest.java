@@ -0,0 +1,148 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.ScheduledReporter;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.UniformReservoir;
+import io.dropwizard.util.Duration;
+import org.junit.Test;
+
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReportingCoordinatorTest {
+    private final MetricRegistry registry = new MetricRegistry();
+    private final AtomicInteger snapshots = new AtomicInteger();
+    private final AtomicInteger gaugeReads = new AtomicInteger();
+    private final ReportingCoordinator coordinator = new ReportingCoordinator(registry, Duration.seconds(10));
+    private final CapturingReporter all = new CapturingReporter(registry);
+    private final CapturingReporter requests = new CapturingReporter(registry);
+
+    @SuppressWarnings("rawtypes")
+    private static class CapturingReporter extends ScheduledReporter {
+        private SortedMap<String, Gauge> gauges;
+        private SortedMap<String, Histogram> histograms;
+        private SortedMap<String, Timer> timers;
+        private int reports;
+
+        private CapturingReporter(MetricRegistry registry) {
+            super(registry, "capturing", MetricFilter.ALL, TimeUnit.SECONDS, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void report(SortedMap<String, Gauge> gauges,
+                           SortedMap<String, Counter> counters,
+                           SortedMap<String, Histogram> histograms,
+                           SortedMap<String, Meter> meters,
+                           SortedMap<String, Timer> timers) {
+            this.gauges = gauges;
+            this.histograms = histograms;
+            this.timers = timers;
+            reports++;
+            gauges.values().forEach(Gauge::getValue);
+            histograms.values().forEach(Histogram::getSnapshot);
+            timers.values().forEach(Timer::getSnapshot);
+        }
+    }
+
+    private final UniformReservoir reservoir = new UniformReservoir() {
+        @Override
+        public Snapshot getSnapshot() {
+            snapshots.incrementAndGet();
+            return super.getSnapshot();
+        }
+    };
+
+    @Test
+    public void sharesSnapshotsBetweenReporters() {
+        registry.register("requests.sizes", new Histogram(reservoir));
+        registry.histogram("requests.sizes").update(42);
+        registry.register("requests.queued", (Gauge<Integer>) gaugeReads::incrementAndGet);
+        registry.timer("other.latency").update(1, TimeUnit.SECONDS);
+        coordinator.add(all, MetricFilter.ALL);
+        coordinator.add(requests, MetricFilter.startsWith("requests."));
+
+        coordinator.report();
+
+        assertThat(snapshots).hasValue(1);
+        assertThat(gaugeReads).hasValue(1);
+        assertThat(all.histograms.get("requests.sizes").getSnapshot().getMax()).isEqualTo(42);
+        assertThat(all.histograms.get("requests.sizes").getCount()).isEqualTo(1);
+        assertThat(all.timers).containsOnlyKeys("other.latency",
+            "io.dropwizard.metrics.ReportingCoordinator.10000ms.duration");
+        assertThat(requests.histograms).containsOnlyKeys("requests.sizes");
+        assertThat(requests.gauges).containsOnlyKeys("requests.queued");
+        assertThat(requests.timers).isEmpty();
+    }
+
+    @Test
+    public void takesNewSnapshotsOnEveryReport() {
+        registry.register("requests.sizes", new Histogram(reservoir));
+        coordinator.add(all, MetricFilter.ALL);
+        coordinator.add(requests, MetricFilter.ALL);
+
+        coordinator.report();
+        registry.histogram("requests.sizes").update(7);
+        coordinator.report();
+
+        assertThat(snapshots).hasValue(2);
+        assertThat(requests.histograms.get("requests.sizes").getCount()).isEqualTo(1);
+        assertThat(requests.histograms.get("requests.sizes").getSnapshot().getMax()).isEqualTo(7);
+    }
+
+    @Test
+    public void measuresItsReports() {
+        registry.counter("requests.count");
+        coordinator.add(all, MetricFilter.ALL);
+
+        coordinator.report();
+
+        final String prefix = "io.dropwizard.metrics.ReportingCoordinator.10000ms";
+        assertThat(registry.timer(prefix + ".duration").getCount()).isEqualTo(1);
+        // The counter, the timer and the gauge of the coordinator
+        assertThat(registry.getGauges().get(prefix + ".registry-size").getValue()).isEqualTo(3);
+    }
+
+    @Test
+    public void reportsTheLastIntervalWhenStopped() throws Exception {
+        registry.counter("requests.count").inc();
+        coordinator.add(all, MetricFilter.ALL);
+        coordinator.add(requests, MetricFilter.startsWith("requests."));
+
+        coordinator.start();
+        coordinator.stop();
+
+        assertThat(all.reports).isEqualTo(1);
+        assertThat(requests.reports).isEqualTo(1);
+        assertThat(all.gauges).containsOnlyKeys("io.dropwizard.metrics.ReportingCoordinator.10000ms.registry-size");
+    }
+
+    @Test
+    public void closesTheFiltersOfItsReportersWhenStopped() throws Exception {
+        final MemoizingMetricFilter filter = new MemoizingMetricFilter(name -> name.startsWith("requests"));
+        filter.listenTo(registry);
+        coordinator.add(requests, filter);
+
+        coordinator.start();
+        coordinator.stop();
+        registry.counter("requests.added");
+
+        assertThat(filter.size()).isZero();
+    }
+
+    @Test
+    public void replacesTheRegistrySizeOfAPreviousCoordinator() {
+        new ReportingCoordinator(registry, Duration.seconds(10));
+
+        assertThat(registry.getGauges()).containsKey("io.dropwizard.metrics.ReportingCoordinator.10000ms.registry-size");
+    }
+}
@@ -0,0 +1,80 @@
+package io.dropwizard.request.logging.compact;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggerContextVO;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.server.Authentication;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.RequestLog;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+
+import javax.annotation.Nullable;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * A {@link RequestLog} which logs requests in the NCSA extended format, like
+ * {@link io.dropwizard.request.logging.old.DropwizardSlf4jRequestLog}, without formatting them on the thread handling
+ * the request.
+ * <p/>
+ * Only the fields of the log line are read from the request and the response, into a {@link CompactRequestLogEvent}
+ * which the appenders format when they write it.
+ */
+public class CompactRequestLog extends AbstractLifeCycle implements RequestLog {
+    private static final String DATE_FORMAT = "dd/MMM/yyyy:HH:mm:ss Z";
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders;
+    private final LoggerContextVO loggerContext;
+    private final DateTimeFormatter dateFormatter;
+
+    /**
+     * Creates a new request log.
+     *
+     * @param appenders     the appenders to which requests will be logged
+     * @param loggerContext the logger context the events belong to
+     * @param timeZone      the timezone to which timestamps will be converted
+     */
+    CompactRequestLog(AppenderAttachableImpl<ILoggingEvent> appenders, LoggerContextVO loggerContext,
+                      TimeZone timeZone) {
+        this.appenders = appenders;
+        this.loggerContext = loggerContext;
+        this.dateFormatter = DateTimeFormatter.ofPattern(DATE_FORMAT, Locale.US).withZone(timeZone.toZoneId());
+    }
+
+    @Override
+    public void log(Request request, Response response) {
+        final String forwardedFor = request.getHeader(HttpHeader.X_FORWARDED_FOR.asString());
+        appenders.appendLoopOnAppenders(new CompactRequestLogEvent(
+            loggerContext,
+            dateFormatter,
+            System.currentTimeMillis(),
+            forwardedFor == null ? request.getRemoteAddr() : forwardedFor,
+            user(request),
+            request.getTimeStamp(),
+            request.getMethod(),
+            request.getOriginalURI(),
+            request.getProtocol(),
+            response.getCommittedMetaData().getStatus(),
+            response.getHttpChannel().getBytesWritten(),
+            request.getHeader(HttpHeader.REFERER.asString()),
+            request.getHeader(HttpHeader.USER_AGENT.asString())));
+    }
+
+    @Nullable
+    private static String user(Request request) {
+        final Authentication authentication = request.getAuthentication();
+        if (authentication instanceof Authentication.User) {
+            return ((Authentication.User) authentication).getUserIdentity().getUserPrincipal().getName();
+        }
+        return null;
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        appenders.detachAndStopAllAppenders();
+        super.doStop();
+    }
+}
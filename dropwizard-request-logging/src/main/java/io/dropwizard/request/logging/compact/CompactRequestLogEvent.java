@@ -0,0 +1,186 @@
+package io.dropwizard.request.logging.compact;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.LoggerContextVO;
+import org.slf4j.Marker;
+
+import javax.annotation.Nullable;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A logging event holding the fields of a request logged in the NCSA extended format.
+ * <p/>
+ * The fields are captured on the thread handling the request, and the log line is only formatted when an appender
+ * reads the message, usually on the thread of an asynchronous appender. The event is immutable, so it doesn't need
+ * any preparation before being handed over to another thread.
+ */
+class CompactRequestLogEvent implements ILoggingEvent {
+    static final String LOGGER_NAME = "http.request";
+
+    private static final StackTraceElement[] NO_CALLER_DATA = new StackTraceElement[0];
+
+    private final LoggerContextVO loggerContext;
+    private final DateTimeFormatter dateFormatter;
+    private final String threadName;
+    private final long timestamp;
+    private final String address;
+    @Nullable
+    private final String user;
+    private final long requestTimestamp;
+    @Nullable
+    private final String method;
+    @Nullable
+    private final String uri;
+    @Nullable
+    private final String protocol;
+    private final int status;
+    private final long bytesWritten;
+    @Nullable
+    private final String referer;
+    @Nullable
+    private final String userAgent;
+
+    @Nullable
+    private String message;
+
+    CompactRequestLogEvent(LoggerContextVO loggerContext,
+                           DateTimeFormatter dateFormatter,
+                           long timestamp,
+                           String address,
+                           @Nullable String user,
+                           long requestTimestamp,
+                           @Nullable String method,
+                           @Nullable String uri,
+                           @Nullable String protocol,
+                           int status,
+                           long bytesWritten,
+                           @Nullable String referer,
+                           @Nullable String userAgent) {
+        this.loggerContext = loggerContext;
+        this.dateFormatter = dateFormatter;
+        this.threadName = Thread.currentThread().getName();
+        this.timestamp = timestamp;
+        this.address = address;
+        this.user = user;
+        this.requestTimestamp = requestTimestamp;
+        this.method = method;
+        this.uri = uri;
+        this.protocol = protocol;
+        this.status = status;
+        this.bytesWritten = bytesWritten;
+        this.referer = referer;
+        this.userAgent = userAgent;
+    }
+
+    private String format() {
+        final StringBuilder line = new StringBuilder(256);
+        line.append(address).append(" - ").append(user == null ? "-" : user);
+        line.append(" [");
+        dateFormatter.formatTo(Instant.ofEpochMilli(requestTimestamp), line);
+        line.append("] \"").append(method).append(' ').append(uri).append(' ').append(protocol).append("\" ");
+        line.append(status);
+        if (bytesWritten >= 0) {
+            line.append(' ').append(bytesWritten).append(' ');
+        } else {
+            line.append(" - ");
+        }
+        quote(line, referer).append(' ');
+        quote(line, userAgent).append(' ');
+        line.append(timestamp - requestTimestamp);
+        return line.toString();
+    }
+
+    private static StringBuilder quote(StringBuilder line, @Nullable String value) {
+        return value == null ? line.append("\"-\"") : line.append('"').append(value).append('"');
+    }
+
+    @Override
+    public String getThreadName() {
+        return threadName;
+    }
+
+    @Override
+    public Level getLevel() {
+        return Level.INFO;
+    }
+
+    @Override
+    public String getMessage() {
+        return getFormattedMessage();
+    }
+
+    @Override
+    @Nullable
+    public Object[] getArgumentArray() {
+        return null;
+    }
+
+    @Override
+    public String getFormattedMessage() {
+        // Formatting twice when appenders race is harmless, the line is always the same
+        String formatted = message;
+        if (formatted == null) {
+            formatted = format();
+            message = formatted;
+        }
+        return formatted;
+    }
+
+    @Override
+    public String getLoggerName() {
+        return LOGGER_NAME;
+    }
+
+    @Override
+    public LoggerContextVO getLoggerContextVO() {
+        return loggerContext;
+    }
+
+    @Override
+    @Nullable
+    public IThrowableProxy getThrowableProxy() {
+        return null;
+    }
+
+    @Override
+    public StackTraceElement[] getCallerData() {
+        return NO_CALLER_DATA;
+    }
+
+    @Override
+    public boolean hasCallerData() {
+        return false;
+    }
+
+    @Override
+    @Nullable
+    public Marker getMarker() {
+        return null;
+    }
+
+    @Override
+    public Map<String, String> getMDCPropertyMap() {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    @Deprecated
+    public Map<String, String> getMdc() {
+        return getMDCPropertyMap();
+    }
+
+    @Override
+    public long getTimeStamp() {
+        return timestamp;
+    }
+
+    @Override
+    public void prepareForDeferredProcessing() {
+        // The captured fields are immutable, and the line is formatted lazily by the appenders
+    }
+}
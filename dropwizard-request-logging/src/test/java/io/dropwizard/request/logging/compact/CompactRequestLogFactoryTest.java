@@ -0,0 +1,57 @@
+package io.dropwizard.request.logging.compact;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.io.Resources;
+import io.dropwizard.configuration.YamlConfigurationFactory;
+import io.dropwizard.jackson.DiscoverableSubtypeResolver;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.logging.BootstrapLogging;
+import io.dropwizard.logging.ConsoleAppenderFactory;
+import io.dropwizard.request.logging.RequestLogFactory;
+import io.dropwizard.validation.BaseValidator;
+import org.eclipse.jetty.server.RequestLog;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.TimeZone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompactRequestLogFactoryTest {
+
+    static {
+        BootstrapLogging.bootstrap();
+    }
+
+    private RequestLogFactory<?> requestLog;
+
+    @Before
+    public void setUp() throws Exception {
+        final ObjectMapper objectMapper = Jackson.newObjectMapper();
+        objectMapper.getSubtypeResolver().registerSubtypes(ConsoleAppenderFactory.class);
+        this.requestLog = new YamlConfigurationFactory<>(RequestLogFactory.class,
+            BaseValidator.newValidator(), objectMapper, "dw")
+            .build(new File(Resources.getResource("yaml/compactRequestLog.yml").toURI()));
+    }
+
+    @Test
+    public void testDeserialized() {
+        final CompactRequestLogFactory compactRequestLogFactory = (CompactRequestLogFactory) requestLog;
+        assertThat(compactRequestLogFactory.getTimeZone()).isEqualTo(TimeZone.getTimeZone("Europe/Amsterdam"));
+        assertThat(compactRequestLogFactory.getAppenders()).hasSize(1).extractingResultOf("getClass")
+            .contains(ConsoleAppenderFactory.class);
+    }
+
+    @Test
+    public void testBuild() {
+        final RequestLog requestLog = this.requestLog.build("compact-request-log");
+        assertThat(requestLog).isInstanceOf(CompactRequestLog.class);
+    }
+
+    @Test
+    public void isDiscoverable() throws Exception {
+        assertThat(new DiscoverableSubtypeResolver().getDiscoveredSubtypes())
+            .contains(CompactRequestLogFactory.class);
+    }
+}
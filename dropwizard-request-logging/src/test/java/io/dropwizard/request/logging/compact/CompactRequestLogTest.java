@@ -0,0 +1,111 @@
+package io.dropwizard.request.logging.compact;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+import io.dropwizard.logging.BootstrapLogging;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Response;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CompactRequestLogTest {
+
+    static {
+        BootstrapLogging.bootstrap();
+    }
+
+    @SuppressWarnings("unchecked")
+    private final Appender<ILoggingEvent> appender = mock(Appender.class);
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final CompactRequestLog requestLog = new CompactRequestLog(appenders,
+        new LoggerContext().getLoggerContextRemoteView(), TimeZone.getTimeZone("UTC"));
+
+    private final Request request = mock(Request.class);
+    private final Response response = mock(Response.class, RETURNS_DEEP_STUBS);
+
+    @Before
+    public void setUp() throws Exception {
+        when(request.getRemoteAddr()).thenReturn("10.0.0.1");
+        when(request.getTimeStamp()).thenReturn(TimeUnit.SECONDS.toMillis(1353042048));
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getOriginalURI()).thenReturn("/test/things?yay");
+        when(request.getProtocol()).thenReturn("HTTP/1.1");
+
+        when(response.getCommittedMetaData().getStatus()).thenReturn(200);
+        when(response.getHttpChannel().getBytesWritten()).thenReturn(8290L);
+
+        appenders.addAppender(appender);
+
+        requestLog.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        requestLog.stop();
+    }
+
+    @Test
+    public void logsRequestsInTheExtendedNcsaFormat() {
+        final ILoggingEvent event = logAndCapture();
+
+        assertThat(event.getFormattedMessage())
+            .matches("10\\.0\\.0\\.1 - - \\[16/Nov/2012:05:00:48 \\+0000] \"GET /test/things\\?yay HTTP/1\\.1\" " +
+                "200 8290 \"-\" \"-\" \\d+");
+        assertThat(event.getMessage()).isEqualTo(event.getFormattedMessage());
+        assertThat(event.getLevel()).isEqualTo(Level.INFO);
+        assertThat(event.getLoggerName()).isEqualTo("http.request");
+        assertThat(event.getThreadName()).isEqualTo(Thread.currentThread().getName());
+    }
+
+    @Test
+    public void logsTheForwardedAddressAndTheExtendedHeaders() {
+        when(request.getHeader("X-Forwarded-For")).thenReturn("192.168.1.12");
+        when(request.getHeader("Referer")).thenReturn("https://example.com/");
+        when(request.getHeader("User-Agent")).thenReturn("curl/7.64.1");
+
+        final ILoggingEvent event = logAndCapture();
+
+        assertThat(event.getFormattedMessage())
+            .startsWith("192.168.1.12 - - ")
+            .contains(" 200 8290 \"https://example.com/\" \"curl/7.64.1\" ");
+    }
+
+    @Test
+    public void logsAMissingBodySizeAsADash() {
+        when(response.getHttpChannel().getBytesWritten()).thenReturn(-1L);
+
+        final ILoggingEvent event = logAndCapture();
+
+        assertThat(event.getFormattedMessage()).contains("\" 200 - \"-\"");
+    }
+
+    @Test
+    public void formatsTheLineOnlyOnce() {
+        final ILoggingEvent event = logAndCapture();
+
+        assertThat(event.getFormattedMessage()).isSameAs(event.getFormattedMessage());
+    }
+
+    private ILoggingEvent logAndCapture() {
+        requestLog.log(request, response);
+
+        final ArgumentCaptor<ILoggingEvent> captor = ArgumentCaptor.forClass(ILoggingEvent.class);
+        verify(appender).doAppend(captor.capture());
+
+        return captor.getValue();
+    }
+}
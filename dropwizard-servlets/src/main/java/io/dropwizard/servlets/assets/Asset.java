@@ -0,0 +1,63 @@
+package io.dropwizard.servlets.assets;
+
+import com.google.common.collect.ImmutableList;
+
+import javax.annotation.Nullable;
+import java.net.URL;
+
+/**
+ * A resolved asset, along with the metadata needed to answer conditional requests.
+ */
+abstract class Asset {
+    private final URL url;
+    private final String eTag;
+    private final long lastModifiedTime;
+
+    @Nullable
+    private final String contentEncoding;
+
+    Asset(URL url, String eTag, long lastModifiedTime, @Nullable String contentEncoding) {
+        this.url = url;
+        this.eTag = eTag;
+        this.lastModifiedTime = lastModifiedTime;
+        this.contentEncoding = contentEncoding;
+    }
+
+    public URL getUrl() {
+        return url;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public long getLastModifiedTime() {
+        return lastModifiedTime;
+    }
+
+    /**
+     * Returns the content coding of this asset, or {@code null} if it is not encoded.
+     *
+     * @return the content coding of this asset
+     */
+    @Nullable
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    /**
+     * Returns the precompressed variants of this asset, in order of preference.
+     *
+     * @return the precompressed variants of this asset
+     */
+    public ImmutableList<? extends Asset> getVariants() {
+        return ImmutableList.of();
+    }
+
+    /**
+     * Returns the length of the asset's contents in bytes.
+     *
+     * @return the length of the asset's contents in bytes
+     */
+    public abstract long getLength();
+}
@@ -0,0 +1,120 @@
+package io.dropwizard.servlets.assets;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.dropwizard.util.Size;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A server-side cache of loaded assets for an {@link AssetServlet}, bounded by the total number of bytes held rather
+ * than by the number of entries. Assets are keyed by their resolved resource path, so a directory and its index file
+ * share an entry, and a hit skips reading and hashing the resource entirely. Assets are evicted once the cache as a
+ * whole grows past its maximum size.
+ * <p>
+ * Assets loaded from {@code jar:} URLs cannot change at runtime. Assets loaded from {@code file:} URLs can, so the
+ * cache can optionally revalidate them against their last modified time on every hit.
+ */
+public class AssetCache {
+    private final Cache<String, CachedAsset> cache;
+    private final boolean revalidateFiles;
+    private final AtomicLong weight = new AtomicLong();
+    private final Meter hits;
+    private final Meter misses;
+    private final Meter evictions;
+
+    /**
+     * Creates a new asset cache.
+     *
+     * @param metricRegistry  the application's registry of metrics
+     * @param name            the name of the assets served from this cache, used to name its metrics
+     * @param maximumSize     the maximum total size of the cached asset contents
+     * @param revalidateFiles whether assets loaded from {@code file:} URLs should be reloaded when their last
+     *                        modified time changes
+     */
+    public AssetCache(MetricRegistry metricRegistry, String name, Size maximumSize, boolean revalidateFiles) {
+        checkArgument(maximumSize.toBytes() > 0, "maximumSize must be positive");
+        this.revalidateFiles = revalidateFiles;
+        this.hits = metricRegistry.meter(name(AssetServlet.class, name, "cache-hits"));
+        this.misses = metricRegistry.meter(name(AssetServlet.class, name, "cache-misses"));
+        this.evictions = metricRegistry.meter(name(AssetServlet.class, name, "cache-evictions"));
+        metricRegistry.register(name(AssetServlet.class, name, "cache-size"), (Gauge<Long>) this::size);
+        metricRegistry.register(name(AssetServlet.class, name, "cache-bytes"), (Gauge<Long>) this::weight);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .<String, CachedAsset>weigher((key, asset) -> asset.getWeight())
+                .<String, CachedAsset>removalListener(this::onRemoval)
+                // evict on the calling thread, so that the cache never holds more than its maximum size
+                .executor(Runnable::run)
+                .build();
+    }
+
+    /**
+     * Returns the cached asset for the given resolved resource path, or {@code null} if it must be (re)loaded.
+     */
+    @Nullable
+    CachedAsset getIfPresent(String resourcePath) {
+        final CachedAsset asset = cache.getIfPresent(resourcePath);
+        if (asset == null) {
+            misses.mark();
+            return null;
+        }
+
+        if (revalidateFiles && "file".equals(asset.getUrl().getProtocol())
+                && AssetServlet.lastModifiedTime(asset.getUrl()) != asset.getLastModifiedTime()) {
+            cache.invalidate(resourcePath);
+            misses.mark();
+            return null;
+        }
+
+        hits.mark();
+        return asset;
+    }
+
+    void put(String resourcePath, CachedAsset asset) {
+        weight.addAndGet(asset.getWeight());
+        cache.put(resourcePath, asset);
+    }
+
+    private void onRemoval(@Nullable String resourcePath, @Nullable CachedAsset asset, RemovalCause cause) {
+        if (asset != null) {
+            weight.addAndGet(-asset.getWeight());
+        }
+        if (cause.wasEvicted()) {
+            evictions.mark();
+        }
+    }
+
+    /**
+     * Discards all cached assets.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Returns the number of cached assets.
+     *
+     * @return the number of cached assets
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Returns the total size in bytes of the cached asset contents.
+     *
+     * @return the total size in bytes of the cached asset contents
+     */
+    public long weight() {
+        return weight.get();
+    }
+}
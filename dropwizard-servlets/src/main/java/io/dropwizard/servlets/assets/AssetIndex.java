@@ -0,0 +1,136 @@
+package io.dropwizard.servlets.assets;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Splitter;
+import com.google.common.base.StandardSystemProperty;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.io.Resources;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * An immutable index of the assets found under a resource path when an {@link AssetServlet} starts, keyed by the
+ * resource path they are requested by. Directories are keyed to their index file, if there is one.
+ * <p>
+ * The index is authoritative: assets which are not in it are not served, even if they appear on the classpath later.
+ */
+public class AssetIndex {
+    private final ImmutableMap<String, IndexedAsset> assets;
+
+    AssetIndex(ImmutableMap<String, IndexedAsset> assets) {
+        this.assets = assets;
+    }
+
+    @Nullable
+    IndexedAsset get(String resourcePath) {
+        return assets.get(resourcePath);
+    }
+
+    /**
+     * Returns the number of resource paths which resolve to an asset.
+     *
+     * @return the number of resource paths which resolve to an asset
+     */
+    public int size() {
+        return assets.size();
+    }
+
+    /**
+     * Finds the paths of all files under the given resource path, in every {@code file:} and {@code jar:} root of
+     * the classpath which contains it.
+     * <p>
+     * Jars built without directory entries don't expose the resource path itself as a resource, so every jar of the
+     * class path is scanned for entries under it as well.
+     *
+     * @param resourcePath the resource path to scan, with a trailing slash
+     * @return the resource paths of all files under {@code resourcePath}
+     */
+    static ImmutableSortedSet<String> findResources(String resourcePath) throws IOException, URISyntaxException {
+        final ClassLoader classLoader = MoreObjects.firstNonNull(Thread.currentThread().getContextClassLoader(),
+                Resources.class.getClassLoader());
+        final ImmutableSortedSet.Builder<String> resources = ImmutableSortedSet.naturalOrder();
+        final Set<Path> scannedJars = new HashSet<>();
+        final Enumeration<URL> roots = classLoader.getResources(resourcePath);
+        while (roots.hasMoreElements()) {
+            final URL root = roots.nextElement();
+            switch (root.getProtocol()) {
+                case "jar":
+                    final JarURLConnection connection = (JarURLConnection) root.openConnection();
+                    connection.setUseCaches(false);
+                    try (JarFile jarFile = connection.getJarFile()) {
+                        addEntries(jarFile, resourcePath, resources);
+                        scannedJars.add(Paths.get(jarFile.getName()).toAbsolutePath());
+                    }
+                    break;
+                case "file":
+                    final Path directory = Paths.get(root.toURI());
+                    try (Stream<Path> files = Files.walk(directory)) {
+                        files.filter(Files::isRegularFile)
+                             .map(file -> resourcePath + directory.relativize(file).toString().replace('\\', '/'))
+                             .forEach(resources::add);
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported protocol " + root.getProtocol() +
+                            " for resource " + root);
+            }
+        }
+        for (Path jar : findClassPathJars(classLoader)) {
+            if (scannedJars.add(jar) && Files.isRegularFile(jar)) {
+                try (JarFile jarFile = new JarFile(jar.toFile())) {
+                    addEntries(jarFile, resourcePath, resources);
+                }
+            }
+        }
+        return resources.build();
+    }
+
+    private static void addEntries(JarFile jarFile, String resourcePath, ImmutableSortedSet.Builder<String> resources) {
+        final Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+            final JarEntry entry = entries.nextElement();
+            if (!entry.isDirectory() && entry.getName().startsWith(resourcePath)) {
+                resources.add(entry.getName());
+            }
+        }
+    }
+
+    private static Set<Path> findClassPathJars(ClassLoader classLoader) throws URISyntaxException {
+        final Set<Path> jars = new LinkedHashSet<>();
+        for (ClassLoader loader = classLoader; loader != null; loader = loader.getParent()) {
+            if (loader instanceof URLClassLoader) {
+                for (URL url : ((URLClassLoader) loader).getURLs()) {
+                    if ("file".equals(url.getProtocol()) && url.getPath().endsWith(".jar")) {
+                        jars.add(Paths.get(url.toURI()).toAbsolutePath());
+                    }
+                }
+            }
+        }
+        // The application class loader isn't a URLClassLoader since Java 9
+        for (String entry : Splitter.on(File.pathSeparatorChar).omitEmptyStrings()
+                .split(Strings.nullToEmpty(StandardSystemProperty.JAVA_CLASS_PATH.value()))) {
+            if (entry.endsWith(".jar")) {
+                jars.add(Paths.get(entry).toAbsolutePath());
+            }
+        }
+        return jars;
+    }
+}
@@ -1,25 +1,33 @@
 package io.dropwizard.servlets.assets;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.CharMatcher;
 import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
-import com.google.common.hash.Hashing;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.io.Resources;
 import com.google.common.net.HttpHeaders;
 import com.google.common.net.MediaType;
+import io.dropwizard.util.Size;
 
 import javax.annotation.Nullable;
+import javax.servlet.AsyncContext;
 import javax.servlet.ServletException;
 import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
@@ -27,31 +35,10 @@ public class AssetServlet extends HttpServlet {
     private static final long serialVersionUID = 6393345594784987908L;
     private static final CharMatcher SLASHES = CharMatcher.is('/');
 
-    private static class CachedAsset {
-        private final byte[] resource;
-        private final String eTag;
-        private final long lastModifiedTime;
-
-        private CachedAsset(byte[] resource, long lastModifiedTime) {
-            this.resource = resource;
-            this.eTag = '"' + Hashing.murmur3_128().hashBytes(resource).toString() + '"';
-            this.lastModifiedTime = lastModifiedTime;
-        }
-
-        public byte[] getResource() {
-            return resource;
-        }
-
-        public String getETag() {
-            return eTag;
-        }
-
-        public long getLastModifiedTime() {
-            return lastModifiedTime;
-        }
-    }
-
     private static final MediaType DEFAULT_MEDIA_TYPE = MediaType.HTML_UTF_8;
+    private static final ImmutableMap<String, String> PRECOMPRESSED_EXTENSIONS = ImmutableMap.of(
+            "br", ".br",
+            "gzip", ".gz");
 
     private final String resourcePath;
     private final String uriPath;
@@ -62,6 +49,19 @@ public class AssetServlet extends HttpServlet {
     @Nullable
     private final Charset defaultCharset;
 
+    @Nullable
+    private transient AssetCache cache;
+
+    @Nullable
+    private transient Size fileStreamingThreshold;
+
+    private boolean servePrecompressedVariants;
+
+    private boolean indexAssets;
+
+    @Nullable
+    private transient AssetIndex assetIndex;
+
     /**
      * Creates a new {@code AssetServlet} that serves static assets loaded from {@code resourceURL}
      * (typically a file: or jar: URL). The assets are served at URIs rooted at {@code uriPath}. For
@@ -82,12 +82,34 @@ public class AssetServlet extends HttpServlet {
                         String uriPath,
                         @Nullable String indexFile,
                         @Nullable Charset defaultCharset) {
+        this(resourcePath, uriPath, indexFile, defaultCharset, null);
+    }
+
+    /**
+     * Creates a new {@code AssetServlet} that serves static assets loaded from {@code resourceURL},
+     * keeping loaded assets in the given {@link AssetCache} so that repeated requests for the same
+     * asset neither re-read the resource nor recompute its ETag.
+     *
+     * @param resourcePath   the base URL from which assets are loaded
+     * @param uriPath        the URI path fragment in which all requests are rooted
+     * @param indexFile      the filename to use when directories are requested, or null to serve no
+     *                       indexes
+     * @param defaultCharset the default character set
+     * @param cache          the cache of loaded assets, or null to load assets on every request
+     * @see #AssetServlet(String, String, String, Charset)
+     */
+    public AssetServlet(String resourcePath,
+                        String uriPath,
+                        @Nullable String indexFile,
+                        @Nullable Charset defaultCharset,
+                        @Nullable AssetCache cache) {
         final String trimmedPath = SLASHES.trimFrom(resourcePath);
         this.resourcePath = trimmedPath.isEmpty() ? trimmedPath : trimmedPath + '/';
         final String trimmedUri = SLASHES.trimTrailingFrom(uriPath);
         this.uriPath = trimmedUri.isEmpty() ? "/" : trimmedUri;
         this.indexFile = indexFile;
         this.defaultCharset = defaultCharset;
+        this.cache = cache;
     }
 
     public URL getResourceURL() {
@@ -103,6 +125,101 @@ public class AssetServlet extends HttpServlet {
         return indexFile;
     }
 
+    @Nullable
+    public AssetCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Keeps loaded assets in the given {@link AssetCache}, so that repeated requests for the same
+     * asset neither re-read the resource nor recompute its ETag.
+     *
+     * @param cache the cache of loaded assets, or null to load assets on every request
+     */
+    public void setCache(@Nullable AssetCache cache) {
+        this.cache = cache;
+    }
+
+    @Nullable
+    public Size getFileStreamingThreshold() {
+        return fileStreamingThreshold;
+    }
+
+    /**
+     * Streams assets loaded from {@code file:} URLs which are at least {@code threshold} in size
+     * straight from disk, a chunk at a time, instead of reading them into memory. If the request
+     * supports asynchronous processing, the file is written as the client is able to receive it,
+     * without holding on to a request thread. Streamed assets are never cached.
+     *
+     * @param threshold the minimum size of streamed files, or null to never stream files
+     */
+    public void setFileStreamingThreshold(@Nullable Size threshold) {
+        this.fileStreamingThreshold = threshold;
+    }
+
+    public boolean isServePrecompressedVariants() {
+        return servePrecompressedVariants;
+    }
+
+    /**
+     * Serves precompressed variants of assets to clients which accept them. A variant is a sidecar
+     * resource next to the original asset with a {@code .br} (Brotli) or {@code .gz} (gzip)
+     * extension, e.g. {@code app.js.br} for {@code app.js}. Variants are served as-is with the
+     * matching {@code Content-Encoding} and their own ETag, so they are never compressed again on
+     * the fly. Variants are not used for byte range requests or for streamed files.
+     *
+     * @param servePrecompressedVariants whether to serve precompressed variants
+     */
+    public void setServePrecompressedVariants(boolean servePrecompressedVariants) {
+        this.servePrecompressedVariants = servePrecompressedVariants;
+    }
+
+    public boolean isIndexAssets() {
+        return indexAssets;
+    }
+
+    /**
+     * Scans all assets under the resource path when the servlet is initialized, precomputing their
+     * length, ETag, last modified time and media type into an immutable {@link AssetIndex}. Requests
+     * which can be answered from those alone, i.e. HEAD requests and conditional requests resulting
+     * in a 304, are then served without touching the resource at all. Only assets found by the scan
+     * are served, and the servlet fails to initialize if there are none.
+     * <p>
+     * Indexing reads every asset which isn't streamed from a file to compute its ETag, so it slows
+     * down the startup of applications with many or large assets.
+     *
+     * @param indexAssets whether to index assets on startup
+     */
+    public void setIndexAssets(boolean indexAssets) {
+        this.indexAssets = indexAssets;
+    }
+
+    /**
+     * Returns the index of assets built on startup, or {@code null} if assets are not indexed.
+     *
+     * @return the index of assets built on startup
+     */
+    @Nullable
+    public AssetIndex getAssetIndex() {
+        return assetIndex;
+    }
+
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        if (indexAssets) {
+            try {
+                assetIndex = buildIndex();
+            } catch (IOException | URISyntaxException e) {
+                throw new ServletException("Unable to index assets in " + resourcePath, e);
+            }
+            if (assetIndex.size() == 0) {
+                // The index is authoritative, so every request would be answered with a 404
+                throw new ServletException("No assets found in " + resourcePath);
+            }
+        }
+    }
+
     @Override
     protected void doGet(HttpServletRequest req,
                          HttpServletResponse resp) throws ServletException, IOException {
@@ -111,20 +228,44 @@ public class AssetServlet extends HttpServlet {
             if (req.getPathInfo() != null) {
                 builder.append(req.getPathInfo());
             }
-            final CachedAsset cachedAsset = loadAsset(builder.toString());
-            if (cachedAsset == null) {
+            final String absoluteRequestedResourcePath = resolveResourcePath(builder.toString());
+
+            IndexedAsset indexedAsset = null;
+            if (assetIndex != null) {
+                indexedAsset = assetIndex.get(absoluteRequestedResourcePath);
+                if (indexedAsset == null) {
+                    resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+                    return;
+                }
+
+                final Asset indexedVariant = selectVariant(req, resp, indexedAsset);
+                if (isCachedClientSide(req, indexedVariant)) {
+                    resp.sendError(HttpServletResponse.SC_NOT_MODIFIED);
+                    return;
+                }
+                if ("HEAD".equals(req.getMethod())) {
+                    writeHeaders(resp, indexedVariant, indexedAsset.getMediaType(), false);
+                    resp.setContentLengthLong(indexedVariant.getLength());
+                    return;
+                }
+            }
+
+            final Asset loadedAsset = loadAsset(absoluteRequestedResourcePath, indexedAsset);
+            if (loadedAsset == null) {
                 resp.sendError(HttpServletResponse.SC_NOT_FOUND);
                 return;
             }
 
-            if (isCachedClientSide(req, cachedAsset)) {
+            final Asset asset = selectVariant(req, resp, loadedAsset);
+
+            if (isCachedClientSide(req, asset)) {
                 resp.sendError(HttpServletResponse.SC_NOT_MODIFIED);
                 return;
             }
 
             final String rangeHeader = req.getHeader(HttpHeaders.RANGE);
 
-            final int resourceLength = cachedAsset.getResource().length;
+            final long resourceLength = asset.getLength();
             ImmutableList<ByteRange> ranges = ImmutableList.of();
 
             boolean usingRanges = false;
@@ -134,7 +275,7 @@ public class AssetServlet extends HttpServlet {
 
                 final String ifRange = req.getHeader(HttpHeaders.IF_RANGE);
 
-                if (ifRange == null || cachedAsset.getETag().equals(ifRange)) {
+                if (ifRange == null || asset.getETag().equals(ifRange)) {
 
                     try {
                         ranges = parseRangeHeader(rangeHeader, resourceLength);
@@ -156,40 +297,22 @@ public class AssetServlet extends HttpServlet {
                 }
             }
 
-            resp.setDateHeader(HttpHeaders.LAST_MODIFIED, cachedAsset.getLastModifiedTime());
-            resp.setHeader(HttpHeaders.ETAG, cachedAsset.getETag());
-
-            final String mimeTypeOfExtension = req.getServletContext()
-                                                  .getMimeType(req.getRequestURI());
-            MediaType mediaType = DEFAULT_MEDIA_TYPE;
-
-            if (mimeTypeOfExtension != null) {
-                try {
-                    mediaType = MediaType.parse(mimeTypeOfExtension);
-                    if (defaultCharset != null && mediaType.is(MediaType.ANY_TEXT_TYPE)) {
-                        mediaType = mediaType.withCharset(defaultCharset);
-                    }
-                } catch (IllegalArgumentException ignore) {
-                    // ignore
-                }
-            }
+            final MediaType mediaType = indexedAsset != null ? indexedAsset.getMediaType()
+                    : mediaTypeOf(req.getServletContext().getMimeType(req.getRequestURI()));
+            writeHeaders(resp, asset, mediaType, usingRanges);
 
-            if (mediaType.is(MediaType.ANY_VIDEO_TYPE)
-                    || mediaType.is(MediaType.ANY_AUDIO_TYPE) || usingRanges) {
-                resp.addHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
-            }
-
-            resp.setContentType(mediaType.type() + '/' + mediaType.subtype());
-
-            if (mediaType.charset().isPresent()) {
-                resp.setCharacterEncoding(mediaType.charset().get().toString());
+            if (asset instanceof FileAsset) {
+                writeFile(req, resp, (FileAsset) asset, ranges);
+                return;
             }
 
+            final CachedAsset cachedAsset = (CachedAsset) asset;
             try (ServletOutputStream output = resp.getOutputStream()) {
                 if (usingRanges) {
                     for (ByteRange range : ranges) {
-                        output.write(cachedAsset.getResource(), range.getStart(),
-                                range.getEnd() - range.getStart() + 1);
+                        // cached assets are held in a byte array, so their ranges fit in an int
+                        output.write(cachedAsset.getResource(), Math.toIntExact(range.getStartOffset()),
+                                Math.toIntExact(range.getEndOffset() - range.getStartOffset() + 1));
                     }
                 } else {
                     output.write(cachedAsset.getResource());
@@ -200,31 +323,258 @@ public class AssetServlet extends HttpServlet {
         }
     }
 
-    @Nullable
-    private CachedAsset loadAsset(String key) throws URISyntaxException, IOException {
+    private void writeHeaders(HttpServletResponse resp, Asset asset, MediaType mediaType, boolean usingRanges) {
+        resp.setDateHeader(HttpHeaders.LAST_MODIFIED, asset.getLastModifiedTime());
+        resp.setHeader(HttpHeaders.ETAG, asset.getETag());
+
+        if (mediaType.is(MediaType.ANY_VIDEO_TYPE)
+                || mediaType.is(MediaType.ANY_AUDIO_TYPE) || usingRanges) {
+            resp.addHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        }
+
+        resp.setContentType(mediaType.type() + '/' + mediaType.subtype());
+
+        if (mediaType.charset().isPresent()) {
+            resp.setCharacterEncoding(mediaType.charset().get().toString());
+        }
+    }
+
+    private MediaType mediaTypeOf(@Nullable String mimeTypeOfExtension) {
+        MediaType mediaType = DEFAULT_MEDIA_TYPE;
+
+        if (mimeTypeOfExtension != null) {
+            try {
+                mediaType = MediaType.parse(mimeTypeOfExtension);
+                if (defaultCharset != null && mediaType.is(MediaType.ANY_TEXT_TYPE)) {
+                    mediaType = mediaType.withCharset(defaultCharset);
+                }
+            } catch (IllegalArgumentException ignore) {
+                // ignore
+            }
+        }
+        return mediaType;
+    }
+
+    private void writeFile(HttpServletRequest req, HttpServletResponse resp, FileAsset asset,
+                           ImmutableList<ByteRange> ranges) throws IOException {
+        long contentLength = asset.getLength();
+        if (!ranges.isEmpty()) {
+            contentLength = 0;
+            for (ByteRange range : ranges) {
+                contentLength += Math.min(range.getEndOffset(), asset.getLength() - 1) - range.getStartOffset() + 1;
+            }
+        }
+        resp.setContentLengthLong(contentLength);
+
+        if ("HEAD".equals(req.getMethod())) {
+            // the container discards the body of HEAD responses anyway
+            return;
+        }
+
+        final FileAssetWriter writer = new FileAssetWriter(asset, resp.getOutputStream(), ranges);
+        if (req.isAsyncSupported()) {
+            final AsyncContext context = req.startAsync();
+            // large files may legitimately take a long time to drain to slow clients; the connection's idle
+            // timeout still applies
+            context.setTimeout(0);
+            writer.writeAsync(context);
+        } else {
+            try (ServletOutputStream ignored = resp.getOutputStream()) {
+                writer.write();
+            }
+        }
+    }
+
+    private String resolveResourcePath(String key) {
         checkArgument(key.startsWith(uriPath));
         final String requestedResourcePath = SLASHES.trimFrom(key.substring(uriPath.length()));
-        final String absoluteRequestedResourcePath = SLASHES.trimFrom(this.resourcePath + requestedResourcePath);
+        return SLASHES.trimFrom(this.resourcePath + requestedResourcePath);
+    }
 
-        URL requestedResourceURL = getResourceUrl(absoluteRequestedResourcePath);
-        if (ResourceURL.isDirectory(requestedResourceURL)) {
+    @Nullable
+    private Asset loadAsset(String absoluteRequestedResourcePath, @Nullable IndexedAsset indexedAsset)
+            throws URISyntaxException, IOException {
+        String resolvedResourcePath = absoluteRequestedResourcePath;
+        URL requestedResourceURL;
+        if (indexedAsset != null) {
+            // already resolved while indexing
+            resolvedResourcePath = indexedAsset.getResourcePath();
+            requestedResourceURL = indexedAsset.getUrl();
+        } else {
+            requestedResourceURL = getResourceUrl(resolvedResourcePath);
+        }
+
+        if (indexedAsset == null && ResourceURL.isDirectory(requestedResourceURL)) {
             if (indexFile != null) {
-                requestedResourceURL = getResourceUrl(absoluteRequestedResourcePath + '/' + indexFile);
+                resolvedResourcePath = absoluteRequestedResourcePath + '/' + indexFile;
+                requestedResourceURL = getResourceUrl(resolvedResourcePath);
             } else {
                 // directory requested but no index file defined
                 return null;
             }
         }
 
-        long lastModified = ResourceURL.getLastModified(requestedResourceURL);
+        if (cache != null) {
+            final CachedAsset cachedAsset = cache.getIfPresent(resolvedResourcePath);
+            if (cachedAsset != null) {
+                return cachedAsset;
+            }
+        }
+
+        final long streamedLength = streamedFileLength(requestedResourceURL);
+        if (streamedLength >= 0) {
+            return new FileAsset(requestedResourceURL, Paths.get(requestedResourceURL.toURI()), streamedLength,
+                    lastModifiedTime(requestedResourceURL));
+        }
+
+        final CachedAsset cachedAsset = new CachedAsset(requestedResourceURL, readResource(requestedResourceURL),
+                lastModifiedTime(requestedResourceURL), null, loadVariants(resolvedResourcePath));
+        if (cache != null) {
+            cache.put(resolvedResourcePath, cachedAsset);
+        }
+        return cachedAsset;
+    }
+
+    @VisibleForTesting
+    long fileLength(File file) {
+        return file.length();
+    }
+
+    /**
+     * Returns the length of the file the resource is streamed from, or -1 if the resource isn't streamed.
+     */
+    private long streamedFileLength(URL resourceURL) throws URISyntaxException {
+        if (fileStreamingThreshold == null || !"file".equals(resourceURL.getProtocol())) {
+            return -1;
+        }
+        final long length = fileLength(new File(resourceURL.toURI()));
+        return length >= fileStreamingThreshold.toBytes() ? length : -1;
+    }
+
+    private AssetIndex buildIndex() throws IOException, URISyntaxException {
+        final ImmutableSortedSet<String> resources = AssetIndex.findResources(resourcePath);
+        final Map<String, IndexedAsset> assets = new HashMap<>();
+        for (String resource : resources) {
+            assets.put(resource, indexAsset(resource, resource, resources));
+            if (indexFile != null && (resource.equals(resourcePath + indexFile)
+                    || resource.endsWith('/' + indexFile))) {
+                final String directory = SLASHES.trimFrom(resource.substring(0, resource.length() - indexFile.length()));
+                assets.put(directory, indexAsset(directory, resource, resources));
+            }
+        }
+        return new AssetIndex(ImmutableMap.copyOf(assets));
+    }
+
+    private IndexedAsset indexAsset(String requestedResourcePath, String resolvedResourcePath,
+                                    ImmutableSortedSet<String> resources) throws IOException, URISyntaxException {
+        final MediaType mediaType = mediaTypeOf(getServletContext().getMimeType(requestedResourcePath));
+        final ImmutableList.Builder<IndexedAsset> variants = ImmutableList.builder();
+        if (servePrecompressedVariants) {
+            for (Map.Entry<String, String> encoding : PRECOMPRESSED_EXTENSIONS.entrySet()) {
+                final String variantPath = resolvedResourcePath + encoding.getValue();
+                if (resources.contains(variantPath)) {
+                    variants.add(indexResource(variantPath, mediaType, encoding.getKey(), ImmutableList.of()));
+                }
+            }
+        }
+        return indexResource(resolvedResourcePath, mediaType, null, variants.build());
+    }
+
+    private IndexedAsset indexResource(String resolvedResourcePath, MediaType mediaType,
+                                       @Nullable String contentEncoding,
+                                       ImmutableList<IndexedAsset> variants) throws IOException, URISyntaxException {
+        final URL resourceURL = getResourceUrl(resolvedResourcePath);
+        final long lastModified = lastModifiedTime(resourceURL);
+        final long length = contentEncoding == null ? streamedFileLength(resourceURL) : -1;
+        if (length >= 0) {
+            return new IndexedAsset(resourceURL, resolvedResourcePath, length, FileAsset.eTag(length, lastModified),
+                    lastModified, mediaType, null, ImmutableList.of());
+        }
+        final byte[] resource = readResource(resourceURL);
+        return new IndexedAsset(resourceURL, resolvedResourcePath, resource.length, CachedAsset.eTag(resource),
+                lastModified, mediaType, contentEncoding, variants);
+    }
+
+    private ImmutableList<CachedAsset> loadVariants(String resolvedResourcePath) throws IOException {
+        if (!servePrecompressedVariants) {
+            return ImmutableList.of();
+        }
+
+        final ImmutableList.Builder<CachedAsset> variants = ImmutableList.builder();
+        for (Map.Entry<String, String> encoding : PRECOMPRESSED_EXTENSIONS.entrySet()) {
+            final URL variantURL;
+            try {
+                variantURL = getResourceUrl(resolvedResourcePath + encoding.getValue());
+            } catch (IllegalArgumentException ignored) {
+                // no precompressed variant with this encoding
+                continue;
+            }
+            variants.add(new CachedAsset(variantURL, readResource(variantURL), lastModifiedTime(variantURL),
+                    encoding.getKey(), ImmutableList.of()));
+        }
+        return variants.build();
+    }
+
+    private Asset selectVariant(HttpServletRequest req, HttpServletResponse resp, Asset asset) {
+        if (asset.getVariants().isEmpty()) {
+            return asset;
+        }
+
+        resp.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (req.getHeader(HttpHeaders.RANGE) != null) {
+            return asset;
+        }
+
+        final String acceptEncoding = req.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        for (Asset variant : asset.getVariants()) {
+            final String contentEncoding = variant.getContentEncoding();
+            if (contentEncoding != null && isAcceptedEncoding(acceptEncoding, contentEncoding)) {
+                resp.setHeader(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+                return variant;
+            }
+        }
+        return asset;
+    }
+
+    /**
+     * Checks whether the given Accept-Encoding header accepts a content coding.
+     *
+     * @param acceptEncoding Accept-Encoding header to check
+     * @param encoding       the content coding
+     * @return whether the content coding has a non-zero quality value
+     */
+    static boolean isAcceptedEncoding(@Nullable String acceptEncoding, String encoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : Splitter.on(',').trimResults().omitEmptyStrings().split(acceptEncoding)) {
+            final List<String> parts = Splitter.on(';').trimResults().splitToList(coding);
+            if (!encoding.equalsIgnoreCase(parts.get(0))) {
+                continue;
+            }
+            for (String parameter : parts.subList(1, parts.size())) {
+                if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                    try {
+                        return Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException ignored) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    static long lastModifiedTime(URL resourceURL) {
+        long lastModified = ResourceURL.getLastModified(resourceURL);
         if (lastModified < 1) {
             // Something went wrong trying to get the last modified time: just use the current time
             lastModified = System.currentTimeMillis();
         }
 
         // zero out the millis since the date we get back from If-Modified-Since will not have them
-        lastModified = (lastModified / 1000) * 1000;
-        return new CachedAsset(readResource(requestedResourceURL), lastModified);
+        return (lastModified / 1000) * 1000;
     }
 
     protected URL getResourceUrl(String absoluteRequestedResourcePath) {
@@ -235,9 +585,9 @@ public class AssetServlet extends HttpServlet {
         return Resources.toByteArray(requestedResourceURL);
     }
 
-    private boolean isCachedClientSide(HttpServletRequest req, CachedAsset cachedAsset) {
-        return cachedAsset.getETag().equals(req.getHeader(HttpHeaders.IF_NONE_MATCH)) ||
-                (req.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE) >= cachedAsset.getLastModifiedTime());
+    private boolean isCachedClientSide(HttpServletRequest req, Asset asset) {
+        return asset.getETag().equals(req.getHeader(HttpHeaders.IF_NONE_MATCH)) ||
+                (req.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE) >= asset.getLastModifiedTime());
     }
 
     /**
@@ -248,7 +598,7 @@ public class AssetServlet extends HttpServlet {
      * @return List of parsed ranges
      */
     private ImmutableList<ByteRange> parseRangeHeader(final String rangeHeader,
-            final int resourceLength) {
+            final long resourceLength) {
         final ImmutableList.Builder<ByteRange> builder = ImmutableList.builder();
         if (rangeHeader.contains("=")) {
             final String[] parts = rangeHeader.split("=");
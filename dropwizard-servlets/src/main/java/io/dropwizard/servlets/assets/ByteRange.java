@@ -6,44 +6,71 @@ import java.util.Objects;
 @Immutable
 public final class ByteRange {
 
-    private final int start;
-    private final int end;
+    private final long start;
+    private final long end;
 
     public ByteRange(final int start, final int end) {
+        this((long) start, (long) end);
+    }
+
+    public ByteRange(final long start, final long end) {
         this.start = start;
         this.end = end;
     }
 
+    /**
+     * @deprecated use {@link #getStartOffset()}, which doesn't overflow for resources larger than 2GiB
+     * @throws ArithmeticException if the start of the range doesn't fit in an {@code int}
+     */
+    @Deprecated
     public int getStart() {
-        return start;
+        return Math.toIntExact(start);
     }
 
+    /**
+     * @deprecated use {@link #getEndOffset()}, which doesn't overflow for resources larger than 2GiB
+     * @throws ArithmeticException if the end of the range doesn't fit in an {@code int}
+     */
+    @Deprecated
     public int getEnd() {
+        return Math.toIntExact(end);
+    }
+
+    public long getStartOffset() {
+        return start;
+    }
+
+    public long getEndOffset() {
         return end;
     }
 
     public static ByteRange parse(final String byteRange,
                                   final int resourceLength) {
+        return parse(byteRange, (long) resourceLength);
+    }
+
+    public static ByteRange parse(final String byteRange,
+                                  final long resourceLength) {
         // missing separator
         if (!byteRange.contains("-")) {
-            final int start = Integer.parseInt(byteRange);
+            final long start = Long.parseLong(byteRange);
             return new ByteRange(start, resourceLength - 1);
         }
         // negative range
         if (byteRange.indexOf("-") == 0) {
-            final int start = Integer.parseInt(byteRange);
+            final long start = Long.parseLong(byteRange);
             return new ByteRange(resourceLength + start, resourceLength - 1);
         }
         final String[] parts = byteRange.split("-");
         if (parts.length == 2) {
-            final int start = Integer.parseInt(parts[0]);
-            int end = Integer.parseInt(parts[1]);
+            final long start = Long.parseLong(parts[0]);
+            long end = Long.parseLong(parts[1]);
             if (end > resourceLength) {
                 end = resourceLength - 1;
             }
             return new ByteRange(start, end);
         } else {
-            final int start = Integer.parseInt(parts[0]);
+            final long start = Long.parseLong(parts[0]);
             return new ByteRange(start, resourceLength - 1);
         }
     }
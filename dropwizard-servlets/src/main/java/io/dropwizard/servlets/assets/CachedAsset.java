@@ -0,0 +1,57 @@
+package io.dropwizard.servlets.assets;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hashing;
+
+import javax.annotation.Nullable;
+import java.net.URL;
+
+/**
+ * An asset whose contents have been read into memory, along with any precompressed variants of it.
+ */
+class CachedAsset extends Asset {
+    private final byte[] resource;
+    private final ImmutableList<CachedAsset> variants;
+
+    CachedAsset(URL url, byte[] resource, long lastModifiedTime) {
+        this(url, resource, lastModifiedTime, null, ImmutableList.of());
+    }
+
+    CachedAsset(URL url, byte[] resource, long lastModifiedTime, @Nullable String contentEncoding,
+                ImmutableList<CachedAsset> variants) {
+        super(url, eTag(resource), lastModifiedTime, contentEncoding);
+        this.resource = resource;
+        this.variants = variants;
+    }
+
+    static String eTag(byte[] resource) {
+        return '"' + Hashing.murmur3_128().hashBytes(resource).toString() + '"';
+    }
+
+    public byte[] getResource() {
+        return resource;
+    }
+
+    @Override
+    public long getLength() {
+        return resource.length;
+    }
+
+    @Override
+    public ImmutableList<CachedAsset> getVariants() {
+        return variants;
+    }
+
+    /**
+     * Returns the number of bytes held in memory by this asset and its variants.
+     *
+     * @return the number of bytes held in memory by this asset and its variants
+     */
+    public int getWeight() {
+        int weight = resource.length;
+        for (CachedAsset variant : variants) {
+            weight += variant.getWeight();
+        }
+        return weight;
+    }
+}
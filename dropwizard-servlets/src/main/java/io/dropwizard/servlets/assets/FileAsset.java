@@ -0,0 +1,32 @@
+package io.dropwizard.servlets.assets;
+
+import java.net.URL;
+import java.nio.file.Path;
+
+/**
+ * An asset which is streamed from a file on every request instead of being read into memory. Since hashing the
+ * contents would mean reading the whole file, its ETag is derived from the file's length and last modified time.
+ */
+class FileAsset extends Asset {
+    private final Path path;
+    private final long length;
+
+    FileAsset(URL url, Path path, long length, long lastModifiedTime) {
+        super(url, eTag(length, lastModifiedTime), lastModifiedTime, null);
+        this.path = path;
+        this.length = length;
+    }
+
+    static String eTag(long length, long lastModifiedTime) {
+        return '"' + Long.toHexString(lastModifiedTime) + '-' + Long.toHexString(length) + '"';
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public long getLength() {
+        return length;
+    }
+}
@@ -0,0 +1,144 @@
+package io.dropwizard.servlets.assets;
+
+import com.google.common.collect.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+
+/**
+ * Copies the requested byte ranges of a {@link FileAsset} to a response through a fixed-size chunk buffer, so that
+ * the contents of large files never have to be held in memory as a whole.
+ * <p>
+ * When registered as the {@link WriteListener} of an asynchronous response, a chunk is only read from the file when
+ * the output can accept it, so a slow client doesn't tie up a request thread while the file drains.
+ * <p>
+ * The chunks go through {@link ServletOutputStream#write(byte[], int, int)} rather than a container-specific
+ * zero-copy API such as Jetty's {@code HttpOutput#sendContent}, because this module only depends on the Servlet API.
+ * <p>
+ * The file is only opened once the first chunk is written, from within the methods which are guaranteed to close
+ * it: {@link #write()} closes it before returning, and asynchronous writes close it once the file is drained or
+ * {@link #onError(Throwable)} is called.
+ */
+class FileAssetWriter implements WriteListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileAssetWriter.class);
+    private static final int CHUNK_SIZE = 32 * 1024;
+
+    private final Path path;
+    private final ServletOutputStream output;
+    private final Iterator<ByteRange> ranges;
+    private final byte[] buffer;
+
+    private final long length;
+    private long position;
+    private long remaining;
+
+    @Nullable
+    private FileChannel channel;
+
+    @Nullable
+    private AsyncContext context;
+
+    FileAssetWriter(FileAsset asset, ServletOutputStream output, ImmutableList<ByteRange> ranges) {
+        this.path = asset.getPath();
+        this.output = output;
+        this.ranges = ranges.iterator();
+        this.length = asset.getLength();
+        this.buffer = new byte[(int) Math.min(CHUNK_SIZE, Math.max(1, length))];
+        if (ranges.isEmpty()) {
+            this.position = 0;
+            this.remaining = length;
+        }
+    }
+
+    /**
+     * Writes the whole file to the output, blocking the calling thread until it is done.
+     */
+    void write() throws IOException {
+        try {
+            while (writeChunk()) {
+                // keep copying
+            }
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Writes the file to the output from container threads whenever the output is ready, completing the given
+     * context once done.
+     */
+    void writeAsync(AsyncContext asyncContext) {
+        this.context = asyncContext;
+        output.setWriteListener(this);
+    }
+
+    @Override
+    public void onWritePossible() throws IOException {
+        while (output.isReady()) {
+            if (!writeChunk()) {
+                close();
+                complete();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        LOGGER.debug("Unable to write file asset", t);
+        try {
+            close();
+        } catch (IOException ignored) {
+            // nothing to be done
+        }
+        complete();
+    }
+
+    private void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void complete() {
+        if (context != null) {
+            context.complete();
+        }
+    }
+
+    private boolean writeChunk() throws IOException {
+        while (remaining == 0) {
+            if (!ranges.hasNext()) {
+                return false;
+            }
+            final ByteRange range = ranges.next();
+            position = range.getStartOffset();
+            remaining = Math.max(0, Math.min(range.getEndOffset(), length - 1) - range.getStartOffset() + 1);
+        }
+
+        final ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, (int) Math.min(buffer.length, remaining));
+        if (channel == null) {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        }
+        final int read = channel.read(chunk, position);
+        if (read < 0) {
+            throw new EOFException("Unexpected end of file at position " + position);
+        }
+        output.write(buffer, 0, read);
+        position += read;
+        remaining -= read;
+        return true;
+    }
+}
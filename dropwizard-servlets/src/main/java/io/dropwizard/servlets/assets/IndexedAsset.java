@@ -0,0 +1,50 @@
+package io.dropwizard.servlets.assets;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.net.MediaType;
+
+import javax.annotation.Nullable;
+import java.net.URL;
+
+/**
+ * The precomputed metadata of an asset found while building an {@link AssetIndex}. It describes the asset without
+ * holding its contents.
+ */
+class IndexedAsset extends Asset {
+    private final String resourcePath;
+    private final long length;
+    private final MediaType mediaType;
+    private final ImmutableList<IndexedAsset> variants;
+
+    IndexedAsset(URL url, String resourcePath, long length, String eTag, long lastModifiedTime,
+                 MediaType mediaType, @Nullable String contentEncoding, ImmutableList<IndexedAsset> variants) {
+        super(url, eTag, lastModifiedTime, contentEncoding);
+        this.resourcePath = resourcePath;
+        this.length = length;
+        this.mediaType = mediaType;
+        this.variants = variants;
+    }
+
+    /**
+     * Returns the resolved resource path of the asset, e.g. the path of the index file for a directory.
+     *
+     * @return the resolved resource path of the asset
+     */
+    public String getResourcePath() {
+        return resourcePath;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    @Override
+    public long getLength() {
+        return length;
+    }
+
+    @Override
+    public ImmutableList<IndexedAsset> getVariants() {
+        return variants;
+    }
+}
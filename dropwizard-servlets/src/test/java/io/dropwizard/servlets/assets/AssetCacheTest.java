@@ -0,0 +1,81 @@
+package io.dropwizard.servlets.assets;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.util.Size;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AssetCacheTest {
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+
+    @Test
+    public void returnsCachedAssets() throws Exception {
+        final AssetCache cache = new AssetCache(metricRegistry, "test", Size.kilobytes(1), false);
+        final CachedAsset asset = asset("example.txt", 10);
+
+        assertThat(cache.getIfPresent("example.txt")).isNull();
+        cache.put("example.txt", asset);
+
+        assertThat(cache.getIfPresent("example.txt")).isSameAs(asset);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.weight()).isEqualTo(10);
+        assertThat(metricRegistry.meter("io.dropwizard.servlets.assets.AssetServlet.test.cache-hits").getCount())
+                .isEqualTo(1);
+        assertThat(metricRegistry.meter("io.dropwizard.servlets.assets.AssetServlet.test.cache-misses").getCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void evictsAssetsBeyondTheMaximumSize() throws Exception {
+        final AssetCache cache = new AssetCache(metricRegistry, "test", Size.bytes(100), false);
+        cache.put("a.txt", asset("a.txt", 200));
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.weight()).isZero();
+        assertThat(cache.getIfPresent("a.txt")).isNull();
+        assertThat(metricRegistry.meter("io.dropwizard.servlets.assets.AssetServlet.test.cache-evictions").getCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void keepsAssetsLargerThanAQuarterOfTheMaximumSize() throws Exception {
+        final AssetCache cache = new AssetCache(metricRegistry, "test", Size.bytes(100), false);
+        final CachedAsset asset = asset("a.txt", 90);
+        cache.put("a.txt", asset);
+
+        assertThat(cache.getIfPresent("a.txt")).isSameAs(asset);
+        assertThat(cache.weight()).isEqualTo(90);
+        assertThat(metricRegistry.meter("io.dropwizard.servlets.assets.AssetServlet.test.cache-evictions").getCount())
+                .isZero();
+    }
+
+    @Test
+    public void revalidatesModifiedFiles() throws Exception {
+        final File file = tempDir.newFile("example.txt");
+        Files.write(file.toPath(), "HELLO".getBytes(StandardCharsets.UTF_8));
+        final URL url = file.toURI().toURL();
+
+        final AssetCache cache = new AssetCache(metricRegistry, "test", Size.kilobytes(1), true);
+        cache.put("example.txt", new CachedAsset(url, new byte[5], AssetServlet.lastModifiedTime(url)));
+        assertThat(cache.getIfPresent("example.txt")).isNotNull();
+
+        assertThat(file.setLastModified(file.lastModified() + 10_000)).isTrue();
+        assertThat(cache.getIfPresent("example.txt")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    private CachedAsset asset(String name, int length) throws Exception {
+        return new CachedAsset(new URL("jar:file:/assets.jar!/" + name), new byte[length], 0);
+    }
+}
@@ -0,0 +1,62 @@
+package io.dropwizard.servlets.assets;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AssetIndexTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void findsTheResourcesOfJarsWithoutDirectoryEntries() throws Exception {
+        final File jar = folder.newFile("assets.jar");
+        try (JarOutputStream output = new JarOutputStream(new FileOutputStream(jar))) {
+            for (String name : new String[]{"jar-assets/index.htm", "jar-assets/css/site.css", "other/file.txt"}) {
+                output.putNextEntry(new JarEntry(name));
+                output.write(name.getBytes(StandardCharsets.UTF_8));
+                output.closeEntry();
+            }
+        }
+
+        final Thread thread = Thread.currentThread();
+        final ClassLoader contextClassLoader = thread.getContextClassLoader();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{jar.toURI().toURL()}, null)) {
+            assertThat(classLoader.getResource("jar-assets/")).isNull();
+            thread.setContextClassLoader(classLoader);
+
+            assertThat(AssetIndex.findResources("jar-assets/"))
+                .containsExactly("jar-assets/css/site.css", "jar-assets/index.htm");
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    @Test
+    public void failsToInitializeWithoutAssets() {
+        final AssetServlet servlet = new AssetServlet("/missing-assets", "/", "index.htm", StandardCharsets.UTF_8);
+        servlet.setIndexAssets(true);
+        final ServletConfig config = mock(ServletConfig.class);
+        when(config.getServletContext()).thenReturn(mock(ServletContext.class));
+
+        assertThatExceptionOfType(ServletException.class)
+            .isThrownBy(() -> servlet.init(config))
+            .withMessage("No assets found in missing-assets/");
+    }
+}
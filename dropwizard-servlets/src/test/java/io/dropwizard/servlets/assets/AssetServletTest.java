@@ -1,6 +1,8 @@
 package io.dropwizard.servlets.assets;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.net.HttpHeaders;
+import io.dropwizard.util.Size;
 import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpTester;
 import org.eclipse.jetty.http.HttpVersion;
@@ -12,15 +14,31 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import javax.annotation.Nullable;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class AssetServletTest {
     private static final String DUMMY_SERVLET = "/dummy_servlet/";
     private static final String NOINDEX_SERVLET = "/noindex_servlet/";
     private static final String NOCHARSET_SERVLET = "/nocharset_servlet/";
     private static final String ROOT_SERVLET = "/";
+    private static final String CACHING_SERVLET = "/caching_servlet/";
+    private static final String STREAMING_SERVLET = "/streaming_servlet/";
+    private static final String PRECOMPRESSED_SERVLET = "/precompressed_servlet/";
+    private static final String INDEXED_SERVLET = "/indexed_servlet/";
     private static final String RESOURCE_PATH = "/assets";
 
     // ServletTester expects to be able to instantiate the servlet with zero arguments
@@ -57,6 +75,50 @@ public class AssetServletTest {
         }
     }
 
+    public static class CachingAssetServlet extends AssetServlet {
+        private static final long serialVersionUID = 1L;
+
+        public CachingAssetServlet() {
+            super(RESOURCE_PATH, CACHING_SERVLET, "index.htm", StandardCharsets.UTF_8,
+                    new AssetCache(METRIC_REGISTRY, "caching", Size.megabytes(1), false));
+        }
+    }
+
+    public static class StreamingAssetServlet extends AssetServlet {
+        private static final long serialVersionUID = 1L;
+
+        public StreamingAssetServlet() {
+            super(RESOURCE_PATH, STREAMING_SERVLET, "index.htm", StandardCharsets.UTF_8);
+            setFileStreamingThreshold(Size.bytes(0));
+        }
+    }
+
+    public static class PrecompressedAssetServlet extends AssetServlet {
+        private static final long serialVersionUID = 1L;
+
+        public PrecompressedAssetServlet() {
+            super(RESOURCE_PATH, PRECOMPRESSED_SERVLET, "index.htm", StandardCharsets.UTF_8);
+            setServePrecompressedVariants(true);
+        }
+    }
+
+    public static class IndexedAssetServlet extends AssetServlet {
+        private static final long serialVersionUID = 1L;
+        private static final AtomicInteger READS = new AtomicInteger();
+
+        public IndexedAssetServlet() {
+            super(RESOURCE_PATH, INDEXED_SERVLET, "index.htm", StandardCharsets.UTF_8);
+            setIndexAssets(true);
+        }
+
+        @Override
+        protected byte[] readResource(URL requestedResourceURL) throws IOException {
+            READS.incrementAndGet();
+            return super.readResource(requestedResourceURL);
+        }
+    }
+
+    private static final MetricRegistry METRIC_REGISTRY = new MetricRegistry();
     private static final ServletTester SERVLET_TESTER = new ServletTester();
     private final HttpTester.Request request = HttpTester.newRequest();
     @Nullable
@@ -68,6 +130,10 @@ public class AssetServletTest {
         SERVLET_TESTER.addServlet(NoIndexAssetServlet.class, NOINDEX_SERVLET + '*');
         SERVLET_TESTER.addServlet(NoCharsetAssetServlet.class, NOCHARSET_SERVLET + '*');
         SERVLET_TESTER.addServlet(RootAssetServlet.class, ROOT_SERVLET + '*');
+        SERVLET_TESTER.addServlet(CachingAssetServlet.class, CACHING_SERVLET + '*');
+        SERVLET_TESTER.addServlet(StreamingAssetServlet.class, STREAMING_SERVLET + '*').setAsyncSupported(true);
+        SERVLET_TESTER.addServlet(PrecompressedAssetServlet.class, PRECOMPRESSED_SERVLET + '*');
+        SERVLET_TESTER.addServlet(IndexedAssetServlet.class, INDEXED_SERVLET + '*');
         SERVLET_TESTER.start();
 
         SERVLET_TESTER.getContext().getMimeTypes().addMimeMapping("mp4", "video/mp4");
@@ -188,6 +254,214 @@ public class AssetServletTest {
                 .isEqualTo(200);
     }
 
+    @Test
+    public void servesRepeatedRequestsFromTheCache() throws Exception {
+        request.setURI(CACHING_SERVLET + "example.txt");
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        final String firstEtag = response.get(HttpHeaders.ETAG);
+
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        assertThat(response.getStatus())
+                .isEqualTo(200);
+        assertThat(response.getContent())
+                .isEqualTo("HELLO THERE");
+        assertThat(response.get(HttpHeaders.ETAG))
+                .isEqualTo(firstEtag);
+        assertThat(METRIC_REGISTRY.meter("io.dropwizard.servlets.assets.AssetServlet.caching.cache-hits").getCount())
+                .isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    public void cachesDirectoriesAndTheirIndexFilesOnce() throws Exception {
+        final AssetCache cache = new AssetCache(new MetricRegistry(), "directories", Size.megabytes(1), false);
+        final AssetServlet servlet = new AssetServlet(RESOURCE_PATH, CACHING_SERVLET, "index.htm",
+                StandardCharsets.UTF_8, cache);
+        for (String path : new String[]{"/some_directory", "/some_directory/index.htm"}) {
+            final HttpServletRequest req = mock(HttpServletRequest.class, RETURNS_DEEP_STUBS);
+            when(req.getMethod()).thenReturn("GET");
+            when(req.getServletPath()).thenReturn("/caching_servlet");
+            when(req.getPathInfo()).thenReturn(path);
+
+            servlet.doGet(req, mock(HttpServletResponse.class, RETURNS_DEEP_STUBS));
+        }
+
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void statsStreamedFilesOnce() throws Exception {
+        final AtomicInteger stats = new AtomicInteger();
+        final AssetServlet servlet = new StreamingAssetServlet() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            long fileLength(File file) {
+                stats.incrementAndGet();
+                return super.fileLength(file);
+            }
+        };
+        final HttpServletRequest req = mock(HttpServletRequest.class, RETURNS_DEEP_STUBS);
+        when(req.getMethod()).thenReturn("HEAD");
+        when(req.getServletPath()).thenReturn("/streaming_servlet");
+        when(req.getPathInfo()).thenReturn("/example.txt");
+        final HttpServletResponse resp = mock(HttpServletResponse.class);
+
+        servlet.doGet(req, resp);
+
+        verify(resp).setContentLengthLong(11);
+        assertThat(stats).hasValue(1);
+    }
+
+    @Test
+    public void streamsFilesFromDisk() throws Exception {
+        request.setURI(STREAMING_SERVLET + "example.txt");
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        assertThat(response.getStatus())
+                .isEqualTo(200);
+        assertThat(response.getContent())
+                .isEqualTo("HELLO THERE");
+        assertThat(response.get(HttpHeaders.CONTENT_LENGTH))
+                .isEqualTo("11");
+        assertThat(response.get(HttpHeaders.ETAG))
+                .endsWith("-b\"");
+    }
+
+    @Test
+    public void streamsByteRangesFromDisk() throws Exception {
+        request.setURI(STREAMING_SERVLET + "example.txt");
+        request.setHeader(HttpHeaders.RANGE, "bytes=0-0,-1");
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        assertThat(response.getStatus())
+                .isEqualTo(206);
+        assertThat(response.getContent())
+                .isEqualTo("HE");
+        assertThat(response.get(HttpHeaders.CONTENT_RANGE))
+                .isEqualTo("bytes 0-0,10-10/11");
+        assertThat(response.get(HttpHeaders.CONTENT_LENGTH))
+                .isEqualTo("2");
+    }
+
+    @Test
+    public void streamsByteRangesOfFilesLargerThan2GiB() throws Exception {
+        final long length = 3L * 1024 * 1024 * 1024;
+        final AssetServlet servlet = new StreamingAssetServlet() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            long fileLength(File file) {
+                return length;
+            }
+        };
+        final HttpServletRequest req = mock(HttpServletRequest.class, RETURNS_DEEP_STUBS);
+        when(req.getMethod()).thenReturn("HEAD");
+        when(req.getServletPath()).thenReturn("/streaming_servlet");
+        when(req.getPathInfo()).thenReturn("/example.txt");
+        when(req.getHeader(HttpHeaders.RANGE)).thenReturn("bytes=3000000000-");
+        final HttpServletResponse resp = mock(HttpServletResponse.class);
+
+        servlet.doGet(req, resp);
+
+        verify(resp).setStatus(206);
+        verify(resp).addHeader(HttpHeaders.CONTENT_RANGE, "bytes 3000000000-3221225471/3221225472");
+        verify(resp).setContentLengthLong(length - 3_000_000_000L);
+        verify(resp, never()).sendError(anyInt());
+    }
+
+    @Test
+    public void servesPrecompressedVariantsToAcceptingClients() throws Exception {
+        request.setURI(PRECOMPRESSED_SERVLET + "compressed.txt");
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        final String identityEtag = response.get(HttpHeaders.ETAG);
+        assertThat(response.getStatus())
+                .isEqualTo(200);
+        assertThat(response.getContent())
+                .isEqualTo("HELLO COMPRESSED");
+        assertThat(response.get(HttpHeaders.CONTENT_ENCODING))
+                .isNull();
+        assertThat(response.get(HttpHeaders.VARY))
+                .isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+
+        request.setHeader(HttpHeaders.ACCEPT_ENCODING, "br;q=0, gzip");
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        assertThat(response.getStatus())
+                .isEqualTo(200);
+        assertThat(response.get(HttpHeaders.CONTENT_ENCODING))
+                .isEqualTo("gzip");
+        assertThat(response.get(HttpHeaders.VARY))
+                .isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.get(HttpHeaders.ETAG))
+                .isNotEqualTo(identityEtag);
+        assertThat(MimeTypes.CACHE.get(response.get(HttpHeader.CONTENT_TYPE)))
+                .isEqualTo(MimeTypes.Type.TEXT_PLAIN_UTF_8);
+        assertThat(response.getContentBytes())
+                .startsWith((byte) 0x1f, (byte) 0x8b);
+    }
+
+    @Test
+    public void ignoresPrecompressedVariantsOfAssetsWithoutThem() throws Exception {
+        request.setURI(PRECOMPRESSED_SERVLET + "example.txt");
+        request.setHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        assertThat(response.getStatus())
+                .isEqualTo(200);
+        assertThat(response.getContent())
+                .isEqualTo("HELLO THERE");
+        assertThat(response.get(HttpHeaders.CONTENT_ENCODING))
+                .isNull();
+        assertThat(response.get(HttpHeaders.VARY))
+                .isNull();
+    }
+
+    @Test
+    public void parsesAcceptedEncodings() throws Exception {
+        assertThat(AssetServlet.isAcceptedEncoding(null, "gzip")).isFalse();
+        assertThat(AssetServlet.isAcceptedEncoding("gzip, deflate, br", "br")).isTrue();
+        assertThat(AssetServlet.isAcceptedEncoding("GZIP;q=0.5", "gzip")).isTrue();
+        assertThat(AssetServlet.isAcceptedEncoding("gzip;q=0", "gzip")).isFalse();
+        assertThat(AssetServlet.isAcceptedEncoding("deflate", "gzip")).isFalse();
+    }
+
+    @Test
+    public void servesIndexedAssets() throws Exception {
+        request.setURI(INDEXED_SERVLET + "example.txt");
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        assertThat(response.getStatus())
+                .isEqualTo(200);
+        assertThat(response.getContent())
+                .isEqualTo("HELLO THERE");
+        assertThat(response.get(HttpHeaders.ETAG))
+                .isEqualTo("\"174a6dd7325e64c609eab14ab1d30b86\"");
+        assertThat(MimeTypes.CACHE.get(response.get(HttpHeader.CONTENT_TYPE)))
+                .isEqualTo(MimeTypes.Type.TEXT_PLAIN_UTF_8);
+
+        request.setURI(INDEXED_SERVLET + "some_directory");
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        assertThat(response.getStatus())
+                .isEqualTo(200);
+        assertThat(response.getContent())
+                .contains("/assets/some_directory Index File");
+
+        request.setURI(INDEXED_SERVLET + "doesnotexist.txt");
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        assertThat(response.getStatus())
+                .isEqualTo(404);
+    }
+
+    @Test
+    public void answersConditionalRequestsFromTheIndex() throws Exception {
+        request.setURI(INDEXED_SERVLET + "example.txt");
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        final String etag = response.get(HttpHeaders.ETAG);
+        final int reads = IndexedAssetServlet.READS.get();
+
+        request.setHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        assertThat(response.getStatus())
+                .isEqualTo(304);
+        assertThat(IndexedAssetServlet.READS.get())
+                .isEqualTo(reads);
+    }
+
     @Test
     public void consistentlyAssignsLastModifiedTimes() throws Exception {
         response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
@@ -49,4 +49,16 @@ public class ByteRangeTest {
         assertThat(actual.getStart()).isEqualTo(9000);
         assertThat(actual.getEnd()).isEqualTo(9999);
     }
+
+    @Test
+    public void bytesBeyondTwoGigabytes() {
+        final ByteRange actual = ByteRange.parse("3000000000-", 4_000_000_000L);
+        assertThat(actual.getStartOffset()).isEqualTo(3_000_000_000L);
+        assertThat(actual.getEndOffset()).isEqualTo(3_999_999_999L);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void intAccessorsRejectOffsetsBeyondTwoGigabytes() {
+        ByteRange.parse("3000000000-", 4_000_000_000L).getStart();
+    }
 }
@@ -9,40 +9,52 @@ import freemarker.template.Configuration;
 import freemarker.template.DefaultObjectWrapperBuilder;
 import freemarker.template.Template;
 import freemarker.template.Version;
+import io.dropwizard.views.TemplateFinder;
 import io.dropwizard.views.View;
 import io.dropwizard.views.ViewRenderException;
 import io.dropwizard.views.ViewRenderer;
+import io.dropwizard.views.ViewWriter;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Locale;
 import java.util.Map;
 import java.util.regex.Pattern;
 
+import static com.google.common.base.MoreObjects.firstNonNull;
+
 /**
  * A {@link ViewRenderer} which renders Freemarker ({@code .ftl, .ftlh or .ftlx}) templates.
+ * <p>
+ * Templates are loaded and cached per class loader. The templates under the roots listed in the
+ * {@value TemplateFinder#PRECOMPILE_ROOTS} option are compiled for the default locale when the renderer
+ * is configured, so that broken templates fail the application's startup.
+ * <p>
+ * The output of templates is flushed to the client by the {@code <#flush>} directive.
  */
 public class FreemarkerViewRenderer implements ViewRenderer {
     private static final Pattern FILE_PATTERN = Pattern.compile("\\.ftl[hx]?");
     private static final Version FREEMARKER_VERSION = Configuration.getVersion();
     private final TemplateLoader loader;
 
-    private static class TemplateLoader extends CacheLoader<Class<?>, Configuration> {
+    private static class TemplateLoader extends CacheLoader<ClassLoader, Configuration> {
         private Map<String, String> baseConfig = ImmutableMap.of();
         @Override
-        public Configuration load(Class<?> key) throws Exception {
+        public Configuration load(ClassLoader key) throws Exception {
             final Configuration configuration = new Configuration(FREEMARKER_VERSION);
             configuration.setObjectWrapper(new DefaultObjectWrapperBuilder(FREEMARKER_VERSION).build());
             configuration.loadBuiltInEncodingMap();
             configuration.setDefaultEncoding(StandardCharsets.UTF_8.name());
-            configuration.setClassForTemplateLoading(key, "/");
+            // template names are absolute, so they are resolved the same way for every class of a class loader
+            configuration.setClassLoaderForTemplateLoading(key, "");
             // setting the outputformat implicitly enables auto escaping
             configuration.setOutputFormat(HTMLOutputFormat.INSTANCE);
             for (Map.Entry<String, String> entry : baseConfig.entrySet()) {
-                configuration.setSetting(entry.getKey(), entry.getValue());
+                if (!TemplateFinder.PRECOMPILE_ROOTS.equals(entry.getKey())) {
+                    configuration.setSetting(entry.getKey(), entry.getValue());
+                }
             }
             return configuration;
         }
@@ -52,7 +64,7 @@ public class FreemarkerViewRenderer implements ViewRenderer {
         }
     }
 
-    private final LoadingCache<Class<?>, Configuration> configurationCache;
+    private final LoadingCache<ClassLoader, Configuration> configurationCache;
 
     public FreemarkerViewRenderer() {
         this.loader = new TemplateLoader();
@@ -71,10 +83,17 @@ public class FreemarkerViewRenderer implements ViewRenderer {
                        Locale locale,
                        OutputStream output) throws IOException {
         try {
-            final Configuration configuration = configurationCache.getUnchecked(view.getClass());
+            final Configuration configuration = configurationCache.getUnchecked(view.getClass().getClassLoader());
             final Charset charset = view.getCharset().orElseGet(() -> Charset.forName(configuration.getEncoding(locale)));
             final Template template = configuration.getTemplate(view.getTemplateName(), locale, charset.name());
-            template.process(view, new OutputStreamWriter(output, template.getEncoding()));
+            // Jersey owns the entity stream: closing it would commit a partial response if the template fails
+            final ViewWriter writer = ViewWriter.open(output, Charset.forName(template.getEncoding()));
+            try {
+                template.process(view, writer);
+                writer.finish();
+            } finally {
+                writer.release();
+            }
         } catch (Exception e) {
             throw new ViewRenderException(e);
         }
@@ -83,6 +102,32 @@ public class FreemarkerViewRenderer implements ViewRenderer {
     @Override
     public void configure(Map<String, String> baseConfig) {
         this.loader.setBaseConfig(baseConfig);
+        this.configurationCache.invalidateAll();
+
+        final String precompileRoots = baseConfig.get(TemplateFinder.PRECOMPILE_ROOTS);
+        if (precompileRoots != null) {
+            precompile(TemplateFinder.parseRoots(precompileRoots));
+        }
+    }
+
+    private void precompile(Iterable<String> roots) {
+        final ClassLoader classLoader = firstNonNull(Thread.currentThread().getContextClassLoader(),
+                FreemarkerViewRenderer.class.getClassLoader());
+        final Configuration configuration = configurationCache.getUnchecked(classLoader);
+        for (String root : roots) {
+            try {
+                for (String templateName : TemplateFinder.findTemplates(classLoader, root,
+                        name -> FILE_PATTERN.matcher(name).find())) {
+                    try {
+                        configuration.getTemplate(templateName, Locale.getDefault());
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Freemarker template error: " + templateName, e);
+                    }
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to find the Freemarker templates under " + root, e);
+            }
+        }
     }
 
     @Override
@@ -2,8 +2,10 @@ package io.dropwizard.views.freemarker;
 
 import com.codahale.metrics.MetricRegistry;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import io.dropwizard.logging.BootstrapLogging;
 import io.dropwizard.views.ViewMessageBodyWriter;
+import io.dropwizard.views.ViewRenderException;
 import io.dropwizard.views.ViewRenderExceptionMapper;
 import io.dropwizard.views.ViewRenderer;
 import org.glassfish.jersey.server.ResourceConfig;
@@ -21,8 +23,14 @@ import javax.ws.rs.core.Application;
 import javax.ws.rs.core.Form;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
 
 public class FreemarkerViewRendererTest extends JerseyTest {
@@ -118,6 +126,21 @@ public class FreemarkerViewRendererTest extends JerseyTest {
         }
     }
 
+    @Test
+    public void leavesTheStreamOpenWhenTheTemplateFails() throws Exception {
+        final AtomicBoolean closed = new AtomicBoolean();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        assertThatExceptionOfType(ViewRenderException.class)
+            .isThrownBy(() -> new FreemarkerViewRenderer().render(new ErrorView(), Locale.getDefault(), output));
+        assertThat(closed).isFalse();
+    }
+
     @Test
     public void rendersViewsUsingUnsafeInputWithAutoEscapingEnabled() throws Exception {
         final String unsafe = "<script>alert(\"hello\")</script>";
@@ -127,4 +150,22 @@ public class FreemarkerViewRendererTest extends JerseyTest {
         assertThat(response.getHeaderString("content-type")).isEqualToIgnoringCase(MediaType.TEXT_HTML);
         assertThat(response.readEntity(String.class)).doesNotContain(unsafe);
     }
+
+    @Test
+    public void precompilesTemplatesOnConfiguration() throws Exception {
+        final FreemarkerViewRenderer renderer = new FreemarkerViewRenderer();
+        renderer.configure(ImmutableMap.of("precompileRoots", "io/dropwizard/views/freemarker"));
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        renderer.render(new RelativeView(), Locale.getDefault(), output);
+        assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("Ok.\n");
+    }
+
+    @Test
+    public void failsToConfigureWithBrokenTemplates() {
+        final FreemarkerViewRenderer renderer = new FreemarkerViewRenderer();
+        assertThatIllegalStateException()
+            .isThrownBy(() -> renderer.configure(ImmutableMap.of("precompileRoots", "broken")))
+            .withMessage("Freemarker template error: /broken/broken.ftl");
+    }
 }
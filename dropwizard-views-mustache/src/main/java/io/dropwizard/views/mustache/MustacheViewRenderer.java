@@ -3,39 +3,52 @@ package io.dropwizard.views.mustache;
 import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
 import com.github.mustachejava.MustacheFactory;
+import com.github.mustachejava.MustacheResolver;
 import com.github.mustachejava.resolver.FileSystemResolver;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import io.dropwizard.views.TemplateFinder;
 import io.dropwizard.views.View;
 import io.dropwizard.views.ViewRenderException;
 import io.dropwizard.views.ViewRenderer;
+import io.dropwizard.views.ViewWriter;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.regex.Pattern;
 
+import static com.google.common.base.MoreObjects.firstNonNull;
+
 /**
  * A {@link ViewRenderer} which renders Mustache ({@code .mustache}) templates.
+ * <p>
+ * Compiled templates are cached per class loader. The templates under the roots listed in the
+ * {@value TemplateFinder#PRECOMPILE_ROOTS} option are compiled when the renderer is configured,
+ * so that broken templates fail the application's startup.
+ * <p>
+ * With the {@code flushPartials} option, the output of templates is flushed to the client after each partial,
+ * so that e.g. a page can send its {@code {{> head}}} before rendering its body.
  */
 public class MustacheViewRenderer implements ViewRenderer {
     private static final Pattern FILE_PATTERN = Pattern.compile("\\.mustache");
-    private final LoadingCache<Class<? extends View>, MustacheFactory> factories;
+    private final LoadingCache<ClassLoader, MustacheFactory> factories;
     private boolean useCache = true;
+    private boolean flushPartials = false;
     private Optional<File> fileRoot = Optional.empty();
 
     public MustacheViewRenderer() {
-        this.factories = CacheBuilder.newBuilder().build(new CacheLoader<Class<? extends View>, MustacheFactory>() {
+        this.factories = CacheBuilder.newBuilder().build(new CacheLoader<ClassLoader, MustacheFactory>() {
             @Override
-            public MustacheFactory load(Class<? extends View> key) throws Exception {
+            public MustacheFactory load(ClassLoader key) throws Exception {
                 return createNewMustacheFactory(key);
             }
         });
@@ -49,11 +62,12 @@ public class MustacheViewRenderer implements ViewRenderer {
     @Override
     public void render(View view, Locale locale, OutputStream output) throws IOException {
         try {
-            final MustacheFactory mustacheFactory = useCache ? factories.get(view.getClass())
-                    : createNewMustacheFactory(view.getClass());
+            final ClassLoader classLoader = view.getClass().getClassLoader();
+            final MustacheFactory mustacheFactory = useCache ? factories.get(classLoader)
+                    : createNewMustacheFactory(classLoader);
             final Mustache template = mustacheFactory.compile(view.getTemplateName());
             final Charset charset = view.getCharset().orElse(StandardCharsets.UTF_8);
-            try (OutputStreamWriter writer = new OutputStreamWriter(output, charset)) {
+            try (ViewWriter writer = ViewWriter.open(output, charset)) {
                 template.execute(writer, view);
             }
         } catch (Throwable e) {
@@ -65,6 +79,40 @@ public class MustacheViewRenderer implements ViewRenderer {
     public void configure(Map<String, String> options) {
         useCache = Optional.ofNullable(options.get("cache")).map(Boolean::parseBoolean).orElse(true);
         fileRoot = Optional.ofNullable(options.get("fileRoot")).map(File::new);
+        flushPartials = Optional.ofNullable(options.get("flushPartials")).map(Boolean::parseBoolean).orElse(false);
+        factories.invalidateAll();
+
+        final String precompileRoots = options.get(TemplateFinder.PRECOMPILE_ROOTS);
+        if (useCache && precompileRoots != null) {
+            precompile(TemplateFinder.parseRoots(precompileRoots));
+        }
+    }
+
+    private void precompile(Iterable<String> roots) {
+        final ClassLoader classLoader = firstNonNull(Thread.currentThread().getContextClassLoader(),
+                MustacheViewRenderer.class.getClassLoader());
+        final MustacheFactory mustacheFactory = factories.getUnchecked(classLoader);
+        for (String root : roots) {
+            final List<String> templateNames;
+            try {
+                templateNames = fileRoot.isPresent()
+                        ? TemplateFinder.findTemplates(fileRoot.get(), root, this::isTemplate)
+                        : TemplateFinder.findTemplates(classLoader, root, this::isTemplate);
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to find the Mustache templates under " + root, e);
+            }
+            for (String templateName : templateNames) {
+                try {
+                    mustacheFactory.compile(templateName);
+                } catch (RuntimeException e) {
+                    throw new IllegalStateException("Mustache template error: " + templateName, e);
+                }
+            }
+        }
+    }
+
+    private boolean isTemplate(String templateName) {
+        return FILE_PATTERN.matcher(templateName).find();
     }
 
     @VisibleForTesting
@@ -72,14 +120,20 @@ public class MustacheViewRenderer implements ViewRenderer {
         return useCache;
     }
 
+    @VisibleForTesting
+    boolean isFlushPartials() {
+        return flushPartials;
+    }
+
     @Override
     public String getConfigurationKey() {
         return "mustache";
     }
 
-    private MustacheFactory createNewMustacheFactory(Class<? extends View> key) {
-        return new DefaultMustacheFactory(
-                fileRoot.isPresent() ? new FileSystemResolver(fileRoot.get()) : new PerClassMustacheResolver(key));
+    private MustacheFactory createNewMustacheFactory(ClassLoader classLoader) {
+        final MustacheResolver resolver = fileRoot.isPresent() ? new FileSystemResolver(fileRoot.get())
+                : new PerClassLoaderMustacheResolver(classLoader);
+        return flushPartials ? new PartialFlushingMustacheFactory(resolver) : new DefaultMustacheFactory(resolver);
     }
 
 }
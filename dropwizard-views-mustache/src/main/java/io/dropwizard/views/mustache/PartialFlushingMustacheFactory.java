@@ -0,0 +1,50 @@
+package io.dropwizard.views.mustache;
+
+import com.github.mustachejava.DefaultMustacheFactory;
+import com.github.mustachejava.DefaultMustacheVisitor;
+import com.github.mustachejava.MustacheException;
+import com.github.mustachejava.MustacheResolver;
+import com.github.mustachejava.MustacheVisitor;
+import com.github.mustachejava.TemplateContext;
+import com.github.mustachejava.codes.PartialCode;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A {@link DefaultMustacheFactory} whose templates flush their output after each partial they include.
+ */
+class PartialFlushingMustacheFactory extends DefaultMustacheFactory {
+    PartialFlushingMustacheFactory(MustacheResolver mustacheResolver) {
+        super(mustacheResolver);
+    }
+
+    @Override
+    public MustacheVisitor createMustacheVisitor() {
+        return new DefaultMustacheVisitor(this) {
+            @Override
+            public void partial(TemplateContext tc, String variable) {
+                final TemplateContext partialTC = new TemplateContext("{{", "}}", tc.file(), tc.line(),
+                        tc.startOfLine());
+                list.add(new FlushingPartialCode(partialTC, df, variable));
+            }
+        };
+    }
+
+    private static class FlushingPartialCode extends PartialCode {
+        private FlushingPartialCode(TemplateContext tc, DefaultMustacheFactory df, String variable) {
+            super(tc, df, variable);
+        }
+
+        // The text following the partial is appended to it, so the output is flushed in between
+        @Override
+        protected Writer appendText(Writer writer) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                throw new MustacheException("Failed to flush partial: " + name, e);
+            }
+            return super.appendText(writer);
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package io.dropwizard.views.mustache;
 
 import com.github.mustachejava.MustacheResolver;
-import io.dropwizard.views.View;
+import com.google.common.base.CharMatcher;
 
 import javax.annotation.Nullable;
 import java.io.BufferedReader;
@@ -12,19 +12,22 @@ import java.nio.charset.StandardCharsets;
 
 /**
  * {@link MustacheResolver} implementation that resolves mustache
- * files from the classpath relatively from a provided class.
+ * files from the classpath with a provided class loader. Template names
+ * are absolute, as {@link io.dropwizard.views.View} resolves them.
  */
-class PerClassMustacheResolver implements MustacheResolver {
-    private final Class<? extends View> klass;
+class PerClassLoaderMustacheResolver implements MustacheResolver {
+    private static final CharMatcher SLASH = CharMatcher.is('/');
 
-    PerClassMustacheResolver(Class<? extends View> klass) {
-        this.klass = klass;
+    private final ClassLoader classLoader;
+
+    PerClassLoaderMustacheResolver(ClassLoader classLoader) {
+        this.classLoader = classLoader;
     }
 
     @Override
     @Nullable
     public Reader getReader(String resourceName) {
-        final InputStream is = klass.getResourceAsStream(resourceName);
+        final InputStream is = classLoader.getResourceAsStream(SLASH.trimLeadingFrom(resourceName));
         if (is == null) {
             return null;
         }
@@ -18,8 +18,14 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Application;
 import javax.ws.rs.core.MediaType;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
 
 public class MustacheViewRendererTest extends JerseyTest {
@@ -27,6 +33,8 @@ public class MustacheViewRendererTest extends JerseyTest {
         BootstrapLogging.bootstrap();
     }
 
+    private static final MetricRegistry metricRegistry = new MetricRegistry();
+
     @Path("/test/")
     @Produces(MediaType.TEXT_HTML)
     public static class ExampleResource {
@@ -60,12 +68,19 @@ public class MustacheViewRendererTest extends JerseyTest {
         forceSet(TestProperties.CONTAINER_PORT, "0");
         ResourceConfig config = new ResourceConfig();
         final ViewRenderer renderer = new MustacheViewRenderer();
-        config.register(new ViewMessageBodyWriter(new MetricRegistry(), ImmutableList.of(renderer)));
+        config.register(new ViewMessageBodyWriter(metricRegistry, ImmutableList.of(renderer)));
         config.register(new ViewRenderExceptionMapper());
         config.register(new ExampleResource());
         return config;
     }
 
+    @Test
+    public void registersTheMetricsOfReturnedViewsOnStartup() throws Exception {
+        assertThat(metricRegistry.getTimers())
+                .containsKeys(MetricRegistry.name(AbsoluteView.class, "rendering"),
+                        MetricRegistry.name(RelativeView.class, "rendering"));
+    }
+
     @Test
     public void rendersViewsWithAbsoluteTemplatePaths() throws Exception {
         final String response = target("/test/absolute").request().get(String.class);
@@ -119,4 +134,57 @@ public class MustacheViewRendererTest extends JerseyTest {
         mustacheViewRenderer.configure(ImmutableMap.of("cache", "false"));
         assertThat(mustacheViewRenderer.isUseCache()).isFalse();
     }
+
+    @Test
+    public void precompilesTemplatesOnConfiguration() {
+        MustacheViewRenderer mustacheViewRenderer = new MustacheViewRenderer();
+        mustacheViewRenderer.configure(ImmutableMap.of("precompileRoots", "io/dropwizard/views/mustache"));
+        assertThat(mustacheViewRenderer.isUseCache()).isTrue();
+    }
+
+    @Test
+    public void failsToConfigureWithBrokenTemplates() {
+        MustacheViewRenderer mustacheViewRenderer = new MustacheViewRenderer();
+        assertThatIllegalStateException()
+            .isThrownBy(() -> mustacheViewRenderer.configure(ImmutableMap.of("precompileRoots", "broken")))
+            .withMessage("Mustache template error: /broken/broken.mustache");
+    }
+
+    @Test
+    public void flushesPartialsIfEnabled() throws Exception {
+        MustacheViewRenderer mustacheViewRenderer = new MustacheViewRenderer();
+        mustacheViewRenderer.configure(ImmutableMap.of("flushPartials", "true"));
+        assertThat(mustacheViewRenderer.isFlushPartials()).isTrue();
+
+        final List<String> flushed = new ArrayList<>();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushed.add(new String(toByteArray(), StandardCharsets.UTF_8));
+            }
+        };
+        mustacheViewRenderer.render(new PartialView(), Locale.getDefault(), output);
+
+        assertThat(flushed).startsWith("Head.");
+        assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("Head.Body.");
+    }
+
+    @Test
+    public void doesNotFlushPartialsByDefault() throws Exception {
+        MustacheViewRenderer mustacheViewRenderer = new MustacheViewRenderer();
+        mustacheViewRenderer.configure(ImmutableMap.of());
+        assertThat(mustacheViewRenderer.isFlushPartials()).isFalse();
+
+        final List<String> flushed = new ArrayList<>();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushed.add(new String(toByteArray(), StandardCharsets.UTF_8));
+            }
+        };
+        mustacheViewRenderer.render(new PartialView(), Locale.getDefault(), output);
+
+        assertThat(flushed).doesNotContain("Head.");
+        assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("Head.Body.");
+    }
 }
@@ -0,0 +1,9 @@
+package io.dropwizard.views.mustache;
+
+import io.dropwizard.views.View;
+
+public class PartialView extends View {
+    public PartialView() {
+        super("page.mustache");
+    }
+}
@@ -0,0 +1,21 @@
+package io.dropwizard.views;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.Optional;
+
+/**
+ * A {@link View} whose output can be cached by a {@link ViewMessageBodyWriter} with a cache of rendered views.
+ * <p>
+ * Views of the same class and template with equal cache keys must render identically for a given locale, so the cache
+ * key should identify the state of the view's model, e.g. its version or its last modification time.
+ */
+public interface CacheableView {
+    /**
+     * Returns the key identifying the output of the view.
+     *
+     * @return the key identifying the output of the view, or an empty {@link Optional} if the view must be rendered
+     */
+    @JsonIgnore
+    Optional<Object> getRenderCacheKey();
+}
@@ -0,0 +1,64 @@
+package io.dropwizard.views;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Counts the bytes of a rendered view, and the time until the first of them was flushed to the client.
+ */
+class MeteredViewOutputStream extends FilterOutputStream {
+    private final long startTime;
+    private long firstByteTime = -1;
+    private long count;
+
+    MeteredViewOutputStream(OutputStream out, long startTime) {
+        super(out);
+        this.startTime = startTime;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        count += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+        markFirstByte();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+        markFirstByte();
+    }
+
+    private void markFirstByte() {
+        if (firstByteTime < 0 && count > 0) {
+            firstByteTime = System.nanoTime();
+        }
+    }
+
+    /**
+     * Returns the time from the start of the rendering until the first bytes were flushed, or until now if they
+     * weren't flushed yet.
+     *
+     * @return the time to the first byte, in nanoseconds
+     */
+    long getTimeToFirstByte() {
+        markFirstByte();
+        return (firstByteTime < 0 ? System.nanoTime() : firstByteTime) - startTime;
+    }
+
+    long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,142 @@
+package io.dropwizard.views;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Finds the templates under a root directory, so that {@link ViewRenderer}s can compile them on startup rather than
+ * on the first request for each of them.
+ * <p>
+ * Templates are returned by their absolute names, in the form {@link View#getTemplateName()} resolves them to.
+ */
+public final class TemplateFinder {
+    /**
+     * The renderer option listing the roots of the templates to precompile, separated by commas
+     */
+    public static final String PRECOMPILE_ROOTS = "precompileRoots";
+
+    private static final CharMatcher SLASH = CharMatcher.is('/');
+    private static final Splitter ROOT_SPLITTER = Splitter.on(',').trimResults().omitEmptyStrings();
+
+    private TemplateFinder() { /* singleton */ }
+
+    /**
+     * Parses a comma-separated list of template roots.
+     *
+     * @param roots a comma-separated list of template roots
+     * @return the template roots
+     */
+    public static List<String> parseRoots(String roots) {
+        return ImmutableList.copyOf(ROOT_SPLITTER.split(roots));
+    }
+
+    /**
+     * Finds the templates under a directory of the class path, in directories and JAR files alike.
+     *
+     * @param classLoader the class loader to find the templates with
+     * @param root        the directory of the class path, e.g. {@code com/example/views}
+     * @param filter      a filter on the names of the templates
+     * @return the absolute names of the templates, in order
+     * @throws IOException if the class path can't be read
+     */
+    public static List<String> findTemplates(ClassLoader classLoader, String root, Predicate<String> filter)
+            throws IOException {
+        final String prefix = normalize(root);
+        final SortedSet<String> templates = new TreeSet<>();
+        final Enumeration<URL> urls = classLoader.getResources(prefix);
+        while (urls.hasMoreElements()) {
+            final URL url = urls.nextElement();
+            if ("file".equals(url.getProtocol())) {
+                templates.addAll(findTemplates(toPath(url), prefix, filter));
+            } else if ("jar".equals(url.getProtocol())) {
+                final URLConnection connection = url.openConnection();
+                if (connection instanceof JarURLConnection) {
+                    connection.setUseCaches(false);
+                    try (JarFile jarFile = ((JarURLConnection) connection).getJarFile()) {
+                        templates.addAll(findTemplates(jarFile, prefix, filter));
+                    }
+                }
+            }
+        }
+        return ImmutableList.copyOf(templates);
+    }
+
+    /**
+     * Finds the templates under a directory of a file system root, like the {@code fileRoot} of the Mustache renderer.
+     *
+     * @param fileRoot the directory template names are resolved against
+     * @param root     the directory under {@code fileRoot}, e.g. {@code com/example/views}
+     * @param filter   a filter on the names of the templates
+     * @return the absolute names of the templates, in order
+     * @throws IOException if the directory can't be read
+     */
+    public static List<String> findTemplates(File fileRoot, String root, Predicate<String> filter) throws IOException {
+        final String prefix = normalize(root);
+        final Path directory = fileRoot.toPath().resolve(prefix);
+        if (!Files.isDirectory(directory)) {
+            return ImmutableList.of();
+        }
+        return ImmutableList.copyOf(new TreeSet<>(findTemplates(directory, prefix, filter)));
+    }
+
+    private static List<String> findTemplates(Path directory, String prefix, Predicate<String> filter)
+            throws IOException {
+        final ImmutableList.Builder<String> templates = ImmutableList.builder();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.filter(Files::isRegularFile)
+                .map(path -> "/" + prefix + "/" + SLASH.trimLeadingFrom(directory.relativize(path).toString()
+                    .replace(File.separatorChar, '/')))
+                .filter(filter)
+                .forEach(templates::add);
+        }
+        return templates.build();
+    }
+
+    private static List<String> findTemplates(JarFile jarFile, String prefix, Predicate<String> filter) {
+        final ImmutableList.Builder<String> templates = ImmutableList.builder();
+        final Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+            final JarEntry entry = entries.nextElement();
+            final String name = "/" + entry.getName();
+            if (!entry.isDirectory() && entry.getName().startsWith(prefix + "/") && filter.test(name)) {
+                templates.add(name);
+            }
+        }
+        return templates.build();
+    }
+
+    private static Path toPath(URL url) throws IOException {
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid template root: " + url, e);
+        }
+    }
+
+    private static String normalize(String root) {
+        final String prefix = SLASH.trimFrom(root);
+        if (prefix.isEmpty()) {
+            throw new IllegalArgumentException("The template root must not be the root of the class path");
+        }
+        return prefix;
+    }
+}
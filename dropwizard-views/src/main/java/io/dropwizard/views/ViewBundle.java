@@ -1,5 +1,6 @@
 package io.dropwizard.views;
 
+import com.google.common.cache.CacheBuilderSpec;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import io.dropwizard.Bundle;
@@ -8,6 +9,7 @@ import io.dropwizard.ConfiguredBundle;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
 
+import javax.annotation.Nullable;
 import java.util.Collections;
 import java.util.Map;
 import java.util.ServiceLoader;
@@ -87,6 +89,12 @@ import static com.google.common.base.MoreObjects.firstNonNull;
  *
  * <p>In this template, {@code {{person.name}}} calls {@code getPerson().getName()}.</p>
  *
+ * <p>The output of views implementing {@link CacheableView} can be cached by overriding
+ * {@link #getRenderCacheSpec(Configuration)}.</p>
+ *
+ * <p>Views flushing their output early, e.g. with FreeMarker's {@code <#flush>} directive or Mustache partials, can
+ * have the time to their first byte and their size metered by overriding {@link #isMeteringStreamedViews(Configuration)}.</p>
+ *
  * @see <a href="http://mustache.github.io/mustache.5.html">Mustache Manual</a>
  */
 public class ViewBundle<T extends Configuration> implements ConfiguredBundle<T>, ViewConfigurable<T> {
@@ -105,6 +113,32 @@ public class ViewBundle<T extends Configuration> implements ConfiguredBundle<T>,
         return ImmutableMap.of();
     }
 
+    /**
+     * Returns the spec of the cache of rendered {@link CacheableView}s, e.g.
+     * {@code maximumSize=1000,expireAfterWrite=1m}, or {@code null} if views shouldn't be cached, which is the default.
+     *
+     * @param configuration the application's configuration
+     * @return the spec of the cache of rendered views, or {@code null}
+     */
+    @Nullable
+    public CacheBuilderSpec getRenderCacheSpec(T configuration) {
+        return null;
+    }
+
+    /**
+     * Returns whether the time to the first byte and the size of streamed views are metered, which they aren't by
+     * default.
+     * <p>
+     * This only toggles the metering: whether or not views are metered, renderers encode their output through the
+     * pooled buffers of a {@link ViewWriter}, and templates flushing their output send it to the client right away.
+     *
+     * @param configuration the application's configuration
+     * @return whether streamed views are metered
+     */
+    public boolean isMeteringStreamedViews(T configuration) {
+        return false;
+    }
+
     @Override
     public void run(T configuration, Environment environment) throws Exception {
         final Map<String, Map<String, String>> options = getViewConfiguration(configuration);
@@ -112,7 +146,8 @@ public class ViewBundle<T extends Configuration> implements ConfiguredBundle<T>,
             final Map<String, String> viewOptions = options.get(viewRenderer.getConfigurationKey());
             viewRenderer.configure(firstNonNull(viewOptions, Collections.emptyMap()));
         }
-        environment.jersey().register(new ViewMessageBodyWriter(environment.metrics(), viewRenderers));
+        environment.jersey().register(new ViewMessageBodyWriter(environment.metrics(), viewRenderers,
+            getRenderCacheSpec(configuration), isMeteringStreamedViews(configuration)));
     }
 
     @Override
@@ -1,9 +1,19 @@
 package io.dropwizard.views;
 
+import com.codahale.metrics.Histogram;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheBuilderSpec;
 import org.glassfish.jersey.message.internal.HeaderValueException;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
 
 import javax.annotation.Nullable;
 import javax.ws.rs.Produces;
@@ -15,20 +25,33 @@ import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.ext.MessageBodyWriter;
 import javax.ws.rs.ext.Provider;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 import static com.codahale.metrics.MetricRegistry.name;
 import static java.util.Objects.requireNonNull;
 
+/**
+ * Renders {@link View}s with the first of its renderers which is able to render them.
+ * <p>
+ * The metrics of the view classes returned by resource methods are registered once the application is initialized,
+ * so they're reported from startup; those of other view classes are registered when they're first rendered.
+ */
 @Provider
 @Produces({MediaType.TEXT_HTML, MediaType.APPLICATION_XHTML_XML})
-public class ViewMessageBodyWriter implements MessageBodyWriter<View> {
+public class ViewMessageBodyWriter implements MessageBodyWriter<View>, ApplicationEventListener {
 
     @Context
     @Nullable
@@ -41,6 +64,16 @@ public class ViewMessageBodyWriter implements MessageBodyWriter<View> {
 
     private final Iterable<ViewRenderer> renderers;
     private final MetricRegistry metricRegistry;
+    private final boolean meterStreamedViews;
+
+    // The renderer of each view class and template name, and the metrics of each view class
+    private final ConcurrentMap<Class<?>, ConcurrentMap<String, ViewRenderer>> renderersByClass =
+            new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, ViewMetrics> metrics = new ConcurrentHashMap<>();
+
+    // Rendered views, keyed by view class, template name, view cache key and locale
+    @Nullable
+    private final Cache<List<Object>, byte[]> renderedViews;
 
     @Deprecated
     public ViewMessageBodyWriter(MetricRegistry metricRegistry) {
@@ -48,8 +81,41 @@ public class ViewMessageBodyWriter implements MessageBodyWriter<View> {
     }
 
     public ViewMessageBodyWriter(MetricRegistry metricRegistry, Iterable<ViewRenderer> viewRenderers) {
+        this(metricRegistry, viewRenderers, null);
+    }
+
+    /**
+     * Creates a writer which caches the output of {@link CacheableView}s.
+     *
+     * @param metricRegistry  the application's registry of metrics
+     * @param viewRenderers   the renderers of views
+     * @param renderCacheSpec the spec of the cache of rendered views, or {@code null} to render every view
+     */
+    public ViewMessageBodyWriter(MetricRegistry metricRegistry, Iterable<ViewRenderer> viewRenderers,
+                                 @Nullable CacheBuilderSpec renderCacheSpec) {
+        this(metricRegistry, viewRenderers, renderCacheSpec, false);
+    }
+
+    /**
+     * Creates a writer which caches the output of {@link CacheableView}s, and optionally meters streamed views.
+     * <p>
+     * If streamed views are metered, the time until the first bytes of each view class are flushed to the client and the
+     * number of bytes rendered are measured as well, as the {@code first-byte} timer and the
+     * {@code rendered-bytes} histogram of the view class. Templates flush their output with the means of their
+     * renderer, e.g. FreeMarker's {@code <#flush>} directive or the {@code flushPartials} option of Mustache.
+     * Neither flushing nor the pooled buffers of {@link ViewWriter} depend on this option, which only adds the metering.
+     *
+     * @param metricRegistry     the application's registry of metrics
+     * @param viewRenderers      the renderers of views
+     * @param renderCacheSpec    the spec of the cache of rendered views, or {@code null} to render every view
+     * @param meterStreamedViews whether to meter the first byte and the size of rendered views
+     */
+    public ViewMessageBodyWriter(MetricRegistry metricRegistry, Iterable<ViewRenderer> viewRenderers,
+                                 @Nullable CacheBuilderSpec renderCacheSpec, boolean meterStreamedViews) {
         this.metricRegistry = metricRegistry;
         this.renderers = viewRenderers;
+        this.renderedViews = renderCacheSpec == null ? null : CacheBuilder.from(renderCacheSpec).build();
+        this.meterStreamedViews = meterStreamedViews;
     }
 
     @Override
@@ -74,22 +140,110 @@ public class ViewMessageBodyWriter implements MessageBodyWriter<View> {
                         MediaType mediaType,
                         MultivaluedMap<String, Object> httpHeaders,
                         OutputStream entityStream) throws IOException {
-        final Timer.Context context = metricRegistry.timer(name(t.getClass(), "rendering")).time();
+        final ViewMetrics viewMetrics = metrics.computeIfAbsent(t.getClass(), this::createMetrics);
+        final Timer.Context context = viewMetrics.rendering.time();
+        final MeteredViewOutputStream meteredStream = meterStreamedViews
+            ? new MeteredViewOutputStream(entityStream, System.nanoTime()) : null;
+        final OutputStream output = meteredStream != null ? meteredStream : entityStream;
         try {
-            for (ViewRenderer renderer : renderers) {
-                if (renderer.isRenderable(t)) {
-                    renderer.render(t, detectLocale(requireNonNull(headers)), entityStream);
-                    return;
-                }
+            final ViewRenderer renderer = findRenderer(t);
+            if (renderer == null) {
+                throw new ViewRenderException("Unable to find a renderer for " + t.getTemplateName());
+            }
+            final Locale locale = detectLocale(requireNonNull(headers));
+            final Optional<Object> cacheKey = renderedViews != null && t instanceof CacheableView
+                ? ((CacheableView) t).getRenderCacheKey() : Optional.empty();
+            if (cacheKey.isPresent()) {
+                output.write(render(renderer, t, locale, cacheKey.get()));
+            } else {
+                renderer.render(t, locale, output);
             }
-            throw new ViewRenderException("Unable to find a renderer for " + t.getTemplateName());
         } catch (ViewRenderException e) {
             throw new WebApplicationException(e);
         } finally {
             context.stop();
+            if (meteredStream != null) {
+                requireNonNull(viewMetrics.firstByte).update(meteredStream.getTimeToFirstByte(), TimeUnit.NANOSECONDS);
+                requireNonNull(viewMetrics.renderedBytes).update(meteredStream.getCount());
+            }
+        }
+    }
+
+    @Override
+    public void onEvent(ApplicationEvent event) {
+        if (event.getType() == ApplicationEvent.Type.INITIALIZATION_APP_FINISHED) {
+            for (Resource resource : event.getResourceModel().getResources()) {
+                registerMetrics(resource);
+            }
+        }
+    }
+
+    @Override
+    @Nullable
+    public RequestEventListener onRequest(RequestEvent requestEvent) {
+        return null;
+    }
+
+    private void registerMetrics(Resource resource) {
+        for (ResourceMethod method : resource.getAllMethods()) {
+            // The views of methods returning a Response, or of located resources, are only known once rendered
+            final Class<?> returnType = method.getInvocable().getRawResponseType();
+            if (View.class.isAssignableFrom(returnType) && !Modifier.isAbstract(returnType.getModifiers())) {
+                metrics.computeIfAbsent(returnType, this::createMetrics);
+            }
+        }
+        for (Resource childResource : resource.getChildResources()) {
+            registerMetrics(childResource);
         }
     }
 
+    private ViewMetrics createMetrics(Class<?> viewClass) {
+        final Timer rendering = metricRegistry.timer(name(viewClass, "rendering"));
+        if (!meterStreamedViews) {
+            return new ViewMetrics(rendering, null, null);
+        }
+        return new ViewMetrics(rendering, metricRegistry.timer(name(viewClass, "first-byte")),
+            metricRegistry.histogram(name(viewClass, "rendered-bytes")));
+    }
+
+    @Nullable
+    private ViewRenderer findRenderer(View view) {
+        final String templateName = view.getTemplateName();
+        final ConcurrentMap<String, ViewRenderer> templateRenderers = renderersByClass.get(view.getClass());
+        if (templateName != null && templateRenderers != null) {
+            final ViewRenderer renderer = templateRenderers.get(templateName);
+            if (renderer != null) {
+                return renderer;
+            }
+        }
+
+        for (ViewRenderer renderer : renderers) {
+            if (renderer.isRenderable(view)) {
+                if (templateName != null) {
+                    renderersByClass.computeIfAbsent(view.getClass(), viewClass -> new ConcurrentHashMap<>())
+                        .putIfAbsent(templateName, renderer);
+                }
+                return renderer;
+            }
+        }
+        return null;
+    }
+
+    private byte[] render(ViewRenderer renderer, View view, Locale locale, Object cacheKey) throws IOException {
+        final Cache<List<Object>, byte[]> cache = requireNonNull(renderedViews);
+        final List<Object> key = Arrays.asList(view.getClass(), view.getTemplateName(), cacheKey, locale);
+        final byte[] cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        renderer.render(view, locale, output);
+        final byte[] rendered = output.toByteArray();
+        cache.put(key, rendered);
+        return rendered;
+    }
+
     @VisibleForTesting
     Locale detectLocale(HttpHeaders headers) {
         final List<Locale> languages;
@@ -111,4 +265,23 @@ public class ViewMessageBodyWriter implements MessageBodyWriter<View> {
     Iterable<ViewRenderer> getRenderers() {
         return renderers;
     }
+
+    @VisibleForTesting
+    boolean isMeteringStreamedViews() {
+        return meterStreamedViews;
+    }
+
+    private static class ViewMetrics {
+        private final Timer rendering;
+        @Nullable
+        private final Timer firstByte;
+        @Nullable
+        private final Histogram renderedBytes;
+
+        private ViewMetrics(Timer rendering, @Nullable Timer firstByte, @Nullable Histogram renderedBytes) {
+            this.rendering = rendering;
+            this.firstByte = firstByte;
+            this.renderedBytes = renderedBytes;
+        }
+    }
 }
@@ -0,0 +1,209 @@
+package io.dropwizard.views;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link Writer} which encodes the output of a {@link ViewRenderer} to the entity stream of a response.
+ * <p>
+ * Unlike an {@link java.io.OutputStreamWriter}, it reuses the buffers and the {@link CharsetEncoder}s of the
+ * rendering thread, rather than allocating them for every rendered view. Flushing the writer writes the output
+ * encoded so far to the entity stream and flushes it, which lets templates send the beginning of a page before
+ * they're done rendering it.
+ * <p>
+ * Renderers encode every view through a writer, whether or not views are streamed. Writers aren't thread-safe, and
+ * must be finished, released or closed once the view has been rendered to release their buffers.
+ */
+public final class ViewWriter extends Writer {
+    private static final int BUFFER_SIZE = 8192;
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private final OutputStream output;
+    private final Buffers buffers;
+    private final CharsetEncoder encoder;
+    private final CharBuffer chars;
+    private final ByteBuffer bytes;
+    private boolean closed;
+
+    /**
+     * Opens a writer encoding characters to a stream.
+     *
+     * @param output  the stream to write the encoded characters to
+     * @param charset the character set to encode characters with
+     * @return a writer, which must be closed once the view has been rendered
+     */
+    public static ViewWriter open(OutputStream output, Charset charset) {
+        final Buffers pooled = BUFFERS.get();
+        // A view rendered while rendering another view gets its own buffers
+        final Buffers buffers = pooled.inUse ? new Buffers() : pooled;
+        buffers.inUse = true;
+        return new ViewWriter(output, buffers, buffers.encoder(charset));
+    }
+
+    private ViewWriter(OutputStream output, Buffers buffers, CharsetEncoder encoder) {
+        this.output = output;
+        this.buffers = buffers;
+        this.encoder = encoder;
+        this.chars = buffers.chars;
+        this.bytes = buffers.bytes;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        ensureOpen();
+        if (!chars.hasRemaining()) {
+            encode(false);
+        }
+        chars.put((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        ensureOpen();
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (!chars.hasRemaining()) {
+                encode(false);
+            }
+            final int n = Math.min(remaining, chars.remaining());
+            chars.put(cbuf, offset, n);
+            offset += n;
+            remaining -= n;
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        ensureOpen();
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (!chars.hasRemaining()) {
+                encode(false);
+            }
+            final int n = Math.min(remaining, chars.remaining());
+            str.getChars(offset, offset + n, chars.array(), chars.arrayOffset() + chars.position());
+            chars.position(chars.position() + n);
+            offset += n;
+            remaining -= n;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        encode(false);
+        drain();
+        output.flush();
+    }
+
+    /**
+     * Writes the rest of the output to the stream and flushes it, without closing the stream, which belongs to the
+     * caller. Releases the buffers of the writer, which can't be written to anymore.
+     *
+     * @throws IOException if the output can't be written to the stream
+     */
+    public void finish() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            encode(true);
+            while (encoder.flush(bytes).isOverflow()) {
+                drain();
+            }
+            drain();
+            output.flush();
+        } finally {
+            buffers.release();
+        }
+    }
+
+    /**
+     * Releases the buffers of the writer, and discards the output which hasn't been flushed yet, such as when
+     * rendering fails. Does nothing once the writer is finished or closed.
+     */
+    public void release() {
+        if (!closed) {
+            closed = true;
+            buffers.release();
+        }
+    }
+
+    /**
+     * Writes the rest of the output to the stream, and closes it.
+     *
+     * @throws IOException if the output can't be written to the stream
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            finish();
+        } finally {
+            output.close();
+        }
+    }
+
+    private void encode(boolean endOfInput) throws IOException {
+        chars.flip();
+        while (true) {
+            final CoderResult result = encoder.encode(chars, bytes, endOfInput);
+            if (result.isOverflow()) {
+                drain();
+            } else if (result.isUnderflow()) {
+                break;
+            } else {
+                result.throwException();
+            }
+        }
+        // Keeps the high surrogate of a pair split across writes
+        chars.compact();
+    }
+
+    private void drain() throws IOException {
+        if (bytes.position() > 0) {
+            output.write(bytes.array(), bytes.arrayOffset(), bytes.position());
+            bytes.clear();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private static class Buffers {
+        private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+        private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+        private final Map<Charset, CharsetEncoder> encoders = new HashMap<>();
+        private boolean inUse;
+
+        private CharsetEncoder encoder(Charset charset) {
+            return encoders.computeIfAbsent(charset, c -> c.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE))
+                .reset();
+        }
+
+        private void release() {
+            chars.clear();
+            bytes.clear();
+            inUse = false;
+        }
+    }
+}
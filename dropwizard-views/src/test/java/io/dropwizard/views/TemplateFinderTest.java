@@ -0,0 +1,67 @@
+package io.dropwizard.views;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class TemplateFinderTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final ClassLoader classLoader = getClass().getClassLoader();
+
+    @Test
+    public void parsesCommaSeparatedRoots() {
+        assertThat(TemplateFinder.parseRoots(" com/example/views, ,/templates "))
+            .containsExactly("com/example/views", "/templates");
+    }
+
+    @Test
+    public void findsTemplatesInClassPathDirectories() throws Exception {
+        assertThat(TemplateFinder.findTemplates(classLoader, "/templates/", name -> !name.endsWith(".txt")))
+            .containsExactly("/templates/a.mustache", "/templates/nested/b.ftl");
+    }
+
+    @Test
+    public void findsTemplatesInJarFiles() throws Exception {
+        final File jar = temporaryFolder.newFile("templates.jar");
+        try (JarOutputStream output = new JarOutputStream(new FileOutputStream(jar))) {
+            output.putNextEntry(new JarEntry("views/"));
+            output.putNextEntry(new JarEntry("views/b.mustache"));
+            output.putNextEntry(new JarEntry("views/nested/a.mustache"));
+            output.putNextEntry(new JarEntry("other/c.mustache"));
+        }
+
+        try (URLClassLoader jarClassLoader = new URLClassLoader(new URL[]{jar.toURI().toURL()}, null)) {
+            assertThat(TemplateFinder.findTemplates(jarClassLoader, "views", name -> true))
+                .containsExactly("/views/b.mustache", "/views/nested/a.mustache");
+        }
+    }
+
+    @Test
+    public void findsTemplatesInFileRoots() throws Exception {
+        final File fileRoot = temporaryFolder.getRoot();
+        assertThat(new File(temporaryFolder.newFolder("views", "nested"), "a.ftl").createNewFile()).isTrue();
+        assertThat(new File(fileRoot, "views/b.ftl").createNewFile()).isTrue();
+
+        assertThat(TemplateFinder.findTemplates(fileRoot, "views", name -> true))
+            .containsExactly("/views/b.ftl", "/views/nested/a.ftl");
+        assertThat(TemplateFinder.findTemplates(fileRoot, "missing", name -> true)).isEmpty();
+    }
+
+    @Test
+    public void rejectsTheRootOfTheClassPath() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> TemplateFinder.findTemplates(classLoader, "/", name -> true));
+    }
+}
@@ -2,29 +2,37 @@ package io.dropwizard.views;
 
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
+import com.google.common.cache.CacheBuilderSpec;
 import org.glassfish.jersey.message.internal.HeaderValueException;
 import org.glassfish.jersey.server.ContainerRequest;
 import org.junit.Test;
 
+import javax.annotation.Nullable;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedHashMap;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Locale;
+import java.util.Optional;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -138,4 +146,128 @@ public class ViewMessageBodyWriterTest {
 
         assertThat(result).isSameAs(fakeLocale);
     }
+
+    @Test
+    public void writeToShouldRememberTheRendererOfEachViewClassAndTemplate() throws IOException {
+        final ViewRenderer renderer = mock(ViewRenderer.class);
+        final View namedView = new KeyedView("/example.ftl", null);
+        final Locale locale = new Locale("en-US");
+
+        when(metricRegistry.timer(anyString())).thenReturn(timer);
+        when(timer.time()).thenReturn(timerContext);
+        when(renderer.isRenderable(namedView)).thenReturn(true);
+
+        final ViewMessageBodyWriter writer = spy(new ViewMessageBodyWriter(metricRegistry, Collections.singletonList(renderer)));
+        doReturn(locale).when(writer).detectLocale(any());
+        writer.setHeaders(mock(HttpHeaders.class));
+
+        for (int i = 0; i < 2; i++) {
+            writer.writeTo(namedView, Class.class, Class.class, new Annotation[]{}, new MediaType(),
+                new MultivaluedHashMap<>(), stream);
+        }
+
+        verify(renderer).isRenderable(namedView);
+        verify(renderer, times(2)).render(namedView, locale, stream);
+        verify(metricRegistry).timer(anyString());
+        verify(timerContext, times(2)).stop();
+    }
+
+    @Test
+    public void writeToShouldCacheTheOutputOfCacheableViews() throws IOException {
+        final ViewRenderer renderer = mock(ViewRenderer.class);
+        final Locale locale = new Locale("en-US");
+        final KeyedView first = new KeyedView("/example.ftl", 1);
+        final KeyedView sameKey = new KeyedView("/example.ftl", 1);
+        final KeyedView otherKey = new KeyedView("/example.ftl", 2);
+
+        when(metricRegistry.timer(anyString())).thenReturn(timer);
+        when(timer.time()).thenReturn(timerContext);
+        when(renderer.isRenderable(any())).thenReturn(true);
+        doAnswer(invocation -> {
+            final KeyedView view = invocation.getArgument(0);
+            invocation.<OutputStream>getArgument(2).write(("key=" + view.getRenderCacheKey().get()).getBytes(UTF_8));
+            return null;
+        }).when(renderer).render(any(), any(), any());
+
+        final ViewMessageBodyWriter writer = spy(new ViewMessageBodyWriter(metricRegistry,
+            Collections.singletonList(renderer), CacheBuilderSpec.parse("maximumSize=10")));
+        doReturn(locale).when(writer).detectLocale(any());
+        writer.setHeaders(mock(HttpHeaders.class));
+
+        assertThat(write(writer, first)).isEqualTo("key=1");
+        assertThat(write(writer, sameKey)).isEqualTo("key=1");
+        assertThat(write(writer, otherKey)).isEqualTo("key=2");
+
+        verify(renderer, times(2)).render(any(), any(), any());
+        verify(renderer).render(eq(otherKey), eq(locale), any());
+    }
+
+    @Test
+    public void writeToShouldRenderCacheableViewsWithoutACache() throws IOException {
+        final ViewRenderer renderer = mock(ViewRenderer.class);
+        final Locale locale = new Locale("en-US");
+        final KeyedView view = new KeyedView("/example.ftl", 1);
+
+        when(metricRegistry.timer(anyString())).thenReturn(timer);
+        when(timer.time()).thenReturn(timerContext);
+        when(renderer.isRenderable(view)).thenReturn(true);
+
+        final ViewMessageBodyWriter writer = spy(new ViewMessageBodyWriter(metricRegistry, Collections.singletonList(renderer)));
+        doReturn(locale).when(writer).detectLocale(any());
+        writer.setHeaders(mock(HttpHeaders.class));
+
+        write(writer, view);
+        write(writer, view);
+
+        verify(renderer, times(2)).render(any(), any(), any());
+    }
+
+    @Test
+    public void writeToShouldMeterStreamedViews() throws IOException {
+        final MetricRegistry registry = new MetricRegistry();
+        final ViewRenderer renderer = mock(ViewRenderer.class);
+        final KeyedView view = new KeyedView("/example.ftl", null);
+
+        when(renderer.isRenderable(view)).thenReturn(true);
+        doAnswer(invocation -> {
+            final OutputStream output = invocation.getArgument(2);
+            output.write("head".getBytes(UTF_8));
+            output.flush();
+            output.write("body".getBytes(UTF_8));
+            return null;
+        }).when(renderer).render(any(), any(), any());
+
+        final ViewMessageBodyWriter writer = spy(new ViewMessageBodyWriter(registry,
+            Collections.singletonList(renderer), null, true));
+        doReturn(Locale.getDefault()).when(writer).detectLocale(any());
+        writer.setHeaders(mock(HttpHeaders.class));
+
+        assertThat(write(writer, view)).isEqualTo("headbody");
+
+        assertThat(registry.timer(MetricRegistry.name(KeyedView.class, "rendering")).getCount()).isEqualTo(1);
+        assertThat(registry.timer(MetricRegistry.name(KeyedView.class, "first-byte")).getCount()).isEqualTo(1);
+        assertThat(registry.histogram(MetricRegistry.name(KeyedView.class, "rendered-bytes")).getSnapshot().getValues())
+            .containsExactly(8);
+    }
+
+    private static String write(ViewMessageBodyWriter writer, View view) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        writer.writeTo(view, Class.class, Class.class, new Annotation[]{}, new MediaType(),
+            new MultivaluedHashMap<>(), output);
+        return new String(output.toByteArray(), UTF_8);
+    }
+
+    private static class KeyedView extends View implements CacheableView {
+        private final Optional<Object> renderCacheKey;
+
+        private KeyedView(String templateName, @Nullable Object renderCacheKey) {
+            super(templateName);
+            this.renderCacheKey = Optional.ofNullable(renderCacheKey);
+        }
+
+        @Override
+        public Optional<Object> getRenderCacheKey() {
+            return renderCacheKey;
+        }
+    }
 }
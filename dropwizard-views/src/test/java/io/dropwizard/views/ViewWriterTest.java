@@ -0,0 +1,130 @@
+package io.dropwizard.views;
+
+import com.google.common.base.Strings;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+public class ViewWriterTest {
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @Test
+    public void encodesCharactersSplitAcrossBuffers() throws IOException {
+        // An odd number of characters, so that a surrogate pair straddles the end of the character buffer
+        final String text = Strings.repeat("\u00e9\ud83d\ude00", 3000) + "!";
+        try (Writer writer = ViewWriter.open(output, StandardCharsets.UTF_8)) {
+            writer.write("a");
+            writer.write(text);
+            writer.write(text.toCharArray(), 0, text.length());
+            writer.write('z');
+        }
+
+        assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("a" + text + text + "z");
+    }
+
+    @Test
+    public void encodesCharactersWithTheCharsetOfTheView() throws IOException {
+        try (Writer writer = ViewWriter.open(output, StandardCharsets.ISO_8859_1)) {
+            writer.write("caf\u00e9 \u20ac");
+        }
+
+        assertThat(output.toByteArray()).containsExactly('c', 'a', 'f', 0xe9, ' ', '?');
+    }
+
+    @Test
+    public void flushesTheOutputEncodedSoFar() throws IOException {
+        try (Writer writer = ViewWriter.open(output, StandardCharsets.UTF_8)) {
+            writer.write("head");
+            assertThat(output.size()).isZero();
+
+            writer.flush();
+            assertThat(output.toString("UTF-8")).isEqualTo("head");
+
+            writer.write("body");
+        }
+
+        assertThat(output.toString("UTF-8")).isEqualTo("headbody");
+    }
+
+    @Test
+    public void reusesTheBuffersOfClosedWriters() throws IOException {
+        try (Writer writer = ViewWriter.open(output, StandardCharsets.UTF_8)) {
+            writer.write("first ");
+        }
+        try (Writer writer = ViewWriter.open(output, StandardCharsets.UTF_8)) {
+            writer.write("second");
+        }
+
+        assertThat(output.toString("UTF-8")).isEqualTo("first second");
+    }
+
+    @Test
+    public void nestedWritersDontShareBuffers() throws IOException {
+        final ByteArrayOutputStream nestedOutput = new ByteArrayOutputStream();
+        try (Writer writer = ViewWriter.open(output, StandardCharsets.UTF_8)) {
+            writer.write("outer");
+            try (Writer nested = ViewWriter.open(nestedOutput, StandardCharsets.UTF_8)) {
+                nested.write("inner");
+            }
+        }
+
+        assertThat(output.toString("UTF-8")).isEqualTo("outer");
+        assertThat(nestedOutput.toString("UTF-8")).isEqualTo("inner");
+    }
+
+    @Test
+    public void finishingFlushesTheOutputWithoutClosingTheStream() throws IOException {
+        final TrackingOutputStream stream = new TrackingOutputStream();
+        final ViewWriter writer = ViewWriter.open(stream, StandardCharsets.UTF_8);
+        writer.write("body");
+        writer.finish();
+        writer.close();
+
+        assertThat(stream.toString("UTF-8")).isEqualTo("body");
+        assertThat(stream.flushed).isTrue();
+        assertThat(stream.closed).isFalse();
+        assertThatIOException().isThrownBy(() -> writer.write("late"));
+    }
+
+    @Test
+    public void releasingDiscardsTheOutputWhichWasntFlushed() throws IOException {
+        final TrackingOutputStream stream = new TrackingOutputStream();
+        final ViewWriter writer = ViewWriter.open(stream, StandardCharsets.UTF_8);
+        writer.write("head");
+        writer.flush();
+        writer.write("partial body");
+        writer.release();
+
+        assertThat(stream.toString("UTF-8")).isEqualTo("head");
+        assertThat(stream.closed).isFalse();
+    }
+
+    @Test
+    public void rejectsWritesOnceClosed() throws IOException {
+        final Writer writer = ViewWriter.open(output, StandardCharsets.UTF_8);
+        writer.close();
+
+        assertThatIOException().isThrownBy(() -> writer.write("late"));
+    }
+
+    private static class TrackingOutputStream extends ByteArrayOutputStream {
+        private boolean flushed;
+        private boolean closed;
+
+        @Override
+        public void flush() {
+            flushed = true;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}